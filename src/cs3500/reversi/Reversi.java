@@ -25,7 +25,7 @@ public final class Reversi {
    * sets up the game model and views, and starts the game.
    * @param args arguments passed in for designating the type of players that will involve
    *             in this game (can be human or machine players, specified by
-   *             "human", "simplistic", "smarter", "minimax")
+   *             "human", "simplistic", "smarter", "minimax", "alpha_beta", "mcts")
    */
   public static void main(String[] args) {
     // a list of players involved in this game
@@ -63,13 +63,17 @@ public final class Reversi {
   // validate the given board size for the given game type
   private static int validateGameBoardSize(int boardSize, ModelCreator.GameType gameType) {
     // hexagonal Reversi requires of a board of size being at least 3
-    if (gameType == ModelCreator.GameType.HEX) {
+    if (gameType == ModelCreator.GameType.HEX || gameType == ModelCreator.GameType.HEX_BITSET) {
       boardSize = boardSize >= 3 ? boardSize : 6;
     }
     // square Reversi requires of a board of size being greater than 2 and a even integer
     else if (gameType == ModelCreator.GameType.SQUARE) {
       boardSize = boardSize > 2 && boardSize % 2 == 0 ? boardSize : 6;
     }
+    // square Reversi stored in bitboards also requires the board to fit into 64 cells
+    else if (gameType == ModelCreator.GameType.SQUARE_BITBOARD) {
+      boardSize = boardSize > 2 && boardSize % 2 == 0 && boardSize <= 8 ? boardSize : 6;
+    }
     return boardSize;
   }
 
@@ -0,0 +1,65 @@
+package cs3500.reversi.benchmark;
+
+import cs3500.reversi.model.ModelCreator;
+import cs3500.reversi.model.ReversiModelReadWrite;
+import cs3500.reversi.player.HumanPlayer;
+import cs3500.reversi.player.Player;
+import cs3500.reversi.strategy.LazySmpStrategy;
+import cs3500.reversi.strategy.SearchBudget;
+import cs3500.reversi.strategy.SearchReport;
+import cs3500.reversi.strategy.TranspositionTable;
+
+/**
+ * Measures how long the Lazy SMP strategy takes to search the starting position of a game to
+ * a fixed depth with one thread, two threads, four threads and so on, and prints one line per
+ * number of threads with the time taken, the positions visited, the positions visited per
+ * second and the speedup over one thread.
+ * Every run starts from an empty transposition table of the same size, and the first run is
+ * repeated before measuring so that the JVM has compiled the search.
+ */
+public final class LazySmpBenchmark {
+  // the size of the transposition table of every run, in megabytes
+  private static final int TABLE_MEGABYTES = 64;
+
+  /**
+   * Runs the benchmark.
+   * @param args the type of game (defaults to "square_bitboard"), the board size
+   *             (defaults to 8), the depth to search to (defaults to 10) and the most threads
+   *             to search with (defaults to the number of processors)
+   */
+  public static void main(String[] args) {
+    ModelCreator.GameType gameType = args.length > 0
+            ? ModelCreator.GameType.valueOf(args[0].toUpperCase())
+            : ModelCreator.GameType.SQUARE_BITBOARD;
+    int boardSize = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+    int depth = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+    int maxThreads = args.length > 3 ? Integer.parseInt(args[3])
+            : Runtime.getRuntime().availableProcessors();
+
+    System.out.println(gameType + " " + boardSize + ", depth " + depth);
+    timeToDepth(gameType, boardSize, depth, 1);
+    long singleThreadMillis = 0;
+    for (int threads = 1; threads <= maxThreads; threads *= 2) {
+      SearchReport report = timeToDepth(gameType, boardSize, depth, threads);
+      if (threads == 1) {
+        singleThreadMillis = report.getElapsedMillis();
+      }
+      System.out.printf("threads %3d: %8d ms %12d nodes %12d nodes/s  speedup %.2f%n", threads,
+              report.getElapsedMillis(), report.getNodes(), report.getNodesPerSecond(),
+              (double) singleThreadMillis / Math.max(1, report.getElapsedMillis()));
+    }
+  }
+
+  // searches the starting position of a new game of the given type and size to the given
+  // depth on the given number of threads, and returns the report of the search
+  private static SearchReport timeToDepth(ModelCreator.GameType gameType, int boardSize,
+                                          int depth, int threads) {
+    Player player1 = new HumanPlayer();
+    Player player2 = new HumanPlayer();
+    ReversiModelReadWrite model = ModelCreator.create(gameType, boardSize, player1, player2);
+    LazySmpStrategy strategy = new LazySmpStrategy(SearchBudget.ofDepth(depth),
+            new TranspositionTable(TABLE_MEGABYTES), threads);
+    strategy.chooseMove(model, player1);
+    return strategy.getLastReport();
+  }
+}
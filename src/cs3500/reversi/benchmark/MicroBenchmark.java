@@ -0,0 +1,324 @@
+package cs3500.reversi.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the throughput of small pieces of code the way JMH does in its throughput mode,
+ * for a project without a build that can run JMH: every benchmark is run for a number of
+ * warmup iterations, so that the JVM compiles it, and then for a number of measured iterations
+ * of a fixed length, each giving the operations per second of that iteration. The score of a
+ * benchmark is the mean of its measured iterations, and its error is half the width of the
+ * 99.9% confidence interval of that mean, from Student's t distribution as JMH does.
+ * The value returned by every invocation of a benchmark is folded into a field that is
+ * published after every iteration, so that the JVM can't drop the work as unused.
+ * Results can be written as JSON in the layout of JMH's JSON results, so that the same tools
+ * can compare results between releases.
+ */
+public final class MicroBenchmark {
+  // the probability of the t distribution below the upper end of a 99.9% confidence interval
+  private static final double CONFIDENCE_QUANTILE = 1 - 0.001 / 2;
+  // the precision to which the continued fraction of the incomplete beta function is computed
+  private static final double EPSILON = 1e-15;
+  // the smallest number the continued fraction divides by, to avoid dividing by zero
+  private static final double TINY = 1e-300;
+  // the coefficients of the Lanczos approximation of the gamma function (g = 7)
+  private static final double[] LANCZOS = {0.99999999999980993, 676.5203681218851,
+    -1259.1392167224028, 771.32342877765313, -176.61502916214059, 12.507343278686905,
+    -0.13857109526572012, 9.9843695780195716e-6, 1.5056327351493116e-7};
+  // how long a batch of invocations between two readings of the clock should take
+  private static final long BATCH_NANOS = 1_000_000;
+
+  private final int warmupIterations;
+  private final int measurementIterations;
+  private final long iterationNanos;
+  // what every invocation returned, so that no invocation is optimized away
+  private volatile long sink;
+
+  /**
+   * Creates a harness that runs every benchmark for the given numbers of warmup and measured
+   * iterations of the given length.
+   * @param warmupIterations the number of iterations run before measuring
+   * @param measurementIterations the number of measured iterations
+   * @param iterationMillis the length of every iteration, in milliseconds
+   * @throws IllegalArgumentException if the number of warmup iterations is negative, or
+   *                                  the number of measured iterations or the length of an
+   *                                  iteration is not positive
+   */
+  public MicroBenchmark(int warmupIterations, int measurementIterations, long iterationMillis) {
+    if (warmupIterations < 0 || measurementIterations <= 0 || iterationMillis <= 0) {
+      throw new IllegalArgumentException("Invalid number or length of iterations!");
+    }
+    this.warmupIterations = warmupIterations;
+    this.measurementIterations = measurementIterations;
+    this.iterationNanos = iterationMillis * 1_000_000;
+  }
+
+  /**
+   * Measures the throughput of the given benchmark.
+   * @param name the name of the benchmark
+   * @param params the parameters of the benchmark, such as the board it runs on
+   * @param opsPerInvocation the number of operations every invocation does
+   * @param invocation the code to measure
+   * @return the result of the benchmark, in operations per second
+   * @throws IllegalArgumentException if the name, parameters or invocation is null,
+   *                                  or the number of operations is not positive
+   */
+  public Result measure(String name, Map<String, String> params, int opsPerInvocation,
+                        Invocation invocation) {
+    if (name == null || params == null || invocation == null || opsPerInvocation <= 0) {
+      throw new IllegalArgumentException("Invalid benchmark!");
+    }
+    long batch = 1;
+    for (int iteration = 0; iteration < this.warmupIterations; iteration++) {
+      batch = this.batchFor(this.iterate(invocation, batch), batch);
+    }
+    double[] scores = new double[this.measurementIterations];
+    for (int iteration = 0; iteration < scores.length; iteration++) {
+      long[] timed = this.iterate(invocation, batch);
+      scores[iteration] = (double) timed[0] * opsPerInvocation * 1e9 / timed[1];
+      batch = this.batchFor(timed, batch);
+    }
+    return new Result(name, params, scores);
+  }
+
+  // runs the given invocation in batches of the given size for one iteration,
+  // and returns the number of invocations and the nanoseconds they took
+  private long[] iterate(Invocation invocation, long batch) {
+    long result = 0;
+    long invocations = 0;
+    long startNanos = System.nanoTime();
+    long elapsed;
+    do {
+      for (long call = 0; call < batch; call++) {
+        result ^= invocation.invoke();
+      }
+      invocations += batch;
+      elapsed = System.nanoTime() - startNanos;
+    } while (elapsed < this.iterationNanos);
+    this.sink ^= result;
+    return new long[] {invocations, Math.max(1, elapsed)};
+  }
+
+  // returns the size of a batch taking about BATCH_NANOS, from the given iteration
+  private long batchFor(long[] timed, long batch) {
+    return Math.max(1, Math.min(batch * 16, timed[0] * BATCH_NANOS / timed[1]));
+  }
+
+  /**
+   * Returns the results as a JSON array, in the layout of JMH's JSON results
+   * in throughput mode.
+   * @param results the results of benchmarks
+   * @return the JSON text
+   */
+  public static String toJson(List<Result> results) {
+    StringBuilder json = new StringBuilder("[\n");
+    for (int result = 0; result < results.size(); result++) {
+      json.append(results.get(result).toJson());
+      json.append(result + 1 < results.size() ? ",\n" : "\n");
+    }
+    return json.append("]\n").toString();
+  }
+
+  // returns the value below which Student's t distribution with the given degrees of freedom
+  // has the given probability, which is above one half, by bisecting its distribution function
+  private static double studentQuantile(double probability, int degrees) {
+    double low = 0;
+    double high = 1;
+    while (studentDistribution(high, degrees) < probability) {
+      low = high;
+      high *= 2;
+    }
+    for (int step = 0; step < 100; step++) {
+      double middle = (low + high) / 2;
+      if (studentDistribution(middle, degrees) < probability) {
+        low = middle;
+      } else {
+        high = middle;
+      }
+    }
+    return (low + high) / 2;
+  }
+
+  // returns the probability of Student's t distribution with the given degrees of freedom
+  // below the given value, which is not negative
+  private static double studentDistribution(double t, int degrees) {
+    return 1 - incompleteBeta(degrees / (degrees + t * t), degrees / 2.0, 0.5) / 2;
+  }
+
+  // returns the regularized incomplete beta function of the given parameters at the given x,
+  // from its continued fraction on the side of x where it converges quickly
+  private static double incompleteBeta(double x, double a, double b) {
+    if (x <= 0 || x >= 1) {
+      return x <= 0 ? 0 : 1;
+    }
+    double front = Math.exp(logGamma(a + b) - logGamma(a) - logGamma(b) + a * Math.log(x)
+            + b * Math.log(1 - x));
+    if (x < (a + 1) / (a + b + 2)) {
+      return front * betaFraction(x, a, b) / a;
+    }
+    return 1 - front * betaFraction(1 - x, b, a) / b;
+  }
+
+  // returns the continued fraction of the incomplete beta function, evaluated by Lentz's method
+  private static double betaFraction(double x, double a, double b) {
+    double c = 1;
+    double d = 1 / nonZero(1 - (a + b) * x / (a + 1));
+    double fraction = d;
+    for (int m = 1; m <= 1000; m++) {
+      double even = m * (b - m) * x / ((a + 2 * m - 1) * (a + 2 * m));
+      d = 1 / nonZero(1 + even * d);
+      c = nonZero(1 + even / c);
+      fraction *= d * c;
+      double odd = -(a + m) * (a + b + m) * x / ((a + 2 * m) * (a + 2 * m + 1));
+      d = 1 / nonZero(1 + odd * d);
+      c = nonZero(1 + odd / c);
+      double change = d * c;
+      fraction *= change;
+      if (Math.abs(change - 1) < EPSILON) {
+        break;
+      }
+    }
+    return fraction;
+  }
+
+  // returns the given number, or a tiny number instead of one too close to zero to divide by
+  private static double nonZero(double number) {
+    return Math.abs(number) < TINY ? TINY : number;
+  }
+
+  // returns the natural logarithm of the gamma function at the given positive number,
+  // by the Lanczos approximation
+  private static double logGamma(double x) {
+    double sum = LANCZOS[0];
+    for (int term = 1; term < LANCZOS.length; term++) {
+      sum += LANCZOS[term] / (x - 1 + term);
+    }
+    double base = x - 0.5 + LANCZOS.length - 2;
+    return 0.5 * Math.log(2 * Math.PI) + (x - 0.5) * Math.log(base) - base + Math.log(sum);
+  }
+
+  // returns the given text as a JSON string
+  private static String quote(String text) {
+    StringBuilder quoted = new StringBuilder("\"");
+    for (char c : text.toCharArray()) {
+      if (c == '"' || c == '\\') {
+        quoted.append('\\').append(c);
+      } else if (c < ' ') {
+        quoted.append(String.format("\\u%04x", (int) c));
+      } else {
+        quoted.append(c);
+      }
+    }
+    return quoted.append('"').toString();
+  }
+
+  /**
+   * Represents the code of a benchmark, invoked over and over.
+   */
+  public interface Invocation {
+    /**
+     * Runs the code of the benchmark once.
+     * @return any value computed by the code, which keeps the JVM from dropping the code
+     */
+    long invoke();
+  }
+
+  /**
+   * Represents the result of one benchmark: the operations per second of every measured
+   * iteration, their mean and the error of the mean.
+   */
+  public static final class Result {
+    private final String name;
+    private final Map<String, String> params;
+    private final double[] scores;
+
+    // creates the result of the benchmark of the given name and parameters
+    // with the given operations per second of every measured iteration
+    private Result(String name, Map<String, String> params, double[] scores) {
+      this.name = name;
+      this.params = Collections.unmodifiableMap(new LinkedHashMap<>(params));
+      this.scores = scores.clone();
+    }
+
+    /**
+     * Returns the name of the benchmark.
+     * @return the name
+     */
+    public String getName() {
+      return this.name;
+    }
+
+    /**
+     * Returns the parameters of the benchmark.
+     * @return the parameters by name, in the order they were given
+     */
+    public Map<String, String> getParams() {
+      return this.params;
+    }
+
+    /**
+     * Returns the mean operations per second of the measured iterations.
+     * @return the score
+     */
+    public double getScore() {
+      double sum = 0;
+      for (double score : this.scores) {
+        sum += score;
+      }
+      return sum / this.scores.length;
+    }
+
+    /**
+     * Returns half the width of the 99.9% confidence interval of the score.
+     * @return the error of the score, which is 0 with only one measured iteration
+     */
+    public double getScoreError() {
+      if (this.scores.length < 2) {
+        return 0;
+      }
+      double mean = this.getScore();
+      double squares = 0;
+      for (double score : this.scores) {
+        squares += (score - mean) * (score - mean);
+      }
+      return studentQuantile(CONFIDENCE_QUANTILE, this.scores.length - 1)
+              * Math.sqrt(squares / (this.scores.length - 1) / this.scores.length);
+    }
+
+    /**
+     * Returns the operations per second of every measured iteration.
+     * @return the scores of the iterations
+     */
+    public double[] getRawScores() {
+      return this.scores.clone();
+    }
+
+    // returns this result as a JSON object
+    private String toJson() {
+      List<String> params = new ArrayList<>();
+      for (Map.Entry<String, String> param : this.params.entrySet()) {
+        params.add(quote(param.getKey()) + ": " + quote(param.getValue()));
+      }
+      List<String> raw = new ArrayList<>();
+      for (double score : this.scores) {
+        raw.add(String.valueOf(score));
+      }
+      return "  {\n"
+              + "    \"benchmark\": " + quote(this.name) + ",\n"
+              + "    \"mode\": \"thrpt\",\n"
+              + "    \"measurementIterations\": " + this.scores.length + ",\n"
+              + "    \"params\": {" + String.join(", ", params) + "},\n"
+              + "    \"primaryMetric\": {\n"
+              + "      \"score\": " + this.getScore() + ",\n"
+              + "      \"scoreError\": " + this.getScoreError() + ",\n"
+              + "      \"scoreUnit\": \"ops/s\",\n"
+              + "      \"rawData\": [[" + String.join(", ", raw) + "]]\n"
+              + "    }\n"
+              + "  }";
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package cs3500.reversi.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import cs3500.reversi.model.Coordinates;
+import cs3500.reversi.model.ModelCreator;
+import cs3500.reversi.model.ReversiModelReadOnly;
+import cs3500.reversi.model.ReversiModelReadWrite;
+import cs3500.reversi.model.ReversiSearchModel;
+import cs3500.reversi.model.UndoRecord;
+import cs3500.reversi.player.HumanPlayer;
+import cs3500.reversi.player.Player;
+
+/**
+ * Counts the positions reached by every sequence of a given number of moves from a position
+ * (perft), which checks the rules of a model against known counts and against the other models
+ * of the same board, and measures how fast a model generates, makes and takes back moves.
+ * A player without a legal move passes, and the pass counts as a move. A position where
+ * neither player can move ends the game, and counts as one position however many moves are
+ * left. Every counted position is reached by making the moves on one copy of the game and
+ * taking them back, as a search does.
+ * Run on its own, it counts the positions from the start of a game on every model of a board
+ * at every depth up to a given one, and prints the counts with the positions counted per second,
+ * checking that all models of the board agree and, on the standard 8x8 board, that the counts
+ * are the known ones.
+ */
+public final class Perft {
+  /**
+   * The number of positions reached from the start of a game on the standard 8x8 square board
+   * by every sequence of 1, 2, 3 and so on moves, starting from 1 move.
+   */
+  public static final long[] SQUARE_8_COUNTS = {4, 12, 56, 244, 1396, 8200, 55092, 390216,
+    3005288, 24571284, 212258800};
+
+  /**
+   * Counts the positions reached from the current position of the given game by every
+   * sequence of the given number of moves, leaving the game as it was.
+   * @param model the game to count from
+   * @param depth the number of moves
+   * @return the number of positions reached
+   * @throws IllegalArgumentException if the depth is negative
+   */
+  public static long count(ReversiModelReadOnly model, int depth) {
+    if (depth < 0) {
+      throw new IllegalArgumentException("Depth can't be negative!");
+    }
+    if (model.isGameOver()) {
+      return 1;
+    }
+    return countFrom(model.copyForSearch(), depth);
+  }
+
+  // counts the positions reached from the current position of the given unfinished game by
+  // every sequence of the given number of moves
+  private static long countFrom(ReversiSearchModel model, int depth) {
+    if (depth == 0) {
+      return 1;
+    }
+    Player turn = model.getTurn();
+    Coordinates[] moves = model.getLegalMoves(turn).keySet().toArray(new Coordinates[0]);
+    if (moves.length == 0) {
+      UndoRecord pass = model.applyPass(turn);
+      try {
+        // the game ends when the opponent can't move either
+        return model.movable(model.getTurn()) ? countFrom(model, depth - 1) : 1;
+      } finally {
+        model.undoMove(pass);
+      }
+    }
+    long count = 0;
+    for (Coordinates move : moves) {
+      UndoRecord record = model.applyMove(turn, move);
+      count += countFrom(model, depth - 1);
+      model.undoMove(record);
+    }
+    return count;
+  }
+
+  /**
+   * Runs the counts.
+   * @param args the shape of the board, "square" or "hex" (defaults to "square"), the board
+   *             size (defaults to 8 for a square board and 6 for a hexagonal one) and the most
+   *             moves to count to (defaults to 8)
+   * @throws IllegalStateException if the models of the board disagree on a count, or a count
+   *                               on the standard 8x8 board is not the known one
+   */
+  public static void main(String[] args) {
+    boolean hexagon = args.length > 0 && args[0].toLowerCase().startsWith("hex");
+    int boardSize = args.length > 1 ? Integer.parseInt(args[1]) : hexagon ? 6 : 8;
+    int maxDepth = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+    List<ModelCreator.GameType> gameTypes = hexagon
+            ? List.of(ModelCreator.GameType.HEX, ModelCreator.GameType.HEX_BITSET)
+            : List.of(ModelCreator.GameType.SQUARE, ModelCreator.GameType.SQUARE_BITBOARD);
+
+    System.out.println((hexagon ? "hex " : "square ") + boardSize);
+    for (int depth = 1; depth <= maxDepth; depth++) {
+      List<Long> counts = new ArrayList<>();
+      for (ModelCreator.GameType gameType : gameTypes) {
+        Player player1 = new HumanPlayer();
+        Player player2 = new HumanPlayer();
+        ReversiModelReadWrite model = ModelCreator.create(gameType, boardSize, player1,
+                player2);
+        long startNanos = System.nanoTime();
+        long count = count(model, depth);
+        long nanos = Math.max(1, System.nanoTime() - startNanos);
+        counts.add(count);
+        System.out.printf("depth %2d %-16s %14d positions %8d ms %12.0f positions/s%n", depth,
+                gameType, count, nanos / 1_000_000, count * 1e9 / nanos);
+      }
+      if (counts.stream().distinct().count() > 1) {
+        throw new IllegalStateException("Models disagree at depth " + depth + ": " + counts);
+      }
+      if (!hexagon && boardSize == 8 && depth <= SQUARE_8_COUNTS.length
+              && counts.get(0) != SQUARE_8_COUNTS[depth - 1]) {
+        throw new IllegalStateException("Count at depth " + depth + " should be "
+                + SQUARE_8_COUNTS[depth - 1] + "!");
+      }
+    }
+    System.out.println("all models agree");
+  }
+}
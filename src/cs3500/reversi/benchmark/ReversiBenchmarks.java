@@ -0,0 +1,204 @@
+package cs3500.reversi.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import cs3500.reversi.model.BoardTopology;
+import cs3500.reversi.model.Coordinates;
+import cs3500.reversi.model.ModelCreator;
+import cs3500.reversi.model.ReversiModelReadOnly;
+import cs3500.reversi.model.ReversiModelReadWrite;
+import cs3500.reversi.player.HumanPlayer;
+import cs3500.reversi.player.Player;
+import cs3500.reversi.strategy.AvoidGivingCorners;
+import cs3500.reversi.strategy.CaptureMost;
+import cs3500.reversi.strategy.ChainableStrategy;
+import cs3500.reversi.strategy.GoForCorners;
+import cs3500.reversi.strategy.Minimax;
+import cs3500.reversi.view.ReversiTextualView;
+import cs3500.reversi.view.SquareReversiTextualView;
+
+/**
+ * Measures the throughput of the operations of the models, the chainable strategies and the
+ * textual views on several sizes of every type of game, and writes the results as JSON so
+ * that they can be compared between releases.
+ * Every benchmark runs on the same position of its board: the position after a fixed number
+ * of random moves, made from the same seed so that every run and every model of a board
+ * measures the same position.
+ * The benchmarks are:
+ * <ul>
+ *   <li>model.scoreEarnedByPlaceIn: the score of placing on a cell, going through every cell
+ *       of the board in turn</li>
+ *   <li>model.placeIn: placing a disc, by playing a whole random game on a new game, counting
+ *       every disc placed as one operation</li>
+ *   <li>model.movable: whether the player to move can move</li>
+ *   <li>model.getBoard: getting the whole board</li>
+ *   <li>model.tryMove: trying a legal move, going through every legal move in turn</li>
+ *   <li>strategy.CaptureMost, strategy.GoForCorners, strategy.AvoidGivingCorners and
+ *       strategy.Minimax: choosing the moves of the player to move</li>
+ *   <li>view.toString: drawing the board as text</li>
+ * </ul>
+ */
+public final class ReversiBenchmarks {
+  // the board sizes measured for every type of game
+  private static final int[] BOARD_SIZES = {4, 6, 8};
+  // the seed of the random moves leading to the measured positions
+  private static final long SEED = 2023;
+
+  private final MicroBenchmark harness;
+  private final String filter;
+  private final List<MicroBenchmark.Result> results = new ArrayList<>();
+
+  // creates the benchmarks run by the given harness, running only those with the given text
+  // in their name
+  private ReversiBenchmarks(MicroBenchmark harness, String filter) {
+    this.harness = harness;
+    this.filter = filter;
+  }
+
+  /**
+   * Runs the benchmarks, prints their results and writes them as JSON.
+   * @param args the file to write the results to (defaults to "benchmark-results.json" in the
+   *             working directory), the length of every iteration in milliseconds (defaults to
+   *             200), the number of warmup iterations (defaults to 3), the number of measured
+   *             iterations (defaults to 5) and a text that the names of the benchmarks to run
+   *             must contain (defaults to running every benchmark)
+   * @throws IOException if the results can't be written
+   */
+  public static void main(String[] args) throws IOException {
+    Path file = Paths.get(args.length > 0 ? args[0] : "benchmark-results.json");
+    long iterationMillis = args.length > 1 ? Long.parseLong(args[1]) : 200;
+    int warmupIterations = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+    int measurementIterations = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+    String filter = args.length > 4 ? args[4] : "";
+
+    ReversiBenchmarks benchmarks = new ReversiBenchmarks(new MicroBenchmark(warmupIterations,
+            measurementIterations, iterationMillis), filter);
+    for (ModelCreator.GameType gameType : ModelCreator.GameType.values()) {
+      for (int boardSize : BOARD_SIZES) {
+        benchmarks.runOn(gameType, boardSize);
+      }
+    }
+    Files.write(file, MicroBenchmark.toJson(benchmarks.results)
+            .getBytes(StandardCharsets.UTF_8));
+    System.out.println(benchmarks.results.size() + " results written to " + file);
+  }
+
+  // runs every benchmark on the board of the given type and size
+  private void runOn(ModelCreator.GameType gameType, int boardSize) {
+    Map<String, String> params = new LinkedHashMap<>();
+    params.put("gameType", gameType.name());
+    params.put("boardSize", String.valueOf(boardSize));
+    ReversiModelReadWrite model = newGame(gameType, boardSize);
+    BoardTopology topology = model.getTopology();
+    int[] game = randomGame(model, new Random(SEED), Integer.MAX_VALUE);
+    int moveCount = 0;
+    for (int move : game) {
+      moveCount += move >= 0 ? 1 : 0;
+    }
+
+    ReversiModelReadWrite position = newGame(gameType, boardSize);
+    randomGame(position, new Random(SEED), topology.getCellCount() / 3);
+    Player turn = position.getTurn();
+    Coordinates[] cells = new Coordinates[topology.getCellCount()];
+    for (int cell = 0; cell < cells.length; cell++) {
+      cells[cell] = topology.getCoordinates(cell);
+    }
+    Coordinates[] legalMoves = sortedLegalMoves(position, turn);
+    int[] next = new int[1];
+
+    this.run("model.scoreEarnedByPlaceIn", params, 1, () -> {
+      next[0] = next[0] + 1 == cells.length ? 0 : next[0] + 1;
+      return position.scoreEarnedByPlaceIn(turn, cells[next[0]]);
+    });
+    this.run("model.placeIn", params, Math.max(1, moveCount), () -> {
+      ReversiModelReadWrite replayed = newGame(gameType, boardSize);
+      replay(replayed, game);
+      return replayed.getPositionHash();
+    });
+    this.run("model.movable", params, 1, () -> position.movable(turn) ? 1 : 0);
+    this.run("model.getBoard", params, 1, () -> position.getBoard().size());
+    if (legalMoves.length > 0) {
+      this.run("model.tryMove", params, 1, () -> {
+        next[0] = next[0] + 1 >= legalMoves.length ? 0 : next[0] + 1;
+        return position.tryMove(turn, legalMoves[next[0]]).getScore(turn);
+      });
+    }
+    for (ChainableStrategy strategy : new ChainableStrategy[] {new CaptureMost(),
+      new GoForCorners(), new AvoidGivingCorners(), new Minimax()}) {
+      this.run("strategy." + strategy.getClass().getSimpleName(), params, 1,
+          () -> strategy.chooseMove(position, turn).size());
+    }
+    boolean hexagon = topology.getShape() == BoardTopology.Shape.HEXAGON;
+    this.run("view.toString", params, 1, () -> (hexagon
+            ? new ReversiTextualView(position, new StringBuilder()).toString()
+            : new SquareReversiTextualView(position, new StringBuilder()).toString()).length());
+  }
+
+  // measures and prints the given benchmark, if its name passes the filter
+  private void run(String name, Map<String, String> params, int opsPerInvocation,
+                   MicroBenchmark.Invocation invocation) {
+    if (!name.contains(this.filter)) {
+      return;
+    }
+    MicroBenchmark.Result result = this.harness.measure(name, params, opsPerInvocation,
+            invocation);
+    this.results.add(result);
+    System.out.printf("%-28s %-16s %2s %16.1f +- %12.1f ops/s%n", name,
+            params.get("gameType"), params.get("boardSize"), result.getScore(),
+            result.getScoreError());
+  }
+
+  // creates a new game of the given type and board size
+  private static ReversiModelReadWrite newGame(ModelCreator.GameType gameType, int boardSize) {
+    return ModelCreator.create(gameType, boardSize, new HumanPlayer(), new HumanPlayer());
+  }
+
+  // returns the legal moves of the given player, in the order of the cells of the board
+  private static Coordinates[] sortedLegalMoves(ReversiModelReadOnly model, Player player) {
+    BoardTopology topology = model.getTopology();
+    Coordinates[] moves = model.getLegalMoves(player).keySet().toArray(new Coordinates[0]);
+    Arrays.sort(moves, Comparator.comparingInt(topology::indexOf));
+    return moves;
+  }
+
+  // plays random moves on the given game until it ends or the given number of moves is made,
+  // and returns the moves made as the indices of their cells, with -1 for a pass
+  private static int[] randomGame(ReversiModelReadWrite model, Random random, int maxMoves) {
+    List<Integer> moves = new ArrayList<>();
+    while (!model.isGameOver() && moves.size() < maxMoves) {
+      Player turn = model.getTurn();
+      Coordinates[] legalMoves = sortedLegalMoves(model, turn);
+      if (legalMoves.length == 0) {
+        model.pass(turn);
+        moves.add(-1);
+      } else {
+        Coordinates move = legalMoves[random.nextInt(legalMoves.length)];
+        model.placeIn(turn, move);
+        moves.add(model.getTopology().indexOf(move));
+      }
+    }
+    return moves.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  // makes the given moves on the given game, as returned by randomGame
+  private static void replay(ReversiModelReadWrite model, int[] moves) {
+    for (int move : moves) {
+      if (move < 0) {
+        model.pass(model.getTurn());
+      } else {
+        model.placeIn(model.getTurn(), move);
+      }
+    }
+  }
+}
@@ -1,43 +1,36 @@
 package cs3500.reversi.model;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
-import java.util.function.Function;
+import java.util.Map;
 
 import cs3500.reversi.player.Player;
-import cs3500.reversi.utils.Utils;
 
 /**
  * Represents a Reversi game which abstract out the common code among different
- * implementations of Reversi model.
+ * implementations of Reversi model that keep their game board as rows of cells.
  */
-public abstract class AbstractReversi implements ReversiModelReadWrite {
+public abstract class AbstractReversi extends AbstractTurnBasedReversi {
   // represents the board game, each inner List<Cell> is a row in the board
   // with 0th List<Cell> being the top row in board,
   // and 0th Cell is the leftmost cell in the row.
   protected final List<List<Cell>> board;
-  protected final int boardSize;
-  // Class Invariant: the length of the list of players and list of discs
-  // must always be the same size.
-  protected final List<Player> players;
-  protected final List<Disc> discs;
-
-  // a record of how many rounds this game have continued
-  protected int round;
-  // number of consecutive passes that players have taken
-  protected int numPass;
-  // a list of Features listeners that are registered to receive notification
-  // about the current turn of the game when game starts and every time the turn changes
-  protected final List<ModelFeatures> listeners;
-  // true if this is a real playing game that players take turn to play and after every move,
-  // the next player would need to be notified to move, or false if this is a mock try-out game
-  // where it doesn't and shouldn't continue the gaming process of calling the next player
-  protected final boolean isRealGame;
+  // the cells in the board, in the order of their indices in the topology of the board
+  protected final Cell[] cells;
+  // for each disc (indexed by its ordinal), the score that placing that disc into each cell
+  // would earn, which is 0 if the cell is occupied or placing the disc there is illegal,
+  // kept up to date after every move so that finding legal moves never scans the whole board
+  private final int[][] moveScores;
+  // for each disc (indexed by its ordinal), the indices of the cells with a positive move score
+  private final BitSet[] legalMoves;
+  // the indices of the cells that got a disc placed or flipped by the last move
+  private final int[] changedCells;
+  private int numChangedCells;
+  // for each disc (indexed by its ordinal), the number of cells holding that disc, kept up to
+  // date on every placed, flipped or removed disc so that scores never scan the board
+  private final int[] discCounts;
 
   /**
    * A cloning constructor that sets the attributes of this Reversi model to
@@ -45,14 +38,17 @@ public abstract class AbstractReversi implements ReversiModelReadWrite {
    * @param reversi a Reversi model to be cloned
    */
   public AbstractReversi(AbstractReversi reversi) {
-    this.boardSize = reversi.boardSize;
+    super(reversi);
     this.board = reversi.getBoard();
-    this.players = reversi.players;
-    this.discs = reversi.discs;
-    this.numPass = reversi.numPass;
-    this.round = reversi.round;
-    this.listeners = reversi.listeners;
-    this.isRealGame = false;
+    this.cells = this.indexCells();
+    this.moveScores = new int[reversi.moveScores.length][];
+    this.legalMoves = new BitSet[reversi.legalMoves.length];
+    for (int disc = 0; disc < this.moveScores.length; disc++) {
+      this.moveScores[disc] = reversi.moveScores[disc].clone();
+      this.legalMoves[disc] = (BitSet) reversi.legalMoves[disc].clone();
+    }
+    this.changedCells = new int[this.cells.length];
+    this.discCounts = reversi.discCounts.clone();
   }
 
   /**
@@ -63,33 +59,45 @@ public abstract class AbstractReversi implements ReversiModelReadWrite {
    * @param player2 the other player of this game
    */
   public AbstractReversi(int boardSize, Player player1, Player player2) {
-    this.validateBoardSize(boardSize);
-    this.boardSize = boardSize;
+    super(boardSize, player1, player2);
     this.board = this.initializeBoard();
+    this.cells = this.indexCells();
     this.placeInitialDiscs();
-    // class invariants that this.players and this.discs have the same size
-    // are kept
-    List<Player> playerList = new ArrayList<>(Arrays.asList(player1, player2));
-    List<Disc> discList = new ArrayList<>(Arrays.asList(Disc.WHITE, Disc.BLACK));
-    this.players = Collections.unmodifiableList(playerList);
-    this.discs = Collections.unmodifiableList(discList);
-    this.round = 0;
-    this.numPass = 0;
-    this.listeners = new ArrayList<>();
-    this.isRealGame = true;
+    this.discCounts = new int[Disc.values().length];
+    for (int index = 0; index < this.cells.length; index++) {
+      if (!this.cells[index].isEmpty()) {
+        this.toggleDiscHash(index, this.cells[index].getDisc());
+        this.discCounts[this.cells[index].getDisc().ordinal()] += 1;
+      }
+    }
+    this.moveScores = new int[Disc.values().length][this.cells.length];
+    this.legalMoves = new BitSet[Disc.values().length];
+    for (int disc = 0; disc < this.legalMoves.length; disc++) {
+      this.legalMoves[disc] = new BitSet(this.cells.length);
+    }
+    this.changedCells = new int[this.cells.length];
+    for (int index = 0; index < this.cells.length; index++) {
+      this.refreshMoveScores(index);
+    }
   }
 
-  protected abstract void validateBoardSize(int boardSize);
+  // returns the cells in the board in the order of their indices in the topology of the board
+  private Cell[] indexCells() {
+    Cell[] indexedCells = new Cell[this.topology.getCellCount()];
+    int index = 0;
+    for (List<Cell> row : this.board) {
+      for (Cell cell : row) {
+        indexedCells[index] = cell;
+        index += 1;
+      }
+    }
+    return indexedCells;
+  }
 
   protected abstract List<List<Cell>> initializeBoard();
 
   protected abstract void placeInitialDiscs();
 
-  @Override
-  public int getBoardSideLength() {
-    return this.boardSize;
-  }
-
   @Override
   public List<List<Cell>> getBoard() {
     List<List<Cell>> copy = new ArrayList<>();
@@ -103,45 +111,58 @@ public abstract class AbstractReversi implements ReversiModelReadWrite {
     return copy;
   }
 
+  @Override
+  public Disc discAt(int index) {
+    this.checkCellIndex(index);
+    return this.cells[index].isEmpty() ? null : this.cells[index].getDisc();
+  }
+
   @Override
   public int scoreEarnedByPlaceIn(Player player, Coordinates coordinates) {
     this.checkGameIsContinuing();
-    int score = 0;
-    // if this is the given player's turn to play and the given coordinates is valid
-    // and the cell is empty so that the player can place a disc
+    int index = this.topology.indexOf(coordinates);
+    // only when this is the given player's turn to play and the given coordinates is valid
+    // and the cell is empty can the player place a disc and earn any score
     if (player.equals(this.getTurn()) && coordinates.validCoordsOnBoard(this.boardSize)
-            && this.getCellInBoard(coordinates).isEmpty()) {
-      for (Function<Coordinates, Coordinates> func : coordinates.getNeighborFunctions()) {
-        score += this.searchThrough(func, coordinates, this.getDiscOf(player), 0);
-      }
+            && index >= 0 && this.cells[index].isEmpty()) {
+      return this.moveScores[this.getDiscOf(player).ordinal()][index];
     }
-    return score;
+    return 0;
   }
 
-  // Check if this game haven't ended, throw IllegalStateException if the game already ended
-  protected void checkGameIsContinuing() throws IllegalStateException {
-    if (this.isGameOver()) {
-      throw new IllegalStateException("Game already ended!");
-    }
+  @Override
+  public boolean isLegal(Player player, int index) {
+    this.checkGameIsContinuing();
+    this.checkCellIndex(index);
+    return player.equals(this.getTurn()) && this.cells[index].isEmpty()
+            && this.moveScores[this.getDiscOf(player).ordinal()][index] > 0;
   }
 
-  // search through the given direction to see possible score that can be earned.
-  protected int searchThrough(Function<Coordinates, Coordinates> getNeighbor,
-                            Coordinates coordinates, Disc disc, int scoreAccumulator) {
-    Coordinates neighbor = getNeighbor.apply(coordinates);
-    // if there is no neighbor to the given coordinates in this direction anymore,
-    // or there is no disc on the cell of the given coordinates, meaning the search stream
-    // is broken, and haven't found the given kind of disc to end, then return 0
-    if (!neighbor.validCoordsOnBoard(this.boardSize) || this.getCellInBoard(neighbor).isEmpty()) {
-      return 0;
+  // returns the score that can be earned by placing the given disc into the empty cell
+  // of the given index, searching through the rays of the cell in all directions
+  private int scoreEarnedByPlaceIn(Disc disc, int index) {
+    int score = 0;
+    for (int direction = 0; direction < this.topology.getDirectionCount(); direction++) {
+      score += this.searchThrough(this.topology.getRay(index, direction), disc);
     }
-    Cell cell = this.getCellInBoard(neighbor);
-    Disc discInCurrentCell = cell.getDisc();
-    if (discInCurrentCell != disc) {
-      return this.searchThrough(getNeighbor, neighbor, disc, scoreAccumulator + 1);
-    } else {
-      return scoreAccumulator;
+    return score;
+  }
+
+  // search through the given ray of cells to see possible score that can be earned.
+  protected int searchThrough(int[] ray, Disc disc) {
+    for (int step = 0; step < ray.length; step++) {
+      Cell cell = this.cells[ray[step]];
+      // if there is no disc on this cell, meaning the search stream is broken,
+      // and haven't found the given kind of disc to end, then return 0
+      if (cell.isEmpty()) {
+        return 0;
+      }
+      if (cell.getDisc() == disc) {
+        return step;
+      }
     }
+    // there is no cell in this direction anymore before finding the given kind of disc
+    return 0;
   }
 
   @Override
@@ -151,103 +172,64 @@ public abstract class AbstractReversi implements ReversiModelReadWrite {
     if (!player.equals(this.getTurn())) {
       return false;
     }
-    List<Disc> opponentDiscs = this.getAllOpponentDiscsOnBoard(player);
-    List<Cell> opponentCells = this.getAllCellsWithDiscs(opponentDiscs);
-    Set<Cell> possibleCellToMove = this.getAllCellsAround(opponentCells);
-    return this.canPlayerPlaceDiscInAny(possibleCellToMove, player);
+    return !this.legalMoves[this.getDiscOf(player).ordinal()].isEmpty();
   }
 
-  // returns all discs on board that is from an opponent of the given player.
-  private List<Disc> getAllOpponentDiscsOnBoard(Player player) {
-    List<Disc> allOpponentDiscs = new ArrayList<>();
-    int playerIndex = this.players.indexOf(player);
-    for (int idx = 0; idx < this.discs.size(); idx++) {
-      if (idx != playerIndex) {
-        allOpponentDiscs.add(this.discs.get(idx));
-      }
-    }
-    return allOpponentDiscs;
-  }
-
-  // returns a list of all cells that has any of the given discs put on them.
-  private List<Cell> getAllCellsWithDiscs(List<Disc> discs) {
-    List<Cell> cells = new ArrayList<>();
-    for (List<Cell> row : this.board) {
-      for (Cell cell : row) {
-        if (!cell.isEmpty() && discs.contains(cell.getDisc())) {
-          cells.add(cell);
-        }
-      }
+  @Override
+  public Map<Coordinates, Integer> getLegalMoves(Player player) {
+    this.checkGameIsContinuing();
+    Map<Coordinates, Integer> moves = new LinkedHashMap<>();
+    // if this is not this player's turn to play, then there is no legal move
+    if (!player.equals(this.getTurn())) {
+      return moves;
     }
-    return cells;
-  }
-
-  // returns a list of all cells that are neighbors of any cells
-  // in the given list of cells.
-  private Set<Cell> getAllCellsAround(List<Cell> cells) {
-    Set<Cell> allCellsAroundGivenCells = new HashSet<>();
-    for (Cell cell : cells) {
-      allCellsAroundGivenCells.addAll(this.getAllNeighbors(cell));
+    int disc = this.getDiscOf(player).ordinal();
+    BitSet legalMovesOfDisc = this.legalMoves[disc];
+    for (int index = legalMovesOfDisc.nextSetBit(0); index >= 0;
+         index = legalMovesOfDisc.nextSetBit(index + 1)) {
+      moves.put(this.topology.getCoordinates(index), this.moveScores[disc][index]);
     }
-    return allCellsAroundGivenCells;
+    return moves;
   }
 
-  // return a list of all neighbor cells of the given cell
-  private List<Cell> getAllNeighbors(Cell cell) {
-    List<Cell> allNeighborCells = new ArrayList<>();
-    Coordinates cellCoordinates = cell.getCoordinates();
-    for (Coordinates neighbor : cellCoordinates.getAllNeighbors()) {
-      if (neighbor.validCoordsOnBoard(this.boardSize)) {
-        allNeighborCells.add(this.getCellInBoard(neighbor));
-      }
+  // recalculates the score that placing each disc into the cell of the given index would earn
+  private void refreshMoveScores(int index) {
+    boolean isEmpty = this.cells[index].isEmpty();
+    for (Disc disc : Disc.values()) {
+      int score = isEmpty ? this.scoreEarnedByPlaceIn(disc, index) : 0;
+      this.moveScores[disc.ordinal()][index] = score;
+      this.legalMoves[disc.ordinal()].set(index, score > 0);
     }
-    return allNeighborCells;
   }
 
-  // returns true if the given player can place a disc in any of
-  // the given collection of cells, false if none of the cells can be a legal move.
-  private boolean canPlayerPlaceDiscInAny(Collection<Cell> possibleCellToMove, Player player) {
-    for (Cell cell : possibleCellToMove) {
-      if (this.scoreEarnedByPlaceIn(player, cell.getCoordinates()) > 0) {
-        return true;
-      }
-    }
-    return false;
-  }
-
-  @Override
-  public int getScore(Player player) {
-    int score = 0;
-    Disc discOfPlayer = this.getDiscOf(player);
-    for (List<Cell> row : this.board) {
-      for (Cell cell : row) {
-        if (!cell.isEmpty() && cell.getDisc() == discOfPlayer) {
-          score += 1;
+  // recalculates the move scores of the cells changed by the last move, and of the first empty
+  // cell met when walking from each changed cell over occupied cells along each direction,
+  // because those are the only cells whose rays run through the changed cells
+  private void refreshMovesAroundChangedCells() {
+    for (int changed = 0; changed < this.numChangedCells; changed++) {
+      int index = this.changedCells[changed];
+      this.refreshMoveScores(index);
+      for (int direction = 0; direction < this.topology.getDirectionCount(); direction++) {
+        for (int cellIndex : this.topology.getRay(index, direction)) {
+          if (this.cells[cellIndex].isEmpty()) {
+            this.refreshMoveScores(cellIndex);
+            break;
+          }
         }
       }
     }
-    return score;
-  }
-
-  @Override
-  public boolean isGameOver() {
-    return this.numPass == this.players.size();
   }
 
   @Override
-  public Player getTurn() {
-    this.checkGameIsContinuing();
-    int currentSequence = this.round % this.players.size();
-    return this.players.get(currentSequence);
+  public int getScore(Player player) {
+    return this.discCounts[this.getDiscOf(player).ordinal()];
   }
 
   @Override
   public Cell getCellInBoard(Coordinates coordinates) throws IllegalArgumentException {
-    int row = coordinates.getRow(this.boardSize);
-    int locationInRow = coordinates.getLocationInRow(this.boardSize);
-    if (Utils.checkValuesInBetween(row, 0, this.board.size() - 1)
-            && Utils.checkValuesInBetween(locationInRow, 0, this.board.get(row).size() - 1)) {
-      return this.board.get(row).get(locationInRow);
+    int index = this.topology.indexOf(coordinates);
+    if (index >= 0) {
+      return this.cells[index];
     }
     throw new IllegalArgumentException("Invalid coordinates!");
   }
@@ -260,117 +242,86 @@ public abstract class AbstractReversi implements ReversiModelReadWrite {
     return newModel;
   }
 
-  protected abstract ReversiModelReadWrite copyModel();
-
   @Override
-  public void pass(Player player) {
-    this.checkValidTurn(player);
-    this.checkGameIsContinuing();
-    this.numPass += 1;
-    this.round += 1;
-    if (!isGameOver()) {
-      this.endAMove();
-    } else {
-      this.notifyGameEnds();
-    }
-  }
-
-  // Check if this is the given player's turn, if not, throw IllegalStateException
-  private void checkValidTurn(Player player) throws IllegalStateException {
-    if (!this.getTurn().equals(player)) {
-      throw new IllegalStateException("It's not your turn yet!");
-    }
-  }
-
-  // a helper method that deals with the end of a move by notifying the next player to make a move
-  // if this is in a real game
-  private void endAMove() {
-    if (isRealGame) {
-      this.notifyNewTurn();
-    }
+  public ReversiSearchModel copyForSearch() {
+    return this.copyModel();
   }
 
-  // notify all the listeners which subscribed to get the turn of the game
-  // about the player that should be playing for the current new round
-  private void notifyNewTurn() {
-    Player playerOfTurn = this.getTurn();
-    boolean currentPlayerCannotMove = !movable(playerOfTurn);
-    int currentRound = this.round;
-    for (ModelFeatures listener : this.listeners) {
-      if (currentPlayerCannotMove && !isGameOver()) {
-        listener.mustPass(playerOfTurn);
-      }
-      // if a player already take move on this round, then there is no need to continue
-      // broadcasting the new turn notification for this round
-      if (currentRound == this.round) {
-        listener.newTurn(playerOfTurn);
-      }
-    }
-  }
-
-  // notify all the listeners which subscribed to listen to the changes of this model
-  // that this game have ended
-  private void notifyGameEnds() {
-    for (ModelFeatures listener : this.listeners) {
-      listener.gameEnds();
-    }
-  }
+  protected abstract AbstractReversi copyModel();
 
   @Override
-  public void placeIn(Player player, Coordinates coordinates) {
-    this.checkValidTurn(player);
-    this.checkGameIsContinuing();
+  protected UndoRecord placeDisc(Player player, int index) {
+    Disc discOfThisPlayer = this.getDiscOf(player);
     // earning a score of 0 meaning that this is an illegal move
-    if (this.scoreEarnedByPlaceIn(player, coordinates) == 0) {
+    if (!this.cells[index].isEmpty() || this.moveScores[discOfThisPlayer.ordinal()][index] == 0) {
       throw new IllegalArgumentException("this coordinates is not a valid place to put disc in!");
     }
-    Disc discOfThisPlayer = this.getDiscOf(player);
-    this.getCellInBoard(coordinates).placeDisc(discOfThisPlayer);
-
-    for (Function<Coordinates, Coordinates> func : coordinates.getNeighborFunctions()) {
-      if (this.searchThrough(func, coordinates, this.getDiscOf(player), 0) > 0) {
-        this.flipAlong(func, coordinates, discOfThisPlayer);
+    this.cells[index].placeDisc(discOfThisPlayer);
+    this.toggleDiscHash(index, discOfThisPlayer);
+    this.discCounts[discOfThisPlayer.ordinal()] += 1;
+    this.numChangedCells = 0;
+    this.changedCells[this.numChangedCells++] = index;
+
+    for (int direction = 0; direction < this.topology.getDirectionCount(); direction++) {
+      int[] ray = this.topology.getRay(index, direction);
+      if (this.searchThrough(ray, discOfThisPlayer) > 0) {
+        this.flipAlong(ray, discOfThisPlayer);
       }
     }
-    this.numPass = 0;
-    this.round += 1;
-    this.endAMove();
-  }
-
-  // flip the discs along the given direction to the given disc
-  private void flipAlong(Function<Coordinates, Coordinates> getNeighbor,
-                         Coordinates coordinates, Disc disc) {
-    Coordinates neighbor = getNeighbor.apply(coordinates);
-    if (!coordinates.validCoordsOnBoard(this.boardSize)
-            || this.getCellInBoard(neighbor).isEmpty()) {
-      throw new IllegalArgumentException("Wrong direction to flip!");
-    }
-    // if this cell is already occupied by the given disc that we are trying to flip discs into,
-    // this means that this flip should stop.
-    else if (this.getCellInBoard(neighbor).getDisc().equals(disc)) {
-      return;
+    this.refreshMovesAroundChangedCells();
+    // the cells changed after the placed cell are the flipped ones
+    long[] flipped = new long[(this.cells.length + Long.SIZE - 1) / Long.SIZE];
+    for (int changed = 1; changed < this.numChangedCells; changed++) {
+      int cellIndex = this.changedCells[changed];
+      flipped[cellIndex / Long.SIZE] |= 1L << cellIndex;
     }
-    Cell cell = this.getCellInBoard(neighbor);
-    cell.flipDiscTo(disc);
-    this.flipAlong(getNeighbor,neighbor, disc);
-  }
-
-  @Override
-  public void startGame() {
-    this.notifyNewTurn();
+    return new UndoRecord(discOfThisPlayer, index, flipped, this.round, this.numPass);
   }
 
   @Override
-  public void addFeatures(ModelFeatures listener) {
-    this.listeners.add(listener);
+  protected void takeBackDisc(UndoRecord record) {
+    Disc opponentDisc = record.getDisc() == Disc.BLACK ? Disc.WHITE : Disc.BLACK;
+    this.cells[record.getPlacedIndex()].removeDisc();
+    this.toggleDiscHash(record.getPlacedIndex(), record.getDisc());
+    this.discCounts[record.getDisc().ordinal()] -= 1;
+    this.numChangedCells = 0;
+    this.changedCells[this.numChangedCells++] = record.getPlacedIndex();
+    long[] flipped = record.getFlipped();
+    for (int word = 0; word < flipped.length; word++) {
+      for (long remaining = flipped[word]; remaining != 0; remaining &= remaining - 1) {
+        int cellIndex = word * Long.SIZE + Long.numberOfTrailingZeros(remaining);
+        this.cells[cellIndex].flipDiscTo(opponentDisc);
+        this.toggleDiscHash(cellIndex, record.getDisc());
+        this.toggleDiscHash(cellIndex, opponentDisc);
+        this.changedCells[this.numChangedCells++] = cellIndex;
+      }
+      int flippedCount = Long.bitCount(flipped[word]);
+      this.discCounts[record.getDisc().ordinal()] -= flippedCount;
+      this.discCounts[opponentDisc.ordinal()] += flippedCount;
+    }
+    // the move scores depend on the same cells as when the move was made
+    this.refreshMovesAroundChangedCells();
   }
 
-  @Override
-  public Disc getDiscOf(Player player) {
-    if (!this.players.contains(player)) {
-      throw new IllegalArgumentException("Player not involved in this game!");
+  // flip the discs along the given ray of cells to the given disc
+  private void flipAlong(int[] ray, Disc disc) {
+    for (int cellIndex : ray) {
+      Cell cell = this.cells[cellIndex];
+      if (cell.isEmpty()) {
+        throw new IllegalArgumentException("Wrong direction to flip!");
+      }
+      // if this cell is already occupied by the given disc that we are trying to flip discs into,
+      // this means that this flip should stop.
+      else if (cell.getDisc().equals(disc)) {
+        return;
+      }
+      this.toggleDiscHash(cellIndex, cell.getDisc());
+      this.discCounts[cell.getDisc().ordinal()] -= 1;
+      cell.flipDiscTo(disc);
+      this.toggleDiscHash(cellIndex, disc);
+      this.discCounts[disc.ordinal()] += 1;
+      this.changedCells[this.numChangedCells++] = cellIndex;
     }
-    int playerIndex = this.players.indexOf(player);
-    return this.discs.get(playerIndex);
+    throw new IllegalArgumentException("Wrong direction to flip!");
   }
 }
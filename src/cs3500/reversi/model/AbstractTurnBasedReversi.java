@@ -0,0 +1,321 @@
+package cs3500.reversi.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import cs3500.reversi.player.Player;
+
+/**
+ * Represents a Reversi game which abstract out the turn taking logic (players, rounds, passes
+ * and notifying the listeners) that is shared among all implementations of Reversi model,
+ * no matter how the discs on the game board are stored.
+ */
+public abstract class AbstractTurnBasedReversi implements ReversiModelReadWrite,
+        ReversiSearchModel {
+  protected final int boardSize;
+  // Class Invariant: the length of the list of players and list of discs
+  // must always be the same size.
+  protected final List<Player> players;
+  protected final List<Disc> discs;
+  // the layout of the game board shared by all games with a board of the same shape and size
+  protected final BoardTopology topology;
+  // the Zobrist hash of the discs on the board (without the side to move) as seen through
+  // every symmetry of the board, the plain hash first, which the subclasses keep up to date
+  // every time a disc is placed, flipped or removed
+  private final long[] discHashes;
+
+  // a record of how many rounds this game have continued
+  protected int round;
+  // number of consecutive passes that players have taken
+  protected int numPass;
+  // a list of Features listeners that are registered to receive notification
+  // about the current turn of the game when game starts and every time the turn changes
+  protected final List<ModelFeatures> listeners;
+  // true if this is a real playing game that players take turn to play and after every move,
+  // the next player would need to be notified to move, or false if this is a mock try-out game
+  // where it doesn't and shouldn't continue the gaming process of calling the next player
+  protected final boolean isRealGame;
+
+  /**
+   * A cloning constructor that sets the turn taking attributes of this Reversi model to
+   * be the same as the given Reversi model.
+   * @param reversi a Reversi model to be cloned
+   */
+  public AbstractTurnBasedReversi(AbstractTurnBasedReversi reversi) {
+    this.boardSize = reversi.boardSize;
+    this.players = reversi.players;
+    this.discs = reversi.discs;
+    this.topology = reversi.topology;
+    this.discHashes = reversi.discHashes.clone();
+    this.numPass = reversi.numPass;
+    this.round = reversi.round;
+    this.listeners = reversi.listeners;
+    this.isRealGame = false;
+  }
+
+  /**
+   * Constructs a Reversi model that has the game board of given board size,
+   * and the given 2 players playing it.
+   * @param boardSize the size of the game board
+   * @param player1 one of the players of this game
+   * @param player2 the other player of this game
+   * @throws IllegalArgumentException if the given board size is illegal
+   */
+  public AbstractTurnBasedReversi(int boardSize, Player player1, Player player2) {
+    this.validateBoardSize(boardSize);
+    this.boardSize = boardSize;
+    this.topology = BoardTopology.of(this.getBoardShape(), boardSize);
+    this.discHashes = new long[this.topology.getSymmetryCount()];
+    // class invariants that this.players and this.discs have the same size
+    // are kept
+    List<Player> playerList = new ArrayList<>(Arrays.asList(player1, player2));
+    List<Disc> discList = new ArrayList<>(Arrays.asList(Disc.WHITE, Disc.BLACK));
+    this.players = Collections.unmodifiableList(playerList);
+    this.discs = Collections.unmodifiableList(discList);
+    this.round = 0;
+    this.numPass = 0;
+    this.listeners = new ArrayList<>();
+    this.isRealGame = true;
+  }
+
+  protected abstract void validateBoardSize(int boardSize);
+
+  protected abstract BoardTopology.Shape getBoardShape();
+
+  // adds the given disc on the cell of the given index in the topology of the board to the hash
+  // of the discs on the board if it is not in the hash yet, or takes it out of the hash if it is
+  protected void toggleDiscHash(int index, Disc disc) {
+    long[] keys = this.topology.getSymmetricDiscKeys(index, disc);
+    for (int symmetry = 0; symmetry < keys.length; symmetry++) {
+      this.discHashes[symmetry] ^= keys[symmetry];
+    }
+  }
+
+  @Override
+  public BoardTopology getTopology() {
+    return this.topology;
+  }
+
+  @Override
+  public int getBoardSideLength() {
+    return this.boardSize;
+  }
+
+  // Check if this game haven't ended, throw IllegalStateException if the game already ended
+  protected void checkGameIsContinuing() throws IllegalStateException {
+    if (this.isGameOver()) {
+      throw new IllegalStateException("Game already ended!");
+    }
+  }
+
+  @Override
+  public boolean isGameOver() {
+    return this.numPass == this.players.size();
+  }
+
+  @Override
+  public long getPositionHash() {
+    return this.withSideToMove(this.discHashes[0]);
+  }
+
+  @Override
+  public long getCanonicalHash() {
+    return this.withSideToMove(this.discHashes[this.getCanonicalSymmetry()]);
+  }
+
+  @Override
+  public int getCanonicalSymmetry() {
+    int canonical = 0;
+    for (int symmetry = 1; symmetry < this.discHashes.length; symmetry++) {
+      if (this.discHashes[symmetry] < this.discHashes[canonical]) {
+        canonical = symmetry;
+      }
+    }
+    return canonical;
+  }
+
+  // returns the given hash of the discs on the board with the side to move added
+  private long withSideToMove(long discHash) {
+    // the side to move is decided by the round, even if the game is already over
+    boolean secondPlayerToMove = this.round % this.players.size() == 1;
+    return secondPlayerToMove ? discHash ^ this.topology.getSideToMoveKey() : discHash;
+  }
+
+  @Override
+  public Player getTurn() {
+    this.checkGameIsContinuing();
+    int currentSequence = this.round % this.players.size();
+    return this.players.get(currentSequence);
+  }
+
+  @Override
+  public void pass(Player player) {
+    this.applyPass(player);
+    if (!isGameOver()) {
+      this.endAMove();
+    } else {
+      this.notifyGameEnds();
+    }
+  }
+
+  @Override
+  public UndoRecord applyPass(Player player) {
+    this.checkValidTurn(player);
+    this.checkGameIsContinuing();
+    UndoRecord record = UndoRecord.ofPass(this.round, this.numPass);
+    this.numPass += 1;
+    this.round += 1;
+    return record;
+  }
+
+  @Override
+  public void placeIn(Player player, Coordinates coordinates) {
+    this.applyMove(player, coordinates);
+    this.endAMove();
+  }
+
+  @Override
+  public void placeIn(Player player, int index) {
+    this.applyMove(player, index);
+    this.endAMove();
+  }
+
+  @Override
+  public UndoRecord applyMove(Player player, Coordinates coordinates) {
+    this.checkValidTurn(player);
+    this.checkGameIsContinuing();
+    int index = this.topology.indexOf(coordinates);
+    if (index < 0) {
+      throw new IllegalArgumentException("this coordinates is not a valid place to put disc in!");
+    }
+    return this.applyMoveAt(player, index);
+  }
+
+  @Override
+  public UndoRecord applyMove(Player player, int index) {
+    this.checkValidTurn(player);
+    this.checkGameIsContinuing();
+    this.checkCellIndex(index);
+    return this.applyMoveAt(player, index);
+  }
+
+  // places a disc of the given player, whose turn it is, into the cell of the given index
+  // and moves on to the next round
+  private UndoRecord applyMoveAt(Player player, int index) {
+    UndoRecord record = this.placeDisc(player, index);
+    this.numPass = 0;
+    this.round += 1;
+    return record;
+  }
+
+  // Check if there is a cell of the given index, if not, throw IllegalArgumentException
+  protected void checkCellIndex(int index) throws IllegalArgumentException {
+    if (index < 0 || index >= this.topology.getCellCount()) {
+      throw new IllegalArgumentException("Invalid cell index!");
+    }
+  }
+
+  /**
+   * Places a disc of the given player into the cell of the given index in the topology of
+   * the board and flips the discs that the move captures, leaving the turn taking attributes
+   * unchanged.
+   * @param player the player making the move, whose turn it is to play
+   * @param index the index of the cell to place a disc in, which is a cell on the board
+   * @return the record of the placed and flipped discs, with the current round and
+   *         number of consecutive passes
+   * @throws IllegalArgumentException if the space is occupied or the move can't earn any points
+   */
+  protected abstract UndoRecord placeDisc(Player player, int index);
+
+  @Override
+  public void undoMove(UndoRecord record) {
+    if (record.getRound() != this.round - 1) {
+      throw new IllegalArgumentException("Only the last move applied can be undone!");
+    }
+    if (!record.isPass()) {
+      this.takeBackDisc(record);
+    }
+    this.round = record.getRound();
+    this.numPass = record.getNumPass();
+  }
+
+  /**
+   * Removes the disc placed by the move of the given record and flips the discs it flipped
+   * back to the opponent, leaving the turn taking attributes unchanged.
+   * @param record the record of the last move applied, which placed a disc
+   */
+  protected abstract void takeBackDisc(UndoRecord record);
+
+  // Check if this is the given player's turn, if not, throw IllegalStateException
+  protected void checkValidTurn(Player player) throws IllegalStateException {
+    if (!this.getTurn().equals(player)) {
+      throw new IllegalStateException("It's not your turn yet!");
+    }
+  }
+
+  // a helper method that deals with the end of a move by notifying the next player to make a move
+  // if this is in a real game
+  protected void endAMove() {
+    if (isRealGame) {
+      this.notifyNewTurn();
+    }
+  }
+
+  // notify all the listeners which subscribed to get the turn of the game
+  // about the player that should be playing for the current new round
+  private void notifyNewTurn() {
+    Player playerOfTurn = this.getTurn();
+    boolean currentPlayerCannotMove = !movable(playerOfTurn);
+    int currentRound = this.round;
+    for (ModelFeatures listener : this.listeners) {
+      if (currentPlayerCannotMove && !isGameOver()) {
+        listener.mustPass(playerOfTurn);
+      }
+      // if a player already take move on this round, then there is no need to continue
+      // broadcasting the new turn notification for this round
+      if (currentRound == this.round) {
+        listener.newTurn(playerOfTurn);
+      }
+    }
+  }
+
+  // notify all the listeners which subscribed to listen to the changes of this model
+  // that this game have ended
+  private void notifyGameEnds() {
+    for (ModelFeatures listener : this.listeners) {
+      listener.gameEnds();
+    }
+  }
+
+  @Override
+  public void startGame() {
+    this.notifyNewTurn();
+  }
+
+  @Override
+  public void addFeatures(ModelFeatures listener) {
+    this.listeners.add(listener);
+  }
+
+  @Override
+  public Scores getScores() {
+    int[] scores = new int[this.players.size()];
+    int emptyCellCount = this.topology.getCellCount();
+    for (int playerIndex = 0; playerIndex < scores.length; playerIndex++) {
+      scores[playerIndex] = this.getScore(this.players.get(playerIndex));
+      emptyCellCount -= scores[playerIndex];
+    }
+    return new Scores(this.players, scores, emptyCellCount);
+  }
+
+  @Override
+  public Disc getDiscOf(Player player) {
+    if (!this.players.contains(player)) {
+      throw new IllegalArgumentException("Player not involved in this game!");
+    }
+    int playerIndex = this.players.indexOf(player);
+    return this.discs.get(playerIndex);
+  }
+}
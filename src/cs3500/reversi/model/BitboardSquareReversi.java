@@ -0,0 +1,353 @@
+package cs3500.reversi.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import cs3500.reversi.player.Player;
+import cs3500.reversi.utils.Utils;
+
+/**
+ * Represents a 2-player Reversi game with a square grid of at most 64 cells,
+ * where discs can be flipped along 8 directions.
+ * Instead of keeping rows of cells, the discs of each color are kept in a long bitboard,
+ * where the bit (row * side length + column) is set if the cell in that row and column
+ * holds a disc of that color, so that legal moves and flipped discs are found for all cells
+ * at once by shifting and masking the bitboards (Kogge-Stone fills).
+ */
+public class BitboardSquareReversi extends AbstractTurnBasedReversi {
+  // the largest side length whose board still fits into the 64 bits of a long
+  private static final int MAX_BOARD_SIZE = 8;
+
+  // the amount of bits to shift a bitboard by in order to move every disc one cell along
+  // each of the 8 directions, in the same order as RowColumnCoordinates.getAllNeighbors
+  // (above, below, left, right, upper left, lower left, upper right, lower right)
+  private final int[] shifts;
+  // for each direction, the cells that a disc can land on after moving along that direction,
+  // which leaves out the column that would only be reached by wrapping around the board
+  private final long[] landingMasks;
+  // the bits of all cells on the board
+  private final long boardMask;
+  private long blackDiscs;
+  private long whiteDiscs;
+
+  /**
+   * Creates and initializes this reversi game with the given board size
+   * and the given 2 players.
+   * @param boardSize the size of the game board
+   * @param player1 one of the player in this game
+   * @param player2 the other player in this game
+   * @throws IllegalArgumentException if the given board size is illegal
+   *                                  (not an even number between 4 and 8)
+   */
+  public BitboardSquareReversi(int boardSize, Player player1, Player player2) {
+    super(boardSize, player1, player2);
+    int cellCount = boardSize * boardSize;
+    this.boardMask = cellCount == Long.SIZE ? -1L : (1L << cellCount) - 1;
+    long firstColumn = 0L;
+    for (int row = 0; row < boardSize; row++) {
+      firstColumn |= 1L << (row * boardSize);
+    }
+    long lastColumn = firstColumn << (boardSize - 1);
+    long notFirstColumn = this.boardMask & ~firstColumn;
+    long notLastColumn = this.boardMask & ~lastColumn;
+    this.shifts = new int[]{-boardSize, boardSize, -1, 1,
+      -boardSize - 1, boardSize - 1, -boardSize + 1, boardSize + 1};
+    this.landingMasks = new long[]{this.boardMask, this.boardMask, notLastColumn, notFirstColumn,
+      notLastColumn, notLastColumn, notFirstColumn, notFirstColumn};
+    this.placeInitialDiscs();
+    for (int index = 0; index < cellCount; index++) {
+      Disc disc = this.discAt(index);
+      if (disc != null) {
+        this.toggleDiscHash(index, disc);
+      }
+    }
+  }
+
+  /**
+   * A cloning constructor that will create a new bitboard square reversi model exactly
+   * the same as the given bitboard square reversi model.
+   * @param that the bitboard square reversi model to make a copy of
+   */
+  public BitboardSquareReversi(BitboardSquareReversi that) {
+    super(that);
+    this.shifts = that.shifts;
+    this.landingMasks = that.landingMasks;
+    this.boardMask = that.boardMask;
+    this.blackDiscs = that.blackDiscs;
+    this.whiteDiscs = that.whiteDiscs;
+  }
+
+  @Override
+  protected BoardTopology.Shape getBoardShape() {
+    return BoardTopology.Shape.SQUARE;
+  }
+
+  @Override
+  protected void validateBoardSize(int boardSize) {
+    if (boardSize <= 2 || boardSize % 2 != 0 || boardSize > MAX_BOARD_SIZE) {
+      throw new IllegalArgumentException("Board size must be a positive even number "
+              + "greater than 2 and at most " + MAX_BOARD_SIZE + "!");
+    }
+  }
+
+  // place the initial 4 discs in the middle of the board
+  private void placeInitialDiscs() {
+    int mid = this.boardSize / 2;
+    this.whiteDiscs = this.bitOf(mid - 1, mid) | this.bitOf(mid, mid - 1);
+    this.blackDiscs = this.bitOf(mid - 1, mid - 1) | this.bitOf(mid, mid);
+  }
+
+  // returns the bit of the cell in the given row and column
+  private long bitOf(int row, int col) {
+    return 1L << (row * this.boardSize + col);
+  }
+
+  // returns the index of the bit of the cell at the given coordinates,
+  // or -1 if there is no such cell on the board
+  private int indexOf(Coordinates coordinates) {
+    int row = coordinates.getRow(this.boardSize);
+    int col = coordinates.getLocationInRow(this.boardSize);
+    if (Utils.checkValuesInBetween(row, 0, this.boardSize - 1)
+            && Utils.checkValuesInBetween(col, 0, this.boardSize - 1)) {
+      return row * this.boardSize + col;
+    }
+    return -1;
+  }
+
+  // returns the bitboard of the given disc
+  private long discsOf(Disc disc) {
+    return disc == Disc.BLACK ? this.blackDiscs : this.whiteDiscs;
+  }
+
+  // the bit index of a cell is also its index in the order of getBoard
+  @Override
+  public Disc discAt(int index) {
+    this.checkCellIndex(index);
+    long bit = 1L << index;
+    if ((this.blackDiscs & bit) != 0) {
+      return Disc.BLACK;
+    } else if ((this.whiteDiscs & bit) != 0) {
+      return Disc.WHITE;
+    }
+    return null;
+  }
+
+  // shifts every bit of the given bitboard by the given amount, positive to higher bits
+  private static long shift(long bits, int amount) {
+    return amount > 0 ? bits << amount : bits >>> -amount;
+  }
+
+  // moves every disc in the given bitboard one cell along the given direction,
+  // dropping the ones that would fall off the board
+  private long step(long bits, int direction) {
+    return shift(bits, this.shifts[direction]) & this.landingMasks[direction];
+  }
+
+  // returns the given generator discs together with every disc in the given propagator
+  // bitboard that can be reached from them by moving along the given direction over
+  // propagator discs only, filling 1, 2 and then 4 cells at a time (Kogge-Stone)
+  private long fill(long generator, long propagator, int direction) {
+    int amount = this.shifts[direction];
+    propagator &= this.landingMasks[direction];
+    generator |= propagator & shift(generator, amount);
+    propagator &= shift(propagator, amount);
+    generator |= propagator & shift(generator, 2 * amount);
+    propagator &= shift(propagator, 2 * amount);
+    generator |= propagator & shift(generator, 4 * amount);
+    return generator;
+  }
+
+  // returns the bitboard of all empty cells that a player with the given discs can place
+  // a disc into while the opponent holds the given opponent discs
+  private long legalMoves(long own, long opponent) {
+    long empty = ~(own | opponent) & this.boardMask;
+    long moves = 0L;
+    for (int direction = 0; direction < this.shifts.length; direction++) {
+      long captured = this.fill(own, opponent, direction) & opponent;
+      moves |= this.step(captured, direction) & empty;
+    }
+    return moves;
+  }
+
+  // returns the bitboard of the opponent discs that would be flipped if a player with
+  // the given discs placed a disc into the cell of the given bit index
+  private long flippedBy(int index, long own, long opponent) {
+    long move = 1L << index;
+    long flipped = 0L;
+    for (int direction = 0; direction < this.shifts.length; direction++) {
+      long captured = this.fill(move, opponent, direction) & opponent;
+      // the line of opponent discs is only flipped if it is closed by one of the player's disc
+      if ((this.step(captured, direction) & own) != 0) {
+        flipped |= captured;
+      }
+    }
+    return flipped;
+  }
+
+  // returns the opponent discs flipped by the given player placing a disc into the cell of
+  // the given bit index, or 0 if the cell is occupied
+  private long flippedBy(Player player, int index) {
+    long own = this.discsOf(this.getDiscOf(player));
+    long opponent = (this.blackDiscs | this.whiteDiscs) & ~own;
+    if (((own | opponent) & (1L << index)) != 0) {
+      return 0L;
+    }
+    return this.flippedBy(index, own, opponent);
+  }
+
+  @Override
+  public List<List<Cell>> getBoard() {
+    List<List<Cell>> board = new ArrayList<>();
+    for (int row = 0; row < this.boardSize; row++) {
+      List<Cell> cellsInRow = new ArrayList<>();
+      for (int col = 0; col < this.boardSize; col++) {
+        int index = row * this.boardSize + col;
+        cellsInRow.add(new ReversiCell(this.topology.getCoordinates(index), this.discAt(index)));
+      }
+      board.add(cellsInRow);
+    }
+    return board;
+  }
+
+  @Override
+  public int scoreEarnedByPlaceIn(Player player, Coordinates coordinates) {
+    this.checkGameIsContinuing();
+    int index = this.indexOf(coordinates);
+    // only when this is the given player's turn to play and the given coordinates is valid
+    // can the player earn any score
+    if (!player.equals(this.getTurn()) || !coordinates.validCoordsOnBoard(this.boardSize)
+            || index < 0) {
+      return 0;
+    }
+    return Long.bitCount(this.flippedBy(player, index));
+  }
+
+  @Override
+  public boolean isLegal(Player player, int index) {
+    this.checkGameIsContinuing();
+    this.checkCellIndex(index);
+    return player.equals(this.getTurn()) && this.flippedBy(player, index) != 0;
+  }
+
+  @Override
+  public boolean movable(Player player) {
+    this.checkGameIsContinuing();
+    // if this is not this player's turn to play, then just return false
+    if (!player.equals(this.getTurn())) {
+      return false;
+    }
+    long own = this.discsOf(this.getDiscOf(player));
+    long opponent = (this.blackDiscs | this.whiteDiscs) & ~own;
+    return this.legalMoves(own, opponent) != 0;
+  }
+
+  @Override
+  public Map<Coordinates, Integer> getLegalMoves(Player player) {
+    this.checkGameIsContinuing();
+    Map<Coordinates, Integer> moves = new LinkedHashMap<>();
+    // if this is not this player's turn to play, then there is no legal move
+    if (!player.equals(this.getTurn())) {
+      return moves;
+    }
+    long own = this.discsOf(this.getDiscOf(player));
+    long opponent = (this.blackDiscs | this.whiteDiscs) & ~own;
+    // bits are visited from the lowest, which is the order of the cells row by row
+    for (long remaining = this.legalMoves(own, opponent); remaining != 0;
+         remaining &= remaining - 1) {
+      int index = Long.numberOfTrailingZeros(remaining);
+      moves.put(this.topology.getCoordinates(index),
+              Long.bitCount(this.flippedBy(index, own, opponent)));
+    }
+    return moves;
+  }
+
+  @Override
+  public int getScore(Player player) {
+    return Long.bitCount(this.discsOf(this.getDiscOf(player)));
+  }
+
+  @Override
+  public Cell getCellInBoard(Coordinates coordinates) throws IllegalArgumentException {
+    int index = this.indexOf(coordinates);
+    if (index < 0) {
+      throw new IllegalArgumentException("Invalid coordinates!");
+    }
+    return new ReversiCell(this.topology.getCoordinates(index), this.discAt(index));
+  }
+
+  @Override
+  public ReversiModelReadOnly tryMove(Player player, Coordinates coordinates)
+          throws IllegalArgumentException, IllegalStateException {
+    ReversiModelReadWrite newModel = new BitboardSquareReversi(this);
+    newModel.placeIn(player, coordinates);
+    return newModel;
+  }
+
+  @Override
+  public ReversiSearchModel copyForSearch() {
+    return new BitboardSquareReversi(this);
+  }
+
+  @Override
+  protected UndoRecord placeDisc(Player player, int index) {
+    // the bit index of every cell is its index in the topology of the board
+    long flipped = this.flippedBy(player, index);
+    // flipping no disc meaning that this is an illegal move
+    if (flipped == 0) {
+      throw new IllegalArgumentException("this coordinates is not a valid place to put disc in!");
+    }
+    long placed = (1L << index) | flipped;
+    Disc disc = this.getDiscOf(player);
+    if (disc == Disc.BLACK) {
+      this.blackDiscs |= placed;
+      this.whiteDiscs &= ~flipped;
+    } else {
+      this.whiteDiscs |= placed;
+      this.blackDiscs &= ~flipped;
+    }
+    this.toggleMoveHash(index, flipped, disc);
+    return new UndoRecord(disc, index, new long[]{flipped}, this.round, this.numPass);
+  }
+
+  @Override
+  protected void takeBackDisc(UndoRecord record) {
+    long flipped = record.getFlipped()[0];
+    long placed = (1L << record.getPlacedIndex()) | flipped;
+    if (record.getDisc() == Disc.BLACK) {
+      this.blackDiscs &= ~placed;
+      this.whiteDiscs |= flipped;
+    } else {
+      this.whiteDiscs &= ~placed;
+      this.blackDiscs |= flipped;
+    }
+    this.toggleMoveHash(record.getPlacedIndex(), flipped, record.getDisc());
+  }
+
+  // adds the given disc placed into the cell of the given bit index and the given discs flipped
+  // to it to the hash of the discs on the board, or takes them out of it if they are in it,
+  // where the bit index of a cell is the same as its index in the topology of the board
+  private void toggleMoveHash(int index, long flipped, Disc disc) {
+    Disc opponentDisc = disc == Disc.BLACK ? Disc.WHITE : Disc.BLACK;
+    this.toggleDiscHash(index, disc);
+    for (long remaining = flipped; remaining != 0; remaining &= remaining - 1) {
+      int flippedIndex = Long.numberOfTrailingZeros(remaining);
+      this.toggleDiscHash(flippedIndex, disc);
+      this.toggleDiscHash(flippedIndex, opponentDisc);
+    }
+  }
+
+  @Override
+  public List<Coordinates> getCorners() {
+    int last = this.boardSize - 1;
+    List<Coordinates> allCorners = new ArrayList<>(Arrays.asList(
+            this.topology.getCoordinates(0),
+            this.topology.getCoordinates(last),
+            this.topology.getCoordinates(last * this.boardSize),
+            this.topology.getCoordinates(last * this.boardSize + last)));
+    return Collections.unmodifiableList(allCorners);
+  }
+}
@@ -0,0 +1,499 @@
+package cs3500.reversi.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import cs3500.reversi.player.Player;
+import cs3500.reversi.utils.Utils;
+
+/**
+ * Represent a 2-player Reversi game with a hexagonal grid of any size,
+ * where discs can be flipped along 6 directions.
+ * Instead of keeping rows of cells, every cube coordinates (q, r, s) on the board is mapped to
+ * the index (r + side length - 1) * width + (q + side length - 1) of the parallelogram that
+ * bounds the hexagon (where width is the number of cells in the middle row), and the discs of
+ * each color are kept in a bitset made of as many longs as needed to cover that parallelogram.
+ * Moving every disc one cell along one of the 6 directions is then a shift of the bitset by a
+ * fixed amount followed by a mask that drops the discs which left the hexagon.
+ */
+public class BitsetHexReversi extends AbstractTurnBasedReversi {
+  // the number of cells in the middle (widest) row, which is also the number of rows
+  private final int width;
+  // the number of bits that the bitsets need to cover the parallelogram bounding the board
+  private final int numBits;
+  // the amount of bits to shift a bitset by in order to move every disc one cell along each
+  // of the 6 directions, in the same order as CubeCoordinates.getAllNeighbors
+  // (upper left, upper right, left, right, lower left, lower right)
+  private final int[] shifts;
+  // for each direction, the cells that a disc can land on after moving along that direction,
+  // which leaves out the cells that would only be reached by wrapping around a row or by
+  // coming from outside the hexagon
+  private final long[][] landingMasks;
+  // the bits of all cells on the board
+  private final long[] boardMask;
+  // the number of times a fill has to double its reach so that it covers the longest
+  // possible line of opponent discs on this board
+  private final int fillSteps;
+  // the index in the topology of the board of the cell at each index of the bounding
+  // parallelogram, or -1 if that index is not a cell of the hexagon
+  private final int[] topologyIndices;
+  // the index of the bounding parallelogram of the cell at each index in the topology
+  private final int[] bitIndices;
+  private final long[] blackDiscs;
+  private final long[] whiteDiscs;
+
+  /**
+   * Creates and initializes this reversi game with the given board size
+   * and the given 2 players.
+   * @param boardSize the size of the game board
+   * @param player1 one of the player in this game
+   * @param player2 the other player in this game
+   * @throws IllegalArgumentException if the given board size is illegal
+   *                                  (less than 3)
+   */
+  public BitsetHexReversi(int boardSize, Player player1, Player player2) {
+    super(boardSize, player1, player2);
+    this.width = 2 * boardSize - 1;
+    this.numBits = this.width * this.width;
+    int numWords = (this.numBits + Long.SIZE - 1) / Long.SIZE;
+    this.boardMask = new long[numWords];
+    for (int index = 0; index < this.numBits; index++) {
+      if (this.isOnBoard(index)) {
+        setBit(this.boardMask, index);
+      }
+    }
+    this.shifts = new int[]{-this.width, -this.width + 1, -1, 1, this.width - 1, this.width};
+    this.landingMasks = new long[this.shifts.length][numWords];
+    for (int direction = 0; direction < this.shifts.length; direction++) {
+      for (int index = 0; index < this.numBits; index++) {
+        if (this.isOnBoard(index) && this.comesFromBoard(index, direction)) {
+          setBit(this.landingMasks[direction], index);
+        }
+      }
+    }
+    // the longest line of opponent discs between two cells is 2 cells shorter than a row
+    int steps = 0;
+    for (int reach = 1; reach < this.width - 2; reach = 2 * reach + 1) {
+      steps += 1;
+    }
+    this.fillSteps = steps + 1;
+    this.topologyIndices = new int[this.numBits];
+    for (int index = 0; index < this.numBits; index++) {
+      this.topologyIndices[index] = this.isOnBoard(index)
+              ? this.topology.indexOf(this.coordinatesOf(index)) : -1;
+    }
+    this.bitIndices = new int[this.topology.getCellCount()];
+    for (int index = 0; index < this.numBits; index++) {
+      if (this.topologyIndices[index] >= 0) {
+        this.bitIndices[this.topologyIndices[index]] = index;
+      }
+    }
+    this.blackDiscs = new long[numWords];
+    this.whiteDiscs = new long[numWords];
+    this.placeInitialDiscs();
+    for (int index = 0; index < this.numBits; index++) {
+      Disc disc = this.discAtBit(index);
+      if (disc != null) {
+        this.toggleDiscHash(this.topologyIndices[index], disc);
+      }
+    }
+  }
+
+  /**
+   * A cloning constructor that will create a new bitset hex reversi model exactly the same
+   * as the given bitset hex reversi model.
+   * @param that the bitset hex reversi model to make a copy of
+   */
+  public BitsetHexReversi(BitsetHexReversi that) {
+    super(that);
+    this.width = that.width;
+    this.numBits = that.numBits;
+    this.shifts = that.shifts;
+    this.landingMasks = that.landingMasks;
+    this.boardMask = that.boardMask;
+    this.fillSteps = that.fillSteps;
+    this.topologyIndices = that.topologyIndices;
+    this.bitIndices = that.bitIndices;
+    this.blackDiscs = that.blackDiscs.clone();
+    this.whiteDiscs = that.whiteDiscs.clone();
+  }
+
+  @Override
+  protected BoardTopology.Shape getBoardShape() {
+    return BoardTopology.Shape.HEXAGON;
+  }
+
+  @Override
+  protected void validateBoardSize(int boardSize) {
+    if (boardSize < 3) {
+      throw new IllegalArgumentException("Board size must be at least 3!");
+    }
+  }
+
+  // place the initial 6 discs around the center of the board
+  private void placeInitialDiscs() {
+    setBit(this.whiteDiscs, this.indexOf(1, -1));
+    setBit(this.whiteDiscs, this.indexOf(-1, 0));
+    setBit(this.whiteDiscs, this.indexOf(0, 1));
+    setBit(this.blackDiscs, this.indexOf(0, -1));
+    setBit(this.blackDiscs, this.indexOf(1, 0));
+    setBit(this.blackDiscs, this.indexOf(-1, 1));
+  }
+
+  // returns the index of the cell with the given q and r in cube coordinates
+  private int indexOf(int q, int r) {
+    int maxValue = this.boardSize - 1;
+    return (r + maxValue) * this.width + (q + maxValue);
+  }
+
+  // returns the cube coordinates of the cell at the given index
+  private Coordinates coordinatesOf(int index) {
+    int maxValue = this.boardSize - 1;
+    return new CubeCoordinates(index % this.width - maxValue, index / this.width - maxValue);
+  }
+
+  // returns the coordinates of the cell at the given index as held by the topology of the board,
+  // which are shared by every game on a board of the same size instead of created on every call
+  private Coordinates canonicalCoordinatesOf(int index) {
+    return this.topology.getCoordinates(this.topologyIndices[index]);
+  }
+
+  // determines whether the given index of the bounding parallelogram is a cell of the hexagon
+  private boolean isOnBoard(int index) {
+    return index >= 0 && index < this.numBits
+            && this.coordinatesOf(index).validCoordsOnBoard(this.boardSize);
+  }
+
+  // determines whether the cell at the given index is reached from a cell of the hexagon
+  // by moving along the given direction, and not by wrapping around from another row
+  private boolean comesFromBoard(int index, int direction) {
+    int from = index - this.shifts[direction];
+    int columnChange = index % this.width - Math.floorMod(from, this.width);
+    return this.isOnBoard(from) && Math.abs(columnChange) <= 1;
+  }
+
+  // returns the index of the bit of the cell at the given coordinates,
+  // or -1 if there is no such cell on the board
+  private int indexOf(Coordinates coordinates) {
+    int maxValue = this.boardSize - 1;
+    int row = coordinates.getRow(this.boardSize);
+    int locationInRow = coordinates.getLocationInRow(this.boardSize);
+    int r = row - maxValue;
+    if (!Utils.checkValuesInBetween(row, 0, this.width - 1)
+            || !Utils.checkValuesInBetween(locationInRow, 0, this.width - 1 - Math.abs(r))) {
+      return -1;
+    }
+    int q = r < 0 ? locationInRow - maxValue - r : locationInRow - maxValue;
+    return this.indexOf(q, r);
+  }
+
+  // returns the bitset of the given disc
+  private long[] discsOf(Disc disc) {
+    return disc == Disc.BLACK ? this.blackDiscs : this.whiteDiscs;
+  }
+
+  @Override
+  public Disc discAt(int index) {
+    this.checkCellIndex(index);
+    return this.discAtBit(this.bitIndices[index]);
+  }
+
+  // returns the disc on the cell of the given bit index, or null if the cell is empty
+  private Disc discAtBit(int index) {
+    if (hasBit(this.blackDiscs, index)) {
+      return Disc.BLACK;
+    } else if (hasBit(this.whiteDiscs, index)) {
+      return Disc.WHITE;
+    }
+    return null;
+  }
+
+  // determines whether the given bit is set in the given bitset
+  private static boolean hasBit(long[] bits, int index) {
+    return (bits[index >>> 6] & (1L << index)) != 0;
+  }
+
+  // sets the given bit in the given bitset
+  private static void setBit(long[] bits, int index) {
+    bits[index >>> 6] |= 1L << index;
+  }
+
+  // clears the given bit in the given bitset
+  private static void clearBit(long[] bits, int index) {
+    bits[index >>> 6] &= ~(1L << index);
+  }
+
+  // writes the given bitset shifted by the given amount (positive to higher bits) into
+  // the given result, which must not be the same array as the given bitset
+  private static void shiftInto(long[] bits, int amount, long[] result) {
+    int wordShift = Math.abs(amount) >>> 6;
+    int bitShift = Math.abs(amount) & 63;
+    for (int word = 0; word < result.length; word++) {
+      if (amount >= 0) {
+        long low = wordAt(bits, word - wordShift);
+        long carry = bitShift == 0 ? 0L : wordAt(bits, word - wordShift - 1) >>> (64 - bitShift);
+        result[word] = (low << bitShift) | carry;
+      } else {
+        long high = wordAt(bits, word + wordShift);
+        long carry = bitShift == 0 ? 0L : wordAt(bits, word + wordShift + 1) << (64 - bitShift);
+        result[word] = (high >>> bitShift) | carry;
+      }
+    }
+  }
+
+  // returns the word of the given bitset at the given position, or 0 if out of the bitset
+  private static long wordAt(long[] bits, int word) {
+    return word >= 0 && word < bits.length ? bits[word] : 0L;
+  }
+
+  // returns the cells that the player with the given discs can place a disc into while the
+  // opponent holds the given opponent discs, by filling from the player's discs over lines of
+  // opponent discs in every direction, doubling the reach each time (Kogge-Stone), working in
+  // bitsets of its own so that several threads can read the game at once
+  private long[] findLegalMoves(long[] own, long[] opponent) {
+    long[] result = new long[own.length];
+    long[] generator = new long[own.length];
+    long[] propagator = new long[own.length];
+    long[] shifted = new long[own.length];
+    for (int direction = 0; direction < this.shifts.length; direction++) {
+      long[] landing = this.landingMasks[direction];
+      for (int word = 0; word < own.length; word++) {
+        generator[word] = own[word];
+        propagator[word] = opponent[word] & landing[word];
+      }
+      int amount = this.shifts[direction];
+      for (int step = 0; step < this.fillSteps; step++) {
+        shiftInto(generator, amount, shifted);
+        for (int word = 0; word < own.length; word++) {
+          generator[word] |= propagator[word] & shifted[word];
+        }
+        shiftInto(propagator, amount, shifted);
+        for (int word = 0; word < own.length; word++) {
+          propagator[word] &= shifted[word];
+        }
+        amount *= 2;
+      }
+      // the opponent discs reached by the fill, moved one more cell, land on the legal moves
+      for (int word = 0; word < own.length; word++) {
+        generator[word] &= opponent[word];
+      }
+      shiftInto(generator, this.shifts[direction], shifted);
+      for (int word = 0; word < own.length; word++) {
+        long empty = this.boardMask[word] & ~(own[word] | opponent[word]);
+        result[word] |= shifted[word] & landing[word] & empty;
+      }
+    }
+    return result;
+  }
+
+  // returns the number of opponent discs that would be flipped along the given direction if
+  // the player with the given discs placed a disc into the cell of the given index
+  private int flippedAlong(int index, int direction, long[] own, long[] opponent) {
+    int count = 0;
+    int current = index + this.shifts[direction];
+    while (this.isLanding(current, direction) && hasBit(opponent, current)) {
+      count += 1;
+      current += this.shifts[direction];
+    }
+    // the line of opponent discs is only flipped if it is closed by one of the player's disc
+    if (count > 0 && this.isLanding(current, direction) && hasBit(own, current)) {
+      return count;
+    }
+    return 0;
+  }
+
+  // determines whether the given index is a cell reached by moving along the given direction
+  private boolean isLanding(int index, int direction) {
+    return index >= 0 && index < this.numBits && hasBit(this.landingMasks[direction], index);
+  }
+
+  // returns the number of opponent discs flipped by the given player placing a disc into
+  // the cell of the given index, or 0 if the cell is occupied
+  private int scoreOf(Player player, int index) {
+    long[] own = this.discsOf(this.getDiscOf(player));
+    long[] opponent = own == this.blackDiscs ? this.whiteDiscs : this.blackDiscs;
+    if (hasBit(own, index) || hasBit(opponent, index)) {
+      return 0;
+    }
+    int score = 0;
+    for (int direction = 0; direction < this.shifts.length; direction++) {
+      score += this.flippedAlong(index, direction, own, opponent);
+    }
+    return score;
+  }
+
+  @Override
+  public List<List<Cell>> getBoard() {
+    int maxValue = this.boardSize - 1;
+    List<List<Cell>> board = new ArrayList<>();
+    for (int r = -maxValue; r <= maxValue; r++) {
+      List<Cell> row = new ArrayList<>();
+      for (int q = Math.max(-maxValue, -maxValue - r); q <= Math.min(maxValue, maxValue - r); q++) {
+        int index = this.indexOf(q, r);
+        row.add(new ReversiCell(this.canonicalCoordinatesOf(index), this.discAtBit(index)));
+      }
+      board.add(row);
+    }
+    return board;
+  }
+
+  @Override
+  public int scoreEarnedByPlaceIn(Player player, Coordinates coordinates) {
+    this.checkGameIsContinuing();
+    int index = this.indexOf(coordinates);
+    // only when this is the given player's turn to play and the given coordinates is valid
+    // can the player earn any score
+    if (!player.equals(this.getTurn()) || !coordinates.validCoordsOnBoard(this.boardSize)
+            || index < 0) {
+      return 0;
+    }
+    return this.scoreOf(player, index);
+  }
+
+  @Override
+  public boolean isLegal(Player player, int index) {
+    this.checkGameIsContinuing();
+    this.checkCellIndex(index);
+    return player.equals(this.getTurn()) && this.scoreOf(player, this.bitIndices[index]) > 0;
+  }
+
+  @Override
+  public boolean movable(Player player) {
+    this.checkGameIsContinuing();
+    // if this is not this player's turn to play, then just return false
+    if (!player.equals(this.getTurn())) {
+      return false;
+    }
+    long[] own = this.discsOf(this.getDiscOf(player));
+    long[] opponent = own == this.blackDiscs ? this.whiteDiscs : this.blackDiscs;
+    for (long word : this.findLegalMoves(own, opponent)) {
+      if (word != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public Map<Coordinates, Integer> getLegalMoves(Player player) {
+    this.checkGameIsContinuing();
+    Map<Coordinates, Integer> legalMoves = new LinkedHashMap<>();
+    // if this is not this player's turn to play, then there is no legal move
+    if (!player.equals(this.getTurn())) {
+      return legalMoves;
+    }
+    long[] own = this.discsOf(this.getDiscOf(player));
+    long[] opponent = own == this.blackDiscs ? this.whiteDiscs : this.blackDiscs;
+    long[] moves = this.findLegalMoves(own, opponent);
+    // bits are visited from the lowest, which is the order of the cells row by row
+    for (int word = 0; word < moves.length; word++) {
+      for (long remaining = moves[word]; remaining != 0; remaining &= remaining - 1) {
+        int index = word * Long.SIZE + Long.numberOfTrailingZeros(remaining);
+        legalMoves.put(this.canonicalCoordinatesOf(index), this.scoreOf(player, index));
+      }
+    }
+    return legalMoves;
+  }
+
+  @Override
+  public int getScore(Player player) {
+    int score = 0;
+    for (long word : this.discsOf(this.getDiscOf(player))) {
+      score += Long.bitCount(word);
+    }
+    return score;
+  }
+
+  @Override
+  public Cell getCellInBoard(Coordinates coordinates) throws IllegalArgumentException {
+    int index = this.indexOf(coordinates);
+    if (index < 0) {
+      throw new IllegalArgumentException("Invalid coordinates!");
+    }
+    return new ReversiCell(this.canonicalCoordinatesOf(index), this.discAtBit(index));
+  }
+
+  @Override
+  public ReversiModelReadOnly tryMove(Player player, Coordinates coordinates)
+          throws IllegalArgumentException, IllegalStateException {
+    ReversiModelReadWrite newModel = new BitsetHexReversi(this);
+    newModel.placeIn(player, coordinates);
+    return newModel;
+  }
+
+  @Override
+  public ReversiSearchModel copyForSearch() {
+    return new BitsetHexReversi(this);
+  }
+
+  @Override
+  protected UndoRecord placeDisc(Player player, int cell) {
+    int index = this.bitIndices[cell];
+    // earning a score of 0 meaning that this is an illegal move
+    if (this.scoreOf(player, index) == 0) {
+      throw new IllegalArgumentException("this coordinates is not a valid place to put disc in!");
+    }
+    Disc disc = this.getDiscOf(player);
+    long[] own = this.discsOf(disc);
+    long[] opponent = own == this.blackDiscs ? this.whiteDiscs : this.blackDiscs;
+    long[] flipped = new long[own.length];
+    setBit(own, index);
+    for (int direction = 0; direction < this.shifts.length; direction++) {
+      int count = this.flippedAlong(index, direction, own, opponent);
+      int current = index;
+      for (int flip = 0; flip < count; flip++) {
+        current += this.shifts[direction];
+        clearBit(opponent, current);
+        setBit(own, current);
+        setBit(flipped, current);
+      }
+    }
+    this.toggleMoveHash(index, flipped, disc);
+    return new UndoRecord(disc, index, flipped, this.round, this.numPass);
+  }
+
+  @Override
+  protected void takeBackDisc(UndoRecord record) {
+    long[] own = this.discsOf(record.getDisc());
+    long[] opponent = own == this.blackDiscs ? this.whiteDiscs : this.blackDiscs;
+    long[] flipped = record.getFlipped();
+    clearBit(own, record.getPlacedIndex());
+    for (int word = 0; word < own.length; word++) {
+      own[word] &= ~flipped[word];
+      opponent[word] |= flipped[word];
+    }
+    this.toggleMoveHash(record.getPlacedIndex(), flipped, record.getDisc());
+  }
+
+  // adds the given disc placed into the cell of the given index and the given discs flipped
+  // to it to the hash of the discs on the board, or takes them out of it if they are in it
+  private void toggleMoveHash(int index, long[] flipped, Disc disc) {
+    Disc opponentDisc = disc == Disc.BLACK ? Disc.WHITE : Disc.BLACK;
+    this.toggleDiscHash(this.topologyIndices[index], disc);
+    for (int word = 0; word < flipped.length; word++) {
+      for (long remaining = flipped[word]; remaining != 0; remaining &= remaining - 1) {
+        int flippedIndex = this.topologyIndices[word * Long.SIZE
+                + Long.numberOfTrailingZeros(remaining)];
+        this.toggleDiscHash(flippedIndex, disc);
+        this.toggleDiscHash(flippedIndex, opponentDisc);
+      }
+    }
+  }
+
+  @Override
+  public List<Coordinates> getCorners() {
+    int maxValue = this.boardSize - 1;
+    List<Coordinates> allCorners = new ArrayList<>(Arrays.asList(
+            this.canonicalCoordinatesOf(this.indexOf(0, -maxValue)),
+            this.canonicalCoordinatesOf(this.indexOf(maxValue, -maxValue)),
+            this.canonicalCoordinatesOf(this.indexOf(-maxValue, 0)),
+            this.canonicalCoordinatesOf(this.indexOf(maxValue, 0)),
+            this.canonicalCoordinatesOf(this.indexOf(-maxValue, maxValue)),
+            this.canonicalCoordinatesOf(this.indexOf(0, maxValue))));
+    return Collections.unmodifiableList(allCorners);
+  }
+}
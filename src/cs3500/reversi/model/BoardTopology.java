@@ -0,0 +1,422 @@
+package cs3500.reversi.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import cs3500.reversi.utils.Utils;
+
+/**
+ * Represents the layout of a Reversi game board of a given shape and side length, which gives
+ * every cell on the board an index (counting row by row from the top row, and from the leftmost
+ * cell in each row) and knows, for every cell and every direction that discs can be flipped along,
+ * the ordered indices of the cells met when walking from that cell along that direction until
+ * falling off the board (the ray of the cell in that direction).
+ * A board topology also holds the random Zobrist keys of the board, one for each disc on each
+ * cell and one for the side to move, whose exclusive or over a position gives the hash of
+ * that position. The keys only depend on the shape and side length, so the same position
+ * always gets the same hash, no matter which model holds it or when.
+ * It also knows the symmetries of the board (the 8 rotations and reflections of a square board,
+ * and the 12 of a hexagonal one), as permutations of the cell indices, and the Zobrist keys of
+ * every disc on every cell as seen through every symmetry, so that models can keep the hash of
+ * their position in every orientation and give the same canonical hash to all of them.
+ * A board topology is immutable and only built once for each shape and side length, and then
+ * shared by every model with a board of that shape and side length.
+ */
+public final class BoardTopology {
+  /**
+   * Represents the shape of a game board.
+   */
+  public enum Shape {
+    HEXAGON, SQUARE
+  }
+
+  // the topologies that have been built so far, for each shape and side length
+  private static final Map<Shape, Map<Integer, BoardTopology>> TOPOLOGIES = createCache();
+
+  private final Shape shape;
+  private final int sideLength;
+  // the coordinates of every cell on the board, in the order of their indices
+  private final List<Coordinates> coordinates;
+  // the index of the leftmost cell in each row
+  private final int[] rowStarts;
+  // the ray of every cell in every direction, in the same order of directions as
+  // Coordinates.getNeighborFunctions, with the closest cell first
+  private final int[][][] rays;
+  // the coordinates of the neighbors of every cell that are on the board, as held in coordinates
+  private final List<List<Coordinates>> neighbors;
+  // the Zobrist key of each disc (indexed by its ordinal) on each cell, at the index
+  // (cell index * number of discs + disc ordinal)
+  private final long[] discKeys;
+  // the Zobrist key that is part of the hash when the second player is the one to move
+  private final long sideToMoveKey;
+  // the cell every cell is moved to by every symmetry, and back by its inverse, with the
+  // identity first
+  private final int[][] symmetries;
+  private final int[][] inverseSymmetries;
+  // for each disc on each cell, at the same index as discKeys, the key of the cell it is moved
+  // to by every symmetry
+  private final long[][] symmetricDiscKeys;
+
+  // creates a board topology of the given shape and side length with the given rows
+  // of coordinates of the cells on the board
+  private BoardTopology(Shape shape, int sideLength, List<List<Coordinates>> rows) {
+    this.shape = shape;
+    this.sideLength = sideLength;
+    List<Coordinates> allCoordinates = new ArrayList<>();
+    this.rowStarts = new int[rows.size()];
+    for (int row = 0; row < rows.size(); row++) {
+      this.rowStarts[row] = allCoordinates.size();
+      allCoordinates.addAll(rows.get(row));
+    }
+    this.coordinates = Collections.unmodifiableList(allCoordinates);
+    this.rays = new int[allCoordinates.size()][][];
+    for (int index = 0; index < allCoordinates.size(); index++) {
+      this.rays[index] = this.buildRays(allCoordinates.get(index));
+    }
+    List<List<Coordinates>> allNeighbors = new ArrayList<>();
+    for (int[][] raysOfCell : this.rays) {
+      List<Coordinates> neighborsOfCell = new ArrayList<>();
+      for (int[] ray : raysOfCell) {
+        if (ray.length > 0) {
+          neighborsOfCell.add(allCoordinates.get(ray[0]));
+        }
+      }
+      allNeighbors.add(Collections.unmodifiableList(neighborsOfCell));
+    }
+    this.neighbors = Collections.unmodifiableList(allNeighbors);
+    // seeded by the shape and side length so that the keys are the same every time
+    SplittableRandom random = new SplittableRandom(((long) shape.ordinal() << 32) | sideLength);
+    this.discKeys = new long[allCoordinates.size() * Disc.values().length];
+    for (int key = 0; key < this.discKeys.length; key++) {
+      this.discKeys[key] = random.nextLong();
+    }
+    this.sideToMoveKey = random.nextLong();
+    this.symmetries = this.buildSymmetries();
+    this.inverseSymmetries = new int[this.symmetries.length][allCoordinates.size()];
+    this.symmetricDiscKeys = new long[this.discKeys.length][this.symmetries.length];
+    for (int symmetry = 0; symmetry < this.symmetries.length; symmetry++) {
+      for (int index = 0; index < allCoordinates.size(); index++) {
+        int image = this.symmetries[symmetry][index];
+        this.inverseSymmetries[symmetry][image] = index;
+        for (Disc disc : Disc.values()) {
+          this.symmetricDiscKeys[index * Disc.values().length + disc.ordinal()][symmetry] =
+              this.discKeys[image * Disc.values().length + disc.ordinal()];
+        }
+      }
+    }
+  }
+
+  // creates the cache of topologies with an empty map for each shape
+  private static Map<Shape, Map<Integer, BoardTopology>> createCache() {
+    Map<Shape, Map<Integer, BoardTopology>> cache = new EnumMap<>(Shape.class);
+    for (Shape shape : Shape.values()) {
+      cache.put(shape, new ConcurrentHashMap<>());
+    }
+    return Collections.unmodifiableMap(cache);
+  }
+
+  /**
+   * Returns the topology of the game board with the given shape and side length,
+   * building it if no board of that shape and side length have been built before.
+   * @param shape the shape of the game board
+   * @param sideLength the side length of the game board
+   * @return the topology of the game board with the given shape and side length
+   * @throws IllegalArgumentException if the side length is not positive
+   */
+  public static BoardTopology of(Shape shape, int sideLength) {
+    if (sideLength <= 0) {
+      throw new IllegalArgumentException("Side length must be positive!");
+    }
+    return TOPOLOGIES.get(shape).computeIfAbsent(sideLength,
+        length -> new BoardTopology(shape, length, createRows(shape, length)));
+  }
+
+  // creates the rows of coordinates of the cells on a board of the given shape and side length
+  private static List<List<Coordinates>> createRows(Shape shape, int sideLength) {
+    List<List<Coordinates>> rows = new ArrayList<>();
+    if (shape == Shape.HEXAGON) {
+      int maxCoordinateValue = sideLength - 1;
+      for (int r = -maxCoordinateValue; r <= maxCoordinateValue; r++) {
+        List<Coordinates> row = new ArrayList<>();
+        for (int q = -maxCoordinateValue; q <= maxCoordinateValue; q++) {
+          int s = -q - r;
+          if (Utils.checkValuesInBetween(s, -maxCoordinateValue, maxCoordinateValue)) {
+            row.add(new CubeCoordinates(q, r));
+          }
+        }
+        rows.add(row);
+      }
+    } else {
+      for (int rowNum = 0; rowNum < sideLength; rowNum++) {
+        List<Coordinates> row = new ArrayList<>();
+        for (int colNum = 0; colNum < sideLength; colNum++) {
+          row.add(new RowColumnCoordinates(rowNum, colNum));
+        }
+        rows.add(row);
+      }
+    }
+    return rows;
+  }
+
+  // builds the rays of the cell at the given coordinates in every direction
+  private int[][] buildRays(Coordinates start) {
+    List<Function<Coordinates, Coordinates>> directions = start.getNeighborFunctions();
+    int[][] raysOfCell = new int[directions.size()][];
+    for (int direction = 0; direction < directions.size(); direction++) {
+      List<Integer> ray = new ArrayList<>();
+      Coordinates current = directions.get(direction).apply(start);
+      while (current.validCoordsOnBoard(this.sideLength)) {
+        ray.add(this.indexOf(current));
+        current = directions.get(direction).apply(current);
+      }
+      raysOfCell[direction] = ray.stream().mapToInt(Integer::intValue).toArray();
+    }
+    return raysOfCell;
+  }
+
+  // builds the symmetries of the board: every rotation, and every rotation after a reflection
+  private int[][] buildSymmetries() {
+    int cellCount = this.coordinates.size();
+    int[] rotation = new int[cellCount];
+    int[] reflection = new int[cellCount];
+    int last = this.sideLength - 1;
+    for (int index = 0; index < cellCount; index++) {
+      Coordinates cell = this.coordinates.get(index);
+      if (this.shape == Shape.HEXAGON) {
+        CubeCoordinates cube = (CubeCoordinates) cell;
+        // a turn by 60 degrees, and a reflection across the axis where q stays the same
+        rotation[index] = this.indexOf(new CubeCoordinates(-cube.getR(), -cube.getS()));
+        reflection[index] = this.indexOf(new CubeCoordinates(cube.getQ(), cube.getS()));
+      } else {
+        int row = cell.getRow(this.sideLength);
+        int column = cell.getLocationInRow(this.sideLength);
+        // a quarter turn clockwise, and a reflection across the vertical axis
+        rotation[index] = this.indexOf(new RowColumnCoordinates(column, last - row));
+        reflection[index] = this.indexOf(new RowColumnCoordinates(row, last - column));
+      }
+    }
+    int rotations = this.shape == Shape.HEXAGON ? 6 : 4;
+    int[][] allSymmetries = new int[2 * rotations][cellCount];
+    for (int index = 0; index < cellCount; index++) {
+      allSymmetries[0][index] = index;
+      allSymmetries[rotations][index] = reflection[index];
+    }
+    for (int turn = 1; turn < rotations; turn++) {
+      for (int index = 0; index < cellCount; index++) {
+        allSymmetries[turn][index] = rotation[allSymmetries[turn - 1][index]];
+        allSymmetries[rotations + turn][index] =
+            rotation[allSymmetries[rotations + turn - 1][index]];
+      }
+    }
+    return allSymmetries;
+  }
+
+  /**
+   * Returns the shape of the game board.
+   * @return the shape of the game board
+   */
+  public Shape getShape() {
+    return this.shape;
+  }
+
+  /**
+   * Returns the side length of the game board.
+   * @return the side length of the game board
+   */
+  public int getSideLength() {
+    return this.sideLength;
+  }
+
+  /**
+   * Returns the number of cells on the game board.
+   * @return the number of cells on the game board
+   */
+  public int getCellCount() {
+    return this.coordinates.size();
+  }
+
+  /**
+   * Returns the number of rows of the game board.
+   * @return the number of rows of the game board
+   */
+  public int getRowCount() {
+    return this.rowStarts.length;
+  }
+
+  /**
+   * Returns the index of the leftmost cell in the given row, so that the cells of the row are
+   * the cells from that index to that index plus the length of the row.
+   * @param row the row, counting from 0 for the top row
+   * @return the index of the leftmost cell in the given row
+   * @throws IndexOutOfBoundsException if there is no such row
+   */
+  public int getRowStart(int row) {
+    return this.rowStarts[row];
+  }
+
+  /**
+   * Returns the number of cells in the given row.
+   * @param row the row, counting from 0 for the top row
+   * @return the number of cells in the given row
+   * @throws IndexOutOfBoundsException if there is no such row
+   */
+  public int getRowLength(int row) {
+    int rowEnd = row + 1 < this.rowStarts.length ? this.rowStarts[row + 1] : this.getCellCount();
+    return rowEnd - this.rowStarts[row];
+  }
+
+  /**
+   * Returns the number of directions that discs can be flipped along on the game board.
+   * @return the number of directions that discs can be flipped along
+   */
+  public int getDirectionCount() {
+    return this.rays.length == 0 ? 0 : this.rays[0].length;
+  }
+
+  /**
+   * Returns the index of the cell at the given coordinates on the game board.
+   * @param coordinates the coordinates of a cell
+   * @return the index of the cell at the given coordinates,
+   *         or -1 if there is no cell at the given coordinates on the game board
+   */
+  public int indexOf(Coordinates coordinates) {
+    int row = coordinates.getRow(this.sideLength);
+    if (!Utils.checkValuesInBetween(row, 0, this.rowStarts.length - 1)) {
+      return -1;
+    }
+    int locationInRow = coordinates.getLocationInRow(this.sideLength);
+    if (!Utils.checkValuesInBetween(locationInRow, 0, this.getRowLength(row) - 1)) {
+      return -1;
+    }
+    return this.rowStarts[row] + locationInRow;
+  }
+
+  /**
+   * Returns the coordinates of the cell with the given index.
+   * @param index the index of a cell on the game board
+   * @return the coordinates of the cell with the given index
+   * @throws IndexOutOfBoundsException if there is no cell with the given index
+   */
+  public Coordinates getCoordinates(int index) {
+    return this.coordinates.get(index);
+  }
+
+  /**
+   * Returns the coordinates of the cell at the given coordinates as held by this topology,
+   * so that every game on a board of this shape and side length can share one instance of
+   * the coordinates of each cell instead of creating its own, and so that coordinates
+   * given by this topology can be compared by identity.
+   * @param coordinates the coordinates of a cell
+   * @return the equal coordinates held by this topology, or the given coordinates if there is
+   *         no cell at them on the game board
+   */
+  public Coordinates intern(Coordinates coordinates) {
+    int index = this.indexOf(coordinates);
+    return index < 0 ? coordinates : this.coordinates.get(index);
+  }
+
+  /**
+   * Returns the coordinates of the neighbors of the cell with the given index that are on the
+   * game board, in the same order of directions as Coordinates.getAllNeighbors. Unlike
+   * getAllNeighbors, this creates no object, and the coordinates are the ones held by this
+   * topology.
+   * @param index the index of a cell on the game board
+   * @return the unmodifiable list of the coordinates of the neighbors of the cell
+   * @throws IndexOutOfBoundsException if there is no cell with the given index
+   */
+  public List<Coordinates> getNeighbors(int index) {
+    return this.neighbors.get(index);
+  }
+
+  /**
+   * Returns the ray of the cell with the given index in the given direction, which is
+   * the indices of the cells met when walking from that cell along that direction,
+   * with the closest cell first. The returned array is shared and must not be modified.
+   * @param index the index of a cell on the game board
+   * @param direction the direction, in the same order as Coordinates.getNeighborFunctions
+   * @return the ray of the cell with the given index in the given direction
+   * @throws IndexOutOfBoundsException if there is no such cell or direction
+   */
+  public int[] getRay(int index, int direction) {
+    return this.rays[index][direction];
+  }
+
+  /**
+   * Returns the Zobrist key of the given disc on the cell with the given index.
+   * @param index the index of a cell on the game board
+   * @param disc the disc on that cell
+   * @return the Zobrist key of the given disc on the cell with the given index
+   * @throws IndexOutOfBoundsException if there is no cell with the given index
+   */
+  public long getDiscKey(int index, Disc disc) {
+    if (index < 0 || index >= this.getCellCount()) {
+      throw new IndexOutOfBoundsException("No cell with index " + index + "!");
+    }
+    return this.discKeys[index * Disc.values().length + disc.ordinal()];
+  }
+
+  /**
+   * Returns the Zobrist key that is part of the hash of a position
+   * when the second player is the one to move.
+   * @return the Zobrist key of the second player being the side to move
+   */
+  public long getSideToMoveKey() {
+    return this.sideToMoveKey;
+  }
+
+  /**
+   * Returns the number of symmetries of the game board (rotations and reflections that map
+   * the board onto itself, including the identity): 8 for a square board and 12 for a
+   * hexagonal one.
+   * @return the number of symmetries of the game board
+   */
+  public int getSymmetryCount() {
+    return this.symmetries.length;
+  }
+
+  /**
+   * Returns the given symmetry of the game board as the index of the cell that every cell is
+   * moved to, by the index of the cell. Symmetry 0 is the identity.
+   * The returned array is shared and must not be modified.
+   * @param symmetry the number of the symmetry, from 0 to getSymmetryCount() - 1
+   * @return the index of the image of every cell under the symmetry
+   * @throws IndexOutOfBoundsException if there is no such symmetry
+   */
+  public int[] getSymmetry(int symmetry) {
+    return this.symmetries[symmetry];
+  }
+
+  /**
+   * Returns the inverse of the given symmetry of the game board, as getSymmetry does.
+   * The returned array is shared and must not be modified.
+   * @param symmetry the number of the symmetry, from 0 to getSymmetryCount() - 1
+   * @return the index of the cell moved to every cell by the symmetry
+   * @throws IndexOutOfBoundsException if there is no such symmetry
+   */
+  public int[] getInverseSymmetry(int symmetry) {
+    return this.inverseSymmetries[symmetry];
+  }
+
+  /**
+   * Returns the Zobrist keys of the given disc on the cell with the given index as seen through
+   * every symmetry of the board, which is the key of the disc on the cell the symmetry moves the
+   * cell to, in the order of the symmetries. The first key is getDiscKey(index, disc).
+   * The returned array is shared and must not be modified.
+   * @param index the index of a cell on the game board
+   * @param disc the disc on that cell
+   * @return the key of the disc on the image of the cell under every symmetry
+   * @throws IndexOutOfBoundsException if there is no cell with the given index
+   */
+  public long[] getSymmetricDiscKeys(int index, Disc disc) {
+    if (index < 0 || index >= this.getCellCount()) {
+      throw new IndexOutOfBoundsException("No cell with index " + index + "!");
+    }
+    return this.symmetricDiscKeys[index * Disc.values().length + disc.ordinal()];
+  }
+}
@@ -33,6 +33,12 @@ public interface Cell {
    */
   void flipDiscTo(Disc disc);
 
+  /**
+   * Remove the disc on this cell, so that this cell is empty again.
+   * @throws IllegalStateException if this cell is empty
+   */
+  void removeDisc();
+
   /**
    * Returns the hexagonal coordinates of this cell on the game board.
    * @return the hexagonal coordinates of this cell
@@ -3,7 +3,6 @@ package cs3500.reversi.model;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 import java.util.function.Function;
 
 import cs3500.reversi.utils.Utils;
@@ -65,7 +64,8 @@ public class CubeCoordinates implements HexagonalCoordinates {
 
   @Override
   public int hashCode() {
-    return Objects.hash(this.q, this.r, this.s);
+    // s only depends on q and r, and the hash is computed without boxing the values
+    return 31 * this.q + this.r;
   }
 
   @Override
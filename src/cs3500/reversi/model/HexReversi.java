@@ -46,14 +46,16 @@ public class HexReversi extends AbstractReversi {
   protected List<List<Cell>> initializeBoard() {
     int maxCoordinateValue = this.boardSize - 1;
     List<List<Cell>> gameBoard = new ArrayList<>();
+    int index = 0;
     for (int r = -maxCoordinateValue; r <= maxCoordinateValue; r++) {
       List<Cell> row = new ArrayList<>();
       for (int q = -maxCoordinateValue; q <= maxCoordinateValue; q++) {
         int s = -q - r;
         if (s >= -maxCoordinateValue && s <= maxCoordinateValue) {
-          HexagonalCoordinates hexagonalCoordinates = new CubeCoordinates(q, r);
-          ReversiCell reversiCell = new ReversiCell(hexagonalCoordinates);
+          // the cells share the coordinates of the topology instead of creating their own
+          ReversiCell reversiCell = new ReversiCell(this.topology.getCoordinates(index));
           row.add(reversiCell);
+          index += 1;
         }
       }
       gameBoard.add(Collections.unmodifiableList(row));
@@ -66,22 +68,31 @@ public class HexReversi extends AbstractReversi {
   protected void placeInitialDiscs() {
     for (List<Cell> row : this.board) {
       for (Cell cell : row) {
-        if (cell.getCoordinates().equals(new CubeCoordinates(1, -1))
-            || cell.getCoordinates().equals(new CubeCoordinates(-1, 0))
-            || cell.getCoordinates().equals(new CubeCoordinates(0, 1))) {
+        HexagonalCoordinates coordinates = (HexagonalCoordinates) cell.getCoordinates();
+        if (isAt(coordinates, 1, -1) || isAt(coordinates, -1, 0) || isAt(coordinates, 0, 1)) {
           cell.placeDisc(Disc.WHITE);
         }
-        else if (cell.getCoordinates().equals(new CubeCoordinates(0, -1))
-                 || cell.getCoordinates().equals(new CubeCoordinates(1, 0))
-                 || cell.getCoordinates().equals(new CubeCoordinates(-1, 1))) {
+        else if (isAt(coordinates, 0, -1) || isAt(coordinates, 1, 0)
+                 || isAt(coordinates, -1, 1)) {
           cell.placeDisc(Disc.BLACK);
         }
       }
     }
   }
 
+  // returns whether the given coordinates are at the given location in the Q and R axes,
+  // without creating coordinates to compare with
+  private static boolean isAt(HexagonalCoordinates coordinates, int q, int r) {
+    return coordinates.getQ() == q && coordinates.getR() == r;
+  }
+
+  @Override
+  protected BoardTopology.Shape getBoardShape() {
+    return BoardTopology.Shape.HEXAGON;
+  }
+
   @Override
-  protected ReversiModelReadWrite copyModel() {
+  protected AbstractReversi copyModel() {
     return new HexReversi(this);
   }
 
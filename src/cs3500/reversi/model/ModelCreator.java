@@ -8,10 +8,14 @@ import cs3500.reversi.player.Player;
  */
 public class ModelCreator {
   /**
-   * Represents a type of Reversi game, specified by the kind of shape that the game board have.
+   * Represents a type of Reversi game, specified by the kind of shape that the game board have,
+   * and for some shapes also by the way that the model stores the discs on the board
+   * (SQUARE_BITBOARD is a square game keeping its discs in bitboards, which only supports
+   * boards of at most 64 cells but is much faster for machine players to analyze, and
+   * HEX_BITSET is a hexagonal game keeping its discs in bitsets of any size).
    */
   public enum GameType {
-    HEX, SQUARE
+    HEX, SQUARE, SQUARE_BITBOARD, HEX_BITSET
   }
 
   /**
@@ -27,6 +31,10 @@ public class ModelCreator {
                                              Player player2) {
     if (type == GameType.SQUARE) {
       return new SquareReversi(boardSize, player1, player2);
+    } else if (type == GameType.SQUARE_BITBOARD) {
+      return new BitboardSquareReversi(boardSize, player1, player2);
+    } else if (type == GameType.HEX_BITSET) {
+      return new BitsetHexReversi(boardSize, player1, player2);
     } else {
       return new HexReversi(boardSize, player1, player2);
     }
@@ -61,6 +61,14 @@ public class ReversiCell implements Cell {
     this.discOnCell = disc;
   }
 
+  @Override
+  public void removeDisc() {
+    if (this.isEmpty()) {
+      throw new IllegalStateException("No disc on cell!");
+    }
+    this.discOnCell = null;
+  }
+
   @Override
   public Coordinates getCoordinates() {
     return this.coordinates;
@@ -1,7 +1,7 @@
 package cs3500.reversi.model;
 
 import java.util.List;
-
+import java.util.Map;
 
 import cs3500.reversi.player.Player;
 
@@ -19,7 +19,9 @@ public interface ReversiModelReadOnly {
   int getBoardSideLength();
 
   /**
-   * Returns the current board state of the game.
+   * Returns the current board state of the game, as a copy of every cell on the board.
+   * To read the board without creating any object, such as when drawing it on every repaint,
+   * go through the rows of getTopology and read every cell with discAt instead.
    * @return the list of cells on board
    */
   List<List<Cell>> getBoard();
@@ -36,6 +38,18 @@ public interface ReversiModelReadOnly {
    */
   int scoreEarnedByPlaceIn(Player player, Coordinates coordinates);
 
+  /**
+   * Determines whether the given player can place a disc in the cell at the given index in
+   * this round of the game, which is whether scoreEarnedByPlaceIn would be positive for the
+   * coordinates of that cell, without going through any coordinates.
+   * @param player the player
+   * @param index the index of a cell in the topology of the board
+   * @return true if it is the given player's turn and placing a disc in the cell is legal
+   * @throws IllegalArgumentException if there is no cell at the given index
+   * @throws IllegalStateException if the game is over
+   */
+  boolean isLegal(Player player, int index);
+
   /**
    * Determines if the given player have any legal move that can be made
    * for this round of the game, if not, meaning the player must pass.
@@ -47,6 +61,46 @@ public interface ReversiModelReadOnly {
    */
   boolean movable(Player player);
 
+  /**
+   * Returns all the legal moves that the given player can make for this round of the game,
+   * each mapped to the score that the player would earn by making that move, in the order
+   * of the cells on the board (row by row from the top row, and from the leftmost cell
+   * in each row).
+   * @param player the player to get the legal moves of
+   * @return the coordinates of every legal move of the given player mapped to the score
+   *         earned by making it, which is empty if this is not the given player's turn to
+   *         place a disc or the player has no legal move
+   * @throws IllegalStateException if the game is over
+   */
+  Map<Coordinates, Integer> getLegalMoves(Player player);
+
+  /**
+   * Returns the Zobrist hash of the current position of this game, made from the discs on
+   * every cell of the board and the player whose turn it is to place a disc. Games with the
+   * same board shape and size that have the same discs on the board and the same player to
+   * move always have the same hash, while different positions almost never do.
+   * @return the 64-bit hash of the current position of this game
+   */
+  long getPositionHash();
+
+  /**
+   * Returns the canonical hash of the current position of this game, which is the smallest of
+   * the hashes (as getPositionHash gives them) of the position turned and reflected by every
+   * symmetry of the board. Positions that are rotations or reflections of each other, with the
+   * same player to move, always have the same canonical hash.
+   * @return the 64-bit canonical hash of the current position of this game
+   */
+  long getCanonicalHash();
+
+  /**
+   * Returns the symmetry of the board (see BoardTopology.getSymmetry) that turns the current
+   * position of this game into the position whose hash is the canonical hash, the first one
+   * if several do. The cell with index i in this position is the cell with index
+   * getTopology().getSymmetry(getCanonicalSymmetry())[i] in the canonical position.
+   * @return the number of the symmetry
+   */
+  int getCanonicalSymmetry();
+
   /**
    * Returns the current score of the given player.
    * @param player the player to check score
@@ -54,6 +108,13 @@ public interface ReversiModelReadOnly {
    */
   int getScore(Player player);
 
+  /**
+   * Returns the current scores of all the players and the number of empty cells of the board,
+   * which reads the state of the game once instead of once per player.
+   * @return the current scores of this game
+   */
+  Scores getScores();
+
   /**
    * Determines if the game is over.
    * @return true if the game is over, false otherwise
@@ -76,6 +137,23 @@ public interface ReversiModelReadOnly {
    */
   Cell getCellInBoard(Coordinates coordinates);
 
+  /**
+   * Returns the disc on the cell at the given index, where the cells are indexed row by row
+   * from the top row, and from the leftmost cell in each row (the order of getBoard).
+   * Unlike getCellInBoard, this creates no object, so it can be called as often as needed.
+   * @param index the index of the cell
+   * @return the disc on the cell, or null if the cell is empty
+   * @throws IllegalArgumentException if there is no cell at the given index
+   */
+  Disc discAt(int index);
+
+  /**
+   * Returns the layout of the game board, which gives every cell its index (the index of
+   * discAt) and is shared by every game with a board of the same shape and side length.
+   * @return the topology of the game board
+   */
+  BoardTopology getTopology();
+
   /**
    * Returns a newly created Reversi model representing the game state after trying to
    * place a disc of the given player's at the given coordinates.
@@ -90,6 +168,14 @@ public interface ReversiModelReadOnly {
   ReversiModelReadOnly tryMove(Player player, Coordinates coordinates)
                                             throws IllegalArgumentException, IllegalStateException;
 
+  /**
+   * Returns a newly created copy of this game that moves can be applied on and taken back,
+   * so that a search can explore many moves on the one copy without copying the board again.
+   * Notice that changing the copy doesn't change this game.
+   * @return a newly created copy of this game for searching through moves
+   */
+  ReversiSearchModel copyForSearch();
+
   /**
    * Returns the disc of the given player if the player involves in this game.
    * @param player the player to get the disc of
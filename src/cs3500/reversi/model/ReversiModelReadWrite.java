@@ -27,6 +27,18 @@ public interface ReversiModelReadWrite extends ReversiModelReadOnly {
    */
   void placeIn(Player player, Coordinates coordinates);
 
+  /**
+   * The given player try to place a disc in the cell at the given index, exactly as
+   * placeIn with the coordinates of that cell, without going through any coordinates.
+   * @param player the player who place the disc
+   * @param index the index of the cell in the topology of the board
+   * @throws IllegalArgumentException if there is no cell at the given index, the space is
+   *                                  occupied or the move can't earn any points
+   * @throws IllegalStateException if the game is over or
+   *                               if this is not the given player's turn to play
+   */
+  void placeIn(Player player, int index);
+
   /**
    * Starts this Reversi game, so that the players can start playing.
    */
@@ -0,0 +1,54 @@
+package cs3500.reversi.model;
+
+import cs3500.reversi.player.Player;
+
+/**
+ * Represents a Reversi game that a search can play moves on and then take them back,
+ * so that many positions can be explored on the same game board instead of copying the
+ * whole board for every move tried. Moves applied on this game never notify any listener.
+ */
+public interface ReversiSearchModel extends ReversiModelReadOnly {
+  /**
+   * The given player places a disc in the cell of the given coordinates, without notifying
+   * any listener of the new turn.
+   * @param player the player making the move
+   * @param coordinates the coordinates of the cell to place a disc in
+   * @return the record of the move, which can be passed to undoMove to take the move back
+   * @throws IllegalArgumentException if the space is occupied or the move can't earn any points
+   * @throws IllegalStateException if the game is over or
+   *                               if this is not the given player's turn to play
+   */
+  UndoRecord applyMove(Player player, Coordinates coordinates);
+
+  /**
+   * The given player places a disc in the cell at the given index, exactly as applyMove with
+   * the coordinates of that cell, without going through any coordinates.
+   * @param player the player making the move
+   * @param index the index of the cell in the topology of the board
+   * @return the record of the move, which can be passed to undoMove to take the move back
+   * @throws IllegalArgumentException if there is no cell at the given index, the space is
+   *                                  occupied or the move can't earn any points
+   * @throws IllegalStateException if the game is over or
+   *                               if this is not the given player's turn to play
+   */
+  UndoRecord applyMove(Player player, int index);
+
+  /**
+   * The given player passes this round, without notifying any listener of the new turn
+   * or of the end of the game.
+   * @param player the player who passes
+   * @return the record of the pass, which can be passed to undoMove to take the pass back
+   * @throws IllegalStateException if the game is over or
+   *                               if this is not the given player's turn to play
+   */
+  UndoRecord applyPass(Player player);
+
+  /**
+   * Takes back the move of the given record, restoring the discs on the board, the round and
+   * the number of consecutive passes to exactly what they were before the move.
+   * Moves must be taken back in the reverse order of being applied.
+   * @param record the record of the last move applied on this game that is not taken back yet
+   * @throws IllegalArgumentException if the given record is not of the last move applied
+   */
+  void undoMove(UndoRecord record);
+}
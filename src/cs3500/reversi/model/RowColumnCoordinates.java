@@ -3,7 +3,6 @@ package cs3500.reversi.model;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Objects;
 import java.util.function.Function;
 
 import cs3500.reversi.utils.Utils;
@@ -132,6 +131,7 @@ public class RowColumnCoordinates implements Coordinates {
 
   @Override
   public int hashCode() {
-    return Objects.hash(this.row, this.col);
+    // computed without boxing the values
+    return 31 * this.row + this.col;
   }
 }
@@ -0,0 +1,47 @@
+package cs3500.reversi.model;
+
+import java.util.List;
+
+import cs3500.reversi.player.Player;
+
+/**
+ * Represents the scores of all the players of a Reversi game at one moment, together with the
+ * number of cells of the board that are still empty, so that everything shown about the state
+ * of a game can be read from the game in one call.
+ */
+public final class Scores {
+  private final List<Player> players;
+  // the score of each player, in the order of the list of players
+  private final int[] scores;
+  private final int emptyCellCount;
+
+  // creates the scores of the given players, given in the same order as the players,
+  // with the given number of empty cells
+  Scores(List<Player> players, int[] scores, int emptyCellCount) {
+    this.players = players;
+    this.scores = scores;
+    this.emptyCellCount = emptyCellCount;
+  }
+
+  /**
+   * Returns the score of the given player.
+   * @param player the player to check score
+   * @return the score of the given player
+   * @throws IllegalArgumentException if the given player is not involved in the game
+   */
+  public int getScore(Player player) {
+    int playerIndex = this.players.indexOf(player);
+    if (playerIndex < 0) {
+      throw new IllegalArgumentException("Player not involved in this game!");
+    }
+    return this.scores[playerIndex];
+  }
+
+  /**
+   * Returns the number of cells of the board that have no disc in them.
+   * @return the number of empty cells
+   */
+  public int getEmptyCellCount() {
+    return this.emptyCellCount;
+  }
+}
@@ -48,7 +48,8 @@ public class SquareReversi extends AbstractReversi {
     for (int rowNum = 0; rowNum < this.boardSize; rowNum++) {
       List<Cell> row = new ArrayList<>();
       for (int colNum = 0; colNum < this.boardSize; colNum++) {
-        Coordinates coordinates = new RowColumnCoordinates(rowNum, colNum);
+        // the cells share the coordinates of the topology instead of creating their own
+        Coordinates coordinates = this.topology.getCoordinates(rowNum * this.boardSize + colNum);
         ReversiCell reversiCell = new ReversiCell(coordinates);
         row.add(reversiCell);
       }
@@ -62,20 +63,31 @@ public class SquareReversi extends AbstractReversi {
     int mid = this.boardSize / 2;
     for (List<Cell> row : this.board) {
       for (Cell cell : row) {
-        if (cell.getCoordinates().equals(new RowColumnCoordinates(mid - 1, mid))
-            || cell.getCoordinates().equals(new RowColumnCoordinates(mid, mid - 1))) {
+        Coordinates coordinates = cell.getCoordinates();
+        if (this.isAt(coordinates, mid - 1, mid) || this.isAt(coordinates, mid, mid - 1)) {
           cell.placeDisc(Disc.WHITE);
         }
-        else if (cell.getCoordinates().equals(new RowColumnCoordinates(mid - 1, mid - 1))
-                || cell.getCoordinates().equals(new RowColumnCoordinates(mid, mid))) {
+        else if (this.isAt(coordinates, mid - 1, mid - 1) || this.isAt(coordinates, mid, mid)) {
           cell.placeDisc(Disc.BLACK);
         }
       }
     }
   }
 
+  // returns whether the given coordinates are at the given row and column,
+  // without creating coordinates to compare with
+  private boolean isAt(Coordinates coordinates, int row, int col) {
+    return coordinates.getRow(this.boardSize) == row
+            && coordinates.getLocationInRow(this.boardSize) == col;
+  }
+
+  @Override
+  protected BoardTopology.Shape getBoardShape() {
+    return BoardTopology.Shape.SQUARE;
+  }
+
   @Override
-  protected ReversiModelReadWrite copyModel() {
+  protected AbstractReversi copyModel() {
     return new SquareReversi(this);
   }
 
@@ -0,0 +1,84 @@
+package cs3500.reversi.model;
+
+/**
+ * Represents what a move applied on a searchable Reversi game changed, which is everything
+ * that game needs in order to take that move back: the cell that got a disc placed into it,
+ * the cells whose discs got flipped (as a bitmask over the indices that game gives its cells),
+ * and the round and number of consecutive passes before the move.
+ * A passing move places no disc and flips nothing.
+ * Undo records are only created by the games that applied the moves, and can only be
+ * handed back to the same game to undo those moves.
+ */
+public final class UndoRecord {
+  // the bitmask of flipped cells of a pass
+  private static final long[] NO_FLIPS = new long[0];
+
+  // the disc placed by the move, or null if the move is a pass
+  private final Disc disc;
+  // the index of the cell that got the disc placed into it, or -1 if the move is a pass
+  private final int placedIndex;
+  // the cell with index i got flipped if the bit (i % 64) of the word (i / 64) is set
+  private final long[] flipped;
+  private final int round;
+  private final int numPass;
+
+  // creates a record of a move that placed the given disc into the cell of the given index
+  // and flipped the given cells, made in the given round after the given number of passes
+  UndoRecord(Disc disc, int placedIndex, long[] flipped, int round, int numPass) {
+    this.disc = disc;
+    this.placedIndex = placedIndex;
+    this.flipped = flipped;
+    this.round = round;
+    this.numPass = numPass;
+  }
+
+  // creates a record of a pass made in the given round after the given number of passes
+  static UndoRecord ofPass(int round, int numPass) {
+    return new UndoRecord(null, -1, NO_FLIPS, round, numPass);
+  }
+
+  /**
+   * Returns whether the recorded move is a pass.
+   * @return true if the recorded move is a pass, false if it placed a disc
+   */
+  public boolean isPass() {
+    return this.placedIndex < 0;
+  }
+
+  /**
+   * Returns the number of discs flipped by the recorded move.
+   * @return the number of discs flipped by the recorded move
+   */
+  public int getFlippedCount() {
+    int count = 0;
+    for (long word : this.flipped) {
+      count += Long.bitCount(word);
+    }
+    return count;
+  }
+
+  // returns the disc placed by the recorded move, or null if it is a pass
+  Disc getDisc() {
+    return this.disc;
+  }
+
+  // returns the index of the cell the recorded move placed a disc into, or -1 if it is a pass
+  int getPlacedIndex() {
+    return this.placedIndex;
+  }
+
+  // returns the bitmask of the cells flipped by the recorded move, which must not be modified
+  long[] getFlipped() {
+    return this.flipped;
+  }
+
+  // returns the round in which the recorded move was made
+  int getRound() {
+    return this.round;
+  }
+
+  // returns the number of consecutive passes before the recorded move was made
+  int getNumPass() {
+    return this.numPass;
+  }
+}
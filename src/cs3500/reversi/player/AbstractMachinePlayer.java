@@ -4,17 +4,46 @@ import java.util.Optional;
 
 import cs3500.reversi.model.Coordinates;
 import cs3500.reversi.model.ReversiModelReadOnly;
+import cs3500.reversi.strategy.EndgameSolver;
+import cs3500.reversi.strategy.OpeningBook;
 
 /**
  * An abstract representation of an automated player  in the Reversi game.
  * This class extends AbstractPlayer and provides an implementation for automated move
  * selection based on the current state of the game model.
+ * Every automated player first looks the position up in the opening book of the board of
+ * its game, if there is one (see OpeningBook.forBoard), and plays the move of the book when the
+ * book knows the position. Once few enough cells are left empty, every automated player plays
+ * perfectly, choosing its moves with an endgame solver instead of its own way of choosing.
  */
 public abstract class AbstractMachinePlayer extends AbstractPlayer {
+  protected final EndgameSolver endgameSolver;
+
+  /**
+   * Constructs an automated player that solves the game once it has at most
+   * the default number of empty cells.
+   */
+  public AbstractMachinePlayer() {
+    this(EndgameSolver.DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * Constructs an automated player that solves the game once it has at most
+   * the given number of empty cells.
+   * @param endgameThreshold the most empty cells a game may have to be solved
+   * @throws IllegalArgumentException if the given threshold is not positive
+   */
+  public AbstractMachinePlayer(int endgameThreshold) {
+    this.endgameSolver = new EndgameSolver(endgameThreshold);
+  }
 
   @Override
   public void turnToMove(ReversiModelReadOnly model) {
-    Optional<Coordinates> choice = this.chooseMove(model);
+    Optional<Coordinates> choice = OpeningBook.forBoard(model).chooseMove(model, this);
+    if (choice.isEmpty()) {
+      choice = this.endgameSolver.canSolve(model)
+              ? this.endgameSolver.chooseMove(model, this) : this.chooseMove(model);
+    }
     if (choice.isEmpty()) {
       this.pass();
     } else {
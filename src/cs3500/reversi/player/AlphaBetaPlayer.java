@@ -0,0 +1,48 @@
+package cs3500.reversi.player;
+
+import java.util.Optional;
+
+import cs3500.reversi.model.Coordinates;
+import cs3500.reversi.model.ReversiModelReadOnly;
+import cs3500.reversi.strategy.AlphaBetaStrategy;
+import cs3500.reversi.strategy.SearchBudget;
+import cs3500.reversi.strategy.SearchReport;
+
+/**
+ * A player implementation that looks ahead as many moves as its budget allows with
+ * the alpha-beta search strategy, and keeps the report of how deep it searched
+ * and how many positions it visited for its last move.
+ */
+public class AlphaBetaPlayer extends AbstractMachinePlayer {
+  private final AlphaBetaStrategy strategy;
+
+  /**
+   * Constructs an alpha-beta player that searches for one second per move.
+   */
+  public AlphaBetaPlayer() {
+    this.strategy = new AlphaBetaStrategy();
+  }
+
+  /**
+   * Constructs an alpha-beta player that searches within the given budget for every move.
+   * @param budget how much the player may spend on choosing one move
+   * @throws IllegalArgumentException if the given budget is null
+   */
+  public AlphaBetaPlayer(SearchBudget budget) {
+    this.strategy = new AlphaBetaStrategy(budget);
+  }
+
+  @Override
+  protected Optional<Coordinates> chooseMove(ReversiModelReadOnly model) {
+    return this.strategy.chooseMove(model, this);
+  }
+
+  /**
+   * Returns the report of the search done for the last move chosen by this player.
+   * @return the report of the last search
+   * @throws IllegalStateException if this player has not chosen any move yet
+   */
+  public SearchReport getLastSearchReport() {
+    return this.strategy.getLastReport();
+  }
+}
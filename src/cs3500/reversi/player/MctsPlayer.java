@@ -0,0 +1,50 @@
+package cs3500.reversi.player;
+
+import java.util.Optional;
+
+import cs3500.reversi.model.Coordinates;
+import cs3500.reversi.model.ReversiModelReadOnly;
+import cs3500.reversi.strategy.MctsStrategy;
+import cs3500.reversi.strategy.SearchBudget;
+import cs3500.reversi.strategy.SearchReport;
+
+/**
+ * A player implementation that plays out as many games as its budget allows with
+ * the Monte Carlo tree search strategy, and keeps the report of how many playouts
+ * it ran for its last move.
+ */
+public class MctsPlayer extends AbstractMachinePlayer {
+  private final MctsStrategy strategy;
+
+  /**
+   * Constructs a Monte Carlo tree search player that searches for one second per move.
+   */
+  public MctsPlayer() {
+    this.strategy = new MctsStrategy();
+  }
+
+  /**
+   * Constructs a Monte Carlo tree search player that searches within the given budget
+   * for every move.
+   * @param budget how much time or how many playouts the player may spend on choosing
+   *               one move
+   * @throws IllegalArgumentException if the given budget is null or limits the depth
+   */
+  public MctsPlayer(SearchBudget budget) {
+    this.strategy = new MctsStrategy(budget);
+  }
+
+  @Override
+  protected Optional<Coordinates> chooseMove(ReversiModelReadOnly model) {
+    return this.strategy.chooseMove(model, this);
+  }
+
+  /**
+   * Returns the report of the search done for the last move chosen by this player.
+   * @return the report of the last search
+   * @throws IllegalStateException if this player has not chosen any move yet
+   */
+  public SearchReport getLastSearchReport() {
+    return this.strategy.getLastReport();
+  }
+}
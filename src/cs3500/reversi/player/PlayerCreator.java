@@ -11,13 +11,13 @@ public class PlayerCreator {
    * specified by the strategy it uses.
    */
   public enum PlayerType {
-    HUMAN, SIMPLISTIC, SMARTER, MINIMAX;
+    HUMAN, SIMPLISTIC, SMARTER, MINIMAX, ALPHA_BETA, MCTS;
   }
 
   /**
    * Creates a player corresponding to the given specified type.
    * Default to return a human player if the given type isn't one of the
-   * three machine players.
+   * machine players.
    * @return a player object corresponding to the given specified type
    */
   public static Player create(PlayerType type) {
@@ -28,6 +28,10 @@ public class PlayerCreator {
         return new SmarterPlayer();
       case MINIMAX:
         return new MinimaxPlayer();
+      case ALPHA_BETA:
+        return new AlphaBetaPlayer();
+      case MCTS:
+        return new MctsPlayer();
       default:
         return new HumanPlayer();
     }
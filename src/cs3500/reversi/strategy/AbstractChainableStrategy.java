@@ -4,7 +4,6 @@ import java.util.ArrayList;
 import java.util.List;
 
 import cs3500.reversi.player.Player;
-import cs3500.reversi.model.Cell;
 import cs3500.reversi.model.Coordinates;
 import cs3500.reversi.model.ReversiModelReadOnly;
 
@@ -31,15 +30,7 @@ public abstract class AbstractChainableStrategy implements ChainableStrategy {
    * @return The List of the HexagonalCoordinates that the player can move
    */
   private List<Coordinates> getValidMove(ReversiModelReadOnly model, Player player) {
-    List<Coordinates> validMove = new ArrayList<>();
-    for (List<Cell> row : model.getBoard()) {
-      for (Cell cell : row) {
-        Coordinates coordinates = cell.getCoordinates();
-        if (model.scoreEarnedByPlaceIn(player, coordinates) > 0) {
-          validMove.add(coordinates);
-        }
-      }
-    }
-    return validMove;
+    // the model keeps the legal moves up to date, so there is no need to scan the board
+    return new ArrayList<>(model.getLegalMoves(player).keySet());
   }
 }
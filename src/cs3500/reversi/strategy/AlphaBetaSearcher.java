@@ -0,0 +1,216 @@
+package cs3500.reversi.strategy;
+
+import cs3500.reversi.model.BoardTopology;
+import cs3500.reversi.model.Coordinates;
+import cs3500.reversi.model.ReversiSearchModel;
+import cs3500.reversi.model.UndoRecord;
+import cs3500.reversi.player.Player;
+
+/**
+ * Searches the moves that can follow a position of a Reversi game with negamax alpha-beta,
+ * playing and taking back every move on one copy of the game so that no board is copied
+ * while searching. If it is given a transposition table, it looks every position up in the
+ * table first, and stores what it finds out about the position in the table afterwards.
+ * Positions are kept in the table by their canonical hash, so that a position found after a
+ * rotation or reflection of another one is not searched again, and the best move is kept as
+ * the index of its cell in the canonical orientation of the position.
+ * The moves of every position are searched in the order given by a move ordering, which
+ * learns from the moves that cut the search short.
+ * A searcher keeps the state of one search (the copy of the game and the positions it visited
+ * that are not counted yet) and so must only be used by one thread at a time, though the table
+ * and the clock can be shared.
+ */
+class AlphaBetaSearcher {
+  /**
+   * A score higher than the score of any position.
+   */
+  static final int INFINITY = Integer.MAX_VALUE / 2;
+  // the score of a finished game is its final disc difference times this weight, so that
+  // a won game always scores higher than any estimate of an unfinished game
+  private static final int FINISHED_GAME_WEIGHT = 10_000;
+  // the number of positions visited between two checks of the clock
+  private static final int NODES_PER_BUDGET_CHECK = 1024;
+
+  private final ReversiSearchModel model;
+  private final BoardTopology topology;
+  // the table of positions searched before, or null if positions are not remembered
+  private final TranspositionTable table;
+  private final SearchClock clock;
+  private final MoveOrdering ordering;
+  private final PatternEvaluator evaluator;
+  // the number of positions visited and not yet counted by the clock
+  private int uncountedNodes;
+
+  /**
+   * Creates a searcher that searches on the given copy of a game, stopping when the given
+   * clock says so.
+   * @param model the copy of the game to play and take back moves on
+   * @param table the table of positions searched before, or null to not remember positions
+   * @param clock the clock of the search, which may be shared with other searchers
+   * @param ordering the ordering of the moves of the given game
+   * @param evaluator the evaluator of positions with the board of the given game
+   */
+  AlphaBetaSearcher(ReversiSearchModel model, TranspositionTable table, SearchClock clock,
+                    MoveOrdering ordering, PatternEvaluator evaluator) {
+    this.model = model;
+    this.topology = model.getTopology();
+    this.table = table;
+    this.clock = clock;
+    this.ordering = ordering;
+    this.evaluator = evaluator;
+  }
+
+  /**
+   * Counts the positions visited by this searcher that the clock has not counted yet.
+   */
+  void countNodes() {
+    this.clock.addNodes(this.uncountedNodes);
+    this.uncountedNodes = 0;
+  }
+
+  /**
+   * Returns the score of the given player making the given move, searched to the given depth
+   * with the given bounds, from the point of view of the given player.
+   * @param player the player making the move, whose turn it is to play
+   * @param opponent the other player
+   * @param move the move to score
+   * @param depth the number of moves to look ahead, including the given move
+   * @param alpha the score the given player is already guaranteed
+   * @param beta the score the opponent is already guaranteed, negated
+   * @return the score of the move, exact if it is between the bounds, or else a bound
+   * @throws SearchStoppedException if the clock stopped the search while searching
+   */
+  int scoreMove(Player player, Player opponent, Coordinates move, int depth,
+                int alpha, int beta) {
+    return this.scoreMove(player, opponent, move, depth, 0, alpha, beta);
+  }
+
+  // returns the score of the given move like scoreMove, for a move made in a position the
+  // given number of moves from the root
+  private int scoreMove(Player player, Player opponent, Coordinates move, int depth, int ply,
+                        int alpha, int beta) {
+    UndoRecord record = this.model.applyMove(player, move);
+    try {
+      return -this.negamax(opponent, player, depth - 1, ply + 1, -beta, -alpha);
+    } finally {
+      this.model.undoMove(record);
+    }
+  }
+
+  // returns the score of the current position, the given number of moves from the root,
+  // searched to the given depth with the given bounds, from the point of view of the given
+  // player whose turn it is to play
+  private int negamax(Player player, Player opponent, int depth, int ply, int alpha, int beta) {
+    this.uncountedNodes += 1;
+    if (this.uncountedNodes == NODES_PER_BUDGET_CHECK) {
+      this.countNodes();
+      if (this.clock.shouldStop()) {
+        throw SearchStoppedException.INSTANCE;
+      }
+    }
+    if (this.model.isGameOver()) {
+      return FINISHED_GAME_WEIGHT * this.discDifference(player, opponent);
+    }
+    if (depth <= 0) {
+      return this.evaluate(player, opponent);
+    }
+    long hash = 0;
+    int symmetry = 0;
+    int tableCell = -1;
+    if (this.table != null) {
+      hash = this.model.getCanonicalHash();
+      symmetry = this.model.getCanonicalSymmetry();
+      long entry = this.table.probe(hash);
+      if (entry != TranspositionTable.NO_ENTRY) {
+        tableCell = TranspositionTable.moveOf(entry);
+        // a search at least as deep as this one may already settle the score of the position
+        if (TranspositionTable.depthOf(entry) >= depth) {
+          int score = TranspositionTable.scoreOf(entry);
+          TranspositionTable.Bound bound = TranspositionTable.boundOf(entry);
+          if (bound == TranspositionTable.Bound.EXACT
+                  || bound == TranspositionTable.Bound.LOWER && score >= beta
+                  || bound == TranspositionTable.Bound.UPPER && score <= alpha) {
+            return score;
+          }
+        }
+      }
+    }
+    Coordinates[] moves = this.model.getLegalMoves(player).keySet().toArray(new Coordinates[0]);
+    // passing fills no cell, so it doesn't count toward the depth, and searching as many
+    // moves ahead as there are empty cells always reaches the end of the game
+    if (moves.length == 0) {
+      UndoRecord pass = this.model.applyPass(player);
+      try {
+        return -this.negamax(opponent, player, depth, ply + 1, -beta, -alpha);
+      } finally {
+        this.model.undoMove(pass);
+      }
+    }
+    int tableMove = this.placeOfTableMove(moves, tableCell, symmetry);
+    // the moves are kept in board order and searched in the order of a sorted copy
+    Coordinates[] ordered = moves.clone();
+    if (depth > 1) {
+      this.ordering.order(ordered, tableMove, ply);
+    } else if (tableMove > 0) {
+      // right above the end of the search, ordering costs more than the cutoffs it brings,
+      // so only the best move from the table goes first
+      System.arraycopy(moves, 0, ordered, 1, tableMove);
+      ordered[0] = moves[tableMove];
+    }
+    int originalAlpha = alpha;
+    int best = -INFINITY;
+    Coordinates bestMove = null;
+    int searched = 0;
+    for (Coordinates move : ordered) {
+      int score = this.scoreMove(player, opponent, move, depth, ply, alpha, beta);
+      searched += 1;
+      if (score > best) {
+        best = score;
+        bestMove = move;
+        alpha = Math.max(alpha, score);
+        // the opponent would never let the game get here, so no other move needs searching
+        if (alpha >= beta) {
+          this.ordering.recordCutoff(move, ply, depth);
+          break;
+        }
+      }
+    }
+    this.ordering.recordSearched(moves.length, searched);
+    if (this.table != null) {
+      TranspositionTable.Bound bound = best <= originalAlpha ? TranspositionTable.Bound.UPPER
+              : best >= beta ? TranspositionTable.Bound.LOWER : TranspositionTable.Bound.EXACT;
+      int bestCell = this.topology.getSymmetry(symmetry)[this.topology.indexOf(bestMove)];
+      this.table.store(hash, depth, bound, best, bestCell);
+    }
+    return best;
+  }
+
+  // returns the place among the given moves of the move on the cell with the given index
+  // in the canonical orientation of the position, which the given symmetry turns the position
+  // into, or -1 if the index is -1 or no move is on that cell
+  private int placeOfTableMove(Coordinates[] moves, int tableCell, int symmetry) {
+    if (tableCell < 0 || tableCell >= this.topology.getCellCount()) {
+      return -1;
+    }
+    Coordinates move = this.topology.getCoordinates(
+        this.topology.getInverseSymmetry(symmetry)[tableCell]);
+    for (int place = 0; place < moves.length; place++) {
+      if (moves[place].equals(move)) {
+        return place;
+      }
+    }
+    return -1;
+  }
+
+  // returns the number of discs of the given player minus those of the given opponent
+  private int discDifference(Player player, Player opponent) {
+    return this.model.getScore(player) - this.model.getScore(opponent);
+  }
+
+  // estimates the score of the current unfinished position from the point of view of the
+  // given player, by the disc difference and the patterns of the board
+  private int evaluate(Player player, Player opponent) {
+    return this.discDifference(player, opponent)
+            + this.evaluator.evaluate(this.model, this.model.getDiscOf(player));
+  }
+}
@@ -0,0 +1,220 @@
+package cs3500.reversi.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import cs3500.reversi.model.Coordinates;
+import cs3500.reversi.model.ReversiModelReadOnly;
+import cs3500.reversi.model.ReversiSearchModel;
+import cs3500.reversi.model.UndoRecord;
+import cs3500.reversi.player.Player;
+
+/**
+ * Represents a strategy in playing Reversi that looks as many moves ahead as its budget allows,
+ * assuming both players play their best. It searches with negamax alpha-beta one move ahead,
+ * then two moves ahead, and so on (iterative deepening), searching the best move of the last
+ * search first every time, until the budget is used up or the search reaches the end of the game.
+ * The move played is the best move of the deepest search that got finished, and when several
+ * moves score the same, the one searched first is played.
+ * Positions at the end of a search are scored by the disc difference plus the estimate of a
+ * pattern evaluator (see PatternEvaluator), while finished games are scored by their final
+ * disc difference, above any estimate.
+ * With a transposition table, positions reached again through a different order of moves,
+ * or again in a deeper search, are not searched from scratch, and the best moves found for
+ * them before are searched first. The other moves are ordered by killer moves, history
+ * and corner priors (see MoveOrdering).
+ * NOTE: A strategy keeps the report of its last search, so one strategy object
+ * should only be used by one player.
+ */
+public class AlphaBetaStrategy implements SearchStrategy {
+  // the size of the transposition table of the default strategy, in megabytes
+  private static final int DEFAULT_TABLE_MEGABYTES = 16;
+
+  private final SearchBudget budget;
+  // the table of positions searched before, or null if positions are not remembered
+  private final TranspositionTable table;
+  // the evaluator of the board of the last game searched, or null before the first search
+  private volatile PatternEvaluator evaluator;
+  private SearchReport lastReport;
+
+  /**
+   * Creates an alpha-beta strategy that searches for one second per move
+   * with a transposition table of 16 megabytes.
+   */
+  public AlphaBetaStrategy() {
+    this(SearchBudget.ofMillis(1000), new TranspositionTable(DEFAULT_TABLE_MEGABYTES));
+  }
+
+  /**
+   * Creates an alpha-beta strategy that searches within the given budget for every move,
+   * without a transposition table.
+   * @param budget how much the strategy may spend on choosing one move
+   * @throws IllegalArgumentException if the given budget is null
+   */
+  public AlphaBetaStrategy(SearchBudget budget) {
+    if (budget == null) {
+      throw new IllegalArgumentException("Budget can't be null!");
+    }
+    this.budget = budget;
+    this.table = null;
+  }
+
+  /**
+   * Creates an alpha-beta strategy that searches within the given budget for every move,
+   * remembering positions in the given transposition table, which may be shared with
+   * other strategies.
+   * @param budget how much the strategy may spend on choosing one move
+   * @param table the table to remember searched positions in
+   * @throws IllegalArgumentException if the given budget or table is null
+   */
+  public AlphaBetaStrategy(SearchBudget budget, TranspositionTable table) {
+    if (budget == null || table == null) {
+      throw new IllegalArgumentException("Budget and table can't be null!");
+    }
+    this.budget = budget;
+    this.table = table;
+  }
+
+  @Override
+  public Optional<Coordinates> chooseMove(ReversiModelReadOnly model, Player player) {
+    SearchClock clock = new SearchClock(this.budget);
+    ReversiSearchModel searchModel = model.copyForSearch();
+    List<Coordinates> moves = new ArrayList<>(searchModel.getLegalMoves(player).keySet());
+    if (moves.isEmpty()) {
+      this.lastReport = new SearchReport(0, 0, clock.getElapsedMillis(), 0);
+      return Optional.empty();
+    }
+    Player opponent = opponentOf(searchModel, player, moves.get(0));
+    if (this.table != null) {
+      this.table.newSearch();
+    }
+    this.lastReport = this.searchAllDepths(searchModel, clock, player, opponent, moves);
+    return Optional.of(moves.get(0));
+  }
+
+  /**
+   * Searches the given moves of the given player one move ahead, then two moves ahead, and
+   * so on until the clock stops the search or the budget's depth or the end of the game is
+   * reached, leaving the best move of the deepest finished search at the front of the moves.
+   * The branching factors reported are those of the moves searched on the calling thread.
+   * @param model the copy of the game to search on, which is left as it was given
+   * @param clock the clock of this search
+   * @param player the player whose turn it is
+   * @param opponent the other player
+   * @param moves the legal moves of the player, of which there is at least one
+   * @return the report of the search
+   */
+  SearchReport searchAllDepths(ReversiSearchModel model, SearchClock clock, Player player,
+                               Player opponent, List<Coordinates> moves) {
+    MoveOrdering ordering = new MoveOrdering(model);
+    int bestScore = 0;
+    int depthReached = 0;
+    int maxDepth = this.maxDepth(model);
+    for (int depth = 1; depth <= maxDepth; depth++) {
+      try {
+        bestScore = this.searchMoves(model, ordering, clock, player, opponent, moves, depth);
+        depthReached = depth;
+      } catch (SearchStoppedException e) {
+        break;
+      }
+      // searching one move ahead always gets finished, so that there is a move to play
+      clock.allowStop();
+      if (clock.shouldStop()) {
+        break;
+      }
+    }
+    return new SearchReport(depthReached, clock.getNodes(), clock.getElapsedMillis(), bestScore,
+            ordering.getBranchingFactor(), ordering.getEffectiveBranchingFactor());
+  }
+
+  /**
+   * Returns the most moves the search of the given game should look ahead, which is the
+   * depth limit of the budget or the number of moves that can be left in the game.
+   * @param model the game to search
+   * @return the greatest depth to search to
+   */
+  int maxDepth(ReversiModelReadOnly model) {
+    return Math.min(this.budget.getMaxDepth(), countEmptyCells(model));
+  }
+
+  /**
+   * Searches each of the given moves of the given player to the given depth on the given
+   * copy of the game, and moves the best one to the front of the given moves.
+   * @param model the copy of the game to search on, which is left as it was given
+   * @param ordering the ordering of the moves of the given copy of the game
+   * @param clock the clock of this search
+   * @param player the player whose turn it is
+   * @param opponent the other player
+   * @param moves the legal moves of the player, with the best move of the last search first
+   * @param depth the number of moves to look ahead
+   * @return the score of the best move
+   * @throws SearchStoppedException if the clock stopped the search before it finished
+   */
+  int searchMoves(ReversiSearchModel model, MoveOrdering ordering, SearchClock clock,
+                  Player player, Player opponent, List<Coordinates> moves, int depth) {
+    AlphaBetaSearcher searcher = this.createSearcher(model, ordering, clock);
+    int bestIndex = 0;
+    int alpha = -AlphaBetaSearcher.INFINITY;
+    try {
+      for (int index = 0; index < moves.size(); index++) {
+        int score = searcher.scoreMove(player, opponent, moves.get(index), depth,
+                alpha, AlphaBetaSearcher.INFINITY);
+        if (score > alpha) {
+          alpha = score;
+          bestIndex = index;
+        }
+      }
+    } finally {
+      searcher.countNodes();
+    }
+    moves.add(0, moves.remove(bestIndex));
+    return alpha;
+  }
+
+  /**
+   * Creates a searcher on the given copy of the game that uses the table of this strategy
+   * and the pattern evaluator of the board of the game.
+   * @param model the copy of the game to search on
+   * @param ordering the ordering of the moves of the given copy of the game
+   * @param clock the clock of the search
+   * @return the searcher
+   */
+  AlphaBetaSearcher createSearcher(ReversiSearchModel model, MoveOrdering ordering,
+                                   SearchClock clock) {
+    return new AlphaBetaSearcher(model, this.table, clock, ordering, this.evaluatorFor(model));
+  }
+
+  // returns the pattern evaluator of the board of the given game, which is only built or
+  // loaded again when the strategy moves on to a game with another board
+  private PatternEvaluator evaluatorFor(ReversiModelReadOnly model) {
+    PatternEvaluator current = this.evaluator;
+    if (current == null || !current.fitsBoard(model)) {
+      current = PatternEvaluator.forBoard(model);
+      this.evaluator = current;
+    }
+    return current;
+  }
+
+  // returns the player who plays after the given player makes the given move
+  static Player opponentOf(ReversiSearchModel model, Player player, Coordinates move) {
+    UndoRecord record = model.applyMove(player, move);
+    Player opponent = model.getTurn();
+    model.undoMove(record);
+    return opponent;
+  }
+
+  // returns the number of empty cells on the board of the given game,
+  // which is the most moves that can be left in the game
+  static int countEmptyCells(ReversiModelReadOnly model) {
+    return model.getScores().getEmptyCellCount();
+  }
+
+  @Override
+  public SearchReport getLastReport() {
+    if (this.lastReport == null) {
+      throw new IllegalStateException("No move has been chosen yet!");
+    }
+    return this.lastReport;
+  }
+}
@@ -0,0 +1,233 @@
+package cs3500.reversi.strategy;
+
+import java.util.Map;
+import java.util.Optional;
+
+import cs3500.reversi.model.BoardTopology;
+import cs3500.reversi.model.Coordinates;
+import cs3500.reversi.model.ReversiModelReadOnly;
+import cs3500.reversi.model.ReversiSearchModel;
+import cs3500.reversi.model.UndoRecord;
+import cs3500.reversi.player.Player;
+
+/**
+ * Represents a strategy that plays perfectly once few enough cells are left empty, by searching
+ * every line of play to the end of the game with negamax alpha-beta and scoring finished games
+ * by their final disc difference. The score in its report is the proven final disc difference
+ * of the chosen move, for the player making it, if both players play perfectly from then on.
+ * The search takes as long as it needs, so it should only be used when the game has at most
+ * as many empty cells as its threshold (see canSolve).
+ * Moves are searched in the order most likely to cut the search short. First come moves into
+ * a quarter of the board with an odd number of empty cells (parity), since the player moving
+ * last in a region usually gets to keep its discs. Then, while the game is still far from
+ * over, come moves leaving the opponent the fewest replies (fastest first), since they are
+ * the most forcing.
+ * NOTE: A solver keeps the report of its last search, so one solver object
+ * should only be used by one player.
+ */
+public class EndgameSolver implements SearchStrategy {
+  /**
+   * The number of empty cells at which machine players start solving the game by default.
+   */
+  public static final int DEFAULT_THRESHOLD = 10;
+  // the fewest empty cells at which moves are still ordered by the replies they leave,
+  // below which counting the replies costs more than it saves
+  private static final int FASTEST_FIRST_MIN_EMPTIES = 6;
+
+  private final int threshold;
+  private SearchReport lastReport;
+
+  /**
+   * Creates an endgame solver for games with at most the default number of empty cells.
+   */
+  public EndgameSolver() {
+    this(DEFAULT_THRESHOLD);
+  }
+
+  /**
+   * Creates an endgame solver for games with at most the given number of empty cells.
+   * @param threshold the most empty cells a game may have to be solved
+   * @throws IllegalArgumentException if the given threshold is not positive
+   */
+  public EndgameSolver(int threshold) {
+    if (threshold <= 0) {
+      throw new IllegalArgumentException("Threshold must be positive!");
+    }
+    this.threshold = threshold;
+  }
+
+  /**
+   * Returns the most empty cells a game may have for this solver to solve it.
+   * @return the threshold of this solver
+   */
+  public int getThreshold() {
+    return this.threshold;
+  }
+
+  /**
+   * Determines whether the given game has few enough empty cells for this solver to solve it.
+   * @param model the game to solve
+   * @return true if the game has at most as many empty cells as the threshold
+   */
+  public boolean canSolve(ReversiModelReadOnly model) {
+    return AlphaBetaStrategy.countEmptyCells(model) <= this.threshold;
+  }
+
+  @Override
+  public Optional<Coordinates> chooseMove(ReversiModelReadOnly model, Player player) {
+    long startNanos = System.nanoTime();
+    ReversiSearchModel searchModel = model.copyForSearch();
+    Map<Coordinates, Integer> legalMoves = searchModel.getLegalMoves(player);
+    if (legalMoves.isEmpty()) {
+      this.lastReport = new SearchReport(0, 0, elapsedMillis(startNanos), 0);
+      return Optional.empty();
+    }
+    Player opponent = AlphaBetaStrategy.opponentOf(searchModel, player,
+            legalMoves.keySet().iterator().next());
+    Search search = new Search(searchModel);
+    Coordinates[] moves = search.orderMoves(player, opponent);
+    Coordinates bestMove = moves[0];
+    int alpha = -AlphaBetaSearcher.INFINITY;
+    for (Coordinates move : moves) {
+      int score = search.scoreMove(player, opponent, move, alpha, AlphaBetaSearcher.INFINITY);
+      if (score > alpha) {
+        alpha = score;
+        bestMove = move;
+      }
+    }
+    this.lastReport = new SearchReport(search.empties, search.nodes,
+            elapsedMillis(startNanos), alpha);
+    return Optional.of(bestMove);
+  }
+
+  // returns the number of milliseconds since the given time, as given by System.nanoTime
+  private static long elapsedMillis(long startNanos) {
+    return (System.nanoTime() - startNanos) / 1_000_000L;
+  }
+
+  @Override
+  public SearchReport getLastReport() {
+    if (this.lastReport == null) {
+      throw new IllegalStateException("No move has been chosen yet!");
+    }
+    return this.lastReport;
+  }
+
+  /**
+   * The state of one search: the copy of the game it plays and takes back moves on, the
+   * number of empty cells in each quarter of the board, and the number of positions visited.
+   */
+  private static final class Search {
+    private final ReversiSearchModel model;
+    private final BoardTopology topology;
+    // the quarter of the board each cell is in, by the index of the cell
+    private final int[] regions;
+    private final int[] regionEmpties;
+    private int empties;
+    private long nodes;
+
+    // creates the state of a search on the given copy of a game
+    private Search(ReversiSearchModel model) {
+      this.model = model;
+      this.topology = model.getTopology();
+      this.regions = new int[this.topology.getCellCount()];
+      this.regionEmpties = new int[4];
+      for (int row = 0; row < this.topology.getRowCount(); row++) {
+        int rowLength = this.topology.getRowLength(row);
+        for (int column = 0; column < rowLength; column++) {
+          int index = this.topology.getRowStart(row) + column;
+          int region = (2 * row / this.topology.getRowCount()) * 2 + 2 * column / rowLength;
+          this.regions[index] = region;
+          if (model.discAt(index) == null) {
+            this.regionEmpties[region] += 1;
+            this.empties += 1;
+          }
+        }
+      }
+    }
+
+    // returns the final disc difference of the given player making the given move, if both
+    // players play perfectly after it, or a bound of it if it is outside the given bounds
+    private int scoreMove(Player player, Player opponent, Coordinates move, int alpha,
+                          int beta) {
+      UndoRecord record = this.model.applyMove(player, move);
+      int region = this.regions[this.topology.indexOf(move)];
+      this.regionEmpties[region] -= 1;
+      this.empties -= 1;
+      try {
+        return -this.solve(opponent, player, -beta, -alpha);
+      } finally {
+        this.regionEmpties[region] += 1;
+        this.empties += 1;
+        this.model.undoMove(record);
+      }
+    }
+
+    // returns the final disc difference of the given player, whose turn it is to play, if both
+    // players play perfectly, or a bound of it if it is outside the given bounds
+    private int solve(Player player, Player opponent, int alpha, int beta) {
+      this.nodes += 1;
+      if (this.model.isGameOver()) {
+        return this.model.getScore(player) - this.model.getScore(opponent);
+      }
+      Coordinates[] moves = this.orderMoves(player, opponent);
+      if (moves.length == 0) {
+        UndoRecord pass = this.model.applyPass(player);
+        try {
+          return -this.solve(opponent, player, -beta, -alpha);
+        } finally {
+          this.model.undoMove(pass);
+        }
+      }
+      int best = -AlphaBetaSearcher.INFINITY;
+      for (Coordinates move : moves) {
+        int score = this.scoreMove(player, opponent, move, alpha, beta);
+        if (score > best) {
+          best = score;
+          alpha = Math.max(alpha, score);
+          if (alpha >= beta) {
+            break;
+          }
+        }
+      }
+      return best;
+    }
+
+    // returns the legal moves of the given player, moves into quarters with an odd number of
+    // empty cells first, and then, if many cells are empty, moves leaving the opponent the
+    // fewest replies first
+    private Coordinates[] orderMoves(Player player, Player opponent) {
+      Coordinates[] moves = this.model.getLegalMoves(player).keySet()
+              .toArray(new Coordinates[0]);
+      if (moves.length < 2) {
+        return moves;
+      }
+      boolean fastestFirst = this.empties >= FASTEST_FIRST_MIN_EMPTIES;
+      int[] keys = new int[moves.length];
+      for (int index = 0; index < moves.length; index++) {
+        int region = this.regions[this.topology.indexOf(moves[index])];
+        int key = this.regionEmpties[region] % 2 == 1 ? 0 : 1000;
+        if (fastestFirst) {
+          UndoRecord record = this.model.applyMove(player, moves[index]);
+          key += this.model.getLegalMoves(opponent).size();
+          this.model.undoMove(record);
+        }
+        keys[index] = key;
+      }
+      // insertion sort by key, keeping the board order of moves with the same key
+      for (int index = 1; index < moves.length; index++) {
+        Coordinates move = moves[index];
+        int key = keys[index];
+        int place = index - 1;
+        while (place >= 0 && keys[place] > key) {
+          moves[place + 1] = moves[place];
+          keys[place + 1] = keys[place];
+          place -= 1;
+        }
+        moves[place + 1] = move;
+        keys[place + 1] = key;
+      }
+      return moves;
+    }
+  }
+}
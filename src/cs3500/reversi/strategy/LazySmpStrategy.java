@@ -0,0 +1,121 @@
+package cs3500.reversi.strategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import cs3500.reversi.model.Coordinates;
+import cs3500.reversi.model.ReversiSearchModel;
+import cs3500.reversi.player.Player;
+
+/**
+ * Represents an alpha-beta strategy that searches on several threads the lazy way (Lazy SMP):
+ * besides the calling thread, which searches just like the single-threaded strategy, helper
+ * threads run the same iterative deepening on their own copies of the game, all sharing one
+ * transposition table. The helpers search the moves in another order, and every other helper
+ * starts one move deeper, so that they fill the table with positions the calling thread
+ * reaches later and then finds already searched.
+ * The move played and the report are those of the calling thread's search; the helpers are
+ * stopped as soon as it finishes, and the positions they visited count toward the budget.
+ * NOTE: The helpers run in the pool shared by all searches (see SearchPool), so searches of
+ * several strategies at once share its threads instead of each having threads of their own.
+ * A helper that has not got a thread of the pool by the time the calling thread finishes
+ * never runs, so a search never waits for the searches of other strategies.
+ */
+public class LazySmpStrategy extends AlphaBetaStrategy {
+  // the size of the transposition table of the default strategy, in megabytes
+  private static final int DEFAULT_TABLE_MEGABYTES = 16;
+
+  private final int threads;
+
+  /**
+   * Creates a Lazy SMP strategy that searches for one second per move on as many threads as
+   * there are processors, sharing a transposition table of 16 megabytes.
+   */
+  public LazySmpStrategy() {
+    this(SearchBudget.ofMillis(1000), new TranspositionTable(DEFAULT_TABLE_MEGABYTES),
+            Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates a Lazy SMP strategy that searches within the given budget for every move on the
+   * given number of threads (the calling thread and the helpers), which share the given
+   * transposition table.
+   * @param budget how much the strategy may spend on choosing one move
+   * @param table the table to remember searched positions in
+   * @param threads the number of threads to search on, including the calling thread
+   * @throws IllegalArgumentException if the given budget or table is null,
+   *                                  or the number of threads is not positive
+   */
+  public LazySmpStrategy(SearchBudget budget, TranspositionTable table, int threads) {
+    super(budget, table);
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Number of threads must be positive!");
+    }
+    this.threads = threads;
+  }
+
+  /**
+   * Returns the number of threads this strategy searches on, including the calling thread.
+   * @return the number of threads
+   */
+  public int getThreads() {
+    return this.threads;
+  }
+
+  @Override
+  SearchReport searchAllDepths(ReversiSearchModel model, SearchClock clock, Player player,
+                               Player opponent, List<Coordinates> moves) {
+    List<AtomicBoolean> claims = new ArrayList<>();
+    List<Future<?>> helpers = new ArrayList<>();
+    for (int helper = 1; helper < this.threads; helper++) {
+      ReversiSearchModel copy = model.copyForSearch();
+      List<Coordinates> helperMoves = new ArrayList<>(moves);
+      // each helper starts from another move, so that the helpers don't all search alike
+      Collections.rotate(helperMoves, -helper);
+      int firstDepth = 1 + helper % 2;
+      AtomicBoolean claim = new AtomicBoolean(false);
+      claims.add(claim);
+      helpers.add(SearchPool.get().submit(() -> {
+        if (claim.compareAndSet(false, true)) {
+          this.helpSearch(copy, clock, player, opponent, helperMoves, firstDepth);
+        }
+      }));
+    }
+    SearchReport report = super.searchAllDepths(model, clock, player, opponent, moves);
+    clock.stop();
+    for (int helper = 0; helper < helpers.size(); helper++) {
+      // a helper still waiting for a thread is claimed here so that it never runs,
+      // and only the helpers that started are waited for
+      if (!claims.get(helper).compareAndSet(false, true)) {
+        try {
+          helpers.get(helper).get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+          throw new IllegalStateException("Search failed!", e.getCause());
+        }
+      }
+    }
+    // the helpers count their last positions only once they have stopped
+    return new SearchReport(report.getDepth(), clock.getNodes(), report.getElapsedMillis(),
+            report.getScore(), report.getBranchingFactor(), report.getEffectiveBranchingFactor());
+  }
+
+  // searches deeper and deeper from the given depth on until the clock stops the search
+  private void helpSearch(ReversiSearchModel model, SearchClock clock, Player player,
+                          Player opponent, List<Coordinates> moves, int firstDepth) {
+    MoveOrdering ordering = new MoveOrdering(model);
+    int maxDepth = this.maxDepth(model);
+    try {
+      for (int depth = firstDepth; depth <= maxDepth && !clock.shouldStop(); depth++) {
+        this.searchMoves(model, ordering, clock, player, opponent, moves, depth);
+      }
+    } catch (SearchStoppedException e) {
+      // the calling thread finished or the budget got used up
+    }
+  }
+}
@@ -0,0 +1,156 @@
+package cs3500.reversi.strategy;
+
+import java.util.List;
+import java.util.Map;
+
+import cs3500.reversi.model.Coordinates;
+import cs3500.reversi.model.ReversiSearchModel;
+import cs3500.reversi.player.Player;
+
+/**
+ * Represents a position in the tree of a Monte Carlo tree search, reached by a move (or a pass)
+ * of a player, with the number of playouts that went through it and how many of them the player
+ * who made the move won, a draw counting as half a win.
+ * Nodes are shared by all the threads of a search. A thread going through a node counts its
+ * visit at once, before its playout has a result, so the playout counts as a loss (a virtual
+ * loss) until it finishes, which steers the other threads toward other moves meanwhile.
+ */
+final class MctsNode {
+  private final Coordinates move;
+  private final Player mover;
+  private final int depth;
+  // the positions reached by the legal moves from this one, or null until they are created
+  private MctsNode[] children;
+  private int visits;
+  private double wins;
+
+  /**
+   * Creates a node of a position not visited yet.
+   * @param move the move leading to the position, or null if it was a pass (or for the root)
+   * @param mover the player who made the move leading to the position
+   * @param depth the number of moves from the root to the position
+   */
+  MctsNode(Coordinates move, Player mover, int depth) {
+    this.move = move;
+    this.mover = mover;
+    this.depth = depth;
+  }
+
+  /**
+   * Returns the move leading to the position of this node.
+   * @return the move, or null if the position was reached by a pass
+   */
+  Coordinates getMove() {
+    return this.move;
+  }
+
+  /**
+   * Returns the number of moves from the root to the position of this node.
+   * @return the depth of this node
+   */
+  int getDepth() {
+    return this.depth;
+  }
+
+  /**
+   * Returns the children of this node, creating them from the given game first if they don't
+   * exist yet, with a pass as the only child when the player to move has no legal move.
+   * @param model the game, in the position of this node, which must not be over
+   * @return the children of this node
+   */
+  synchronized MctsNode[] expand(ReversiSearchModel model) {
+    if (this.children == null) {
+      Player player = model.getTurn();
+      Map<Coordinates, Integer> moves = model.getLegalMoves(player);
+      if (moves.isEmpty()) {
+        this.children = new MctsNode[] {new MctsNode(null, player, this.depth + 1)};
+      } else {
+        this.children = new MctsNode[moves.size()];
+        int index = 0;
+        for (Coordinates legalMove : moves.keySet()) {
+          this.children[index] = new MctsNode(legalMove, player, this.depth + 1);
+          index += 1;
+        }
+      }
+    }
+    return this.children;
+  }
+
+  /**
+   * Chooses the child to go through by the upper confidence bound of its win rate (UCT),
+   * choosing children not visited yet first, counts a visit of the chosen child and adds it
+   * to the end of the given path, all at once so that two threads never both see a child as
+   * not visited. This node must have been expanded.
+   * @param exploration how much to favour children visited less over children winning more
+   * @param path the nodes the playout went through, which the chosen child is added to
+   * @return true if this was the first visit of the chosen child, false otherwise
+   */
+  synchronized boolean selectChild(double exploration, List<MctsNode> path) {
+    MctsNode best = null;
+    double bestValue = Double.NEGATIVE_INFINITY;
+    double logVisits = Math.log(Math.max(1, this.visits));
+    for (MctsNode child : this.children) {
+      double value;
+      synchronized (child) {
+        value = child.visits == 0 ? Double.POSITIVE_INFINITY
+                : child.wins / child.visits
+                + exploration * Math.sqrt(logVisits / child.visits);
+      }
+      if (value > bestValue) {
+        bestValue = value;
+        best = child;
+      }
+    }
+    path.add(best);
+    return best.visit();
+  }
+
+  /**
+   * Counts a visit of this node by a playout that has no result yet.
+   * @return true if this is the first visit of this node, false otherwise
+   */
+  synchronized boolean visit() {
+    this.visits += 1;
+    return this.visits == 1;
+  }
+
+  /**
+   * Adds the result of a playout whose visit of this node was already counted.
+   * @param winner the player who won the playout, or null if it was a draw
+   */
+  synchronized void addResult(Player winner) {
+    this.wins += winner == null ? 0.5 : winner == this.mover ? 1 : 0;
+  }
+
+  /**
+   * Returns the number of playouts that went through this node.
+   * @return the number of visits
+   */
+  synchronized int getVisits() {
+    return this.visits;
+  }
+
+  /**
+   * Returns the share of the playouts through this node that the player who made its move won.
+   * @return the win rate between 0 and 1, or 0 if the node has no visits
+   */
+  synchronized double getWinRate() {
+    return this.visits == 0 ? 0 : this.wins / this.visits;
+  }
+
+  /**
+   * Returns the most visited child of this node, which is the move the search trusts most.
+   * @return the most visited child, or null if this node has no children
+   */
+  synchronized MctsNode mostVisitedChild() {
+    MctsNode best = null;
+    if (this.children != null) {
+      for (MctsNode child : this.children) {
+        if (best == null || child.getVisits() > best.getVisits()) {
+          best = child;
+        }
+      }
+    }
+    return best;
+  }
+}
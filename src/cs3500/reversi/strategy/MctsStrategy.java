@@ -0,0 +1,241 @@
+package cs3500.reversi.strategy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import cs3500.reversi.model.Coordinates;
+import cs3500.reversi.model.ReversiModelReadOnly;
+import cs3500.reversi.model.ReversiSearchModel;
+import cs3500.reversi.model.UndoRecord;
+import cs3500.reversi.player.Player;
+
+/**
+ * Represents a strategy in playing Reversi that plays as many games to the end (playouts) from
+ * the current position as its budget allows, and plays the move whose playouts went best.
+ * It grows a tree of the positions played through (Monte Carlo tree search): every playout goes
+ * down the tree choosing moves by the upper confidence bound of their win rate (UCT), adds the
+ * first position not in the tree yet, plays on from there to the end of the game, taking a
+ * corner whenever it can and otherwise playing randomly, and counts its result in every node it
+ * went through. The move played is the most visited move at the root.
+ * Playouts run on several threads at once, all growing the same tree (tree parallelism), each
+ * playing and taking back moves on its own copy of the game. A playout counts as a loss in the
+ * nodes it goes through until its result is known (a virtual loss), so that threads running at
+ * the same time spread over different moves.
+ * A budget of nodes for this strategy is a number of playouts, and a budget of depth is not
+ * accepted, since playouts always go to the end of the game. In the report of a search, the
+ * depth is that of the deepest node of the tree and the score is the share of the playouts
+ * through the chosen move that were won, in thousandths.
+ * NOTE: A strategy keeps the report of its last search, so one strategy object
+ * should only be used by one player. The calling thread runs playouts itself, and the other
+ * threads of the strategy run in the pool shared by all searches (see SearchPool), so searches
+ * of several strategies at once share its threads instead of each having threads of their own.
+ * A search always gets the playouts of its calling thread, even when the pool is busy.
+ */
+public class MctsStrategy implements SearchStrategy {
+  // how much the search favours moves visited less over moves winning more,
+  // which is the square root of 2 suggested by the theory of UCT
+  private static final double EXPLORATION = Math.sqrt(2);
+
+  private final SearchBudget budget;
+  private final int threads;
+  // the seeds of the random number generators of the playout threads
+  private final SplittableRandom seeds;
+  private SearchReport lastReport;
+
+  /**
+   * Creates a Monte Carlo tree search strategy that searches for one second per move
+   * on as many threads as there are processors.
+   */
+  public MctsStrategy() {
+    this(SearchBudget.ofMillis(1000), Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates a Monte Carlo tree search strategy that searches within the given budget
+   * for every move on as many threads as there are processors.
+   * @param budget how much time or how many playouts the strategy may spend on choosing
+   *               one move
+   * @throws IllegalArgumentException if the given budget is null or limits the depth
+   */
+  public MctsStrategy(SearchBudget budget) {
+    this(budget, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates a Monte Carlo tree search strategy that searches within the given budget
+   * for every move on the given number of threads.
+   * @param budget how much time or how many playouts the strategy may spend on choosing
+   *               one move
+   * @param threads the number of threads to run playouts on
+   * @throws IllegalArgumentException if the given budget is null or limits the depth,
+   *                                  or the number of threads is not positive
+   */
+  public MctsStrategy(SearchBudget budget, int threads) {
+    if (budget == null) {
+      throw new IllegalArgumentException("Budget can't be null!");
+    }
+    // playouts always go to the end of the game, so a depth would never stop the search
+    if (budget.getMaxDepth() != Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Monte Carlo tree search can't be limited by depth!");
+    }
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Number of threads must be positive!");
+    }
+    this.budget = budget;
+    this.threads = threads;
+    this.seeds = new SplittableRandom();
+  }
+
+  @Override
+  public Optional<Coordinates> chooseMove(ReversiModelReadOnly model, Player player) {
+    SearchClock clock = new SearchClock(this.budget);
+    if (model.getLegalMoves(player).isEmpty()) {
+      this.lastReport = new SearchReport(0, 0, clock.getElapsedMillis(), 0);
+      return Optional.empty();
+    }
+    // every playout counts, so the search may stop at any time
+    clock.allowStop();
+    ReversiSearchModel searchModel = model.copyForSearch();
+    Player opponent = AlphaBetaStrategy.opponentOf(searchModel, player,
+            searchModel.getLegalMoves(player).keySet().iterator().next());
+    MctsNode root = new MctsNode(null, opponent, 0);
+    AtomicInteger deepest = new AtomicInteger(0);
+    // the calling thread runs playouts itself, so that its search gets playouts even when the
+    // threads of the shared pool are all busy with other searches, and the other workers are
+    // helpers that only run if they get a thread of the pool before the search is over
+    List<AtomicBoolean> claims = new ArrayList<>();
+    List<Future<?>> helpers = new ArrayList<>();
+    for (int helper = 1; helper < this.threads; helper++) {
+      ReversiSearchModel copy = model.copyForSearch();
+      SplittableRandom random = this.seeds.split();
+      AtomicBoolean claim = new AtomicBoolean(false);
+      claims.add(claim);
+      helpers.add(SearchPool.get().submit(() -> {
+        if (claim.compareAndSet(false, true)) {
+          runPlayouts(copy, root, player, opponent, random, clock, deepest);
+        }
+      }));
+    }
+    runPlayouts(searchModel, root, player, opponent, this.seeds.split(), clock, deepest);
+    for (int helper = 0; helper < helpers.size(); helper++) {
+      // a helper still waiting for a thread is claimed here so that it never runs,
+      // and only the helpers that started are waited for
+      if (!claims.get(helper).compareAndSet(false, true)) {
+        try {
+          helpers.get(helper).get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+          throw new IllegalStateException("Search failed!", e.getCause());
+        }
+      }
+    }
+    MctsNode best = root.mostVisitedChild();
+    Coordinates move = best == null ? model.getLegalMoves(player).keySet().iterator().next()
+            : best.getMove();
+    int score = best == null ? 0 : (int) Math.round(best.getWinRate() * 1000);
+    this.lastReport = new SearchReport(deepest.get(), clock.getNodes(),
+            clock.getElapsedMillis(), score);
+    return Optional.of(move);
+  }
+
+  // plays playouts from the root on the given copy of the game until the clock stops the search,
+  // keeping the depth of the deepest node added to the tree
+  private static void runPlayouts(ReversiSearchModel model, MctsNode root, Player player,
+                                  Player opponent, SplittableRandom random, SearchClock clock,
+                                  AtomicInteger deepest) {
+    // a budget of nodes is a number of playouts, counted one by one
+    while (!clock.shouldStop()) {
+      deepest.accumulateAndGet(playout(model, root, player, opponent, random), Math::max);
+      clock.addNodes(1);
+    }
+  }
+
+  // plays one playout from the root on the given copy of the game between the given players,
+  // which is left as it was given, and returns the depth of the node added to the tree
+  private static int playout(ReversiSearchModel model, MctsNode root, Player player,
+                             Player opponent, SplittableRandom random) {
+    Deque<UndoRecord> records = new ArrayDeque<>();
+    List<MctsNode> path = new ArrayList<>();
+    MctsNode node = root;
+    root.visit();
+    path.add(root);
+    try {
+      // go down the tree until reaching a position no playout went through before
+      boolean isNew = false;
+      while (!isNew && !model.isGameOver()) {
+        node.expand(model);
+        // whether the chosen child is new is decided when its visit is counted, since other
+        // threads may visit it right after
+        isNew = node.selectChild(EXPLORATION, path);
+        node = path.get(path.size() - 1);
+        records.push(play(model, node.getMove()));
+      }
+      // then play on to the end of the game
+      List<Coordinates> corners = model.getCorners();
+      while (!model.isGameOver()) {
+        records.push(play(model, playoutMove(model, corners, random)));
+      }
+      Player winner = winnerOf(model, player, opponent);
+      for (MctsNode visited : path) {
+        visited.addResult(winner);
+      }
+      return node.getDepth();
+    } finally {
+      while (!records.isEmpty()) {
+        model.undoMove(records.pop());
+      }
+    }
+  }
+
+  // plays the given move for the player whose turn it is, passing if the move is null
+  private static UndoRecord play(ReversiSearchModel model, Coordinates move) {
+    return move == null ? model.applyPass(model.getTurn())
+            : model.applyMove(model.getTurn(), move);
+  }
+
+  // chooses the move of the player whose turn it is during a playout, which is a corner
+  // if the player can take one and otherwise a random legal move, or null if there is none
+  private static Coordinates playoutMove(ReversiSearchModel model, List<Coordinates> corners,
+                                         SplittableRandom random) {
+    Map<Coordinates, Integer> moves = model.getLegalMoves(model.getTurn());
+    if (moves.isEmpty()) {
+      return null;
+    }
+    for (Coordinates corner : corners) {
+      if (moves.containsKey(corner)) {
+        return corner;
+      }
+    }
+    Iterator<Coordinates> iterator = moves.keySet().iterator();
+    for (int skip = random.nextInt(moves.size()); skip > 0; skip--) {
+      iterator.next();
+    }
+    return iterator.next();
+  }
+
+  // returns the winner of the given finished game between the given players,
+  // or null if it is a draw
+  private static Player winnerOf(ReversiSearchModel model, Player player, Player opponent) {
+    int difference = model.getScore(player) - model.getScore(opponent);
+    return difference > 0 ? player : difference < 0 ? opponent : null;
+  }
+
+  @Override
+  public SearchReport getLastReport() {
+    if (this.lastReport == null) {
+      throw new IllegalStateException("No move has been chosen yet!");
+    }
+    return this.lastReport;
+  }
+}
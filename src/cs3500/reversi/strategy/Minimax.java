@@ -7,6 +7,8 @@ import java.util.List;
 import cs3500.reversi.player.Player;
 import cs3500.reversi.model.Coordinates;
 import cs3500.reversi.model.ReversiModelReadOnly;
+import cs3500.reversi.model.ReversiSearchModel;
+import cs3500.reversi.model.UndoRecord;
 
 /**
  * Represents a strategy in playing Reversi to choose the move that leaves their opponent
@@ -22,29 +24,26 @@ public class Minimax extends AbstractChainableStrategy {
                                       List<Coordinates> coordsAvailableToMoveTo) {
     // first initialize the highest possible earn for the opponent to be a number that is
     // higher than any possible earn the opponent can get
-    int opponentHighestPossibleEarn = model.getBoard().size() * model.getBoard().size();
+    int opponentHighestPossibleEarn = Integer.MAX_VALUE;
 
     // a picked coords list that contains one (or more if there is a tie) coordinates that
     // by placing a disc of this player's into it can make the opponent to earn the
     // lowest possible score in the next round
     List<Coordinates> pickedCoords = new ArrayList<>();
 
+    // every move is tried on the same copy of the game and then taken back,
+    // so the board is only copied once no matter how many moves there are to try
+    ReversiSearchModel searchModel = model.copyForSearch();
     for (Coordinates coords : coordsAvailableToMoveTo) {
-      ReversiModelReadOnly newModel = model.tryMove(player, coords);
-      Player opponent = newModel.getTurn();
-      List<Coordinates> opponentMove = new CaptureMost()
-              .chooseMove(newModel, opponent);
-      int newOpponentHighestEarn;
-      // if moving into this coordinates can make the opponent have no possible move
-      // then the highest score the opponent can earn is 0
-      if (opponentMove.size() == 0) {
-        newOpponentHighestEarn = 0;
-      }
-      // if the opponent does have some possible moves, then the opponentMove should contain
-      // one (or more if there is a tie) best move that can earn the most
-      else {
-        newOpponentHighestEarn = newModel.scoreEarnedByPlaceIn(opponent, opponentMove.get(0));
+      UndoRecord move = searchModel.applyMove(player, coords);
+      Player opponent = searchModel.getTurn();
+      // the highest score the opponent can earn is the score of the best move that the
+      // CaptureMost strategy would pick, which is 0 if the opponent has no possible move
+      int newOpponentHighestEarn = 0;
+      for (int opponentEarn : searchModel.getLegalMoves(opponent).values()) {
+        newOpponentHighestEarn = Math.max(newOpponentHighestEarn, opponentEarn);
       }
+      searchModel.undoMove(move);
 
       // if moving into this coordinates can make the opponent have a lower than ever
       // possible highest earn, then replace the record with the new lowest value
@@ -0,0 +1,209 @@
+package cs3500.reversi.strategy;
+
+import java.util.Arrays;
+import java.util.List;
+
+import cs3500.reversi.model.BoardTopology;
+import cs3500.reversi.model.Coordinates;
+import cs3500.reversi.model.ReversiModelReadOnly;
+
+/**
+ * Orders the legal moves of the positions of a search on one game so that the moves most likely
+ * to be best, and so to cut the search of the other moves short, are searched first:
+ * first the best move the transposition table remembers for the position, then the moves that
+ * cut the search short at the same number of moves from the root (killer moves), and then the
+ * others by how often and how deep they cut the search short anywhere (the history of the cell),
+ * with corners raised and cells next to an empty corner lowered beforehand.
+ * It also counts how many legal moves the positions whose moves got searched had, and how many
+ * of them were searched, which gives the branching factor of the search and the effective
+ * branching factor the order brought it down to.
+ * An ordering keeps the killer moves and history of one search, and so must only be used
+ * by one thread at a time.
+ */
+public final class MoveOrdering {
+  // the number of killer moves kept for each number of moves from the root
+  private static final int KILLERS_PER_PLY = 2;
+  // the keys of the moves searched before the others, highest first
+  private static final long TABLE_MOVE_KEY = Long.MAX_VALUE;
+  private static final long KILLER_KEY = Long.MAX_VALUE - KILLERS_PER_PLY;
+  // how much the prior of a corner raises it, and of a cell next to an empty corner lowers it
+  private static final long CORNER_PRIOR = 1 << 20;
+  private static final long NEXT_TO_CORNER_PRIOR = -(1 << 20);
+  // the history of a cell above which the history of every cell is halved
+  private static final long MAX_HISTORY = 1L << 40;
+  // what a cell is to the corners, other than next to the corner at a place among the corners
+  private static final int IS_CORNER = -1;
+  private static final int NOT_NEAR_CORNER = -2;
+  // the states of a corner while ordering the moves of one position
+  private static final int UNKNOWN = 0;
+  private static final int EMPTY = 1;
+  private static final int TAKEN = 2;
+
+  private final ReversiModelReadOnly model;
+  // the layout of the board, which gives every cell its index
+  private final BoardTopology topology;
+  private final List<Coordinates> corners;
+  // for every cell, IS_CORNER if it is a corner, the place of the corner among the corners
+  // if it is next to one, or NOT_NEAR_CORNER
+  private final int[] nearCorner;
+  // whether each corner is empty, as found out while ordering the moves of one position
+  private final int[] cornerStates;
+  private final long[] history;
+  // the killer moves of every number of moves from the root, most recent first
+  private Coordinates[][] killers;
+  private long positionsOrdered;
+  private long legalMoves;
+  private long movesSearched;
+
+  /**
+   * Creates a move ordering for searches on the given game.
+   * @param model the game whose moves are ordered, which the ordering looks at as it is
+   *              when ordering moves
+   */
+  public MoveOrdering(ReversiModelReadOnly model) {
+    this.model = model;
+    this.topology = model.getTopology();
+    this.corners = model.getCorners();
+    this.nearCorner = new int[this.topology.getCellCount()];
+    Arrays.fill(this.nearCorner, NOT_NEAR_CORNER);
+    for (int corner = 0; corner < this.corners.size(); corner++) {
+      int cornerIndex = this.topology.indexOf(this.corners.get(corner));
+      for (Coordinates neighbor : this.topology.getNeighbors(cornerIndex)) {
+        int index = this.topology.indexOf(neighbor);
+        if (this.nearCorner[index] == NOT_NEAR_CORNER) {
+          this.nearCorner[index] = corner;
+        }
+      }
+    }
+    for (Coordinates corner : this.corners) {
+      this.nearCorner[this.topology.indexOf(corner)] = IS_CORNER;
+    }
+    this.cornerStates = new int[this.corners.size()];
+    this.history = new long[this.topology.getCellCount()];
+    this.killers = new Coordinates[this.topology.getCellCount() + 1][KILLERS_PER_PLY];
+  }
+
+  // halves the history of every cell
+  private void ageHistory() {
+    for (int index = 0; index < this.history.length; index++) {
+      this.history[index] /= 2;
+    }
+  }
+
+  /**
+   * Sorts the given legal moves of the current position of the game, the most promising first.
+   * @param moves the legal moves of the position, which are sorted in place
+   * @param tableMove the place among the moves of the best move the transposition table
+   *                  remembers for the position, or -1 if there is none
+   * @param ply the number of moves from the root of the search to the position
+   */
+  public void order(Coordinates[] moves, int tableMove, int ply) {
+    Coordinates[] plyKillers = ply < this.killers.length ? this.killers[ply] : null;
+    Arrays.fill(this.cornerStates, UNKNOWN);
+    long[] keys = new long[moves.length];
+    for (int index = 0; index < moves.length; index++) {
+      keys[index] = index == tableMove ? TABLE_MOVE_KEY
+              : this.killerKey(plyKillers, moves[index], this.historyKey(moves[index]));
+    }
+    // insertion sort by key, highest first, keeping the board order of moves with equal keys
+    for (int index = 1; index < moves.length; index++) {
+      Coordinates move = moves[index];
+      long key = keys[index];
+      int place = index - 1;
+      while (place >= 0 && keys[place] < key) {
+        moves[place + 1] = moves[place];
+        keys[place + 1] = keys[place];
+        place -= 1;
+      }
+      moves[place + 1] = move;
+      keys[place + 1] = key;
+    }
+  }
+
+  // returns the key of the given move if it is one of the given killer moves,
+  // or else the given key
+  private long killerKey(Coordinates[] plyKillers, Coordinates move, long otherwise) {
+    if (plyKillers != null) {
+      for (int slot = 0; slot < KILLERS_PER_PLY; slot++) {
+        if (move.equals(plyKillers[slot])) {
+          return KILLER_KEY - slot;
+        }
+      }
+    }
+    return otherwise;
+  }
+
+  // returns the key of the given move by the history and prior of its cell
+  private long historyKey(Coordinates move) {
+    int index = this.topology.indexOf(move);
+    int corner = this.nearCorner[index];
+    if (corner == IS_CORNER) {
+      return this.history[index] + CORNER_PRIOR;
+    }
+    if (corner != NOT_NEAR_CORNER) {
+      if (this.cornerStates[corner] == UNKNOWN) {
+        this.cornerStates[corner] = this.model.getCellInBoard(this.corners.get(corner)).isEmpty()
+                ? EMPTY : TAKEN;
+      }
+      if (this.cornerStates[corner] == EMPTY) {
+        return this.history[index] + NEXT_TO_CORNER_PRIOR;
+      }
+    }
+    return this.history[index];
+  }
+
+  /**
+   * Remembers that the given move cut the search short, as a killer move at the given number
+   * of moves from the root and in the history of its cell, weighted by the depth searched.
+   * @param move the move that cut the search short
+   * @param ply the number of moves from the root of the search to the position of the move
+   * @param depth the number of moves searched ahead from the position of the move
+   */
+  public void recordCutoff(Coordinates move, int ply, int depth) {
+    if (ply >= this.killers.length) {
+      this.killers = Arrays.copyOf(this.killers, ply + 1);
+      for (int newPly = 0; newPly <= ply; newPly++) {
+        if (this.killers[newPly] == null) {
+          this.killers[newPly] = new Coordinates[KILLERS_PER_PLY];
+        }
+      }
+    }
+    Coordinates[] plyKillers = this.killers[ply];
+    if (!move.equals(plyKillers[0])) {
+      System.arraycopy(plyKillers, 0, plyKillers, 1, KILLERS_PER_PLY - 1);
+      plyKillers[0] = move;
+    }
+    int index = this.topology.indexOf(move);
+    this.history[index] += (long) depth * depth;
+    if (this.history[index] > MAX_HISTORY) {
+      this.ageHistory();
+    }
+  }
+
+  /**
+   * Counts a position whose moves got searched.
+   * @param legal the number of legal moves of the position
+   * @param searched the number of them searched before the search was cut short
+   */
+  public void recordSearched(int legal, int searched) {
+    this.positionsOrdered += 1;
+    this.legalMoves += legal;
+    this.movesSearched += searched;
+  }
+
+  /**
+   * Returns the average number of legal moves of the positions whose moves got searched.
+   * @return the branching factor, or 0 if no position was counted
+   */
+  public double getBranchingFactor() {
+    return this.positionsOrdered == 0 ? 0 : (double) this.legalMoves / this.positionsOrdered;
+  }
+
+  /**
+   * Returns the average number of moves searched in the positions whose moves got searched.
+   * @return the effective branching factor, or 0 if no position was counted
+   */
+  public double getEffectiveBranchingFactor() {
+    return this.positionsOrdered == 0 ? 0 : (double) this.movesSearched / this.positionsOrdered;
+  }
+}
@@ -0,0 +1,238 @@
+package cs3500.reversi.strategy;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import cs3500.reversi.model.BoardTopology;
+import cs3500.reversi.model.Coordinates;
+import cs3500.reversi.model.ReversiModelReadOnly;
+import cs3500.reversi.player.Player;
+
+/**
+ * Represents a book of opening moves for games with one board: for every position it knows,
+ * by the canonical hash of the position (see ReversiModelReadOnly.getCanonicalHash), the move
+ * to play, so that one entry serves every rotation and reflection of the position.
+ * A book is a file of fixed-width entries sorted by hash, which is mapped into memory rather
+ * than read, so that opening a book of any size is immediate and looking a position up is a
+ * binary search over the mapped file that creates no object.
+ * The file starts with a header of four ints: one that marks it as a book, the ordinal of
+ * the shape of the board, the side length of the board and the number of entries. Then every
+ * entry takes 16 bytes: the long canonical hash of the position, a short with the index of
+ * the cell of the move in the canonical orientation of the position (the index of
+ * ReversiModelReadOnly.discAt, after the symmetry of getCanonicalSymmetry), a short with the
+ * mean final disc difference of the games that played the move, for the player making it,
+ * and an int with the number of those games. Entries are sorted by hash, as signed longs,
+ * with one entry for every hash. Everything is big-endian.
+ * Machine players look their positions up in the book of the board of their game before
+ * choosing a move any other way, when the system property "cs3500.reversi.book" names a
+ * directory with a book for the board, named after the board (such as "square-8.book").
+ * A book never changes, so it can be shared by any number of players and threads.
+ */
+public final class OpeningBook {
+  /**
+   * The system property naming the directory to load the books for the boards of games from.
+   */
+  public static final String BOOK_DIRECTORY_PROPERTY = "cs3500.reversi.book";
+  /**
+   * The first int of every book.
+   */
+  public static final int MAGIC = 0x5256424B;
+  /**
+   * The number of bytes of the header of a book.
+   */
+  public static final int HEADER_BYTES = 16;
+  /**
+   * The number of bytes of every entry of a book.
+   */
+  public static final int ENTRY_BYTES = 16;
+  // the book of a board without a book
+  private static final OpeningBook EMPTY = new OpeningBook(null, null, 0);
+  // the books opened so far by forBoard, by their files, with the empty book for the files
+  // that didn't exist
+  private static final Map<Path, OpeningBook> BOOKS = new ConcurrentHashMap<>();
+
+  // the board of the book, or null if the book is empty
+  private final BoardTopology topology;
+  // the mapped file of the book, or null if the book is empty
+  private final MappedByteBuffer entries;
+  private final int entryCount;
+
+  // creates a book for the given board from the given mapped file with the given number
+  // of entries
+  private OpeningBook(BoardTopology topology, MappedByteBuffer entries, int entryCount) {
+    this.topology = topology;
+    this.entries = entries;
+    this.entryCount = entryCount;
+  }
+
+  /**
+   * Opens the book in the given file, mapping the file into memory.
+   * @param file the file of the book
+   * @return the book
+   * @throws IOException if the file can't be read
+   * @throws IllegalArgumentException if the file is not a book
+   */
+  public static OpeningBook open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Not a book of openings!");
+      }
+      // the mapping stays valid after the channel is closed
+      MappedByteBuffer entries = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      entries.order(ByteOrder.BIG_ENDIAN);
+      int shape = entries.getInt(4);
+      int entryCount = entries.getInt(12);
+      if (entries.getInt(0) != MAGIC || shape < 0 || shape >= BoardTopology.Shape.values().length
+              || entryCount < 0
+              || channel.size() != HEADER_BYTES + (long) entryCount * ENTRY_BYTES) {
+        throw new IllegalArgumentException("Not a book of openings!");
+      }
+      return new OpeningBook(BoardTopology.of(BoardTopology.Shape.values()[shape],
+              entries.getInt(8)), entries, entryCount);
+    }
+  }
+
+  /**
+   * Returns the book for games with the same board as the given game, from the directory
+   * named by the system property "cs3500.reversi.book" if the property is set and the
+   * directory has a book for the board, or else a book without any entry. The file of every
+   * book is only opened once, and a missing book is only looked for once, so a book added to
+   * the directory later is only found by a new program.
+   * @param model a game with the board to get the book of
+   * @return the book of the board of the game
+   * @throws IllegalStateException if the book of the board can't be opened
+   */
+  public static OpeningBook forBoard(ReversiModelReadOnly model) {
+    String directory = System.getProperty(BOOK_DIRECTORY_PROPERTY);
+    if (directory == null) {
+      return EMPTY;
+    }
+    Path file = Paths.get(directory, fileName(model.getTopology()));
+    OpeningBook book = BOOKS.get(file);
+    return book != null ? book : BOOKS.computeIfAbsent(file, OpeningBook::openForBoard);
+  }
+
+  // opens the book in the given file for forBoard, or returns the empty book if there is none
+  private static OpeningBook openForBoard(Path file) {
+    if (!Files.isRegularFile(file)) {
+      return EMPTY;
+    }
+    try {
+      return open(file);
+    } catch (IOException | IllegalArgumentException e) {
+      throw new IllegalStateException("Can't open the book of openings " + file + "!", e);
+    }
+  }
+
+  /**
+   * Returns the name of the file of the book for the given board within a directory of books.
+   * @param topology the board
+   * @return the name of the file, such as "square-8.book"
+   */
+  public static String fileName(BoardTopology topology) {
+    return topology.getShape().name().toLowerCase() + "-" + topology.getSideLength() + ".book";
+  }
+
+  /**
+   * Returns the number of positions in this book.
+   * @return the number of entries
+   */
+  public int size() {
+    return this.entryCount;
+  }
+
+  /**
+   * Finds the position with the given canonical hash in this book.
+   * @param hash the canonical hash of the position
+   * @return the index of the cell of the move to play in the canonical orientation of the
+   *         position, or -1 if the book doesn't know the position
+   */
+  public int lookup(long hash) {
+    int entry = this.find(hash);
+    return entry < 0 ? -1 : this.entries.getShort(entryOffset(entry) + 8);
+  }
+
+  /**
+   * Returns the mean final disc difference of the games that played the move of the position
+   * with the given hash, for the player making the move.
+   * @param hash the canonical hash of the position
+   * @return the mean result of the move
+   * @throws IllegalArgumentException if the book doesn't know the position
+   */
+  public int getScore(long hash) {
+    return this.entries.getShort(entryOffset(this.findKnown(hash)) + 10);
+  }
+
+  /**
+   * Returns the number of games that played the move of the position with the given hash.
+   * @param hash the canonical hash of the position
+   * @return the number of games of the move
+   * @throws IllegalArgumentException if the book doesn't know the position
+   */
+  public int getGames(long hash) {
+    return this.entries.getInt(entryOffset(this.findKnown(hash)) + 12);
+  }
+
+  /**
+   * Returns the move this book plays for the given player, whose turn it is, in the current
+   * position of the given game.
+   * @param model the game, with the board of this book
+   * @param player the player to move
+   * @return the move of the book if the book knows the position and the move is legal,
+   *         or empty otherwise
+   */
+  public Optional<Coordinates> chooseMove(ReversiModelReadOnly model, Player player) {
+    if (this.entryCount == 0 || model.getTopology() != this.topology) {
+      return Optional.empty();
+    }
+    int move = this.lookup(model.getCanonicalHash());
+    if (move < 0 || move >= this.topology.getCellCount()) {
+      return Optional.empty();
+    }
+    int cell = this.topology.getInverseSymmetry(model.getCanonicalSymmetry())[move];
+    // two positions may share a hash, so the move may not be legal in this one
+    return model.isLegal(player, cell) ? Optional.of(this.topology.getCoordinates(cell))
+            : Optional.empty();
+  }
+
+  // returns the place of the entry with the given hash among the entries, or -1 if there is none
+  private int find(long hash) {
+    int low = 0;
+    int high = this.entryCount - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      long middleHash = this.entries.getLong(entryOffset(middle));
+      if (middleHash < hash) {
+        low = middle + 1;
+      } else if (middleHash > hash) {
+        high = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+    return -1;
+  }
+
+  // returns the place of the entry with the given hash, which must be in the book
+  private int findKnown(long hash) {
+    int entry = this.find(hash);
+    if (entry < 0) {
+      throw new IllegalArgumentException("Position not in the book!");
+    }
+    return entry;
+  }
+
+  // returns the offset in the file of the entry at the given place among the entries
+  private static int entryOffset(int entry) {
+    return HEADER_BYTES + entry * ENTRY_BYTES;
+  }
+}
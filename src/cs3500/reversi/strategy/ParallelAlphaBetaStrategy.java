@@ -0,0 +1,141 @@
+package cs3500.reversi.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import cs3500.reversi.model.Coordinates;
+import cs3500.reversi.model.ReversiSearchModel;
+import cs3500.reversi.player.Player;
+
+/**
+ * Represents an alpha-beta strategy that splits the search of every depth over several threads
+ * at the root. The best move of the last search is searched first on the calling thread, since
+ * it is most likely the best again, and its score becomes a bound shared by all threads. Then
+ * the other moves are searched by as many tasks as the strategy has threads, each on its own
+ * copy of the game taking the next move not searched yet, starting from the best score found
+ * so far by any thread, so that moves searched later are cut off by the moves finished earlier.
+ * As with the single-threaded strategy, a depth that doesn't get finished within the budget
+ * is thrown away. Which of several moves scoring the same is played depends on which of them
+ * finished first.
+ * NOTE: The tasks run in the pool shared by all searches (see SearchPool), so searches of
+ * several strategies at once share its threads instead of each having threads of their own.
+ */
+public class ParallelAlphaBetaStrategy extends AlphaBetaStrategy {
+  // the size of the transposition table of the default strategy, in megabytes
+  private static final int DEFAULT_TABLE_MEGABYTES = 16;
+
+  private final int threads;
+
+  /**
+   * Creates a parallel alpha-beta strategy that searches for one second per move on as many
+   * threads as there are processors, sharing a transposition table of 16 megabytes.
+   */
+  public ParallelAlphaBetaStrategy() {
+    this(SearchBudget.ofMillis(1000), new TranspositionTable(DEFAULT_TABLE_MEGABYTES),
+            Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates a parallel alpha-beta strategy that searches within the given budget for every
+   * move on the given number of threads, which share the given transposition table.
+   * @param budget how much the strategy may spend on choosing one move
+   * @param table the table to remember searched positions in
+   * @param threads the number of threads to search on
+   * @throws IllegalArgumentException if the given budget or table is null,
+   *                                  or the number of threads is not positive
+   */
+  public ParallelAlphaBetaStrategy(SearchBudget budget, TranspositionTable table, int threads) {
+    super(budget, table);
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Number of threads must be positive!");
+    }
+    this.threads = threads;
+  }
+
+  /**
+   * Returns the number of threads this strategy searches on.
+   * @return the number of threads
+   */
+  public int getThreads() {
+    return this.threads;
+  }
+
+  @Override
+  int searchMoves(ReversiSearchModel model, MoveOrdering ordering, SearchClock clock,
+                  Player player, Player opponent, List<Coordinates> moves, int depth) {
+    AlphaBetaSearcher searcher = this.createSearcher(model, ordering, clock);
+    int firstScore;
+    try {
+      firstScore = searcher.scoreMove(player, opponent, moves.get(0), depth,
+              -AlphaBetaSearcher.INFINITY, AlphaBetaSearcher.INFINITY);
+    } finally {
+      searcher.countNodes();
+    }
+    AtomicInteger alpha = new AtomicInteger(firstScore);
+    // the index of the best move is only set by the thread that raises alpha to its score
+    AtomicInteger bestIndex = new AtomicInteger(0);
+    AtomicBoolean stopped = new AtomicBoolean(false);
+    // the index of the next move to be taken by a task
+    AtomicInteger nextIndex = new AtomicInteger(1);
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (int task = 0; task < Math.min(this.threads, moves.size() - 1); task++) {
+      tasks.add(this.createTask(model.copyForSearch(), clock, player, opponent, moves,
+              nextIndex, depth, alpha, bestIndex, stopped));
+    }
+    for (Future<Void> result : SearchPool.get().invokeAll(tasks)) {
+      try {
+        result.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw SearchStoppedException.INSTANCE;
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("Search failed!", e.getCause());
+      }
+    }
+    if (stopped.get()) {
+      throw SearchStoppedException.INSTANCE;
+    }
+    moves.add(0, moves.remove(bestIndex.get()));
+    return alpha.get();
+  }
+
+  // creates a task searching the moves from the given next index on, one at a time, on the
+  // given copy of the game, raising the shared alpha and the index of the best move whenever
+  // a move beats it, until every move is taken or the search is stopped
+  private Callable<Void> createTask(ReversiSearchModel copy, SearchClock clock, Player player,
+                                    Player opponent, List<Coordinates> moves,
+                                    AtomicInteger nextIndex, int depth, AtomicInteger alpha,
+                                    AtomicInteger bestIndex, AtomicBoolean stopped) {
+    return () -> {
+      // every task orders the moves of its own copy of the game
+      AlphaBetaSearcher searcher = this.createSearcher(copy, new MoveOrdering(copy), clock);
+      try {
+        for (int index = nextIndex.getAndIncrement(); index < moves.size() && !stopped.get();
+             index = nextIndex.getAndIncrement()) {
+          int bound = alpha.get();
+          int score = searcher.scoreMove(player, opponent, moves.get(index), depth,
+                  bound, AlphaBetaSearcher.INFINITY);
+          // a score at most the bound the move was searched with is only an upper bound
+          if (score > bound) {
+            synchronized (alpha) {
+              if (score > alpha.get()) {
+                alpha.set(score);
+                bestIndex.set(index);
+              }
+            }
+          }
+        }
+      } catch (SearchStoppedException e) {
+        stopped.set(true);
+      } finally {
+        searcher.countNodes();
+      }
+      return null;
+    };
+  }
+}
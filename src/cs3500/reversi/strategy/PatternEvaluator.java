@@ -0,0 +1,514 @@
+package cs3500.reversi.strategy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import cs3500.reversi.model.BoardTopology;
+import cs3500.reversi.model.Disc;
+import cs3500.reversi.model.ReversiModelReadOnly;
+
+/**
+ * Estimates how good a position is for a player by looking at lines and regions of the board
+ * (patterns) as a whole, rather than at each disc on its own.
+ * From every corner, the patterns are the edges along the board's sides (EDGE), the line
+ * leading from the corner into the board, which is the diagonal of a square board and the
+ * line through the center of a hexagonal board (LINE), and the 3-by-3 rhombus of cells at the
+ * corner (CORNER). Patterns of the same kind at different corners are the same up to a
+ * symmetry of the board, so they share one table of weights.
+ * A pattern is read as a number in base 3, one digit per cell: 0 for an empty cell, 1 for a
+ * disc of the player and 2 for a disc of the opponent. The evaluation is the sum of the weights
+ * of the numbers read from all the patterns, found in flat int arrays, so it creates no object.
+ * A position and its mirror image read the region at a corner in transposed orders, so a
+ * region is looked up under the smaller of its number and the number of its transpose, which
+ * keeps the evaluation the same under every symmetry of the board whatever the weights are.
+ * Weights are in sixteenths of a disc, and the sum is rounded toward zero to whole discs.
+ * Lines longer than 8 cells only have their 8 cells closest to the corner in the pattern,
+ * which keeps a table at 6561 weights.
+ * Without weights of its own, an evaluator uses weights favouring corners and the cells
+ * along the edges, and disfavouring cells next to an empty corner. Weights tuned by self-play
+ * are saved to and loaded from files, one per board (see save and load), and the machine
+ * players use the files in the directory named by the system property
+ * "cs3500.reversi.weights" when there is one for the board of their game (see forBoard).
+ * An evaluator never changes, so it can be shared by any number of searches and threads.
+ */
+public final class PatternEvaluator {
+  /**
+   * Represents a kind of pattern, whose patterns all share one table of weights.
+   */
+  public enum PatternKind {
+    EDGE, LINE, CORNER
+  }
+
+  /**
+   * How many weights make up the worth of one disc.
+   */
+  public static final int WEIGHT_SCALE = 16;
+  /**
+   * The system property naming the directory to load weights for the boards of games from.
+   */
+  public static final String WEIGHTS_DIRECTORY_PROPERTY = "cs3500.reversi.weights";
+  // the first int of every file of weights
+  private static final int WEIGHTS_FILE_MAGIC = 0x52565057;
+  // the most cells of a line that are part of a pattern
+  private static final int MAX_LINE_CELLS = 8;
+  // the number of cells along each side of the region at a corner
+  private static final int CORNER_REGION_SIDE = 3;
+  // the default weights of the digits of a cell, by what the cell is to its corner
+  private static final int CORNER_WEIGHT = 8 * WEIGHT_SCALE;
+  private static final int NEXT_TO_EMPTY_CORNER_WEIGHT = -4 * WEIGHT_SCALE;
+  private static final int OTHER_CELL_WEIGHT = WEIGHT_SCALE;
+  // for every number a corner region can be read as, the smaller of that number and the number
+  // of the same region read in transposed order
+  private static final int[] CANONICAL_CORNER_NUMBERS = canonicalCornerNumbers();
+
+  private final BoardTopology topology;
+  // the indices of the cells of every pattern, in the order of their digits
+  private final int[][] patterns;
+  // the kind of every pattern
+  private final PatternKind[] kinds;
+  // for every kind of pattern, the weight of every number that the pattern can be read as
+  private final int[][] weights;
+  // the table of weights of every pattern, which is the table of its kind
+  private final int[][] patternWeights;
+
+  /**
+   * Creates a pattern evaluator with the default weights for games with the same board
+   * as the given game.
+   * @param model a game with the board to evaluate positions of
+   */
+  public PatternEvaluator(ReversiModelReadOnly model) {
+    this(model.getTopology());
+  }
+
+  /**
+   * Creates a pattern evaluator with the default weights for games with the given board.
+   * @param topology the board to evaluate positions of
+   * @throws IllegalArgumentException if the given topology is null
+   */
+  public PatternEvaluator(BoardTopology topology) {
+    if (topology == null) {
+      throw new IllegalArgumentException("Topology can't be null!");
+    }
+    this.topology = topology;
+    List<int[]> cellsOfPatterns = new ArrayList<>();
+    List<PatternKind> kindsOfPatterns = new ArrayList<>();
+    for (int corner : this.corners()) {
+      List<Integer> edgeDirections = new ArrayList<>();
+      List<Integer> inwardDirections = new ArrayList<>();
+      for (int direction = 0; direction < topology.getDirectionCount(); direction++) {
+        int[] ray = topology.getRay(corner, direction);
+        if (ray.length > 0) {
+          (this.isOnEdge(ray[0]) ? edgeDirections : inwardDirections).add(direction);
+        }
+      }
+      for (int direction : edgeDirections) {
+        cellsOfPatterns.add(this.line(corner, direction));
+        kindsOfPatterns.add(PatternKind.EDGE);
+      }
+      for (int direction : inwardDirections) {
+        cellsOfPatterns.add(this.line(corner, direction));
+        kindsOfPatterns.add(PatternKind.LINE);
+      }
+      if (edgeDirections.size() == 2) {
+        int[] region = this.region(corner, edgeDirections.get(0), edgeDirections.get(1));
+        if (region != null) {
+          cellsOfPatterns.add(region);
+          kindsOfPatterns.add(PatternKind.CORNER);
+        }
+      }
+    }
+    this.patterns = cellsOfPatterns.toArray(new int[0][]);
+    this.kinds = kindsOfPatterns.toArray(new PatternKind[0]);
+    this.weights = new int[PatternKind.values().length][];
+    for (int pattern = 0; pattern < this.patterns.length; pattern++) {
+      int kind = this.kinds[pattern].ordinal();
+      if (this.weights[kind] == null) {
+        this.weights[kind] = defaultWeights(this.kinds[pattern], this.patterns[pattern].length);
+      }
+    }
+    this.patternWeights = this.tablesOfPatterns();
+  }
+
+  // creates a pattern evaluator with the patterns of the given evaluator and the given weights
+  // of every kind of pattern
+  private PatternEvaluator(PatternEvaluator base, int[][] weights) {
+    this.topology = base.topology;
+    this.patterns = base.patterns;
+    this.kinds = base.kinds;
+    this.weights = weights;
+    this.patternWeights = this.tablesOfPatterns();
+  }
+
+  // returns the table of weights of every pattern, which is the table of its kind
+  private int[][] tablesOfPatterns() {
+    int[][] tables = new int[this.patterns.length][];
+    for (int pattern = 0; pattern < this.patterns.length; pattern++) {
+      tables[pattern] = this.weights[this.kinds[pattern].ordinal()];
+    }
+    return tables;
+  }
+
+  // returns the indices of the corners of the board, which are the cells with the fewest
+  // neighbors, in the order of their indices
+  private List<Integer> corners() {
+    List<Integer> corners = new ArrayList<>();
+    int fewestNeighbors = Integer.MAX_VALUE;
+    for (int index = 0; index < this.topology.getCellCount(); index++) {
+      int neighbors = 0;
+      for (int direction = 0; direction < this.topology.getDirectionCount(); direction++) {
+        neighbors += this.topology.getRay(index, direction).length > 0 ? 1 : 0;
+      }
+      if (neighbors < fewestNeighbors) {
+        corners.clear();
+        fewestNeighbors = neighbors;
+      }
+      if (neighbors == fewestNeighbors) {
+        corners.add(index);
+      }
+    }
+    return corners;
+  }
+
+  // determines whether the cell at the given index is on an edge of the board,
+  // which is when it has fewer neighbors than a cell inside the board
+  private boolean isOnEdge(int index) {
+    for (int direction = 0; direction < this.topology.getDirectionCount(); direction++) {
+      if (this.topology.getRay(index, direction).length == 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // returns the cells of the line starting at the given corner along the given direction,
+  // up to the most cells of a line in a pattern
+  private int[] line(int corner, int direction) {
+    int[] ray = this.topology.getRay(corner, direction);
+    int[] cells = new int[Math.min(ray.length + 1, MAX_LINE_CELLS)];
+    cells[0] = corner;
+    System.arraycopy(ray, 0, cells, 1, cells.length - 1);
+    return cells;
+  }
+
+  // returns the cells of the region at the given corner, walking first along one edge from
+  // the corner and then along the other, row by row, or null if the board is too small
+  private int[] region(int corner, int firstEdge, int secondEdge) {
+    int[] cells = new int[CORNER_REGION_SIDE * CORNER_REGION_SIDE];
+    int[] firstRay = this.topology.getRay(corner, firstEdge);
+    for (int along = 0; along < CORNER_REGION_SIDE; along++) {
+      if (along > firstRay.length) {
+        return null;
+      }
+      int start = along == 0 ? corner : firstRay[along - 1];
+      int[] secondRay = this.topology.getRay(start, secondEdge);
+      for (int across = 0; across < CORNER_REGION_SIDE; across++) {
+        if (across > secondRay.length) {
+          return null;
+        }
+        cells[along * CORNER_REGION_SIDE + across] = across == 0 ? start
+                : secondRay[across - 1];
+      }
+    }
+    return cells;
+  }
+
+  // returns, for every number a corner region can be read as, the smaller of that number and
+  // the number read from the same cells in transposed order, swapping the walks along the two
+  // edges from the corner
+  private static int[] canonicalCornerNumbers() {
+    int numCells = CORNER_REGION_SIDE * CORNER_REGION_SIDE;
+    int[] canonical = new int[power(3, numCells)];
+    int[] digits = new int[numCells];
+    for (int number = 0; number < canonical.length; number++) {
+      for (int cell = numCells - 1, rest = number; cell >= 0; cell--, rest /= 3) {
+        digits[cell] = rest % 3;
+      }
+      int transposed = 0;
+      for (int along = 0; along < CORNER_REGION_SIDE; along++) {
+        for (int across = 0; across < CORNER_REGION_SIDE; across++) {
+          transposed = transposed * 3 + digits[across * CORNER_REGION_SIDE + along];
+        }
+      }
+      canonical[number] = Math.min(number, transposed);
+    }
+    return canonical;
+  }
+
+  // returns the default weights of every number that a pattern of the given kind and number
+  // of cells can be read as
+  private static int[] defaultWeights(PatternKind kind, int numCells) {
+    int[] tableWeights = new int[power(3, numCells)];
+    int[] digits = new int[numCells];
+    for (int number = 0; number < tableWeights.length; number++) {
+      // the first cell of a pattern is its most significant digit
+      for (int cell = numCells - 1, rest = number; cell >= 0; cell--, rest /= 3) {
+        digits[cell] = rest % 3;
+      }
+      int weight = 0;
+      for (int cell = 0; cell < numCells; cell++) {
+        if (digits[cell] != 0) {
+          int cellWeight = defaultCellWeight(kind, cell, digits[0] == 0);
+          weight += digits[cell] == 1 ? cellWeight : -cellWeight;
+        }
+      }
+      tableWeights[number] = weight;
+    }
+    return tableWeights;
+  }
+
+  // returns the default weight of a disc on the cell at the given place in a pattern of the
+  // given kind, whose corner is empty or not
+  private static int defaultCellWeight(PatternKind kind, int cell, boolean isCornerEmpty) {
+    boolean isNextToCorner = kind == PatternKind.CORNER
+            ? cell == 1 || cell == CORNER_REGION_SIDE || cell == CORNER_REGION_SIDE + 1
+            : cell == 1;
+    if (cell == 0) {
+      return CORNER_WEIGHT;
+    } else if (isNextToCorner && isCornerEmpty) {
+      return NEXT_TO_EMPTY_CORNER_WEIGHT;
+    }
+    return kind == PatternKind.LINE && !isNextToCorner ? 0 : OTHER_CELL_WEIGHT;
+  }
+
+  // returns the given base raised to the given exponent
+  private static int power(int base, int exponent) {
+    int result = 1;
+    for (int time = 0; time < exponent; time++) {
+      result *= base;
+    }
+    return result;
+  }
+
+  /**
+   * Determines whether this evaluator is for games with the same board as the given game.
+   * @param model a game
+   * @return true if this evaluator can evaluate positions of the given game
+   */
+  public boolean fitsBoard(ReversiModelReadOnly model) {
+    return this.topology == model.getTopology();
+  }
+
+  /**
+   * Estimates how good the current position of the given game is for the player with the
+   * given disc, as the sum of the weights of all the patterns of the board.
+   * @param model a game with the board of this evaluator
+   * @param own the disc of the player to evaluate the position for
+   * @return the estimate, higher when the position is better for the player
+   */
+  public int evaluate(ReversiModelReadOnly model, Disc own) {
+    int score = 0;
+    for (int pattern = 0; pattern < this.patterns.length; pattern++) {
+      score += this.patternWeights[pattern][this.readPattern(model, own, pattern)];
+    }
+    return score / WEIGHT_SCALE;
+  }
+
+  // returns the number in base 3 read from the pattern at the given place in the given game,
+  // from the point of view of the player with the given disc, as the number its weight is under
+  private int readPattern(ReversiModelReadOnly model, Disc own, int pattern) {
+    int number = 0;
+    for (int cell : this.patterns[pattern]) {
+      Disc disc = model.discAt(cell);
+      number = number * 3 + (disc == null ? 0 : disc == own ? 1 : 2);
+    }
+    return this.canonicalNumber(pattern, number);
+  }
+
+  /**
+   * Returns the number whose weight is used for the given pattern when its cells are read as
+   * the given number, which is the number itself except for a corner region, which uses the
+   * smaller of the number and the number of the region read in transposed order.
+   * @param pattern the place of a pattern among the patterns of this evaluator
+   * @param number a number that the cells of the pattern can be read as
+   * @return the number in the table of weights of the pattern's kind to use
+   * @throws IndexOutOfBoundsException if there is no such pattern or number
+   */
+  public int canonicalNumber(int pattern, int number) {
+    return this.kinds[pattern] == PatternKind.CORNER ? CANONICAL_CORNER_NUMBERS[number] : number;
+  }
+
+  /**
+   * Returns the board this evaluator evaluates positions of.
+   * @return the topology of the board
+   */
+  public BoardTopology getTopology() {
+    return this.topology;
+  }
+
+  /**
+   * Returns the number of patterns this evaluator reads from a board.
+   * @return the number of patterns
+   */
+  public int getPatternCount() {
+    return this.patterns.length;
+  }
+
+  /**
+   * Returns the kind of the given pattern.
+   * @param pattern the place of a pattern among the patterns of this evaluator
+   * @return the kind of the pattern
+   * @throws IndexOutOfBoundsException if there is no such pattern
+   */
+  public PatternKind getKind(int pattern) {
+    return this.kinds[pattern];
+  }
+
+  /**
+   * Returns the indices of the cells of the given pattern, in the order of their digits,
+   * the most significant first.
+   * @param pattern the place of a pattern among the patterns of this evaluator
+   * @return a copy of the indices of the cells of the pattern
+   * @throws IndexOutOfBoundsException if there is no such pattern
+   */
+  public int[] getPatternCells(int pattern) {
+    return this.patterns[pattern].clone();
+  }
+
+  /**
+   * Returns the number of weights in the table of the given kind of pattern, which is 3 to
+   * the power of the number of cells of the patterns of that kind.
+   * @param kind a kind of pattern
+   * @return the number of weights of the kind, or 0 if the board has no pattern of that kind
+   */
+  public int getTableSize(PatternKind kind) {
+    return this.weights[kind.ordinal()] == null ? 0 : this.weights[kind.ordinal()].length;
+  }
+
+  /**
+   * Returns the weights of the given kind of pattern, by the number a pattern is read as.
+   * @param kind a kind of pattern
+   * @return a copy of the weights of the kind
+   * @throws IllegalArgumentException if the board has no pattern of the given kind
+   */
+  public int[] getWeights(PatternKind kind) {
+    if (this.getTableSize(kind) == 0) {
+      throw new IllegalArgumentException("No pattern of kind " + kind + "!");
+    }
+    return this.weights[kind.ordinal()].clone();
+  }
+
+  /**
+   * Returns an evaluator with the patterns of this evaluator and the given weights for the
+   * given kind of pattern, keeping the weights of the other kinds.
+   * @param kind a kind of pattern
+   * @param kindWeights the weights of the kind, by the number a pattern is read as
+   * @return the new evaluator
+   * @throws IllegalArgumentException if the board has no pattern of the given kind, or the
+   *                                  number of weights is not the size of its table
+   */
+  public PatternEvaluator withWeights(PatternKind kind, int[] kindWeights) {
+    if (kindWeights == null || kindWeights.length != this.getTableSize(kind)) {
+      throw new IllegalArgumentException("Weights don't fit the patterns of kind " + kind + "!");
+    }
+    int[][] newWeights = this.weights.clone();
+    newWeights[kind.ordinal()] = kindWeights.clone();
+    return new PatternEvaluator(this, newWeights);
+  }
+
+  /**
+   * Returns the name of the file that the weights of this evaluator are saved in within
+   * a directory of weights, such as "square-8.weights".
+   * @return the name of the file of weights of the board of this evaluator
+   */
+  public String getWeightsFileName() {
+    return weightsFileName(this.topology);
+  }
+
+  // returns the name of the file of weights for the given board
+  private static String weightsFileName(BoardTopology topology) {
+    return topology.getShape().name().toLowerCase() + "-" + topology.getSideLength()
+            + ".weights";
+  }
+
+  /**
+   * Saves the weights of this evaluator, with the board they are for, to the given file.
+   * @param file the file to save to, which is replaced if it exists
+   * @throws IOException if the file can't be written
+   */
+  public void save(Path file) throws IOException {
+    try (OutputStream out = Files.newOutputStream(file);
+         DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out))) {
+      data.writeInt(WEIGHTS_FILE_MAGIC);
+      data.writeByte(this.topology.getShape().ordinal());
+      data.writeInt(this.topology.getSideLength());
+      for (int[] kindWeights : this.weights) {
+        data.writeInt(kindWeights == null ? 0 : kindWeights.length);
+        for (int weight : kindWeights == null ? new int[0] : kindWeights) {
+          data.writeInt(weight);
+        }
+      }
+    }
+  }
+
+  /**
+   * Loads an evaluator from the given file of weights saved by an evaluator.
+   * @param file the file to load from
+   * @return an evaluator for the board the weights are for, with the loaded weights
+   * @throws IOException if the file can't be read
+   * @throws IllegalArgumentException if the file is not a file of weights
+   *                                  or doesn't fit the patterns of its board
+   */
+  public static PatternEvaluator load(Path file) throws IOException {
+    try (InputStream in = Files.newInputStream(file);
+         DataInputStream data = new DataInputStream(new BufferedInputStream(in))) {
+      if (data.readInt() != WEIGHTS_FILE_MAGIC) {
+        throw new IllegalArgumentException("Not a file of pattern weights!");
+      }
+      int shape = data.readUnsignedByte();
+      if (shape >= BoardTopology.Shape.values().length) {
+        throw new IllegalArgumentException("Unknown board shape!");
+      }
+      PatternEvaluator evaluator = new PatternEvaluator(
+              BoardTopology.of(BoardTopology.Shape.values()[shape], data.readInt()));
+      int[][] weights = new int[PatternKind.values().length][];
+      for (PatternKind kind : PatternKind.values()) {
+        int size = data.readInt();
+        if (size != evaluator.getTableSize(kind)) {
+          throw new IllegalArgumentException("Weights don't fit the patterns of kind "
+                  + kind + "!");
+        }
+        if (size > 0) {
+          weights[kind.ordinal()] = new int[size];
+          for (int number = 0; number < size; number++) {
+            weights[kind.ordinal()][number] = data.readInt();
+          }
+        }
+      }
+      return new PatternEvaluator(evaluator, weights);
+    }
+  }
+
+  /**
+   * Returns an evaluator for games with the same board as the given game, with the weights
+   * in the directory named by the system property "cs3500.reversi.weights" if the property
+   * is set and the directory has a file of weights for the board, or else the default weights.
+   * @param model a game with the board to evaluate positions of
+   * @return the evaluator of the board of the game
+   * @throws IllegalStateException if the file of weights for the board can't be loaded
+   */
+  public static PatternEvaluator forBoard(ReversiModelReadOnly model) {
+    BoardTopology topology = model.getTopology();
+    String directory = System.getProperty(WEIGHTS_DIRECTORY_PROPERTY);
+    if (directory != null) {
+      Path file = Paths.get(directory, weightsFileName(topology));
+      if (Files.isRegularFile(file)) {
+        try {
+          return load(file);
+        } catch (IOException | IllegalArgumentException e) {
+          throw new IllegalStateException("Can't load pattern weights from " + file + "!", e);
+        }
+      }
+    }
+    return new PatternEvaluator(topology);
+  }
+}
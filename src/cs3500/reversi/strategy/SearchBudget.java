@@ -0,0 +1,97 @@
+package cs3500.reversi.strategy;
+
+/**
+ * Represents how much a searching strategy may spend on choosing one move, which is either
+ * an amount of time, a number of positions (nodes) searched or a number of moves looked ahead.
+ * A search checks its budget as it goes and, once the budget is used up, stops and plays
+ * the best move it has found so far.
+ */
+public final class SearchBudget {
+  // the time limit in milliseconds, or 0 if the search is not limited by time
+  private final long timeLimitMillis;
+  // the limit on nodes searched, or 0 if the search is not limited by nodes
+  private final long nodeLimit;
+  // the number of moves to look ahead, or 0 if the search is not limited by depth
+  private final int depthLimit;
+
+  // creates a budget with the given limits, where 0 means no limit
+  private SearchBudget(long timeLimitMillis, long nodeLimit, int depthLimit) {
+    this.timeLimitMillis = timeLimitMillis;
+    this.nodeLimit = nodeLimit;
+    this.depthLimit = depthLimit;
+  }
+
+  /**
+   * Creates a budget that allows a search to run for the given number of milliseconds per move.
+   * @param millis the number of milliseconds a search may run for each move
+   * @return a budget of the given number of milliseconds per move
+   * @throws IllegalArgumentException if the given number of milliseconds is not positive
+   */
+  public static SearchBudget ofMillis(long millis) {
+    if (millis <= 0) {
+      throw new IllegalArgumentException("Time limit must be positive!");
+    }
+    return new SearchBudget(millis, 0, 0);
+  }
+
+  /**
+   * Creates a budget that allows a search to visit the given number of positions per move.
+   * @param nodes the number of positions a search may visit for each move
+   * @return a budget of the given number of positions per move
+   * @throws IllegalArgumentException if the given number of positions is not positive
+   */
+  public static SearchBudget ofNodes(long nodes) {
+    if (nodes <= 0) {
+      throw new IllegalArgumentException("Node limit must be positive!");
+    }
+    return new SearchBudget(0, nodes, 0);
+  }
+
+  /**
+   * Creates a budget that allows a search to look the given number of moves ahead, however
+   * long that takes.
+   * @param depth the number of moves a search may look ahead for each move
+   * @return a budget of the given number of moves ahead per move
+   * @throws IllegalArgumentException if the given depth is not positive
+   */
+  public static SearchBudget ofDepth(int depth) {
+    if (depth <= 0) {
+      throw new IllegalArgumentException("Depth limit must be positive!");
+    }
+    return new SearchBudget(0, 0, depth);
+  }
+
+  /**
+   * Returns the most moves a search within this budget may look ahead.
+   * @return the depth limit of this budget, or Integer.MAX_VALUE if it has none
+   */
+  public int getMaxDepth() {
+    return this.depthLimit > 0 ? this.depthLimit : Integer.MAX_VALUE;
+  }
+
+  /**
+   * Determines whether this budget is used up by a search that started at the given time
+   * (as given by System.nanoTime) and has visited the given number of positions.
+   * @param startNanos the time the search started at, as given by System.nanoTime
+   * @param nodes the number of positions the search has visited so far
+   * @return true if the search should stop, false if it can keep going
+   */
+  public boolean isExhausted(long startNanos, long nodes) {
+    if (this.depthLimit > 0) {
+      // the search stops by itself once it is deep enough
+      return false;
+    }
+    if (this.nodeLimit > 0) {
+      return nodes >= this.nodeLimit;
+    }
+    return System.nanoTime() - startNanos >= this.timeLimitMillis * 1_000_000L;
+  }
+
+  @Override
+  public String toString() {
+    if (this.depthLimit > 0) {
+      return "depth " + this.depthLimit;
+    }
+    return this.nodeLimit > 0 ? this.nodeLimit + " nodes" : this.timeLimitMillis + " ms";
+  }
+}
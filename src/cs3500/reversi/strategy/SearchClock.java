@@ -0,0 +1,79 @@
+package cs3500.reversi.strategy;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps track of how much of its budget a search for one move has used, counting the time since
+ * the search started and the positions visited by every thread taking part in the search.
+ * Once the budget is found used up, the clock stays stopped, so that every thread stops.
+ * Until stopping is allowed, the clock never stops, which lets a search always finish
+ * looking one move ahead.
+ */
+final class SearchClock {
+  private final SearchBudget budget;
+  private final long startNanos;
+  private final LongAdder nodes;
+  private volatile boolean mayStop;
+  private volatile boolean stopped;
+
+  /**
+   * Creates a clock for a search within the given budget that starts now.
+   * @param budget how much the search may spend
+   */
+  SearchClock(SearchBudget budget) {
+    this.budget = budget;
+    this.startNanos = System.nanoTime();
+    this.nodes = new LongAdder();
+  }
+
+  /**
+   * Counts the given number of positions as visited.
+   * @param visited the number of positions visited since they were last counted
+   */
+  void addNodes(long visited) {
+    this.nodes.add(visited);
+  }
+
+  /**
+   * Returns the number of positions counted as visited so far.
+   * @return the number of positions visited
+   */
+  long getNodes() {
+    return this.nodes.sum();
+  }
+
+  /**
+   * Allows the search to stop once the budget is used up.
+   */
+  void allowStop() {
+    this.mayStop = true;
+  }
+
+  /**
+   * Stops the search at once, whatever is left of its budget.
+   */
+  void stop() {
+    this.stopped = true;
+  }
+
+  /**
+   * Determines whether the search should stop, which is once it was stopped, or once
+   * stopping is allowed and the budget is used up.
+   * @return true if the search should stop, false if it can keep going
+   */
+  boolean shouldStop() {
+    if (!this.stopped && this.mayStop
+            && this.budget.isExhausted(this.startNanos, this.nodes.sum())) {
+      this.stopped = true;
+    }
+    return this.stopped;
+  }
+
+  /**
+   * Returns the number of milliseconds since the search started.
+   * @return the number of milliseconds since the search started
+   */
+  long getElapsedMillis() {
+    return (System.nanoTime() - this.startNanos) / 1_000_000L;
+  }
+}
@@ -0,0 +1,31 @@
+package cs3500.reversi.strategy;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Holds the one pool of threads shared by every strategy that searches on several threads,
+ * so that however many strategies a program creates, such as one for every game of a
+ * tournament, their searches run on no more threads than there are processors and no
+ * strategy leaves threads behind once it is no longer used.
+ * The pool is created the first time a search uses it. Its threads never keep the program
+ * from exiting.
+ */
+final class SearchPool {
+  private SearchPool() {
+    // only holds the pool
+  }
+
+  /**
+   * Returns the pool shared by all searches.
+   * @return the pool, with as many threads as there are processors
+   */
+  static ForkJoinPool get() {
+    return Holder.POOL;
+  }
+
+  // creates the pool when it is first asked for, since most programs never search on threads
+  private static final class Holder {
+    private static final ForkJoinPool POOL =
+            new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+  }
+}
@@ -0,0 +1,119 @@
+package cs3500.reversi.strategy;
+
+/**
+ * Represents what a searching strategy did to choose one move: the depth (number of moves
+ * looked ahead) of the deepest search it finished, the number of positions (nodes) it visited,
+ * how long it took, and the score it gave to the chosen move. A search that orders its moves
+ * also reports the average number of legal moves in the positions it searched the moves of
+ * (the branching factor) and the average number of those moves it actually searched before
+ * being cut off (the effective branching factor); the better the order, the fewer moves it
+ * searches.
+ */
+public final class SearchReport {
+  private final int depth;
+  private final long nodes;
+  private final long elapsedMillis;
+  private final int score;
+  private final double branchingFactor;
+  private final double effectiveBranchingFactor;
+
+  /**
+   * Creates a report of a search that doesn't report its branching factors.
+   * @param depth the depth of the deepest search finished
+   * @param nodes the number of positions visited
+   * @param elapsedMillis the number of milliseconds the search took
+   * @param score the score the search gave to the chosen move
+   */
+  public SearchReport(int depth, long nodes, long elapsedMillis, int score) {
+    this(depth, nodes, elapsedMillis, score, 0, 0);
+  }
+
+  /**
+   * Creates a report of a search.
+   * @param depth the depth of the deepest search finished
+   * @param nodes the number of positions visited
+   * @param elapsedMillis the number of milliseconds the search took
+   * @param score the score the search gave to the chosen move
+   * @param branchingFactor the average number of legal moves of the positions searched
+   * @param effectiveBranchingFactor the average number of moves searched in those positions
+   */
+  public SearchReport(int depth, long nodes, long elapsedMillis, int score,
+                      double branchingFactor, double effectiveBranchingFactor) {
+    this.depth = depth;
+    this.nodes = nodes;
+    this.elapsedMillis = elapsedMillis;
+    this.score = score;
+    this.branchingFactor = branchingFactor;
+    this.effectiveBranchingFactor = effectiveBranchingFactor;
+  }
+
+  /**
+   * Returns the depth (number of moves looked ahead) of the deepest search finished.
+   * @return the depth of the deepest search finished
+   */
+  public int getDepth() {
+    return this.depth;
+  }
+
+  /**
+   * Returns the number of positions visited by the search.
+   * @return the number of positions visited
+   */
+  public long getNodes() {
+    return this.nodes;
+  }
+
+  /**
+   * Returns the number of milliseconds the search took.
+   * @return the number of milliseconds the search took
+   */
+  public long getElapsedMillis() {
+    return this.elapsedMillis;
+  }
+
+  /**
+   * Returns the score the search gave to the chosen move, from the point of view of the
+   * player who made the move.
+   * @return the score of the chosen move
+   */
+  public int getScore() {
+    return this.score;
+  }
+
+  /**
+   * Returns the average number of legal moves of the positions whose moves were searched.
+   * @return the branching factor, or 0 if the search doesn't report it
+   */
+  public double getBranchingFactor() {
+    return this.branchingFactor;
+  }
+
+  /**
+   * Returns the average number of moves searched in the positions whose moves were searched,
+   * which is lower than the branching factor by the moves cut off.
+   * @return the effective branching factor, or 0 if the search doesn't report it
+   */
+  public double getEffectiveBranchingFactor() {
+    return this.effectiveBranchingFactor;
+  }
+
+  /**
+   * Returns the number of positions visited per second during the search.
+   * @return the number of positions visited per second
+   */
+  public long getNodesPerSecond() {
+    return this.nodes * 1000 / Math.max(1, this.elapsedMillis);
+  }
+
+  @Override
+  public String toString() {
+    String report = "depth " + this.depth + ", " + this.nodes + " nodes in "
+            + this.elapsedMillis + " ms (" + this.getNodesPerSecond() + " nodes/s), score "
+            + this.score;
+    if (this.branchingFactor > 0) {
+      report += String.format(", branching factor %.2f (effective %.2f)",
+              this.branchingFactor, this.effectiveBranchingFactor);
+    }
+    return report;
+  }
+}
@@ -0,0 +1,18 @@
+package cs3500.reversi.strategy;
+
+/**
+ * Thrown by a search to unwind itself when its budget is used up in the middle of searching.
+ * It carries no stack trace since it is thrown often and never shown to anyone.
+ */
+class SearchStoppedException extends RuntimeException {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The one instance that is thrown every time, since it carries no information.
+   */
+  static final SearchStoppedException INSTANCE = new SearchStoppedException();
+
+  private SearchStoppedException() {
+    super("Search budget used up", null, false, false);
+  }
+}
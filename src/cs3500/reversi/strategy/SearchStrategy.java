@@ -0,0 +1,14 @@
+package cs3500.reversi.strategy;
+
+/**
+ * Represents a strategy that chooses a move by searching through the moves that can follow,
+ * and that can report how much searching it did for the last move it chose.
+ */
+public interface SearchStrategy extends Strategy {
+  /**
+   * Returns the report of the search done for the last move chosen by this strategy.
+   * @return the report of the last search
+   * @throws IllegalStateException if this strategy has not chosen any move yet
+   */
+  SearchReport getLastReport();
+}
@@ -0,0 +1,244 @@
+package cs3500.reversi.strategy;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents a fixed-size table that remembers what searches found out about positions, keyed
+ * by the hash of the position, so that a position reached again through a different order of
+ * moves does not have to be searched again.
+ * For each position it remembers the depth searched, the score found and whether that score is
+ * exact or only a bound, the best move found (as the index of its cell in the orientation of
+ * the position that was hashed), and the age of the search that stored it.
+ * The table is a power-of-two number of slots, each made of two longs in one primitive array:
+ * the packed entry, and the hash of the position exclusive-or the packed entry. An entry is only
+ * trusted when the two longs agree with the hash being looked up, so several search threads can
+ * share one table without locking: a slot torn by two threads writing at once just looks empty.
+ * A slot is replaced by a new entry of the same position, of a deeper or equally deep search,
+ * or of any entry stored by an older search.
+ */
+public final class TranspositionTable {
+  /**
+   * Represents what the score of an entry says about the real score of its position.
+   */
+  public enum Bound {
+    // the score is the real score of the position
+    EXACT,
+    // the real score of the position is at least the score
+    LOWER,
+    // the real score of the position is at most the score
+    UPPER
+  }
+
+  /**
+   * The value returned by probe when the table has no entry for the position.
+   * It can never be a packed entry, since its bound bits do not stand for any bound.
+   */
+  public static final long NO_ENTRY = -1L;
+
+  // the layout of a packed entry, from the lowest bits: the score (32 bits), the index of the
+  // cell of the best move plus 1, or 0 if there is none (16 bits), the depth (8 bits),
+  // the bound (2 bits) and the age (6 bits)
+  private static final int MOVE_SHIFT = 32;
+  private static final int DEPTH_SHIFT = 48;
+  private static final int BOUND_SHIFT = 56;
+  private static final int AGE_SHIFT = 58;
+  private static final int MAX_MOVE = 0xFFFE;
+  private static final int MAX_DEPTH = 0xFF;
+  private static final int AGE_MASK = 0x3F;
+  private static final int BYTES_PER_SLOT = 2 * Long.BYTES;
+  // the most slots a table can have, so that its array of longs can still be created
+  private static final int MAX_SLOTS = 1 << 29;
+  // plain reads and writes of a long are not guaranteed to be atomic,
+  // but opaque reads and writes through a var handle are
+  private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+  private final long[] slots;
+  private final int indexMask;
+  private volatile int age;
+  private final LongAdder hits;
+  private final LongAdder misses;
+  private final LongAdder collisions;
+
+  /**
+   * Creates an empty transposition table using at most the given number of megabytes,
+   * with as many slots as fit in that size rounded down to a power of two.
+   * @param megabytes the most memory the table may use, in megabytes
+   * @throws IllegalArgumentException if the given size is not positive
+   */
+  public TranspositionTable(int megabytes) {
+    if (megabytes <= 0) {
+      throw new IllegalArgumentException("Table size must be positive!");
+    }
+    long slotsInSize = (long) megabytes * 1024 * 1024 / BYTES_PER_SLOT;
+    int numSlots = (int) Math.min(Long.highestOneBit(slotsInSize), MAX_SLOTS);
+    this.slots = new long[2 * numSlots];
+    this.indexMask = numSlots - 1;
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+    this.collisions = new LongAdder();
+    this.clear();
+  }
+
+  /**
+   * Returns the number of positions this table can hold at once.
+   * @return the number of slots in this table
+   */
+  public int getCapacity() {
+    return this.indexMask + 1;
+  }
+
+  /**
+   * Removes every entry from this table and resets its counters.
+   */
+  public void clear() {
+    for (int slot = 0; slot < this.slots.length; slot += 2) {
+      SLOTS.setOpaque(this.slots, slot, NO_ENTRY);
+      SLOTS.setOpaque(this.slots, slot + 1, 0L);
+    }
+    this.age = 0;
+    this.hits.reset();
+    this.misses.reset();
+    this.collisions.reset();
+  }
+
+  /**
+   * Starts a new search, so that the entries stored by the searches before it are
+   * replaced by any new entry.
+   */
+  public void newSearch() {
+    this.age = (this.age + 1) & AGE_MASK;
+  }
+
+  /**
+   * Returns the packed entry of the position with the given hash, which can be read with
+   * scoreOf, moveOf, depthOf and boundOf, or NO_ENTRY if this table has no entry for it.
+   * @param hash the hash of the position
+   * @return the packed entry of the position, or NO_ENTRY
+   */
+  public long probe(long hash) {
+    int slot = this.slotOf(hash);
+    long entry = (long) SLOTS.getOpaque(this.slots, slot);
+    long check = (long) SLOTS.getOpaque(this.slots, slot + 1);
+    if (entry != NO_ENTRY && (check ^ entry) == hash) {
+      this.hits.increment();
+      return entry;
+    }
+    this.misses.increment();
+    if (entry != NO_ENTRY) {
+      // the slot holds another position (or was torn by threads writing at once)
+      this.collisions.increment();
+    }
+    return NO_ENTRY;
+  }
+
+  /**
+   * Stores what a search found out about the position with the given hash, unless the
+   * slot of that position holds a deeper entry of another position from the current search.
+   * @param hash the hash of the position
+   * @param depth the number of moves searched ahead from the position
+   * @param bound what the score says about the real score of the position
+   * @param score the score found
+   * @param move the index of the cell of the best move found, in the orientation of the
+   *             position that was hashed, or -1 if there is no best move
+   */
+  public void store(long hash, int depth, Bound bound, int score, int move) {
+    int slot = this.slotOf(hash);
+    long oldEntry = (long) SLOTS.getOpaque(this.slots, slot);
+    long oldCheck = (long) SLOTS.getOpaque(this.slots, slot + 1);
+    int currentAge = this.age;
+    boolean samePosition = (oldCheck ^ oldEntry) == hash;
+    if (oldEntry != NO_ENTRY && !samePosition && ageOf(oldEntry) == currentAge
+            && depthOf(oldEntry) > depth) {
+      return;
+    }
+    // keep the best move already known for this position if the search found none
+    if (move < 0 && samePosition && oldEntry != NO_ENTRY) {
+      move = moveOf(oldEntry);
+    }
+    long entry = (score & 0xFFFFFFFFL)
+            | (long) (move <= MAX_MOVE ? move + 1 : 0) << MOVE_SHIFT
+            | (long) Math.min(Math.max(depth, 0), MAX_DEPTH) << DEPTH_SHIFT
+            | (long) bound.ordinal() << BOUND_SHIFT
+            | (long) currentAge << AGE_SHIFT;
+    SLOTS.setOpaque(this.slots, slot, entry);
+    SLOTS.setOpaque(this.slots, slot + 1, hash ^ entry);
+  }
+
+  // returns the index in the array of the first long of the slot of the given hash
+  private int slotOf(long hash) {
+    // the higher half of the hash is folded into the lower half, so that every bit of the
+    // hash takes part in choosing the slot
+    int index = (int) ((hash >>> 32) ^ hash) & this.indexMask;
+    return index << 1;
+  }
+
+  /**
+   * Returns the score of the given packed entry.
+   * @param entry a packed entry returned by probe
+   * @return the score of the entry
+   */
+  public static int scoreOf(long entry) {
+    return (int) entry;
+  }
+
+  /**
+   * Returns the index of the cell of the best move of the given packed entry, in the
+   * orientation of its position that was hashed.
+   * @param entry a packed entry returned by probe
+   * @return the index of the cell of the best move of the entry,
+   *         or -1 if the entry has no best move
+   */
+  public static int moveOf(long entry) {
+    return (int) (entry >>> MOVE_SHIFT & 0xFFFF) - 1;
+  }
+
+  /**
+   * Returns the depth searched of the given packed entry.
+   * @param entry a packed entry returned by probe
+   * @return the depth of the entry
+   */
+  public static int depthOf(long entry) {
+    return (int) (entry >>> DEPTH_SHIFT & MAX_DEPTH);
+  }
+
+  /**
+   * Returns the bound of the given packed entry.
+   * @param entry a packed entry returned by probe
+   * @return what the score of the entry says about the real score of its position
+   */
+  public static Bound boundOf(long entry) {
+    return Bound.values()[(int) (entry >>> BOUND_SHIFT & 0x3)];
+  }
+
+  // returns the age of the search that stored the given packed entry
+  private static int ageOf(long entry) {
+    return (int) (entry >>> AGE_SHIFT & AGE_MASK);
+  }
+
+  /**
+   * Returns the number of probes that found an entry for their position.
+   * @return the number of hits
+   */
+  public long getHits() {
+    return this.hits.sum();
+  }
+
+  /**
+   * Returns the number of probes that found no entry for their position.
+   * @return the number of misses
+   */
+  public long getMisses() {
+    return this.misses.sum();
+  }
+
+  /**
+   * Returns the number of probes that found the slot of their position holding
+   * an entry of another position.
+   * @return the number of collisions
+   */
+  public long getCollisions() {
+    return this.collisions.sum();
+  }
+}
@@ -0,0 +1,48 @@
+package cs3500.reversi.tournament;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import cs3500.reversi.player.PlayerCreator;
+
+/**
+ * Runs a tournament between machine players without any view, and prints the table of wins,
+ * draws and losses of every entrant against every other, the Elo rating of every entrant with
+ * its 95% confidence interval, and how many games were played per second.
+ */
+public final class RunTournament {
+  /**
+   * Runs the tournament.
+   * @param args the format ("round_robin" or "gauntlet"), the number of games every pairing
+   *             plays on every board, the number of games played at once (0 for the number of
+   *             processors), the boards separated by commas (such as "square_bitboard:8,hex:6"),
+   *             and then the types of at least two machine players (such as "alpha_beta",
+   *             "mcts", "minimax", "smarter" or "simplistic"), the challenger first in a
+   *             gauntlet
+   * @throws IllegalArgumentException if the arguments don't make a tournament
+   */
+  public static void main(String[] args) {
+    if (args.length < 6) {
+      throw new IllegalArgumentException("Usage: format games threads boards player player...");
+    }
+    Tournament.Format format = Tournament.Format.valueOf(args[0].toUpperCase());
+    int gamesPerPairing = Integer.parseInt(args[1]);
+    int threads = Integer.parseInt(args[2]);
+    if (threads == 0) {
+      threads = Runtime.getRuntime().availableProcessors();
+    }
+    List<Tournament.Board> boards = new ArrayList<>();
+    for (String board : args[3].split(",")) {
+      boards.add(Tournament.Board.parse(board));
+    }
+    List<PlayerCreator.PlayerType> entrants = new ArrayList<>();
+    for (int arg = 4; arg < args.length; arg++) {
+      entrants.add(PlayerCreator.PlayerType.valueOf(args[arg].toUpperCase()));
+    }
+
+    Tournament tournament = new Tournament(entrants, format, boards, gamesPerPairing);
+    System.out.printf("%s of %d games on %s, %d at once%n", format, tournament.getGameCount(),
+            boards, threads);
+    System.out.println(tournament.play(threads));
+  }
+}
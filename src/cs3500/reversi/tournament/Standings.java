@@ -0,0 +1,271 @@
+package cs3500.reversi.tournament;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import cs3500.reversi.player.PlayerCreator;
+
+/**
+ * Represents the standings of the entrants of a tournament: the wins, draws and losses of every
+ * entrant against every other, and for every entrant an Elo rating with a 95% confidence
+ * interval, along with how fast the games were played.
+ * The rating of an entrant is its performance against the entrants it met: the Elo difference
+ * that would make its mean score (1 for a win, 1/2 for a draw and 0 for a loss) the expected
+ * one against an opponent rated as the mean of its opponents, who are rated 0. The confidence
+ * interval turns the standard error of the mean score into Elo the same way, so it is not
+ * symmetric around the rating, and reaches infinity when the mean score can be 0 or 1.
+ * Games are recorded from any number of threads at once.
+ */
+public final class Standings {
+  // the number of standard errors on each side of the mean score of a 95% confidence interval
+  private static final double Z_95 = 1.959964;
+
+  private final List<PlayerCreator.PlayerType> entrants;
+  // the number of games won, drawn and lost by every entrant against every other entrant,
+  // at [entrant][opponent]
+  private final int[][] wins;
+  private final int[][] draws;
+  private final int[][] losses;
+  private long elapsedNanos;
+
+  /**
+   * Creates standings without any game for the given entrants.
+   * @param entrants the types of the players of the tournament
+   */
+  Standings(List<PlayerCreator.PlayerType> entrants) {
+    this.entrants = Collections.unmodifiableList(new ArrayList<>(entrants));
+    this.wins = new int[entrants.size()][entrants.size()];
+    this.draws = new int[entrants.size()][entrants.size()];
+    this.losses = new int[entrants.size()][entrants.size()];
+  }
+
+  /**
+   * Records a game between the entrants at the given places.
+   * @param first the place of one entrant
+   * @param second the place of the other entrant
+   * @param discDifference the final disc difference of the game for the first entrant
+   */
+  synchronized void record(int first, int second, int discDifference) {
+    if (discDifference > 0) {
+      this.wins[first][second] += 1;
+      this.losses[second][first] += 1;
+    } else if (discDifference < 0) {
+      this.losses[first][second] += 1;
+      this.wins[second][first] += 1;
+    } else {
+      this.draws[first][second] += 1;
+      this.draws[second][first] += 1;
+    }
+  }
+
+  // sets how long the games took
+  synchronized void setElapsedNanos(long elapsedNanos) {
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Returns the types of the entrants, in the order of their places.
+   * @return the entrants
+   */
+  public List<PlayerCreator.PlayerType> getEntrants() {
+    return this.entrants;
+  }
+
+  /**
+   * Returns the number of games the entrant at the given place won against the entrant at the
+   * other given place.
+   * @param entrant the place of the entrant
+   * @param opponent the place of the opponent
+   * @return the number of wins
+   * @throws IndexOutOfBoundsException if there is no entrant at a place
+   */
+  public synchronized int getWins(int entrant, int opponent) {
+    return this.wins[entrant][opponent];
+  }
+
+  /**
+   * Returns the number of games the entrant at the given place drew against the entrant at the
+   * other given place.
+   * @param entrant the place of the entrant
+   * @param opponent the place of the opponent
+   * @return the number of draws
+   * @throws IndexOutOfBoundsException if there is no entrant at a place
+   */
+  public synchronized int getDraws(int entrant, int opponent) {
+    return this.draws[entrant][opponent];
+  }
+
+  /**
+   * Returns the number of games the entrant at the given place lost against the entrant at the
+   * other given place.
+   * @param entrant the place of the entrant
+   * @param opponent the place of the opponent
+   * @return the number of losses
+   * @throws IndexOutOfBoundsException if there is no entrant at a place
+   */
+  public synchronized int getLosses(int entrant, int opponent) {
+    return this.losses[entrant][opponent];
+  }
+
+  /**
+   * Returns the number of games the entrant at the given place played.
+   * @param entrant the place of the entrant
+   * @return the number of games
+   * @throws IndexOutOfBoundsException if there is no entrant at the place
+   */
+  public synchronized int getGames(int entrant) {
+    int games = 0;
+    for (int opponent = 0; opponent < this.entrants.size(); opponent++) {
+      games += this.wins[entrant][opponent] + this.draws[entrant][opponent]
+              + this.losses[entrant][opponent];
+    }
+    return games;
+  }
+
+  /**
+   * Returns the mean score of the entrant at the given place over its games, counting 1 for
+   * a win, 1/2 for a draw and 0 for a loss.
+   * @param entrant the place of the entrant
+   * @return the mean score, or 1/2 if the entrant played no game
+   * @throws IndexOutOfBoundsException if there is no entrant at the place
+   */
+  public synchronized double getScore(int entrant) {
+    int games = this.getGames(entrant);
+    if (games == 0) {
+      return 0.5;
+    }
+    double points = 0;
+    for (int opponent = 0; opponent < this.entrants.size(); opponent++) {
+      points += this.wins[entrant][opponent] + 0.5 * this.draws[entrant][opponent];
+    }
+    return points / games;
+  }
+
+  /**
+   * Returns the Elo rating of the entrant at the given place, relative to the mean rating of
+   * the entrants it met.
+   * @param entrant the place of the entrant
+   * @return the rating, which is infinite if the entrant won or lost every game
+   * @throws IndexOutOfBoundsException if there is no entrant at the place
+   */
+  public synchronized double getElo(int entrant) {
+    return eloOf(this.getScore(entrant));
+  }
+
+  /**
+   * Returns the lower end of the 95% confidence interval of the Elo rating of the entrant at
+   * the given place.
+   * @param entrant the place of the entrant
+   * @return the lowest rating of the interval
+   * @throws IndexOutOfBoundsException if there is no entrant at the place
+   */
+  public synchronized double getEloLow(int entrant) {
+    return eloOf(this.getScore(entrant) - Z_95 * this.getScoreError(entrant));
+  }
+
+  /**
+   * Returns the upper end of the 95% confidence interval of the Elo rating of the entrant at
+   * the given place.
+   * @param entrant the place of the entrant
+   * @return the highest rating of the interval
+   * @throws IndexOutOfBoundsException if there is no entrant at the place
+   */
+  public synchronized double getEloHigh(int entrant) {
+    return eloOf(this.getScore(entrant) + Z_95 * this.getScoreError(entrant));
+  }
+
+  // returns the standard error of the mean score of the entrant at the given place
+  private double getScoreError(int entrant) {
+    int games = this.getGames(entrant);
+    if (games == 0) {
+      return Double.POSITIVE_INFINITY;
+    }
+    double score = this.getScore(entrant);
+    double squares = 0;
+    for (int opponent = 0; opponent < this.entrants.size(); opponent++) {
+      squares += this.wins[entrant][opponent] + 0.25 * this.draws[entrant][opponent];
+    }
+    double variance = Math.max(0, squares / games - score * score);
+    return Math.sqrt(variance / games);
+  }
+
+  /**
+   * Returns the Elo difference at which the stronger player is expected to make the given mean
+   * score, which is 0 for a mean score of 1/2.
+   * @param score the mean score, where scores below 0 count as 0 and above 1 as 1
+   * @return the Elo difference, which is infinite for a mean score of 0 or 1
+   */
+  public static double eloOf(double score) {
+    if (score <= 0) {
+      return Double.NEGATIVE_INFINITY;
+    }
+    if (score >= 1) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return -400 * Math.log10(1 / score - 1);
+  }
+
+  /**
+   * Returns the number of games played in the tournament.
+   * @return the number of games
+   */
+  public synchronized int getGameCount() {
+    int games = 0;
+    for (int entrant = 0; entrant < this.entrants.size(); entrant++) {
+      games += this.getGames(entrant);
+    }
+    // every game counts for both of its entrants
+    return games / 2;
+  }
+
+  /**
+   * Returns how long the games of the tournament took, in milliseconds.
+   * @return the elapsed time
+   */
+  public synchronized long getElapsedMillis() {
+    return this.elapsedNanos / 1_000_000;
+  }
+
+  /**
+   * Returns how many games were played per second.
+   * @return the number of games per second, or 0 if no time was measured
+   */
+  public synchronized double getGamesPerSecond() {
+    return this.elapsedNanos <= 0 ? 0 : this.getGameCount() * 1e9 / this.elapsedNanos;
+  }
+
+  // returns the given rating rounded to a whole number, without a negative zero
+  private static double rounded(double elo) {
+    return Math.rint(elo) + 0.0;
+  }
+
+  /**
+   * Returns the table of wins, draws and losses of every entrant against every other entrant,
+   * the rating of every entrant with its confidence interval, and the throughput, one line
+   * for every entrant.
+   * @return the standings as text
+   */
+  @Override
+  public synchronized String toString() {
+    StringBuilder text = new StringBuilder(String.format("%-14s", ""));
+    for (int opponent = 0; opponent < this.entrants.size(); opponent++) {
+      text.append(String.format("%14s", opponent + 1 + " " + this.entrants.get(opponent)));
+    }
+    text.append(String.format("%8s %7s %8s  %s%n", "games", "score", "elo", "95% interval"));
+    for (int entrant = 0; entrant < this.entrants.size(); entrant++) {
+      text.append(String.format("%-14s", entrant + 1 + " " + this.entrants.get(entrant)));
+      for (int opponent = 0; opponent < this.entrants.size(); opponent++) {
+        text.append(String.format("%14s", entrant == opponent ? "-"
+                : this.wins[entrant][opponent] + "/" + this.draws[entrant][opponent] + "/"
+                + this.losses[entrant][opponent]));
+      }
+      text.append(String.format("%8d %6.1f%% %8.0f  [%.0f, %.0f]%n", this.getGames(entrant),
+              100 * this.getScore(entrant), rounded(this.getElo(entrant)),
+              rounded(this.getEloLow(entrant)), rounded(this.getEloHigh(entrant))));
+    }
+    text.append(String.format("%d games in %.1f s (%.1f games/s)", this.getGameCount(),
+            this.elapsedNanos / 1e9, this.getGamesPerSecond()));
+    return text.toString();
+  }
+}
@@ -0,0 +1,261 @@
+package cs3500.reversi.tournament;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import cs3500.reversi.model.Coordinates;
+import cs3500.reversi.model.ModelCreator;
+import cs3500.reversi.model.ReversiModelReadWrite;
+import cs3500.reversi.model.Scores;
+import cs3500.reversi.player.Player;
+import cs3500.reversi.player.PlayerActionFeatures;
+import cs3500.reversi.player.PlayerCreator;
+
+/**
+ * Represents a tournament between machine players, played without any view or controller:
+ * every game is driven by the tournament itself, which asks the player whose turn it is for
+ * its move and plays it on the model, so that many games can be played at once on several
+ * threads. Every player of every game is created anew from its type, so no player is shared
+ * between games.
+ * In a round robin every entrant meets every other entrant; in a gauntlet the first entrant
+ * meets every other entrant, who don't meet each other. Every pairing plays the given number
+ * of games on every board, taking turns at moving first.
+ */
+public final class Tournament {
+  /**
+   * Represents who meets whom in a tournament.
+   */
+  public enum Format {
+    // every entrant meets every other entrant
+    ROUND_ROBIN,
+    // the first entrant meets every other entrant
+    GAUNTLET
+  }
+
+  private final List<PlayerCreator.PlayerType> entrants;
+  private final Format format;
+  private final List<Board> boards;
+  private final int gamesPerPairing;
+
+  /**
+   * Creates a tournament between the given types of machine players, in the given format,
+   * with every pairing playing the given number of games on every one of the given boards.
+   * @param entrants the types of the players of the tournament, in the order of the standings
+   * @param format who meets whom
+   * @param boards the boards to play on
+   * @param gamesPerPairing the number of games every pairing plays on every board
+   * @throws IllegalArgumentException if an argument is null, there are fewer than two entrants,
+   *                                  an entrant is a human player, there is no board,
+   *                                  or the number of games is not positive
+   */
+  public Tournament(List<PlayerCreator.PlayerType> entrants, Format format, List<Board> boards,
+                    int gamesPerPairing) {
+    if (entrants == null || format == null || boards == null) {
+      throw new IllegalArgumentException("Entrants, format and boards can't be null!");
+    }
+    List<PlayerCreator.PlayerType> entrantList = new ArrayList<>(entrants);
+    List<Board> boardList = new ArrayList<>(boards);
+    if (entrantList.contains(null) || boardList.contains(null)) {
+      throw new IllegalArgumentException("Entrants and boards can't be null!");
+    }
+    if (entrantList.size() < 2 || boardList.isEmpty() || gamesPerPairing <= 0) {
+      throw new IllegalArgumentException("Invalid number of entrants, boards or games!");
+    }
+    if (entrantList.contains(PlayerCreator.PlayerType.HUMAN)) {
+      throw new IllegalArgumentException("Human players can't play in a tournament!");
+    }
+    this.entrants = Collections.unmodifiableList(entrantList);
+    this.format = format;
+    this.boards = Collections.unmodifiableList(boardList);
+    this.gamesPerPairing = gamesPerPairing;
+  }
+
+  /**
+   * Returns the number of games of this tournament.
+   * @return the number of games
+   */
+  public int getGameCount() {
+    int pairings = this.format == Format.GAUNTLET ? this.entrants.size() - 1
+            : this.entrants.size() * (this.entrants.size() - 1) / 2;
+    return pairings * this.boards.size() * this.gamesPerPairing;
+  }
+
+  /**
+   * Plays every game of this tournament on the given number of threads.
+   * @param threads the number of games played at once
+   * @return the standings of the entrants after every game
+   * @throws IllegalArgumentException if the number of threads is not positive
+   * @throws IllegalStateException if a player makes an illegal move or the tournament
+   *                               gets interrupted
+   */
+  public Standings play(int threads) {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Number of threads must be positive!");
+    }
+    Standings standings = new Standings(this.entrants);
+    List<Callable<Void>> games = new ArrayList<>();
+    for (Board board : this.boards) {
+      for (int first = 0; first < this.entrants.size(); first++) {
+        for (int second = first + 1; second < this.entrants.size(); second++) {
+          if (this.format == Format.GAUNTLET && first > 0) {
+            continue;
+          }
+          for (int game = 0; game < this.gamesPerPairing; game++) {
+            // the entrants take turns at moving first
+            int mover = game % 2 == 0 ? first : second;
+            int other = game % 2 == 0 ? second : first;
+            games.add(() -> {
+              standings.record(mover, other, this.playGame(board, mover, other));
+              return null;
+            });
+          }
+        }
+      }
+    }
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    long startNanos = System.nanoTime();
+    try {
+      for (Future<Void> result : pool.invokeAll(games)) {
+        result.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Tournament got interrupted!", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Tournament failed!", e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+    standings.setElapsedNanos(System.nanoTime() - startNanos);
+    return standings;
+  }
+
+  // plays a game on the given board between new players of the entrants at the given places,
+  // the first of them moving first, and returns the final disc difference for the first
+  private int playGame(Board board, int first, int second) {
+    Player player1 = PlayerCreator.create(this.entrants.get(first));
+    Player player2 = PlayerCreator.create(this.entrants.get(second));
+    ActionRecorder recorder1 = new ActionRecorder();
+    ActionRecorder recorder2 = new ActionRecorder();
+    player1.addFeatures(recorder1);
+    player2.addFeatures(recorder2);
+    ReversiModelReadWrite model = ModelCreator.create(board.getGameType(), board.getSize(),
+            player1, player2);
+    while (!model.isGameOver()) {
+      Player turn = model.getTurn();
+      ActionRecorder recorder = turn == player1 ? recorder1 : recorder2;
+      recorder.clear();
+      turn.turnToMove(model);
+      if (recorder.passed) {
+        model.pass(turn);
+      } else if (recorder.move != null) {
+        model.placeIn(turn, recorder.move);
+      } else {
+        throw new IllegalStateException("A player didn't move when it was its turn!");
+      }
+    }
+    Scores scores = model.getScores();
+    return scores.getScore(player1) - scores.getScore(player2);
+  }
+
+  /**
+   * Represents a board to play on: the type of game and the board size.
+   */
+  public static final class Board {
+    private final ModelCreator.GameType gameType;
+    private final int size;
+
+    /**
+     * Creates a board of the given type of game and size.
+     * @param gameType the type of game
+     * @param size the board size
+     * @throws IllegalArgumentException if the type of game is null or no game of the type
+     *                                  can have a board of the size
+     */
+    public Board(ModelCreator.GameType gameType, int size) {
+      if (gameType == null) {
+        throw new IllegalArgumentException("Game type can't be null!");
+      }
+      // creating a game checks the size the same way as every game of the tournament does
+      ModelCreator.create(gameType, size, PlayerCreator.create(PlayerCreator.PlayerType.HUMAN),
+              PlayerCreator.create(PlayerCreator.PlayerType.HUMAN));
+      this.gameType = gameType;
+      this.size = size;
+    }
+
+    /**
+     * Creates a board from text of the form "type:size", such as "square_bitboard:8".
+     * @param text the type of game and the board size
+     * @return the board
+     * @throws IllegalArgumentException if the text is not a board
+     */
+    public static Board parse(String text) {
+      String[] parts = text.split(":");
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("Not a board: " + text);
+      }
+      try {
+        return new Board(ModelCreator.GameType.valueOf(parts[0].trim().toUpperCase()),
+                Integer.parseInt(parts[1].trim()));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Not a board: " + text);
+      }
+    }
+
+    /**
+     * Returns the type of game of this board.
+     * @return the type of game
+     */
+    public ModelCreator.GameType getGameType() {
+      return this.gameType;
+    }
+
+    /**
+     * Returns the size of this board.
+     * @return the board size
+     */
+    public int getSize() {
+      return this.size;
+    }
+
+    @Override
+    public String toString() {
+      return this.gameType.name().toLowerCase() + ":" + this.size;
+    }
+  }
+
+  /**
+   * Remembers the action a player took when it was asked to move, in place of a controller.
+   */
+  private static final class ActionRecorder implements PlayerActionFeatures {
+    private Coordinates move;
+    private boolean passed;
+
+    // forgets the last action
+    private void clear() {
+      this.move = null;
+      this.passed = false;
+    }
+
+    @Override
+    public void pass() {
+      this.passed = true;
+    }
+
+    @Override
+    public void placeIn(Coordinates coordinates) {
+      this.move = coordinates;
+    }
+
+    @Override
+    public int select(Coordinates coordinates) {
+      return 0;
+    }
+  }
+}
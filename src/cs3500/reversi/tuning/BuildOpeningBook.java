@@ -0,0 +1,80 @@
+package cs3500.reversi.tuning;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import cs3500.reversi.model.ModelCreator;
+import cs3500.reversi.strategy.OpeningBook;
+import cs3500.reversi.strategy.SearchBudget;
+
+/**
+ * Builds the opening book of one board from self-play games, and from a file of game records
+ * if one is given, and saves it in the output directory named after the board (such as
+ * "square-8.book"). Machine players consult the book before searching when run with the system
+ * property "cs3500.reversi.book" set to that directory.
+ * It prints how many games went into the book, how many positions the book has, and how long
+ * looking up a position in the book takes.
+ */
+public final class BuildOpeningBook {
+  // the number of random moves every self-play game opens with
+  private static final int RANDOM_MOVES = 4;
+  // the fewest games that must have played a move for the book to play it
+  private static final int MIN_GAMES = 3;
+  // the number of lookups timed
+  private static final int TIMED_LOOKUPS = 1_000_000;
+
+  /**
+   * Runs the building of the book.
+   * @param args the type of game (defaults to "square_bitboard"), the board size
+   *             (defaults to 8), the number of self-play games (defaults to 1000), the number
+   *             of threads (defaults to the number of processors), the depth the players
+   *             search to (defaults to 4), the number of moves of every game to put in the
+   *             book (defaults to 10), the output directory (defaults to the working
+   *             directory) and a file of game records to import (defaults to none)
+   * @throws IOException if a file can't be written or read
+   */
+  public static void main(String[] args) throws IOException {
+    ModelCreator.GameType gameType = args.length > 0
+            ? ModelCreator.GameType.valueOf(args[0].toUpperCase())
+            : ModelCreator.GameType.SQUARE_BITBOARD;
+    int boardSize = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+    int games = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+    int threads = args.length > 3 ? Integer.parseInt(args[3])
+            : Runtime.getRuntime().availableProcessors();
+    int depth = args.length > 4 ? Integer.parseInt(args[4]) : 4;
+    int maxMoves = args.length > 5 ? Integer.parseInt(args[5]) : 10;
+    Path directory = Paths.get(args.length > 6 ? args[6] : ".");
+
+    OpeningBookBuilder builder = new OpeningBookBuilder(gameType, boardSize, maxMoves,
+            MIN_GAMES);
+    if (args.length > 7) {
+      System.out.println(builder.importGames(Paths.get(args[7])) + " games imported");
+    }
+    long startNanos = System.nanoTime();
+    SelfPlayGenerator generator = new SelfPlayGenerator(gameType, boardSize,
+            SearchBudget.ofDepth(depth), RANDOM_MOVES, System.nanoTime());
+    for (int[] moves : generator.playGames(games, threads)) {
+      builder.addGame(moves);
+    }
+    double seconds = Math.max(1, System.nanoTime() - startNanos) / 1e9;
+    System.out.printf("%d self-play games in %.1f s (%.1f games/s) on %d threads%n",
+            games, seconds, games / seconds, threads);
+
+    Files.createDirectories(directory);
+    Path file = directory.resolve(builder.getFileName());
+    int entries = builder.write(file);
+    System.out.println(entries + " of " + builder.getPositionCount()
+            + " positions saved to " + file);
+
+    OpeningBook book = OpeningBook.open(file);
+    long found = 0;
+    startNanos = System.nanoTime();
+    for (int lookup = 0; lookup < TIMED_LOOKUPS; lookup++) {
+      found += book.lookup(lookup * 0x9E3779B97F4A7C15L) >= 0 ? 1 : 0;
+    }
+    System.out.printf("%.0f ns per lookup (%d found)%n",
+            (double) (System.nanoTime() - startNanos) / TIMED_LOOKUPS, found);
+  }
+}
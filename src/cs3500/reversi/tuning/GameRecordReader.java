@@ -0,0 +1,121 @@
+package cs3500.reversi.tuning;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import cs3500.reversi.model.BoardTopology;
+
+/**
+ * Reads the games of a file written by a GameRecordWriter, one at a time and in the order they
+ * were written, without keeping more than one game in memory, so that files of any size can be
+ * read.
+ * The moves of the current game are kept in one array that is reused for every game, and so
+ * must be copied to be kept after moving on to the next game.
+ */
+public final class GameRecordReader implements Closeable {
+  private final BoardTopology topology;
+  private final DataInputStream in;
+  private final boolean singleBytes;
+  private final int[] moves;
+  private int moveCount;
+  private int result;
+
+  /**
+   * Creates a reader of the games of the given file.
+   * @param file a file written by a GameRecordWriter
+   * @throws IOException if the file can't be read
+   * @throws IllegalArgumentException if the given file is null or not a file of game records
+   */
+  public GameRecordReader(Path file) throws IOException {
+    if (file == null) {
+      throw new IllegalArgumentException("File can't be null!");
+    }
+    this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+    try {
+      if (this.in.readInt() != GameRecordWriter.MAGIC) {
+        throw new IllegalArgumentException("Not a file of game records!");
+      }
+      int shape = this.in.readUnsignedByte();
+      if (shape >= BoardTopology.Shape.values().length) {
+        throw new IllegalArgumentException("Unknown board shape!");
+      }
+      this.topology = BoardTopology.of(BoardTopology.Shape.values()[shape], this.in.readInt());
+    } catch (IOException | IllegalArgumentException e) {
+      this.in.close();
+      throw e;
+    }
+    this.singleBytes = GameRecordWriter.fitsInByte(this.topology.getCellCount());
+    this.moves = new int[this.topology.getCellCount()];
+  }
+
+  /**
+   * Returns the board of the games of the file.
+   * @return the topology of the board
+   */
+  public BoardTopology getTopology() {
+    return this.topology;
+  }
+
+  /**
+   * Moves on to the next game of the file.
+   * @return true if there was a next game, or false if the file has no more games
+   * @throws IOException if the file can't be read or ends in the middle of a game
+   * @throws IllegalArgumentException if the game has more moves than the board has cells
+   */
+  public boolean next() throws IOException {
+    int high = this.in.read();
+    if (high < 0) {
+      return false;
+    }
+    int low = this.in.read();
+    if (low < 0) {
+      throw new EOFException("File ends in the middle of a game!");
+    }
+    int count = high << 8 | low;
+    if (count > this.moves.length) {
+      throw new IllegalArgumentException("Game has more moves than the board has cells!");
+    }
+    this.result = this.in.readShort();
+    for (int move = 0; move < count; move++) {
+      this.moves[move] = this.singleBytes ? this.in.readUnsignedByte()
+              : this.in.readUnsignedShort();
+    }
+    this.moveCount = count;
+    return true;
+  }
+
+  /**
+   * Returns the moves of the current game, as the indices of the cells played on in the order
+   * they were played, of which the first getMoveCount() are the moves of the game.
+   * @return the moves of the current game, in an array reused for every game
+   */
+  public int[] getMoves() {
+    return this.moves;
+  }
+
+  /**
+   * Returns the number of moves of the current game.
+   * @return the number of moves
+   */
+  public int getMoveCount() {
+    return this.moveCount;
+  }
+
+  /**
+   * Returns the result of the current game.
+   * @return the final disc difference of the game for the player who moved first
+   */
+  public int getResult() {
+    return this.result;
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.in.close();
+  }
+}
@@ -0,0 +1,147 @@
+package cs3500.reversi.tuning;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import cs3500.reversi.model.BoardTopology;
+
+/**
+ * Appends finished games to a compact binary file of game records, which can then be read back
+ * with a GameRecordReader. A file is only ever appended to, so games from several runs can be
+ * gathered in one file, and a run that stops early leaves every game written before intact.
+ * The file starts with a header of an int that marks it as a file of game records, a byte with
+ * the ordinal of the shape of the board and an int with the side length of the board, which is
+ * written when the file is created and checked when it is appended to. Then every game takes
+ * a short with its number of moves, a short with its final disc difference for the player who
+ * moved first, and the indices of the cells played on, in the order they were played and without
+ * passes: one byte each on boards of at most 256 cells, or else two bytes each.
+ * A writer can be shared by several threads: every game is written whole.
+ */
+public final class GameRecordWriter implements Closeable {
+  /**
+   * The first int of every file of game records.
+   */
+  static final int MAGIC = 0x52564752;
+  /**
+   * The number of bytes of the header of a file of game records.
+   */
+  static final int HEADER_BYTES = 9;
+
+  private final BoardTopology topology;
+  private final DataOutputStream out;
+  private long gameCount;
+
+  /**
+   * Creates a writer of games with the given board that appends to the given file, creating
+   * the file if it doesn't exist.
+   * @param file the file to append to
+   * @param topology the board of the games
+   * @throws IOException if the file can't be created or read
+   * @throws IllegalArgumentException if the given file or topology is null, or the file
+   *                                  exists and is not a file of game records of the board
+   */
+  public GameRecordWriter(Path file, BoardTopology topology) throws IOException {
+    if (file == null || topology == null) {
+      throw new IllegalArgumentException("File and topology can't be null!");
+    }
+    boolean exists = Files.isRegularFile(file) && Files.size(file) > 0;
+    if (exists) {
+      try (GameRecordReader reader = new GameRecordReader(file)) {
+        if (reader.getTopology() != topology) {
+          throw new IllegalArgumentException("File holds games of another board!");
+        }
+      }
+    }
+    this.topology = topology;
+    this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE)));
+    if (!exists) {
+      this.out.writeInt(MAGIC);
+      this.out.writeByte(topology.getShape().ordinal());
+      this.out.writeInt(topology.getSideLength());
+    }
+  }
+
+  /**
+   * Returns whether the cells of a board with the given number of cells are written
+   * as single bytes.
+   * @param cellCount the number of cells of a board
+   * @return true if every cell index takes one byte, or false if it takes two
+   */
+  static boolean fitsInByte(int cellCount) {
+    return cellCount <= 256;
+  }
+
+  /**
+   * Returns the board of the games this writer writes.
+   * @return the topology of the board
+   */
+  public BoardTopology getTopology() {
+    return this.topology;
+  }
+
+  /**
+   * Appends one game.
+   * @param moves the indices of the cells played on, in the order they were played, starting
+   *              at the given offset
+   * @param offset the place of the first move in the array
+   * @param moveCount the number of moves of the game
+   * @param result the final disc difference of the game for the player who moved first
+   * @throws IOException if the game can't be written
+   * @throws IllegalArgumentException if the moves are not in the array, there are more moves
+   *                                  than cells, a move is not a cell of the board or the
+   *                                  result doesn't fit in a short
+   */
+  public synchronized void write(int[] moves, int offset, int moveCount, int result)
+          throws IOException {
+    if (offset < 0 || moveCount < 0 || offset + moveCount > moves.length
+            || moveCount > this.topology.getCellCount()) {
+      throw new IllegalArgumentException("Invalid moves!");
+    }
+    if (result < Short.MIN_VALUE || result > Short.MAX_VALUE) {
+      throw new IllegalArgumentException("Result out of range!");
+    }
+    boolean singleBytes = fitsInByte(this.topology.getCellCount());
+    for (int move = offset; move < offset + moveCount; move++) {
+      if (moves[move] < 0 || moves[move] >= this.topology.getCellCount()) {
+        throw new IllegalArgumentException("No cell with index " + moves[move] + "!");
+      }
+    }
+    this.out.writeShort(moveCount);
+    this.out.writeShort(result);
+    for (int move = offset; move < offset + moveCount; move++) {
+      if (singleBytes) {
+        this.out.writeByte(moves[move]);
+      } else {
+        this.out.writeShort(moves[move]);
+      }
+    }
+    this.gameCount += 1;
+  }
+
+  /**
+   * Returns the number of games written by this writer so far.
+   * @return the number of games written
+   */
+  public synchronized long getGameCount() {
+    return this.gameCount;
+  }
+
+  /**
+   * Writes every game written so far to the file.
+   * @throws IOException if the games can't be written
+   */
+  public synchronized void flush() throws IOException {
+    this.out.flush();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    this.out.close();
+  }
+}
@@ -0,0 +1,74 @@
+package cs3500.reversi.tuning;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import cs3500.reversi.model.BoardTopology;
+import cs3500.reversi.model.ModelCreator;
+import cs3500.reversi.player.HumanPlayer;
+import cs3500.reversi.strategy.SearchBudget;
+
+/**
+ * Generates a dataset of self-play games without any view: plays games between alpha-beta
+ * strategies on every processor, opening every game with random moves, and appends the moves
+ * and result of every game to a file of game records as soon as it ends.
+ * It prints how many games were written and how fast, and how much of that time the JVM spent
+ * collecting garbage.
+ */
+public final class GenerateGames {
+  // the most finished games waiting to be written
+  private static final int QUEUE_CAPACITY = 1024;
+
+  /**
+   * Runs the generation.
+   * @param args the type of game (defaults to "square_bitboard"), the board size
+   *             (defaults to 8), the number of games (defaults to 10000), the number of threads
+   *             (defaults to the number of processors), the depth the players search to
+   *             (defaults to 2), the number of random moves every game opens with (defaults
+   *             to 8) and the file to append the games to (defaults to a file named after the
+   *             board, such as "square-8.games", in the working directory)
+   * @throws IOException if the file can't be written
+   */
+  public static void main(String[] args) throws IOException {
+    ModelCreator.GameType gameType = args.length > 0
+            ? ModelCreator.GameType.valueOf(args[0].toUpperCase())
+            : ModelCreator.GameType.SQUARE_BITBOARD;
+    int boardSize = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+    int games = args.length > 2 ? Integer.parseInt(args[2]) : 10000;
+    int threads = args.length > 3 ? Integer.parseInt(args[3])
+            : Runtime.getRuntime().availableProcessors();
+    int depth = args.length > 4 ? Integer.parseInt(args[4]) : 2;
+    int randomMoves = args.length > 5 ? Integer.parseInt(args[5]) : 8;
+    BoardTopology topology = ModelCreator.create(gameType, boardSize, new HumanPlayer(),
+            new HumanPlayer()).getTopology();
+    Path file = Paths.get(args.length > 6 ? args[6]
+            : topology.getShape().name().toLowerCase() + "-" + boardSize + ".games");
+
+    SelfPlayGenerator generator = new SelfPlayGenerator(gameType, boardSize,
+            SearchBudget.ofDepth(depth), randomMoves, System.nanoTime());
+    long gcMillis = collectionMillis();
+    long startNanos = System.nanoTime();
+    long written;
+    try (GameRecordWriter writer = new GameRecordWriter(file, topology)) {
+      written = generator.stream(games, threads, writer, QUEUE_CAPACITY);
+    }
+    double seconds = Math.max(1, System.nanoTime() - startNanos) / 1e9;
+    gcMillis = collectionMillis() - gcMillis;
+    System.out.printf("%d games appended to %s in %.1f s (%.1f games/s) on %d threads%n",
+            written, file, seconds, written / seconds, threads);
+    System.out.printf("%d ms collecting garbage (%.1f%% of the time)%n", gcMillis,
+            gcMillis / seconds / 10);
+  }
+
+  // returns how long the JVM has spent collecting garbage so far, in milliseconds
+  private static long collectionMillis() {
+    long millis = 0;
+    for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+      millis += Math.max(0, collector.getCollectionTime());
+    }
+    return millis;
+  }
+}
@@ -0,0 +1,219 @@
+package cs3500.reversi.tuning;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import cs3500.reversi.model.BoardTopology;
+import cs3500.reversi.model.ModelCreator;
+import cs3500.reversi.model.ReversiModelReadWrite;
+import cs3500.reversi.player.HumanPlayer;
+import cs3500.reversi.player.Player;
+import cs3500.reversi.strategy.OpeningBook;
+
+/**
+ * Builds an opening book from game records, which are games played to the end given as the
+ * indices of the cells played on, in the order they were played, without passes (a player
+ * with no legal move passes on its own). Game records come from self-play
+ * (see SelfPlayGenerator.playGames) or are imported from a text file.
+ * For every position of the first moves of the games, the builder counts how many games played
+ * each move from it and how those games ended for the player making the move. The book plays,
+ * in every position, the move with the best mean final disc difference among the moves played
+ * by at least the given number of games, breaking ties by the number of games.
+ * Positions are counted by their canonical hash, and moves by their cell in the canonical
+ * orientation of the position, so that games that are rotations or reflections of each other
+ * add up in the same entries.
+ */
+public final class OpeningBookBuilder {
+  private final ModelCreator.GameType gameType;
+  private final int boardSize;
+  private final int maxMoves;
+  private final int minGames;
+  private final BoardTopology topology;
+  // for every position by its canonical hash, the number of games and the sum of their final
+  // disc differences for the player making the move, of every move by the index of its cell
+  // in the canonical orientation of the position
+  private final Map<Long, Map<Integer, long[]>> statistics;
+
+  /**
+   * Creates a builder of a book for games of the given type and board size, from the given
+   * number of first moves of every game, whose moves must be played by at least the given
+   * number of games to be played by the book.
+   * @param gameType the type of the games
+   * @param boardSize the board size of the games
+   * @param maxMoves the number of moves of every game to put in the book
+   * @param minGames the fewest games that must have played a move for the book to play it
+   * @throws IllegalArgumentException if the game type is null, the number of moves is
+   *                                  negative or the number of games is not positive
+   */
+  public OpeningBookBuilder(ModelCreator.GameType gameType, int boardSize, int maxMoves,
+                            int minGames) {
+    if (gameType == null || maxMoves < 0 || minGames <= 0) {
+      throw new IllegalArgumentException("Invalid game type, number of moves or of games!");
+    }
+    this.gameType = gameType;
+    this.boardSize = boardSize;
+    this.maxMoves = maxMoves;
+    this.minGames = minGames;
+    this.topology = this.newGame(new HumanPlayer(), new HumanPlayer()).getTopology();
+    this.statistics = new HashMap<>();
+  }
+
+  // creates a new game of the type and board size of the book, between the given players
+  private ReversiModelReadWrite newGame(Player player1, Player player2) {
+    return ModelCreator.create(this.gameType, this.boardSize, player1, player2);
+  }
+
+  /**
+   * Adds the given game record to the book.
+   * @param moves the indices of the cells played on, in the order they were played
+   * @throws IllegalArgumentException if a move is not legal, or the moves don't end the game
+   */
+  public void addGame(int[] moves) {
+    Player player1 = new HumanPlayer();
+    Player player2 = new HumanPlayer();
+    ReversiModelReadWrite model = this.newGame(player1, player2);
+    long[] hashes = new long[Math.min(moves.length, this.maxMoves)];
+    int[] canonicalMoves = new int[hashes.length];
+    Player[] movers = new Player[hashes.length];
+    for (int move = 0; move < moves.length; move++) {
+      if (model.isGameOver()) {
+        throw new IllegalArgumentException("Moves after the end of the game!");
+      }
+      Player turn = model.getTurn();
+      if (!model.movable(turn)) {
+        model.pass(turn);
+        turn = model.getTurn();
+      }
+      if (moves[move] < 0 || moves[move] >= this.topology.getCellCount()) {
+        throw new IllegalArgumentException("No cell with index " + moves[move] + "!");
+      }
+      if (move < hashes.length) {
+        hashes[move] = model.getCanonicalHash();
+        canonicalMoves[move] = this.topology.getSymmetry(model.getCanonicalSymmetry())[moves[move]];
+        movers[move] = turn;
+      }
+      if (!model.isLegal(turn, moves[move])) {
+        throw new IllegalArgumentException("Illegal move on cell " + moves[move] + "!");
+      }
+      model.placeIn(turn, moves[move]);
+    }
+    // the game ends once neither player can move, which takes both players passing
+    while (!model.isGameOver() && !model.movable(model.getTurn())) {
+      model.pass(model.getTurn());
+    }
+    if (!model.isGameOver()) {
+      throw new IllegalArgumentException("Game record doesn't end the game!");
+    }
+    synchronized (this.statistics) {
+      for (int move = 0; move < hashes.length; move++) {
+        Player other = movers[move] == player1 ? player2 : player1;
+        long[] moveStatistics = this.statistics.computeIfAbsent(hashes[move],
+            hash -> new HashMap<>()).computeIfAbsent(canonicalMoves[move], cell -> new long[2]);
+        moveStatistics[0] += 1;
+        moveStatistics[1] += model.getScore(movers[move]) - model.getScore(other);
+      }
+    }
+  }
+
+  /**
+   * Adds the game records of the given text file to the book: one game per line, as the
+   * indices of the cells played on separated by spaces. Empty lines and lines starting
+   * with '#' are skipped.
+   * @param records the file of game records
+   * @return the number of games added
+   * @throws IOException if the file can't be read
+   * @throws IllegalArgumentException if a line is not a game record of the games of the book
+   */
+  public int importGames(Path records) throws IOException {
+    int games = 0;
+    try (BufferedReader reader = Files.newBufferedReader(records)) {
+      for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+        line = line.trim();
+        if (line.isEmpty() || line.startsWith("#")) {
+          continue;
+        }
+        String[] cells = line.split("\\s+");
+        int[] moves = new int[cells.length];
+        try {
+          for (int move = 0; move < cells.length; move++) {
+            moves[move] = Integer.parseInt(cells[move]);
+          }
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException("Not a game record: " + line);
+        }
+        this.addGame(moves);
+        games += 1;
+      }
+    }
+    return games;
+  }
+
+  /**
+   * Returns the number of positions of the games added so far.
+   * @return the number of positions
+   */
+  public int getPositionCount() {
+    synchronized (this.statistics) {
+      return this.statistics.size();
+    }
+  }
+
+  /**
+   * Writes the book of the games added so far to the given file, replacing it if it exists.
+   * Positions with no move played by enough games are left out.
+   * @param file the file to write the book to
+   * @return the number of positions in the book
+   * @throws IOException if the file can't be written
+   */
+  public int write(Path file) throws IOException {
+    // the entries by hash, so that they are sorted as signed longs
+    TreeMap<Long, long[]> entries = new TreeMap<>();
+    synchronized (this.statistics) {
+      for (Map.Entry<Long, Map<Integer, long[]>> position : this.statistics.entrySet()) {
+        long[] best = null;
+        for (Map.Entry<Integer, long[]> move : position.getValue().entrySet()) {
+          long games = move.getValue()[0];
+          long sum = move.getValue()[1];
+          // compares the means sum / games by cross-multiplying
+          if (games >= this.minGames && (best == null || sum * best[1] > best[2] * games
+                  || (sum * best[1] == best[2] * games && games > best[1]))) {
+            best = new long[] {move.getKey(), games, sum};
+          }
+        }
+        if (best != null) {
+          entries.put(position.getKey(), best);
+        }
+      }
+    }
+    try (DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(file)))) {
+      out.writeInt(OpeningBook.MAGIC);
+      out.writeInt(this.topology.getShape().ordinal());
+      out.writeInt(this.topology.getSideLength());
+      out.writeInt(entries.size());
+      for (Map.Entry<Long, long[]> entry : entries.entrySet()) {
+        long[] best = entry.getValue();
+        out.writeLong(entry.getKey());
+        out.writeShort((int) best[0]);
+        out.writeShort((int) Math.round((double) best[2] / best[1]));
+        out.writeInt((int) Math.min(best[1], Integer.MAX_VALUE));
+      }
+    }
+    return entries.size();
+  }
+
+  /**
+   * Returns the name of the file of the book being built within a directory of books.
+   * @return the name of the file, such as "square-8.book"
+   */
+  public String getFileName() {
+    return OpeningBook.fileName(this.topology);
+  }
+}
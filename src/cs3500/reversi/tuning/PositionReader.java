@@ -0,0 +1,104 @@
+package cs3500.reversi.tuning;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import cs3500.reversi.model.BoardTopology;
+
+/**
+ * Reads the labeled positions of a file written by a PositionWriter, one at a time and in the
+ * order they were written, without keeping more than one position in memory, so that files of
+ * any size can be read.
+ * The cells of the current position are kept in one array that is reused for every position,
+ * and so must be copied to be kept after moving on to the next position.
+ */
+public final class PositionReader implements Closeable {
+  private final BoardTopology topology;
+  private final DataInputStream in;
+  private final byte[] packed;
+  private final byte[] cells;
+  private int label;
+
+  /**
+   * Creates a reader of the positions of the given file.
+   * @param file a file written by a PositionWriter
+   * @throws IOException if the file can't be read
+   * @throws IllegalArgumentException if the given file is null or not a file of positions
+   */
+  public PositionReader(Path file) throws IOException {
+    if (file == null) {
+      throw new IllegalArgumentException("File can't be null!");
+    }
+    this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+    try {
+      if (this.in.readInt() != PositionWriter.MAGIC) {
+        throw new IllegalArgumentException("Not a file of positions!");
+      }
+      int shape = this.in.readUnsignedByte();
+      if (shape >= BoardTopology.Shape.values().length) {
+        throw new IllegalArgumentException("Unknown board shape!");
+      }
+      this.topology = BoardTopology.of(BoardTopology.Shape.values()[shape], this.in.readInt());
+    } catch (IOException | IllegalArgumentException e) {
+      this.in.close();
+      throw e;
+    }
+    this.packed = new byte[PositionWriter.packedLength(this.topology.getCellCount())];
+    this.cells = new byte[this.topology.getCellCount()];
+  }
+
+  /**
+   * Returns the board of the positions of the file.
+   * @return the topology of the board
+   */
+  public BoardTopology getTopology() {
+    return this.topology;
+  }
+
+  /**
+   * Moves on to the next position of the file.
+   * @return true if there was a next position, or false if the file has no more positions
+   * @throws IOException if the file can't be read or ends in the middle of a position
+   */
+  public boolean next() throws IOException {
+    int read = this.in.readNBytes(this.packed, 0, this.packed.length);
+    if (read == 0) {
+      return false;
+    }
+    if (read < this.packed.length) {
+      throw new EOFException("File ends in the middle of a position!");
+    }
+    for (int index = 0; index < this.cells.length; index++) {
+      this.cells[index] = (byte) ((this.packed[index / 4] >> (2 * (index % 4))) & 3);
+    }
+    this.label = this.in.readShort();
+    return true;
+  }
+
+  /**
+   * Returns the cells of the current position, by the index of the cell: 0 for an empty cell,
+   * 1 for a disc of the player to move and 2 for a disc of the other player.
+   * @return the cells of the current position, in an array reused for every position
+   */
+  public byte[] getCells() {
+    return this.cells;
+  }
+
+  /**
+   * Returns the label of the current position.
+   * @return the final disc difference of the game of the position for the player to move
+   */
+  public int getLabel() {
+    return this.label;
+  }
+
+  @Override
+  public void close() throws IOException {
+    this.in.close();
+  }
+}
@@ -0,0 +1,132 @@
+package cs3500.reversi.tuning;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import cs3500.reversi.model.BoardTopology;
+
+/**
+ * Writes positions labeled by how their games ended to a compact binary file, which can then
+ * be read back with a PositionReader.
+ * The file starts with a header of an int that marks it as a file of positions, a byte with
+ * the ordinal of the shape of the board and an int with the side length of the board. Then
+ * every position takes a fixed number of bytes: the cells of the board packed four to a byte,
+ * two bits each, the first cell in the lowest bits (0 for an empty cell, 1 for a disc of the
+ * player to move and 2 for a disc of the other player), followed by a short holding the label,
+ * which is the final disc difference of the game for the player to move.
+ * A writer can be shared by several threads: every position is written whole, and a batch of
+ * positions written at once is not interleaved with positions from other threads.
+ */
+public final class PositionWriter implements Closeable {
+  /**
+   * The first int of every file of positions.
+   */
+  static final int MAGIC = 0x52565350;
+
+  private final BoardTopology topology;
+  private final DataOutputStream out;
+  // the packed cells of the position being written
+  private final byte[] packed;
+  private long positionCount;
+
+  /**
+   * Creates a writer of positions of games with the given board to the given file,
+   * replacing the file if it exists.
+   * @param file the file to write to
+   * @param topology the board of the positions
+   * @throws IOException if the file can't be created
+   * @throws IllegalArgumentException if the given file or topology is null
+   */
+  public PositionWriter(Path file, BoardTopology topology) throws IOException {
+    if (file == null || topology == null) {
+      throw new IllegalArgumentException("File and topology can't be null!");
+    }
+    this.topology = topology;
+    this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+    this.packed = new byte[packedLength(topology.getCellCount())];
+    this.out.writeInt(MAGIC);
+    this.out.writeByte(topology.getShape().ordinal());
+    this.out.writeInt(topology.getSideLength());
+  }
+
+  /**
+   * Returns the number of bytes the given number of cells take up when packed.
+   * @param cellCount the number of cells of a board
+   * @return the number of bytes of the packed cells
+   */
+  static int packedLength(int cellCount) {
+    return (cellCount + 3) / 4;
+  }
+
+  /**
+   * Returns the board of the positions this writer writes.
+   * @return the topology of the board
+   */
+  public BoardTopology getTopology() {
+    return this.topology;
+  }
+
+  /**
+   * Writes one labeled position.
+   * @param cells what is on every cell of the board, by the index of the cell: 0 for an empty
+   *              cell, 1 for a disc of the player to move and 2 for a disc of the other player
+   * @param label the final disc difference of the game for the player to move
+   * @throws IOException if the position can't be written
+   * @throws IllegalArgumentException if the cells don't fit the board or the label doesn't
+   *                                  fit in a short
+   */
+  public synchronized void write(byte[] cells, int label) throws IOException {
+    if (cells.length != this.topology.getCellCount()) {
+      throw new IllegalArgumentException("Cells don't fit the board!");
+    }
+    if (label < Short.MIN_VALUE || label > Short.MAX_VALUE) {
+      throw new IllegalArgumentException("Label out of range!");
+    }
+    Arrays.fill(this.packed, (byte) 0);
+    for (int index = 0; index < cells.length; index++) {
+      if (cells[index] < 0 || cells[index] > 2) {
+        throw new IllegalArgumentException("Invalid cell!");
+      }
+      this.packed[index / 4] |= (byte) (cells[index] << (2 * (index % 4)));
+    }
+    this.out.write(this.packed);
+    this.out.writeShort(label);
+    this.positionCount += 1;
+  }
+
+  /**
+   * Writes the given labeled positions one after another, with no position from another
+   * thread in between.
+   * @param positions the cells of every position, as given to write
+   * @param labels the label of every position
+   * @throws IOException if a position can't be written
+   * @throws IllegalArgumentException if there are not as many labels as positions,
+   *                                  or a position can't be written as given to write
+   */
+  public synchronized void writeAll(byte[][] positions, int[] labels) throws IOException {
+    if (positions.length != labels.length) {
+      throw new IllegalArgumentException("Every position needs a label!");
+    }
+    for (int position = 0; position < positions.length; position++) {
+      this.write(positions[position], labels[position]);
+    }
+  }
+
+  /**
+   * Returns the number of positions written so far.
+   * @return the number of positions written
+   */
+  public synchronized long getPositionCount() {
+    return this.positionCount;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    this.out.close();
+  }
+}
@@ -0,0 +1,343 @@
+package cs3500.reversi.tuning;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import cs3500.reversi.model.BoardTopology;
+import cs3500.reversi.model.Coordinates;
+import cs3500.reversi.model.Disc;
+import cs3500.reversi.model.ModelCreator;
+import cs3500.reversi.model.ReversiModelReadWrite;
+import cs3500.reversi.player.HumanPlayer;
+import cs3500.reversi.player.Player;
+import cs3500.reversi.strategy.AlphaBetaStrategy;
+import cs3500.reversi.strategy.SearchBudget;
+import cs3500.reversi.strategy.SearchStrategy;
+
+/**
+ * Plays games of Reversi between two alpha-beta strategies on several threads, without any
+ * view, and writes every position the strategies moved from to a file of positions, labeled
+ * by the final disc difference of its game for the player to move.
+ * So that the games don't all play alike, every game opens with a number of random moves,
+ * drawn from a random generator seeded by the seed of the generator and the number of the
+ * game, whose positions are not written. The same generator therefore plays the same games
+ * every time, though the games of different threads get written in whichever order they end.
+ * The moves of the games can also be kept as game records, to build an opening book from, or
+ * streamed to an append-only file of game records.
+ * Every thread plays its games one after another with the same players and strategies, which
+ * keep nothing from one game to the next, so that playing many games creates little garbage
+ * besides the games themselves.
+ */
+public final class SelfPlayGenerator {
+  // the number of ints before the moves in a record handed over for streaming
+  private static final int RECORD_HEADER = 2;
+  // how long the writing thread waits for a game before checking that no thread failed
+  private static final long POLL_MILLIS = 100;
+
+  private final ModelCreator.GameType gameType;
+  private final int boardSize;
+  private final SearchBudget budget;
+  private final int randomMoves;
+  private final long seed;
+
+  /**
+   * Creates a generator of games of the given type and board size, in which the strategies
+   * search within the given budget after the given number of random moves.
+   * @param gameType the type of the games
+   * @param boardSize the board size of the games
+   * @param budget how much each strategy may spend on choosing one move
+   * @param randomMoves the number of random moves every game opens with
+   * @param seed the seed of the random moves
+   * @throws IllegalArgumentException if the given game type or budget is null,
+   *                                  or the number of random moves is negative
+   */
+  public SelfPlayGenerator(ModelCreator.GameType gameType, int boardSize, SearchBudget budget,
+                           int randomMoves, long seed) {
+    if (gameType == null || budget == null) {
+      throw new IllegalArgumentException("Game type and budget can't be null!");
+    }
+    if (randomMoves < 0) {
+      throw new IllegalArgumentException("Number of random moves can't be negative!");
+    }
+    this.gameType = gameType;
+    this.boardSize = boardSize;
+    this.budget = budget;
+    this.randomMoves = randomMoves;
+    this.seed = seed;
+  }
+
+  /**
+   * Plays the given number of games on the given number of threads, and writes the positions
+   * of every game with the given writer as soon as the game ends.
+   * @param games the number of games to play
+   * @param threads the number of threads to play on
+   * @param writer the writer of the positions, for the board of the games
+   * @return the number of positions written
+   * @throws IOException if a position can't be written
+   * @throws IllegalArgumentException if the number of games is negative, the number of
+   *                                  threads is not positive, or the writer is null
+   */
+  public long generate(int games, int threads, PositionWriter writer) throws IOException {
+    if (writer == null) {
+      throw new IllegalArgumentException("Writer can't be null!");
+    }
+    AtomicLong positions = new AtomicLong();
+    this.playAll(games, threads, true, worker -> {
+      int[] labels = new int[worker.positions.size()];
+      for (int position = 0; position < labels.length; position++) {
+        labels[position] = worker.movers.get(position) == worker.player1
+                ? worker.result : -worker.result;
+      }
+      writer.writeAll(worker.positions.toArray(new byte[0][]), labels);
+      positions.addAndGet(labels.length);
+    });
+    return positions.get();
+  }
+
+  /**
+   * Plays the given number of games on the given number of threads, and returns the moves
+   * of every game, as game records for an opening book.
+   * @param games the number of games to play
+   * @param threads the number of threads to play on
+   * @return the moves of every game, in the order of the numbers of the games, each as the
+   *         indices of the cells played on, in the order they were played, without passes
+   * @throws IllegalArgumentException if the number of games is negative
+   *                                  or the number of threads is not positive
+   */
+  public List<int[]> playGames(int games, int threads) {
+    int[][] records = new int[Math.max(games, 0)][];
+    try {
+      this.playAll(games, threads, false,
+          worker -> records[worker.number] = Arrays.copyOf(worker.moves, worker.moveCount));
+    } catch (IOException e) {
+      // keeping the moves of a game never writes anything
+      throw new IllegalStateException("Self-play failed!", e);
+    }
+    return Arrays.asList(records);
+  }
+
+  /**
+   * Plays the given number of games on the given number of threads, and streams the moves and
+   * result of every game to the given writer of game records as soon as the game ends.
+   * The threads playing hand their finished games to the calling thread, which writes them,
+   * through a queue holding at most the given number of games: when the writing falls behind,
+   * the threads wait for room in the queue instead of piling games up in memory. The games are
+   * handed over in arrays that are taken back and reused once written, so streaming any number
+   * of games allocates no more memory for the records than the queue holds.
+   * @param games the number of games to play
+   * @param threads the number of threads to play on
+   * @param writer the writer of the game records, for the board of the games
+   * @param queueCapacity the most finished games waiting to be written
+   * @return the number of games written
+   * @throws IOException if a game can't be written
+   * @throws IllegalArgumentException if the number of games is negative, the number of
+   *                                  threads or the capacity of the queue is not positive,
+   *                                  or the writer is null or for another board
+   */
+  public long stream(int games, int threads, GameRecordWriter writer, int queueCapacity)
+          throws IOException {
+    if (games < 0 || threads <= 0 || queueCapacity <= 0 || writer == null) {
+      throw new IllegalArgumentException("Invalid number of games, threads or writer!");
+    }
+    BoardTopology topology = ModelCreator.create(this.gameType, this.boardSize,
+            new HumanPlayer(), new HumanPlayer()).getTopology();
+    if (writer.getTopology() != topology) {
+      throw new IllegalArgumentException("Writer is for another board!");
+    }
+    // every record holds the number of moves, the result and then the moves
+    BlockingQueue<int[]> finished = new ArrayBlockingQueue<>(queueCapacity);
+    BlockingQueue<int[]> free = new ArrayBlockingQueue<>(queueCapacity + threads);
+    for (int record = 0; record < queueCapacity + threads; record++) {
+      free.add(new int[RECORD_HEADER + topology.getCellCount()]);
+    }
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<Void>> workers = this.startWorkers(pool, games, threads, false, worker -> {
+        int[] record = free.take();
+        record[0] = worker.moveCount;
+        record[1] = worker.result;
+        System.arraycopy(worker.moves, 0, record, RECORD_HEADER, worker.moveCount);
+        finished.put(record);
+      });
+      int written = 0;
+      while (written < games) {
+        int[] record = finished.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (record == null) {
+          // a thread that failed will never hand over its games
+          for (Future<Void> worker : workers) {
+            if (worker.isDone()) {
+              await(List.of(worker));
+            }
+          }
+          continue;
+        }
+        writer.write(record, RECORD_HEADER, record[0], record[1]);
+        free.add(record);
+        written += 1;
+      }
+      await(workers);
+      return written;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Self-play got interrupted!", e);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  // plays the given number of games on the given number of threads, keeping the positions of
+  // every game if asked to, and hands every game to the given handler as soon as it ends
+  private void playAll(int games, int threads, boolean keepPositions, GameHandler handler)
+          throws IOException {
+    if (games < 0 || threads <= 0) {
+      throw new IllegalArgumentException("Invalid number of games or threads!");
+    }
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      await(this.startWorkers(pool, games, threads, keepPositions, handler));
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  // starts the given number of workers in the given pool, which take turns at playing the
+  // given number of games and hand every game to the given handler as soon as it ends
+  private List<Future<Void>> startWorkers(ExecutorService pool, int games, int threads,
+                                          boolean keepPositions, GameHandler handler) {
+    AtomicInteger nextGame = new AtomicInteger();
+    List<Future<Void>> workers = new ArrayList<>();
+    for (int thread = 0; thread < threads; thread++) {
+      workers.add(pool.submit(() -> {
+        Worker worker = new Worker(keepPositions);
+        for (int number = nextGame.getAndIncrement(); number < games;
+             number = nextGame.getAndIncrement()) {
+          worker.play(number);
+          handler.handle(worker);
+        }
+        return null;
+      }));
+    }
+    return workers;
+  }
+
+  // waits for the given workers to finish, throwing what made any of them fail
+  private static void await(List<Future<Void>> workers) throws IOException {
+    try {
+      for (Future<Void> worker : workers) {
+        worker.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Self-play got interrupted!", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IllegalStateException("Self-play failed!", e.getCause());
+    }
+  }
+
+  // returns what is on each of the given number of cells of the given game: 0 for an empty
+  // cell, 1 for the given disc of the player to move and 2 for a disc of the other player
+  private static byte[] cellsOf(ReversiModelReadWrite model, Disc own, int cellCount) {
+    byte[] cells = new byte[cellCount];
+    for (int index = 0; index < cells.length; index++) {
+      Disc disc = model.discAt(index);
+      cells[index] = (byte) (disc == null ? 0 : disc == own ? 1 : 2);
+    }
+    return cells;
+  }
+
+  /**
+   * Plays games one after another on one thread, reusing its players, strategies and buffers
+   * for every game, and holds the last game it played: its moves, its result, and the positions
+   * the strategies moved from if it keeps them.
+   */
+  private final class Worker {
+    private final boolean keepPositions;
+    private final Player player1;
+    private final Player player2;
+    private final SearchStrategy strategy1;
+    private final SearchStrategy strategy2;
+    private final List<byte[]> positions;
+    private final List<Player> movers;
+    private final List<Coordinates> legalMoves;
+    private int[] moves;
+    private int number;
+    private int moveCount;
+    // the final disc difference of the game for the first player
+    private int result;
+
+    // creates a worker that keeps the positions of its games if asked to
+    private Worker(boolean keepPositions) {
+      this.keepPositions = keepPositions;
+      this.player1 = new HumanPlayer();
+      this.player2 = new HumanPlayer();
+      this.strategy1 = new AlphaBetaStrategy(budget);
+      this.strategy2 = new AlphaBetaStrategy(budget);
+      this.positions = new ArrayList<>();
+      this.movers = new ArrayList<>();
+      this.legalMoves = new ArrayList<>();
+      this.moves = new int[0];
+    }
+
+    // plays the game with the given number to the end
+    private void play(int number) {
+      Random random = new Random(seed * 31 + number);
+      ReversiModelReadWrite model = ModelCreator.create(gameType, boardSize,
+              this.player1, this.player2);
+      BoardTopology topology = model.getTopology();
+      if (this.moves.length < topology.getCellCount()) {
+        this.moves = new int[topology.getCellCount()];
+      }
+      this.number = number;
+      this.moveCount = 0;
+      this.positions.clear();
+      this.movers.clear();
+      for (int move = 0; !model.isGameOver(); move++) {
+        Player turn = model.getTurn();
+        this.legalMoves.clear();
+        this.legalMoves.addAll(model.getLegalMoves(turn).keySet());
+        if (this.legalMoves.isEmpty()) {
+          model.pass(turn);
+          continue;
+        }
+        Coordinates choice;
+        if (move < randomMoves) {
+          choice = this.legalMoves.get(random.nextInt(this.legalMoves.size()));
+        } else {
+          if (this.keepPositions) {
+            this.positions.add(cellsOf(model, model.getDiscOf(turn), topology.getCellCount()));
+            this.movers.add(turn);
+          }
+          SearchStrategy strategy = turn == this.player1 ? this.strategy1 : this.strategy2;
+          choice = strategy.chooseMove(model, turn).orElse(this.legalMoves.get(0));
+        }
+        this.moves[this.moveCount] = topology.indexOf(choice);
+        this.moveCount += 1;
+        model.placeIn(turn, choice);
+      }
+      this.result = model.getScore(this.player1) - model.getScore(this.player2);
+    }
+  }
+
+  /**
+   * Handles games as soon as they end.
+   */
+  private interface GameHandler {
+    // handles the last game played by the given worker
+    void handle(Worker worker) throws IOException, InterruptedException;
+  }
+}
@@ -0,0 +1,79 @@
+package cs3500.reversi.tuning;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import cs3500.reversi.model.ModelCreator;
+import cs3500.reversi.player.HumanPlayer;
+import cs3500.reversi.strategy.PatternEvaluator;
+import cs3500.reversi.strategy.SearchBudget;
+
+/**
+ * Tunes the weights of the pattern evaluator of one board by self-play, without any view:
+ * plays games between alpha-beta strategies on several threads, writing their positions to a
+ * file of positions, then fits the weights to that file and saves them to a file of weights
+ * named after the board (such as "square-8.weights") in the output directory. Machine players
+ * load the weights at startup when run with the system property "cs3500.reversi.weights" set
+ * to that directory. The file of positions is kept next to the weights, so that it can be
+ * tuned on again.
+ * It prints how fast the games were played, and the mean squared error of the evaluation
+ * against the final disc differences before and after tuning.
+ */
+public final class SelfPlayTuning {
+  // the number of random moves every game opens with
+  private static final int RANDOM_MOVES = 6;
+  // the number of positions of a batch of the gradient descent
+  private static final int BATCH_SIZE = 256;
+  // how far the weights move toward the labels after every batch
+  private static final double LEARNING_RATE = 0.5;
+
+  /**
+   * Runs the self-play and the tuning.
+   * @param args the type of game (defaults to "square_bitboard"), the board size
+   *             (defaults to 8), the number of games (defaults to 1000), the number of threads
+   *             (defaults to the number of processors), the depth the players search to
+   *             (defaults to 4), the number of passes over the positions (defaults to 20)
+   *             and the output directory (defaults to the working directory)
+   * @throws IOException if a file can't be written or read
+   */
+  public static void main(String[] args) throws IOException {
+    ModelCreator.GameType gameType = args.length > 0
+            ? ModelCreator.GameType.valueOf(args[0].toUpperCase())
+            : ModelCreator.GameType.SQUARE_BITBOARD;
+    int boardSize = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+    int games = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+    int threads = args.length > 3 ? Integer.parseInt(args[3])
+            : Runtime.getRuntime().availableProcessors();
+    int depth = args.length > 4 ? Integer.parseInt(args[4]) : 4;
+    int epochs = args.length > 5 ? Integer.parseInt(args[5]) : 20;
+    Path directory = Paths.get(args.length > 6 ? args[6] : ".");
+
+    PatternEvaluator evaluator = new PatternEvaluator(ModelCreator.create(gameType, boardSize,
+            new HumanPlayer(), new HumanPlayer()));
+    Files.createDirectories(directory);
+    Path positions = directory.resolve(evaluator.getWeightsFileName()
+            .replace(".weights", ".positions"));
+    SelfPlayGenerator generator = new SelfPlayGenerator(gameType, boardSize,
+            SearchBudget.ofDepth(depth), RANDOM_MOVES, System.nanoTime());
+    long startNanos = System.nanoTime();
+    long positionCount;
+    try (PositionWriter writer = new PositionWriter(positions, evaluator.getTopology())) {
+      positionCount = generator.generate(games, threads, writer);
+    }
+    double seconds = Math.max(1, System.nanoTime() - startNanos) / 1e9;
+    System.out.printf("%d games, %d positions in %.1f s (%.1f games/s) on %d threads%n",
+            games, positionCount, seconds, games / seconds, threads);
+
+    System.out.printf("mean squared error before tuning: %.2f%n",
+            WeightTuner.meanSquaredError(evaluator, positions));
+    PatternEvaluator tuned = new WeightTuner(BATCH_SIZE, LEARNING_RATE)
+            .tune(evaluator, positions, epochs);
+    System.out.printf("mean squared error after %d epochs: %.2f%n", epochs,
+            WeightTuner.meanSquaredError(tuned, positions));
+    Path weights = directory.resolve(tuned.getWeightsFileName());
+    tuned.save(weights);
+    System.out.println("weights saved to " + weights);
+  }
+}
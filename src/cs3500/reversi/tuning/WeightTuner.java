@@ -0,0 +1,220 @@
+package cs3500.reversi.tuning;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import cs3500.reversi.strategy.PatternEvaluator;
+import cs3500.reversi.strategy.PatternEvaluator.PatternKind;
+
+/**
+ * Fits the weights of a pattern evaluator to a file of labeled positions with batched gradient
+ * descent, reading the file again for every pass (epoch) rather than keeping it in memory.
+ * The weights are fitted so that the evaluation the search gives a position, which is its
+ * disc difference plus the sum of the weights of its patterns, predicts the final disc
+ * difference of its game, by the least squared error.
+ * After every batch of positions, every weight read by a position of the batch moves against
+ * the errors of the positions that read it, by the learning rate and shared out among the
+ * patterns of a position. The errors are averaged as if every weight had been read 16 more
+ * times without error, so that weights read by few positions, whose errors are mostly noise,
+ * move less. Weights read by no position keep the weights they started with, which includes
+ * the weights of corner regions that the evaluator reads under their transposes instead.
+ */
+public final class WeightTuner {
+  // the number of reads without error added to the reads of every weight in a batch
+  private static final int PRIOR_READS = 16;
+
+  private final int batchSize;
+  private final double learningRate;
+
+  /**
+   * Creates a tuner that moves the weights after every batch of the given number of positions
+   * by the given learning rate.
+   * @param batchSize the number of positions of a batch
+   * @param learningRate how far the weights move toward the labels after every batch,
+   *                     above 0 and at most 1
+   * @throws IllegalArgumentException if the batch size is not positive or the learning rate
+   *                                  is not above 0 and at most 1
+   */
+  public WeightTuner(int batchSize, double learningRate) {
+    if (batchSize <= 0 || !(learningRate > 0 && learningRate <= 1)) {
+      throw new IllegalArgumentException("Invalid batch size or learning rate!");
+    }
+    this.batchSize = batchSize;
+    this.learningRate = learningRate;
+  }
+
+  /**
+   * Fits the weights of the given evaluator to the positions of the given file, passing over
+   * the file the given number of times.
+   * @param start the evaluator with the patterns and the weights to start from
+   * @param positions a file written by a PositionWriter, for the board of the evaluator
+   * @param epochs the number of passes over the file
+   * @return an evaluator with the patterns of the given evaluator and the fitted weights
+   * @throws IOException if the file can't be read
+   * @throws IllegalArgumentException if the file is for another board,
+   *                                  or the number of epochs is negative
+   */
+  public PatternEvaluator tune(PatternEvaluator start, Path positions, int epochs)
+          throws IOException {
+    if (epochs < 0) {
+      throw new IllegalArgumentException("Number of epochs can't be negative!");
+    }
+    Patterns patterns = new Patterns(start);
+    double[][] weights = new double[PatternKind.values().length][];
+    double[][] errorSums = new double[weights.length][];
+    int[][] reads = new int[weights.length][];
+    for (PatternKind kind : PatternKind.values()) {
+      if (start.getTableSize(kind) > 0) {
+        weights[kind.ordinal()] = Arrays.stream(start.getWeights(kind)).asDoubleStream()
+                .toArray();
+        errorSums[kind.ordinal()] = new double[start.getTableSize(kind)];
+        reads[kind.ordinal()] = new int[start.getTableSize(kind)];
+      }
+    }
+    int[] numbers = new int[start.getPatternCount()];
+    for (int epoch = 0; epoch < epochs; epoch++) {
+      try (PositionReader reader = open(positions, start)) {
+        int inBatch = 0;
+        while (reader.next()) {
+          patterns.read(reader.getCells(), numbers);
+          double error = predict(patterns, weights, numbers, reader.getCells())
+                  - reader.getLabel() * PatternEvaluator.WEIGHT_SCALE;
+          for (int pattern = 0; pattern < numbers.length; pattern++) {
+            errorSums[patterns.kinds[pattern]][numbers[pattern]] += error;
+            reads[patterns.kinds[pattern]][numbers[pattern]] += 1;
+          }
+          inBatch += 1;
+          if (inBatch == this.batchSize) {
+            this.step(weights, errorSums, reads, numbers.length);
+            inBatch = 0;
+          }
+        }
+        this.step(weights, errorSums, reads, numbers.length);
+      }
+    }
+    PatternEvaluator tuned = start;
+    for (PatternKind kind : PatternKind.values()) {
+      if (weights[kind.ordinal()] != null) {
+        tuned = tuned.withWeights(kind, Arrays.stream(weights[kind.ordinal()])
+                .mapToInt(weight -> (int) Math.round(weight)).toArray());
+      }
+    }
+    return tuned;
+  }
+
+  // moves every weight read in the batch against the errors of the positions that read it,
+  // and clears the errors and reads of the batch
+  private void step(double[][] weights, double[][] errorSums, int[][] reads, int patternCount) {
+    for (int kind = 0; kind < weights.length; kind++) {
+      if (weights[kind] == null) {
+        continue;
+      }
+      for (int number = 0; number < weights[kind].length; number++) {
+        if (reads[kind][number] > 0) {
+          weights[kind][number] -= this.learningRate * errorSums[kind][number]
+                  / (reads[kind][number] + PRIOR_READS) / patternCount;
+          errorSums[kind][number] = 0;
+          reads[kind][number] = 0;
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the mean squared error, in discs squared, of the evaluations the given evaluator
+   * gives the positions of the given file against their labels.
+   * @param evaluator the evaluator to measure
+   * @param positions a file written by a PositionWriter, for the board of the evaluator
+   * @return the mean squared error, or 0 if the file has no positions
+   * @throws IOException if the file can't be read
+   * @throws IllegalArgumentException if the file is for another board
+   */
+  public static double meanSquaredError(PatternEvaluator evaluator, Path positions)
+          throws IOException {
+    Patterns patterns = new Patterns(evaluator);
+    double[][] weights = new double[PatternKind.values().length][];
+    for (PatternKind kind : PatternKind.values()) {
+      if (evaluator.getTableSize(kind) > 0) {
+        weights[kind.ordinal()] = Arrays.stream(evaluator.getWeights(kind)).asDoubleStream()
+                .toArray();
+      }
+    }
+    int[] numbers = new int[evaluator.getPatternCount()];
+    double squaredErrors = 0;
+    long count = 0;
+    try (PositionReader reader = open(positions, evaluator)) {
+      while (reader.next()) {
+        patterns.read(reader.getCells(), numbers);
+        double error = predict(patterns, weights, numbers, reader.getCells())
+                / PatternEvaluator.WEIGHT_SCALE - reader.getLabel();
+        squaredErrors += error * error;
+        count += 1;
+      }
+    }
+    return count == 0 ? 0 : squaredErrors / count;
+  }
+
+  // opens a reader of the given file of positions, which must be for the board of the
+  // given evaluator
+  private static PositionReader open(Path positions, PatternEvaluator evaluator)
+          throws IOException {
+    PositionReader reader = new PositionReader(positions);
+    if (reader.getTopology() != evaluator.getTopology()) {
+      reader.close();
+      throw new IllegalArgumentException("Positions are for another board!");
+    }
+    return reader;
+  }
+
+  // returns the final disc difference predicted for the given position with the given weights
+  // and the given numbers read from its patterns, in weights rather than discs
+  private static double predict(Patterns patterns, double[][] weights, int[] numbers,
+                                byte[] cells) {
+    double prediction = 0;
+    for (int cell : cells) {
+      prediction += cell == 1 ? PatternEvaluator.WEIGHT_SCALE
+              : cell == 2 ? -PatternEvaluator.WEIGHT_SCALE : 0;
+    }
+    for (int pattern = 0; pattern < numbers.length; pattern++) {
+      prediction += weights[patterns.kinds[pattern]][numbers[pattern]];
+    }
+    return prediction;
+  }
+
+  /**
+   * The cells and kinds of the patterns of an evaluator, for reading the patterns of positions
+   * given as cells, in the same way as the evaluator reads them from a game.
+   */
+  private static final class Patterns {
+    private final PatternEvaluator evaluator;
+    private final int[][] cells;
+    // the ordinal of the kind of every pattern
+    private final int[] kinds;
+
+    // gets the patterns of the given evaluator
+    private Patterns(PatternEvaluator evaluator) {
+      this.evaluator = evaluator;
+      this.cells = new int[evaluator.getPatternCount()][];
+      this.kinds = new int[evaluator.getPatternCount()];
+      for (int pattern = 0; pattern < this.cells.length; pattern++) {
+        this.cells[pattern] = evaluator.getPatternCells(pattern);
+        this.kinds[pattern] = evaluator.getKind(pattern).ordinal();
+      }
+    }
+
+    // reads the number of every pattern of the position with the given cells into the given
+    // array of numbers, in base 3 with the first cell of a pattern its most significant digit,
+    // as the number the evaluator finds its weight under, so that a corner region and its
+    // transpose train the one weight they share
+    private void read(byte[] position, int[] numbers) {
+      for (int pattern = 0; pattern < this.cells.length; pattern++) {
+        int number = 0;
+        for (int cell : this.cells[pattern]) {
+          number = number * 3 + position[cell];
+        }
+        numbers[pattern] = this.evaluator.canonicalNumber(pattern, number);
+      }
+    }
+  }
+}
@@ -18,7 +18,6 @@ import java.util.Optional;
 import javax.swing.JPanel;
 import javax.swing.event.MouseInputAdapter;
 
-import cs3500.reversi.model.Cell;
 import cs3500.reversi.model.Coordinates;
 import cs3500.reversi.model.Disc;
 import cs3500.reversi.model.ReversiModelReadOnly;
@@ -203,11 +202,11 @@ public abstract class AbstractGameScreen extends JPanel implements ReversiPanel
     g2d.drawString(this.gameStateDescription, 10, 20);
   }
 
-  // record the shape and location of the disc on the given cell if there is any
-  protected void recordDiscOnCell(Map<Shape, Color> discsOnBoard, Cell cell,
+  // record the shape and location of the given disc on a cell if there is any
+  protected void recordDiscOnCell(Map<Shape, Color> discsOnBoard, Disc discOnCell,
                                   double centerX, double centerY) {
-    if (!cell.isEmpty() && this.discColorMap.containsKey(cell.getDisc())) {
-      Color discColor = this.discColorMap.get(cell.getDisc());
+    if (discOnCell != null && this.discColorMap.containsKey(discOnCell)) {
+      Color discColor = this.discColorMap.get(discOnCell);
       Ellipse2D.Double disc = new Ellipse2D.Double(centerX - this.discRadius,
               centerY - this.discRadius, this.discRadius * 2, this.discRadius * 2);
       discsOnBoard.put(disc, discColor);
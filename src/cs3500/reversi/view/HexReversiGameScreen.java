@@ -7,11 +7,10 @@ import java.awt.Graphics2D;
 import java.awt.Shape;
 import java.awt.geom.Path2D;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
-import cs3500.reversi.model.Cell;
+import cs3500.reversi.model.BoardTopology;
 import cs3500.reversi.model.Coordinates;
 import cs3500.reversi.model.ReversiModelReadOnly;
 
@@ -87,24 +86,27 @@ public class HexReversiGameScreen extends AbstractGameScreen {
     g2d.fillRect(0, 0 , getBounds().width, getBounds().height);
   }
 
-  // updates the current board state
+  // updates the current board state, reading the discs straight from the model
+  // without copying the board
   private void updateCurrentBoard() {
-    List<List<Cell>> board = this.model.getBoard();
+    BoardTopology topology = this.model.getTopology();
     Map<Shape, Coordinates> hexagonalBoard = new HashMap<>();
     Map<Shape, Color> discsOnBoard = new HashMap<>();
     int boardSideLength = this.model.getBoardSideLength();
     double hexagonCellWidth = this.getHexagonWidth(this.hexagonCellCenterToTopSize);
 
-    for (int rowNum = 0; rowNum < board.size(); rowNum++) {
+    for (int rowNum = 0; rowNum < topology.getRowCount(); rowNum++) {
       double currentRowYLocation = (rowNum * 3.0 / 2.0 + 1) * this.hexagonCellCenterToTopSize;
-      List<Cell> row = board.get(rowNum);
-      for (int locInRow = 0; locInRow < row.size(); locInRow++) {
-        Cell currentCell = row.get(locInRow);
+      int rowStart = topology.getRowStart(rowNum);
+      for (int locInRow = 0; locInRow < topology.getRowLength(rowNum); locInRow++) {
+        int index = rowStart + locInRow;
         double currentRowXOffset = hexagonCellWidth / 2 * Math.abs(rowNum - (boardSideLength - 1));
         double currentCellXLocation = currentRowXOffset + (locInRow + 0.5) * hexagonCellWidth;
 
-        recordCellShapes(hexagonalBoard, currentCell, currentCellXLocation, currentRowYLocation);
-        recordDiscOnCell(discsOnBoard, currentCell, currentCellXLocation, currentRowYLocation);
+        recordCellShapes(hexagonalBoard, topology, index, currentCellXLocation,
+                currentRowYLocation);
+        recordDiscOnCell(discsOnBoard, this.model.discAt(index), currentCellXLocation,
+                currentRowYLocation);
       }
     }
     // only when the cells in board haven't been initialized yet will we need to change this.cells
@@ -114,14 +116,14 @@ public class HexReversiGameScreen extends AbstractGameScreen {
     this.discs = discsOnBoard;
   }
 
-  // record the shape of the given cell
-  private void recordCellShapes(Map<Shape, Coordinates> hexagonalBoard, Cell currentCell,
-                                double centerX, double centerY) {
+  // record the shape of the cell of the given index
+  private void recordCellShapes(Map<Shape, Coordinates> hexagonalBoard, BoardTopology topology,
+                                int index, double centerX, double centerY) {
     // only when the cells in board haven't been initialized yet will we need to create them
     if (this.cells.isEmpty()) {
       Shape hexagonCell = this.createPointyTopHexagon(centerX, centerY,
               this.hexagonCellCenterToTopSize);
-      hexagonalBoard.put(hexagonCell, currentCell.getCoordinates());
+      hexagonalBoard.put(hexagonCell, topology.getCoordinates(index));
     }
   }
 
@@ -48,7 +48,7 @@ public class ReversiGUI extends JFrame implements ReversiFrame {
   private AbstractGameScreen createGamePanel(ReversiModelReadOnly model,
                                              ModelCreator.GameType gameType) {
     AbstractGameScreen panel;
-    if (gameType == ModelCreator.GameType.HEX) {
+    if (gameType == ModelCreator.GameType.HEX || gameType == ModelCreator.GameType.HEX_BITSET) {
       panel = new ReversiScreenWithHint(model);
     } else {
       panel = new SquareReversiGameScreen(model);
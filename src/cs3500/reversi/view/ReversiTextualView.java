@@ -4,7 +4,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-import cs3500.reversi.model.Cell;
+import cs3500.reversi.model.BoardTopology;
 import cs3500.reversi.model.Disc;
 import cs3500.reversi.model.ReversiModelReadOnly;
 import cs3500.reversi.player.PlayerActionFeatures;
@@ -42,17 +42,16 @@ public class ReversiTextualView implements ReversiView, ReversiFrame {
   @Override
   public String toString() {
     StringBuilder builder = new StringBuilder();
-    List<List<Cell>> board = this.model.getBoard();
-    this.boardToString(board, builder);
+    this.boardToString(builder);
     return builder.toString();
   }
 
-  // append a textual representation of the given board to the given StringBuilder
-  private void boardToString(List<List<Cell>> board, StringBuilder builder) {
+  // append a textual representation of the board of the model to the given StringBuilder,
+  // reading the discs straight from the model without copying the board
+  private void boardToString(StringBuilder builder) {
+    BoardTopology topology = this.model.getTopology();
     int boardSize = this.model.getBoardSideLength();
-    for (int rowNum = 0; rowNum < board.size(); rowNum++) {
-      List<Cell> row = board.get(rowNum);
-
+    for (int rowNum = 0; rowNum < topology.getRowCount(); rowNum++) {
       // if this is not the first row of cells in the board,
       // then append a new line to it to separate it with the row in front of it
       if (rowNum != 0) {
@@ -62,34 +61,33 @@ public class ReversiTextualView implements ReversiView, ReversiFrame {
       // append empty spaces in front of the row when the row is not the widest row
       builder.append(" ".repeat(Math.abs(rowNum - (boardSize - 1))));
 
-      this.rowToString(row, builder);
+      this.rowToString(topology.getRowStart(rowNum), topology.getRowLength(rowNum), builder);
     }
   }
 
-  // append a textual representation of the given row to the given StringBuilder
-  private void rowToString(List<Cell> row, StringBuilder builder) {
-    int numCellsInRow = row.size();
+  // append a textual representation of the row of the given number of cells starting from
+  // the cell of the given index to the given StringBuilder
+  private void rowToString(int rowStart, int numCellsInRow, StringBuilder builder) {
     for (int cellNum = 0; cellNum < numCellsInRow; cellNum++) {
-      Cell cell = row.get(cellNum);
       // if this is not the first cell in the current row,
       // then append a space before it to separate it with the cell in front of it
       if (cellNum != 0) {
         builder.append(" ");
       }
-      this.cellToString(cell, builder);
+      this.cellToString(this.model.discAt(rowStart + cellNum), builder);
     }
   }
 
-  // append the textual representation for the given cell to the given StringBuilder,
+  // append the textual representation for the given disc on a cell to the given StringBuilder,
   // with _ represents an empty cell,
   // X represents a cell with a Black disc,
   // O represents a cell with a White disc,
-  private void cellToString(Cell cell, StringBuilder builder) {
-    if (cell.isEmpty()) {
+  private void cellToString(Disc disc, StringBuilder builder) {
+    if (disc == null) {
       builder.append("_");
-    } else if (cell.getDisc() == Disc.BLACK) {
+    } else if (disc == Disc.BLACK) {
       builder.append("X");
-    } else if (cell.getDisc() == Disc.WHITE) {
+    } else if (disc == Disc.WHITE) {
       builder.append("O");
     }
   }
@@ -7,11 +7,10 @@ import java.awt.Graphics2D;
 import java.awt.Shape;
 import java.awt.geom.Path2D;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
-import cs3500.reversi.model.Cell;
+import cs3500.reversi.model.BoardTopology;
 import cs3500.reversi.model.Coordinates;
 import cs3500.reversi.model.ReversiModelReadOnly;
 
@@ -73,22 +72,25 @@ public class SquareReversiGameScreen extends AbstractGameScreen {
     drawDiscs(g2d);
   }
 
-  // updates the current board state
+  // updates the current board state, reading the discs straight from the model
+  // without copying the board
   private void updateCurrentBoard() {
-    List<List<Cell>> board = this.model.getBoard();
+    BoardTopology topology = this.model.getTopology();
     Map<Shape, Coordinates> squareBoard = new HashMap<>();
     Map<Shape, Color> discsOnBoard = new HashMap<>();
     int boardSideLength = this.model.getBoardSideLength();
 
     for (int rowNum = 0; rowNum < boardSideLength; rowNum++) {
-      List<Cell> row = board.get(rowNum);
+      int rowStart = topology.getRowStart(rowNum);
       double currentRowYLocation = (rowNum + 0.5) * this.cellSize;
 
       for (int colNum = 0; colNum < boardSideLength; colNum++) {
-        Cell currentCell = row.get(colNum);
+        int index = rowStart + colNum;
         double currentCellXLocation = (colNum + 0.5) * this.cellSize;
-        recordCellShapes(squareBoard, currentCell, currentCellXLocation, currentRowYLocation);
-        recordDiscOnCell(discsOnBoard, currentCell, currentCellXLocation, currentRowYLocation);
+        recordCellShapes(squareBoard, topology, index, currentCellXLocation,
+                currentRowYLocation);
+        recordDiscOnCell(discsOnBoard, this.model.discAt(index), currentCellXLocation,
+                currentRowYLocation);
       }
     }
     // only when the cells in board haven't been initialized yet will we need to change this.cells
@@ -98,13 +100,13 @@ public class SquareReversiGameScreen extends AbstractGameScreen {
     this.discs = discsOnBoard;
   }
 
-  // record the shape of the given cell
-  private void recordCellShapes(Map<Shape, Coordinates> hexagonalBoard, Cell currentCell,
-                                double centerX, double centerY) {
+  // record the shape of the cell of the given index
+  private void recordCellShapes(Map<Shape, Coordinates> squareBoard, BoardTopology topology,
+                                int index, double centerX, double centerY) {
     // only when the cells in board haven't been initialized yet will we need to create them
     if (this.cells.isEmpty()) {
       Shape squareCell = this.createSquareCell(centerX, centerY, this.cellSize);
-      hexagonalBoard.put(squareCell, currentCell.getCoordinates());
+      squareBoard.put(squareCell, topology.getCoordinates(index));
     }
   }
 
@@ -0,0 +1,354 @@
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import cs3500.reversi.model.BitboardSquareReversi;
+import cs3500.reversi.model.BitsetHexReversi;
+import cs3500.reversi.model.BoardTopology;
+import cs3500.reversi.model.Cell;
+import cs3500.reversi.model.Coordinates;
+import cs3500.reversi.model.CubeCoordinates;
+import cs3500.reversi.model.Disc;
+import cs3500.reversi.model.HexReversi;
+import cs3500.reversi.model.ModelCreator;
+import cs3500.reversi.model.ReversiModelReadOnly;
+import cs3500.reversi.model.ReversiModelReadWrite;
+import cs3500.reversi.model.ReversiSearchModel;
+import cs3500.reversi.model.RowColumnCoordinates;
+import cs3500.reversi.model.Scores;
+import cs3500.reversi.model.SquareReversi;
+import cs3500.reversi.model.UndoRecord;
+import cs3500.reversi.player.HumanPlayer;
+import cs3500.reversi.player.Player;
+
+/**
+ * A test class for the bitboard square model and the bitset hex model, checking that they play
+ * exactly the same games as the square and hex models that keep rows of cells.
+ */
+public class BitboardModelTests {
+  private Player player1;
+  private Player player2;
+
+  @Before
+  public void setup() {
+    player1 = new HumanPlayer();
+    player2 = new HumanPlayer();
+  }
+
+  @Test
+  public void testInvalidBoardSizes() {
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new BitboardSquareReversi(2, player1, player2));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new BitboardSquareReversi(5, player1, player2));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new BitboardSquareReversi(10, player1, player2));
+  }
+
+  @Test
+  public void testCreatedByModelCreator() {
+    ReversiModelReadWrite model = ModelCreator.create(ModelCreator.GameType.SQUARE_BITBOARD,
+            8, player1, player2);
+    Assert.assertTrue(model instanceof BitboardSquareReversi);
+  }
+
+  @Test
+  public void testPlaceInitialDiscs() {
+    BitboardSquareReversi game = new BitboardSquareReversi(8, player1, player2);
+    Assert.assertEquals(Disc.WHITE, game.getCellInBoard(new RowColumnCoordinates(3,4)).getDisc());
+    Assert.assertEquals(Disc.WHITE, game.getCellInBoard(new RowColumnCoordinates(4,3)).getDisc());
+    Assert.assertEquals(Disc.BLACK, game.getCellInBoard(new RowColumnCoordinates(3, 3)).getDisc());
+    Assert.assertEquals(Disc.BLACK, game.getCellInBoard(new RowColumnCoordinates(4, 4)).getDisc());
+    Assert.assertEquals(2, game.getScore(player1));
+    Assert.assertEquals(2, game.getScore(player2));
+  }
+
+  @Test
+  public void testPlaceInFlipsDiscs() {
+    BitboardSquareReversi game = new BitboardSquareReversi(8, player1, player2);
+    Coordinates move = new RowColumnCoordinates(2, 3);
+    Assert.assertEquals(1, game.scoreEarnedByPlaceIn(player1, move));
+    Assert.assertEquals(0, game.scoreEarnedByPlaceIn(player1, new RowColumnCoordinates(0, 0)));
+    game.placeIn(player1, move);
+    Assert.assertEquals(Disc.WHITE, game.getCellInBoard(new RowColumnCoordinates(3, 3)).getDisc());
+    Assert.assertEquals(4, game.getScore(player1));
+    Assert.assertEquals(1, game.getScore(player2));
+    Assert.assertEquals(player2, game.getTurn());
+  }
+
+  @Test
+  public void testIllegalMoves() {
+    BitboardSquareReversi game = new BitboardSquareReversi(4, player1, player2);
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> game.placeIn(player1, new RowColumnCoordinates(0, 0)));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> game.placeIn(player1, new RowColumnCoordinates(1, 1)));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> game.placeIn(player1, new RowColumnCoordinates(4, 0)));
+    Assert.assertThrows(IllegalStateException.class,
+        () -> game.placeIn(player2, new RowColumnCoordinates(0, 1)));
+  }
+
+  @Test
+  public void testSameGamesAsSquareReversi() {
+    Random random = new Random(3500);
+    for (int boardSize = 4; boardSize <= 8; boardSize += 2) {
+      for (int game = 0; game < 20; game++) {
+        this.playSameRandomGame(new SquareReversi(boardSize, player1, player2),
+                new BitboardSquareReversi(boardSize, player1, player2), random);
+      }
+    }
+  }
+
+  @Test
+  public void testHexBitsetInvalidBoardSize() {
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new BitsetHexReversi(2, player1, player2));
+  }
+
+  @Test
+  public void testHexBitsetCreatedByModelCreator() {
+    ReversiModelReadWrite model = ModelCreator.create(ModelCreator.GameType.HEX_BITSET,
+            6, player1, player2);
+    Assert.assertTrue(model instanceof BitsetHexReversi);
+  }
+
+  @Test
+  public void testHexBitsetInitialDiscsAndCorners() {
+    BitsetHexReversi game = new BitsetHexReversi(4, player1, player2);
+    HexReversi expected = new HexReversi(4, player1, player2);
+    this.assertSameBoard(expected, game);
+    Assert.assertEquals(expected.getCorners(), game.getCorners());
+    Assert.assertEquals(3, game.getScore(player1));
+    Assert.assertEquals(3, game.getScore(player2));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> game.getCellInBoard(new CubeCoordinates(3, 1)));
+  }
+
+  @Test
+  public void testHexBitsetLargeBoard() {
+    BitsetHexReversi game = new BitsetHexReversi(24, player1, player2);
+    Assert.assertEquals(47, game.getBoard().size());
+    Assert.assertTrue(game.movable(player1));
+    Assert.assertEquals(1, game.scoreEarnedByPlaceIn(player1, new CubeCoordinates(1, -2)));
+    game.placeIn(player1, new CubeCoordinates(1, -2));
+    Assert.assertEquals(5, game.getScore(player1));
+    Assert.assertEquals(2, game.getScore(player2));
+  }
+
+  @Test
+  public void testSameGamesAsHexReversi() {
+    Random random = new Random(3500);
+    for (int boardSize = 3; boardSize <= 7; boardSize++) {
+      for (int game = 0; game < 10; game++) {
+        this.playSameRandomGame(new HexReversi(boardSize, player1, player2),
+                new BitsetHexReversi(boardSize, player1, player2), random);
+      }
+    }
+  }
+
+  @Test
+  public void testHexBitsetReadByThreadsAtOnce() throws InterruptedException {
+    BitsetHexReversi game = new BitsetHexReversi(6, player1, player2);
+    game.placeIn(player1, game.getLegalMoves(player1).keySet().iterator().next());
+    Map<Coordinates, Integer> expected = game.getLegalMoves(player2);
+    AtomicBoolean wrong = new AtomicBoolean(false);
+    List<Thread> threads = new ArrayList<>();
+    for (int thread = 0; thread < 4; thread++) {
+      threads.add(new Thread(() -> {
+        for (int read = 0; read < 20000; read++) {
+          // reads of the same game by other threads never change what a thread reads
+          if (!game.movable(player2) || game.movable(player1)
+                  || !expected.equals(game.getLegalMoves(player2))) {
+            wrong.set(true);
+          }
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    Assert.assertFalse(wrong.get());
+  }
+
+  @Test
+  public void testPlaceByCellIndex() {
+    for (ModelCreator.GameType gameType : ModelCreator.GameType.values()) {
+      ReversiModelReadWrite model = ModelCreator.create(gameType, 4, player1, player2);
+      int cellCount = model.getTopology().getCellCount();
+      Assert.assertThrows(IllegalArgumentException.class, () -> model.isLegal(player1, -1));
+      Assert.assertThrows(IllegalArgumentException.class,
+          () -> model.isLegal(player1, cellCount));
+      Assert.assertThrows(IllegalArgumentException.class,
+          () -> model.placeIn(player1, cellCount));
+      int occupied = 0;
+      while (model.discAt(occupied) == null) {
+        occupied += 1;
+      }
+      int cell = occupied;
+      Assert.assertFalse(model.isLegal(player1, cell));
+      Assert.assertThrows(IllegalArgumentException.class, () -> model.placeIn(player1, cell));
+      int legal = 0;
+      while (!model.isLegal(player1, legal)) {
+        legal += 1;
+      }
+      // only the player to move can move
+      Assert.assertFalse(model.isLegal(player2, legal));
+      int move = legal;
+      Assert.assertThrows(IllegalStateException.class, () -> model.placeIn(player2, move));
+      ReversiSearchModel copy = model.copyForSearch();
+      UndoRecord record = copy.applyMove(player1, move);
+      model.placeIn(player1, move);
+      Assert.assertEquals(model.getPositionHash(), copy.getPositionHash());
+      Assert.assertEquals(model.getDiscOf(player1), model.discAt(move));
+      copy.undoMove(record);
+      Assert.assertTrue(copy.isLegal(player1, move));
+    }
+  }
+
+  @Test
+  public void testScoresOfNewGames() {
+    for (ModelCreator.GameType gameType : ModelCreator.GameType.values()) {
+      ReversiModelReadWrite model = ModelCreator.create(gameType, 6, player1, player2);
+      Scores scores = model.getScores();
+      int discCount = model.getTopology().getShape() == BoardTopology.Shape.HEXAGON ? 3 : 2;
+      Assert.assertEquals(discCount, scores.getScore(player1));
+      Assert.assertEquals(discCount, scores.getScore(player2));
+      Assert.assertEquals(model.getTopology().getCellCount() - 2 * discCount,
+              scores.getEmptyCellCount());
+      Assert.assertThrows(IllegalArgumentException.class,
+          () -> scores.getScore(new HumanPlayer()));
+      // the scores are those of the moment they were read
+      model.placeIn(player1, model.getLegalMoves(player1).keySet().iterator().next());
+      Assert.assertEquals(discCount, scores.getScore(player1));
+      Assert.assertEquals(scores.getEmptyCellCount() - 1,
+              model.getScores().getEmptyCellCount());
+    }
+  }
+
+  // plays a random game on both the given expected model and the given actual model
+  // and checks that both models agree on every observation along the way
+  private void playSameRandomGame(ReversiModelReadWrite expected, ReversiModelReadWrite actual,
+                                  Random random) {
+    while (!expected.isGameOver()) {
+      Assert.assertFalse(actual.isGameOver());
+      Player player = expected.getTurn();
+      Assert.assertEquals(player, actual.getTurn());
+      Assert.assertEquals(expected.getPositionHash(), actual.getPositionHash());
+      Assert.assertEquals(expected.getCanonicalHash(), actual.getCanonicalHash());
+      Assert.assertEquals(expected.getCanonicalSymmetry(), actual.getCanonicalSymmetry());
+      Assert.assertEquals(expected.movable(player), actual.movable(player));
+      List<Coordinates> moves = new ArrayList<>();
+      Map<Coordinates, Integer> legalMoves = new LinkedHashMap<>();
+      int index = 0;
+      for (List<Cell> row : expected.getBoard()) {
+        for (Cell cell : row) {
+          int score = expected.scoreEarnedByPlaceIn(player, cell.getCoordinates());
+          Assert.assertEquals(score, actual.scoreEarnedByPlaceIn(player, cell.getCoordinates()));
+          Assert.assertEquals(score > 0, expected.isLegal(player, index));
+          Assert.assertEquals(score > 0, actual.isLegal(player, index));
+          index += 1;
+          if (score > 0) {
+            moves.add(cell.getCoordinates());
+            legalMoves.put(cell.getCoordinates(), score);
+          }
+        }
+      }
+      // the legal moves kept by the models are the ones found by scanning the board, in order
+      Assert.assertEquals(moves, new ArrayList<>(expected.getLegalMoves(player).keySet()));
+      Assert.assertEquals(legalMoves, expected.getLegalMoves(player));
+      Assert.assertEquals(moves, new ArrayList<>(actual.getLegalMoves(player).keySet()));
+      Assert.assertEquals(legalMoves, actual.getLegalMoves(player));
+      this.assertMovesUndone(expected, player, moves);
+      this.assertMovesUndone(actual, player, moves);
+      if (moves.isEmpty()) {
+        expected.pass(player);
+        actual.pass(player);
+      } else {
+        Coordinates move = moves.get(random.nextInt(moves.size()));
+        // moves are made by their coordinates or by the indices of their cells
+        if (random.nextBoolean()) {
+          expected.placeIn(player, move);
+          actual.placeIn(player, move);
+        } else {
+          expected.placeIn(player, expected.getTopology().indexOf(move));
+          actual.placeIn(player, actual.getTopology().indexOf(move));
+        }
+      }
+      this.assertSameBoard(expected, actual);
+    }
+    Assert.assertTrue(actual.isGameOver());
+    Assert.assertEquals(expected.getScore(player1), actual.getScore(player1));
+    Assert.assertEquals(expected.getScore(player2), actual.getScore(player2));
+  }
+
+  // checks that applying and then undoing each of the given moves of the given player on
+  // a copy for search of the given model brings the copy back to the given model
+  private void assertMovesUndone(ReversiModelReadOnly model, Player player,
+                                 List<Coordinates> moves) {
+    ReversiSearchModel search = model.copyForSearch();
+    for (Coordinates move : moves) {
+      UndoRecord record = search.applyMove(player, move);
+      Assert.assertEquals(model.scoreEarnedByPlaceIn(player, move), record.getFlippedCount());
+      Assert.assertNotEquals(model.getPositionHash(), search.getPositionHash());
+      search.undoMove(record);
+      Assert.assertEquals(model.getPositionHash(), search.getPositionHash());
+      this.assertSameBoard(model, search);
+      Assert.assertEquals(model.getLegalMoves(player), search.getLegalMoves(player));
+    }
+  }
+
+  // checks that the given models have the same discs on every cell of the board,
+  // both in their boards and by the indices of the cells
+  private void assertSameBoard(ReversiModelReadOnly expected, ReversiModelReadOnly actual) {
+    List<List<Cell>> expectedBoard = expected.getBoard();
+    List<List<Cell>> actualBoard = actual.getBoard();
+    Assert.assertEquals(expectedBoard.size(), actualBoard.size());
+    int[] discCounts = new int[Disc.values().length];
+    int emptyCells = 0;
+    int index = 0;
+    for (int row = 0; row < expectedBoard.size(); row++) {
+      for (int col = 0; col < expectedBoard.get(row).size(); col++) {
+        Cell expectedCell = expectedBoard.get(row).get(col);
+        Cell actualCell = actualBoard.get(row).get(col);
+        Assert.assertEquals(expectedCell.getCoordinates(), actualCell.getCoordinates());
+        Assert.assertEquals(expectedCell.isEmpty(), actualCell.isEmpty());
+        if (!expectedCell.isEmpty()) {
+          Assert.assertEquals(expectedCell.getDisc(), actualCell.getDisc());
+        }
+        Assert.assertEquals(expectedCell.isEmpty() ? null : expectedCell.getDisc(),
+                expected.discAt(index));
+        Assert.assertEquals(expected.discAt(index), actual.discAt(index));
+        if (expectedCell.isEmpty()) {
+          emptyCells += 1;
+        } else {
+          discCounts[expectedCell.getDisc().ordinal()] += 1;
+        }
+        index += 1;
+      }
+    }
+    // the scores kept by the models are the discs found by scanning the board
+    for (ReversiModelReadOnly model : List.of(expected, actual)) {
+      Scores scores = model.getScores();
+      for (Player player : List.of(player1, player2)) {
+        int discCount = discCounts[model.getDiscOf(player).ordinal()];
+        Assert.assertEquals(discCount, model.getScore(player));
+        Assert.assertEquals(discCount, scores.getScore(player));
+      }
+      Assert.assertEquals(emptyCells, scores.getEmptyCellCount());
+    }
+    int cellCount = index;
+    Assert.assertThrows(IllegalArgumentException.class, () -> actual.discAt(cellCount));
+    Assert.assertThrows(IllegalArgumentException.class, () -> actual.discAt(-1));
+  }
+}
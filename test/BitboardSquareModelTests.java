@@ -0,0 +1,14 @@
+import cs3500.reversi.model.BitboardSquareReversi;
+import cs3500.reversi.model.ReversiModelReadWrite;
+import cs3500.reversi.player.Player;
+
+/**
+ * Runs the tests of the square model against the bitboard square model, which must pass
+ * them the same way.
+ */
+public class BitboardSquareModelTests extends SquareModelTests {
+  @Override
+  protected ReversiModelReadWrite createModel(int boardSize, Player player1, Player player2) {
+    return new BitboardSquareReversi(boardSize, player1, player2);
+  }
+}
@@ -0,0 +1,68 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import cs3500.reversi.benchmark.MicroBenchmark;
+
+/**
+ * Test class for the harness measuring the throughput of benchmarks.
+ */
+public class MicroBenchmarkTests {
+  @Test
+  public void testMeasureCountsOperationsPerInvocation() {
+    MicroBenchmark harness = new MicroBenchmark(1, 3, 20);
+    MicroBenchmark.Result result = harness.measure("sum", Map.of("size", "4"), 10, () -> {
+      long sum = 0;
+      for (int i = 0; i < 10; i++) {
+        sum += i * 31L;
+      }
+      return sum;
+    });
+    Assert.assertEquals("sum", result.getName());
+    Assert.assertEquals(Map.of("size", "4"), result.getParams());
+    Assert.assertEquals(3, result.getRawScores().length);
+    Assert.assertTrue(result.getScore() > 0);
+    Assert.assertTrue(result.getScoreError() >= 0);
+  }
+
+  @Test
+  public void testScoreErrorUsesStudentT() {
+    MicroBenchmark.Result result = new MicroBenchmark(0, 5, 5).measure("a", Map.of(), 1,
+        () -> System.nanoTime() % 7);
+    double[] scores = result.getRawScores();
+    double squares = 0;
+    for (double score : scores) {
+      squares += (score - result.getScore()) * (score - result.getScore());
+    }
+    double standardError = Math.sqrt(squares / (scores.length - 1) / scores.length);
+    // as in JMH, the 99.95% quantile of Student's t distribution with 4 degrees of freedom
+    Assert.assertEquals(8.6103, result.getScoreError() / standardError, 1e-4);
+  }
+
+  @Test
+  public void testJsonHasLayoutOfJmhResults() {
+    MicroBenchmark harness = new MicroBenchmark(0, 1, 5);
+    String json = MicroBenchmark.toJson(List.of(
+            harness.measure("a\"b", Map.of("gameType", "HEX"), 1, () -> 1)));
+    Assert.assertTrue(json.startsWith("[\n  {\n    \"benchmark\": \"a\\\"b\",\n"));
+    Assert.assertTrue(json.contains("\"mode\": \"thrpt\""));
+    Assert.assertTrue(json.contains("\"params\": {\"gameType\": \"HEX\"}"));
+    Assert.assertTrue(json.contains("\"scoreError\": 0.0"));
+    Assert.assertTrue(json.contains("\"scoreUnit\": \"ops/s\""));
+    Assert.assertEquals("[\n]\n", MicroBenchmark.toJson(List.of()));
+  }
+
+  @Test
+  public void testInvalidBenchmarks() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> new MicroBenchmark(-1, 1, 1));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new MicroBenchmark(1, 0, 1));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new MicroBenchmark(1, 1, 0));
+    MicroBenchmark harness = new MicroBenchmark(0, 1, 1);
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> harness.measure("a", Map.of(), 0, () -> 1));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> harness.measure(null, Map.of(), 1, () -> 1));
+  }
+}
@@ -4,9 +4,11 @@ import org.junit.Test;
 import java.util.List;
 
 import cs3500.reversi.controller.MockHexReversiController;
+import cs3500.reversi.model.BoardTopology;
 import cs3500.reversi.model.HexagonalCoordinates;
 import cs3500.reversi.model.MockModelFeatures;
 import cs3500.reversi.model.ModelFeatures;
+import cs3500.reversi.model.RowColumnCoordinates;
 import cs3500.reversi.model.SquareReversi;
 import cs3500.reversi.player.HumanPlayer;
 import cs3500.reversi.player.Player;
@@ -18,6 +20,8 @@ import cs3500.reversi.model.HexReversi;
 import cs3500.reversi.model.Coordinates;
 import cs3500.reversi.model.ReversiModelReadOnly;
 import cs3500.reversi.model.ReversiModelReadWrite;
+import cs3500.reversi.model.ReversiSearchModel;
+import cs3500.reversi.model.UndoRecord;
 import cs3500.reversi.view.MockViewFrame;
 import cs3500.reversi.view.SquareReversiTextualView;
 
@@ -416,6 +420,210 @@ public class ModelTests {
     Assert.assertEquals(Disc.BLACK, this.model1.getDiscOf(this.player2));
   }
 
+  @Test
+  public void testBoardTopologySharedForSameShapeAndSize() {
+    Assert.assertSame(BoardTopology.of(BoardTopology.Shape.HEXAGON, 6),
+            BoardTopology.of(BoardTopology.Shape.HEXAGON, 6));
+    Assert.assertNotSame(BoardTopology.of(BoardTopology.Shape.HEXAGON, 6),
+            BoardTopology.of(BoardTopology.Shape.SQUARE, 6));
+  }
+
+  @Test
+  public void testBoardTopologyIndices() {
+    BoardTopology topology = BoardTopology.of(BoardTopology.Shape.HEXAGON, 3);
+    Assert.assertEquals(19, topology.getCellCount());
+    Assert.assertEquals(6, topology.getDirectionCount());
+    Assert.assertEquals(0, topology.indexOf(new CubeCoordinates(0, -2)));
+    Assert.assertEquals(9, topology.indexOf(new CubeCoordinates(0, 0)));
+    Assert.assertEquals(18, topology.indexOf(new CubeCoordinates(0, 2)));
+    Assert.assertEquals(-1, topology.indexOf(new CubeCoordinates(4, 4)));
+    Assert.assertEquals(new CubeCoordinates(0, 0), topology.getCoordinates(9));
+  }
+
+  @Test
+  public void testBoardTopologyRowsMatchBoard() {
+    ReversiModelReadOnly model = new HexReversi(4, player1, player2);
+    BoardTopology topology = model.getTopology();
+    List<List<Cell>> board = model.getBoard();
+    Assert.assertEquals(board.size(), topology.getRowCount());
+    for (int row = 0; row < board.size(); row++) {
+      Assert.assertEquals(board.get(row).size(), topology.getRowLength(row));
+      for (int column = 0; column < board.get(row).size(); column++) {
+        int index = topology.getRowStart(row) + column;
+        Cell cell = board.get(row).get(column);
+        Assert.assertEquals(cell.getCoordinates(), topology.getCoordinates(index));
+        Assert.assertEquals(cell.isEmpty() ? null : cell.getDisc(), model.discAt(index));
+      }
+    }
+    Assert.assertEquals(4, topology.getRowLength(0));
+    Assert.assertEquals(7, topology.getRowLength(3));
+    Assert.assertEquals(4 + 5 + 6, topology.getRowStart(3));
+  }
+
+  @Test
+  public void testModelsShareCoordinatesOfTopology() {
+    BoardTopology topology = BoardTopology.of(BoardTopology.Shape.HEXAGON, 3);
+    Coordinates center = topology.getCoordinates(9);
+    Assert.assertSame(center, topology.intern(new CubeCoordinates(0, 0)));
+    Coordinates offBoard = new CubeCoordinates(4, 4);
+    Assert.assertSame(offBoard, topology.intern(offBoard));
+    Assert.assertEquals(center.getAllNeighbors(), topology.getNeighbors(9));
+    for (Coordinates neighbor : topology.getNeighbors(9)) {
+      Assert.assertSame(neighbor, topology.intern(neighbor));
+    }
+    // a corner only has the neighbors that are on the board
+    Assert.assertEquals(3, topology.getNeighbors(0).size());
+
+    ReversiModelReadOnly game1 = new HexReversi(3, player1, player2);
+    ReversiModelReadOnly game2 = new HexReversi(3, player1, player2);
+    Assert.assertSame(topology, game1.getTopology());
+    for (Coordinates move : game1.getLegalMoves(player1).keySet()) {
+      Assert.assertSame(topology.intern(move), move);
+      Assert.assertSame(move, game2.getBoard().get(move.getRow(3))
+              .get(move.getLocationInRow(3)).getCoordinates());
+    }
+    for (Coordinates corner : game1.getCorners()) {
+      Assert.assertSame(topology.intern(corner), corner);
+    }
+    Assert.assertEquals(new CubeCoordinates(1, -1).hashCode(),
+            new CubeCoordinates(1, -1).hashCode());
+    Assert.assertEquals(new RowColumnCoordinates(2, 3).hashCode(),
+            new RowColumnCoordinates(2, 3).hashCode());
+  }
+
+  @Test
+  public void testBoardTopologyRays() {
+    BoardTopology topology = BoardTopology.of(BoardTopology.Shape.HEXAGON, 3);
+    int center = topology.indexOf(new CubeCoordinates(0, 0));
+    // walking to the right from the center
+    Assert.assertArrayEquals(new int[]{10, 11}, topology.getRay(center, 3));
+    // walking to the upper left from the center
+    Assert.assertArrayEquals(new int[]{4, 0}, topology.getRay(center, 0));
+    // there is no cell to the left of the leftmost cell in the middle row
+    Assert.assertArrayEquals(new int[]{}, topology.getRay(7, 2));
+  }
+
+  @Test
+  public void testApplyAndUndoMove() {
+    ReversiSearchModel search = model2.copyForSearch();
+    Coordinates move = new CubeCoordinates(1, -2);
+    UndoRecord record = search.applyMove(player1, move);
+    Assert.assertFalse(record.isPass());
+    Assert.assertEquals(1, record.getFlippedCount());
+    Assert.assertEquals(player2, search.getTurn());
+    Assert.assertEquals(5, search.getScore(player1));
+    // the game the copy was made from is not changed
+    Assert.assertEquals(3, model2.getScore(player1));
+    search.undoMove(record);
+    Assert.assertEquals(player1, search.getTurn());
+    Assert.assertEquals(3, search.getScore(player1));
+    Assert.assertTrue(search.getCellInBoard(move).isEmpty());
+    Assert.assertEquals(model2.getLegalMoves(player1), search.getLegalMoves(player1));
+  }
+
+  @Test
+  public void testUndoPassRestoresGame() {
+    ReversiSearchModel search = model2.copyForSearch();
+    UndoRecord firstPass = search.applyPass(player1);
+    UndoRecord secondPass = search.applyPass(player2);
+    Assert.assertTrue(secondPass.isPass());
+    Assert.assertTrue(search.isGameOver());
+    // only the last move applied can be taken back
+    Assert.assertThrows(IllegalArgumentException.class, () -> search.undoMove(firstPass));
+    search.undoMove(secondPass);
+    Assert.assertFalse(search.isGameOver());
+    Assert.assertEquals(player2, search.getTurn());
+    search.undoMove(firstPass);
+    Assert.assertEquals(player1, search.getTurn());
+  }
+
+  @Test
+  public void testPositionHashOfSamePositionReachedByDifferentMoves() {
+    ReversiModelReadWrite game1 = new SquareReversi(8, player1, player2);
+    ReversiModelReadWrite game2 = new SquareReversi(8, player1, player2);
+    Assert.assertEquals(game1.getPositionHash(), game2.getPositionHash());
+    // the two games reach the same discs with the same player to move in different orders
+    game1.placeIn(player1, new RowColumnCoordinates(2, 3));
+    game1.placeIn(player2, new RowColumnCoordinates(2, 2));
+    game1.placeIn(player1, new RowColumnCoordinates(3, 2));
+    game2.placeIn(player1, new RowColumnCoordinates(3, 2));
+    game2.placeIn(player2, new RowColumnCoordinates(2, 2));
+    game2.placeIn(player1, new RowColumnCoordinates(2, 3));
+    Assert.assertEquals(game1.getPositionHash(), game2.getPositionHash());
+    Assert.assertNotEquals(model1.getPositionHash(), model2.getPositionHash());
+  }
+
+  @Test
+  public void testPositionHashIncludesSideToMove() {
+    long startHash = model2.getPositionHash();
+    model2.pass(player1);
+    Assert.assertNotEquals(startHash, model2.getPositionHash());
+    model2.pass(player2);
+    Assert.assertEquals(startHash, model2.getPositionHash());
+  }
+
+  @Test
+  public void testBoardTopologySymmetries() {
+    BoardTopology square = BoardTopology.of(BoardTopology.Shape.SQUARE, 8);
+    BoardTopology hexagon = BoardTopology.of(BoardTopology.Shape.HEXAGON, 3);
+    Assert.assertEquals(8, square.getSymmetryCount());
+    Assert.assertEquals(12, hexagon.getSymmetryCount());
+    for (BoardTopology topology : List.of(square, hexagon)) {
+      for (int symmetry = 0; symmetry < topology.getSymmetryCount(); symmetry++) {
+        int[] image = topology.getSymmetry(symmetry);
+        int[] inverse = topology.getInverseSymmetry(symmetry);
+        for (int index = 0; index < topology.getCellCount(); index++) {
+          Assert.assertEquals(index, inverse[image[index]]);
+          Assert.assertEquals(topology.getDiscKey(image[index], Disc.BLACK),
+                  topology.getSymmetricDiscKeys(index, Disc.BLACK)[symmetry]);
+        }
+      }
+      // the first symmetry is the identity
+      Assert.assertEquals(5, topology.getSymmetry(0)[5]);
+    }
+    // a quarter turn clockwise moves the top left corner to the top right corner
+    Assert.assertEquals(7, square.getSymmetry(1)[0]);
+    // every symmetry of a hexagon keeps the center where it is
+    for (int symmetry = 0; symmetry < hexagon.getSymmetryCount(); symmetry++) {
+      Assert.assertEquals(9, hexagon.getSymmetry(symmetry)[9]);
+    }
+  }
+
+  @Test
+  public void testCanonicalHashOfSymmetricPositions() {
+    ReversiModelReadWrite game1 = new SquareReversi(8, player1, player2);
+    ReversiModelReadWrite game2 = new SquareReversi(8, player1, player2);
+    Assert.assertEquals(game1.getCanonicalHash(), game2.getCanonicalHash());
+    // the two first moves are reflections of each other across the main diagonal
+    game1.placeIn(player1, new RowColumnCoordinates(2, 3));
+    game2.placeIn(player1, new RowColumnCoordinates(3, 2));
+    Assert.assertNotEquals(game1.getPositionHash(), game2.getPositionHash());
+    Assert.assertEquals(game1.getCanonicalHash(), game2.getCanonicalHash());
+    BoardTopology topology = game1.getTopology();
+    // both games turn into the same canonical position
+    int[] fromCanonical1 = topology.getInverseSymmetry(game1.getCanonicalSymmetry());
+    int[] toCanonical2 = topology.getSymmetry(game2.getCanonicalSymmetry());
+    for (int index = 0; index < topology.getCellCount(); index++) {
+      Assert.assertEquals(game1.discAt(fromCanonical1[toCanonical2[index]]), game2.discAt(index));
+    }
+    game1.placeIn(player2, new RowColumnCoordinates(2, 2));
+    Assert.assertNotEquals(game1.getCanonicalHash(), game2.getCanonicalHash());
+
+    // the starting position of a hexagonal board is the same after a third of a turn
+    int[] thirdOfTurn = model2.getTopology().getSymmetry(2);
+    ReversiModelReadWrite rotated = new HexReversi(3, player1, player2);
+    Coordinates move = new CubeCoordinates(1, -2);
+    model2.placeIn(player1, move);
+    rotated.placeIn(player1, model2.getTopology().getCoordinates(
+            thirdOfTurn[model2.getTopology().indexOf(move)]));
+    Assert.assertNotEquals(model2.getPositionHash(), rotated.getPositionHash());
+    Assert.assertEquals(model2.getCanonicalHash(), rotated.getCanonicalHash());
+    // the side to move is part of the canonical hash as well
+    long canonical = rotated.getCanonicalHash();
+    rotated.pass(player2);
+    Assert.assertNotEquals(canonical, rotated.getCanonicalHash());
+  }
+
   @Test
   public void renderTextualView() {
     Assert.assertTrue(true);
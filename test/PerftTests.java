@@ -0,0 +1,75 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import cs3500.reversi.benchmark.Perft;
+import cs3500.reversi.model.ModelCreator;
+import cs3500.reversi.model.ReversiModelReadWrite;
+import cs3500.reversi.player.HumanPlayer;
+import cs3500.reversi.player.Player;
+
+/**
+ * Test class for counting the positions reached by every sequence of moves (perft) from the
+ * start of games, which every model of the same board must agree on.
+ */
+public class PerftTests {
+  private static final ModelCreator.GameType[] SQUARE_MODELS = {
+    ModelCreator.GameType.SQUARE, ModelCreator.GameType.SQUARE_BITBOARD};
+  private static final ModelCreator.GameType[] HEX_MODELS = {
+    ModelCreator.GameType.HEX, ModelCreator.GameType.HEX_BITSET};
+
+  // creates a new game of the given type and board size
+  private ReversiModelReadWrite newGame(ModelCreator.GameType gameType, int boardSize) {
+    return ModelCreator.create(gameType, boardSize, new HumanPlayer(), new HumanPlayer());
+  }
+
+  // checks the counts of the given depths from 1 on, from the start of a game on every one
+  // of the given models
+  private void assertCounts(ModelCreator.GameType[] gameTypes, int boardSize, long[] counts) {
+    for (ModelCreator.GameType gameType : gameTypes) {
+      for (int depth = 1; depth <= counts.length; depth++) {
+        Assert.assertEquals(gameType + " at depth " + depth, counts[depth - 1],
+                Perft.count(this.newGame(gameType, boardSize), depth));
+      }
+    }
+  }
+
+  @Test
+  public void testSquare8MatchesKnownCounts() {
+    long[] known = new long[6];
+    System.arraycopy(Perft.SQUARE_8_COUNTS, 0, known, 0, known.length);
+    this.assertCounts(SQUARE_MODELS, 8, known);
+  }
+
+  @Test
+  public void testSquare4CountsEveryGame() {
+    // passes start at depth 7, and by depth 15 every one of the 60060 games of 4x4 Reversi
+    // has ended
+    this.assertCounts(SQUARE_MODELS, 4, new long[] {4, 12, 44, 128, 424, 1256, 3624, 9116,
+      20044, 36540, 50704, 57436, 59564, 59980, 60060, 60060});
+  }
+
+  @Test
+  public void testHexagonCounts() {
+    this.assertCounts(HEX_MODELS, 6, new long[] {6, 24, 72, 234, 780, 2874});
+    // every game on the smallest hexagonal board ends within 5 moves
+    this.assertCounts(HEX_MODELS, 3, new long[] {6, 18, 30, 42, 48, 48, 48});
+  }
+
+  @Test
+  public void testCountLeavesGameAsItWas() {
+    Player player1 = new HumanPlayer();
+    Player player2 = new HumanPlayer();
+    ReversiModelReadWrite model = ModelCreator.create(ModelCreator.GameType.SQUARE_BITBOARD, 6,
+            player1, player2);
+    long hash = model.getPositionHash();
+    Assert.assertEquals(1, Perft.count(model, 0));
+    Assert.assertTrue(Perft.count(model, 4) > 0);
+    Assert.assertEquals(hash, model.getPositionHash());
+    Assert.assertEquals(player1, model.getTurn());
+    Assert.assertThrows(IllegalArgumentException.class, () -> Perft.count(model, -1));
+    model.pass(player1);
+    model.pass(player2);
+    // a finished game is one position however many moves are counted
+    Assert.assertEquals(1, Perft.count(model, 3));
+  }
+}
@@ -0,0 +1,629 @@
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import cs3500.reversi.model.Coordinates;
+import cs3500.reversi.model.Disc;
+import cs3500.reversi.model.HexReversi;
+import cs3500.reversi.model.ModelCreator;
+import cs3500.reversi.model.ReversiModelReadWrite;
+import cs3500.reversi.model.ReversiSearchModel;
+import cs3500.reversi.model.RowColumnCoordinates;
+import cs3500.reversi.model.SquareReversi;
+import cs3500.reversi.model.UndoRecord;
+import cs3500.reversi.player.AlphaBetaPlayer;
+import cs3500.reversi.player.HumanPlayer;
+import cs3500.reversi.player.MctsPlayer;
+import cs3500.reversi.player.Player;
+import cs3500.reversi.player.PlayerActionFeatures;
+import cs3500.reversi.player.PlayerCreator;
+import cs3500.reversi.player.SimplisticPlayer;
+import cs3500.reversi.strategy.AlphaBetaStrategy;
+import cs3500.reversi.strategy.EndgameSolver;
+import cs3500.reversi.strategy.LazySmpStrategy;
+import cs3500.reversi.strategy.MctsStrategy;
+import cs3500.reversi.strategy.MoveOrdering;
+import cs3500.reversi.strategy.ParallelAlphaBetaStrategy;
+import cs3500.reversi.strategy.PatternEvaluator;
+import cs3500.reversi.strategy.SearchBudget;
+import cs3500.reversi.strategy.SearchReport;
+import cs3500.reversi.strategy.SearchStrategy;
+import cs3500.reversi.strategy.TranspositionTable;
+
+/**
+ * Test class for the strategies that search through the moves that can follow.
+ */
+public class SearchStrategyTests {
+  private Player player1;
+  private Player player2;
+
+  @Before
+  public void init() {
+    player1 = new HumanPlayer();
+    player2 = new HumanPlayer();
+  }
+
+  @Test
+  public void testInvalidBudgets() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> SearchBudget.ofMillis(0));
+    Assert.assertThrows(IllegalArgumentException.class, () -> SearchBudget.ofNodes(-1));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new AlphaBetaStrategy(null));
+  }
+
+  @Test
+  public void testNoReportBeforeChoosingMove() {
+    Assert.assertThrows(IllegalStateException.class,
+        () -> new AlphaBetaStrategy().getLastReport());
+  }
+
+  @Test
+  public void testAlphaBetaSolvesSmallSquareBoard() {
+    ReversiModelReadWrite model = new SquareReversi(4, player1, player2);
+    SearchStrategy strategy = new AlphaBetaStrategy(SearchBudget.ofNodes(Long.MAX_VALUE));
+    Optional<Coordinates> move = strategy.chooseMove(model, player1);
+    Assert.assertTrue(move.isPresent());
+    Assert.assertTrue(model.scoreEarnedByPlaceIn(player1, move.get()) > 0);
+    SearchReport report = strategy.getLastReport();
+    // the search reaches the end of the game, so the score is the perfect play result
+    Assert.assertEquals(12, report.getDepth());
+    Assert.assertEquals(10_000 * this.perfectPlayResult(model.copyForSearch(), player1, player2),
+            report.getScore());
+    // the model the strategy searched on is not changed
+    Assert.assertEquals(2, model.getScore(player1));
+    Assert.assertEquals(player1, model.getTurn());
+  }
+
+  @Test
+  public void testAlphaBetaAlwaysFinishesOneMoveAhead() {
+    ReversiModelReadWrite model = new HexReversi(6, player1, player2);
+    SearchStrategy strategy = new AlphaBetaStrategy(SearchBudget.ofNodes(1));
+    Optional<Coordinates> move = strategy.chooseMove(model, player1);
+    Assert.assertTrue(move.isPresent());
+    Assert.assertTrue(model.scoreEarnedByPlaceIn(player1, move.get()) > 0);
+    Assert.assertEquals(1, strategy.getLastReport().getDepth());
+  }
+
+  @Test
+  public void testAlphaBetaSearchesDeeperWithinTime() {
+    ReversiModelReadWrite model = new HexReversi(4, player1, player2);
+    SearchStrategy strategy = new AlphaBetaStrategy(SearchBudget.ofMillis(50));
+    Assert.assertTrue(strategy.chooseMove(model, player1).isPresent());
+    Assert.assertTrue(strategy.getLastReport().getDepth() > 1);
+    Assert.assertTrue(strategy.getLastReport().getNodes() > 0);
+  }
+
+  @Test
+  public void testAlphaBetaHasNoMoveOutOfTurn() {
+    ReversiModelReadWrite model = new SquareReversi(6, player1, player2);
+    SearchStrategy strategy = new AlphaBetaStrategy(SearchBudget.ofNodes(1000));
+    Assert.assertEquals(Optional.empty(), strategy.chooseMove(model, player2));
+    Assert.assertEquals(0, strategy.getLastReport().getDepth());
+  }
+
+  @Test
+  public void testAlphaBetaBeatsFirstLegalMove() {
+    ReversiModelReadWrite model = new SquareReversi(6, player1, player2);
+    SearchStrategy strategy = new AlphaBetaStrategy(SearchBudget.ofNodes(2000));
+    while (!model.isGameOver()) {
+      Player player = model.getTurn();
+      // the second player always plays the first legal move on the board
+      Optional<Coordinates> move = player == player1 ? strategy.chooseMove(model, player)
+              : model.getLegalMoves(player).keySet().stream().findFirst();
+      if (move.isPresent()) {
+        model.placeIn(player, move.get());
+      } else {
+        model.pass(player);
+      }
+    }
+    Assert.assertTrue(model.getScore(player1) > model.getScore(player2));
+  }
+
+  @Test
+  public void testCreateAlphaBetaPlayer() {
+    Assert.assertTrue(PlayerCreator.create(PlayerCreator.PlayerType.ALPHA_BETA)
+            instanceof AlphaBetaPlayer);
+  }
+
+  @Test
+  public void testTranspositionTableStoreAndProbe() {
+    TranspositionTable table = new TranspositionTable(1);
+    Assert.assertEquals(65536, table.getCapacity());
+    Assert.assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+    Assert.assertEquals(TranspositionTable.NO_ENTRY, table.probe(42L));
+    table.store(42L, 5, TranspositionTable.Bound.LOWER, -123, 3);
+    long entry = table.probe(42L);
+    Assert.assertEquals(-123, TranspositionTable.scoreOf(entry));
+    Assert.assertEquals(5, TranspositionTable.depthOf(entry));
+    Assert.assertEquals(3, TranspositionTable.moveOf(entry));
+    Assert.assertEquals(TranspositionTable.Bound.LOWER, TranspositionTable.boundOf(entry));
+    Assert.assertEquals(1, table.getHits());
+    Assert.assertEquals(1, table.getMisses());
+  }
+
+  @Test
+  public void testTranspositionTableReplacesByDepthAndAge() {
+    TranspositionTable table = new TranspositionTable(1);
+    // a hash that falls into the same slot as 7, but of another position
+    long otherHash = 7L + ((long) table.getCapacity() << 32) + table.getCapacity();
+    table.store(7L, 6, TranspositionTable.Bound.EXACT, 10, 0);
+    table.store(otherHash, 2, TranspositionTable.Bound.EXACT, 20, 1);
+    // the shallower entry of the other position doesn't replace the deeper one
+    Assert.assertEquals(TranspositionTable.NO_ENTRY, table.probe(otherHash));
+    Assert.assertEquals(1, table.getCollisions());
+    Assert.assertEquals(10, TranspositionTable.scoreOf(table.probe(7L)));
+    // but once a new search starts, the old entry is replaced
+    table.newSearch();
+    table.store(otherHash, 2, TranspositionTable.Bound.EXACT, 20, 1);
+    Assert.assertEquals(20, TranspositionTable.scoreOf(table.probe(otherHash)));
+    Assert.assertEquals(TranspositionTable.NO_ENTRY, table.probe(7L));
+  }
+
+  @Test
+  public void testTranspositionTableSharedByThreads() throws InterruptedException {
+    TranspositionTable table = new TranspositionTable(1);
+    List<Thread> threads = new ArrayList<>();
+    AtomicBoolean corrupted = new AtomicBoolean(false);
+    for (int thread = 0; thread < 4; thread++) {
+      int seed = thread;
+      threads.add(new Thread(() -> {
+        Random random = new Random(seed);
+        for (int store = 0; store < 200_000; store++) {
+          // the score stored for a hash is always the hash itself, so a torn entry would show
+          long hash = random.nextInt(1 << 20);
+          table.store(hash, random.nextInt(20), TranspositionTable.Bound.EXACT, (int) hash, -1);
+          long entry = table.probe(hash);
+          if (entry != TranspositionTable.NO_ENTRY && TranspositionTable.scoreOf(entry) != hash) {
+            corrupted.set(true);
+          }
+        }
+      }));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    Assert.assertFalse(corrupted.get());
+  }
+
+  @Test
+  public void testAlphaBetaWithTableSolvesSmallSquareBoard() {
+    ReversiModelReadWrite model = new SquareReversi(4, player1, player2);
+    TranspositionTable table = new TranspositionTable(1);
+    SearchStrategy strategy = new AlphaBetaStrategy(SearchBudget.ofNodes(Long.MAX_VALUE),
+            table);
+    SearchStrategy withoutTable = new AlphaBetaStrategy(SearchBudget.ofNodes(Long.MAX_VALUE));
+    Assert.assertTrue(strategy.chooseMove(model, player1).isPresent());
+    withoutTable.chooseMove(model, player1);
+    Assert.assertEquals(10_000 * this.perfectPlayResult(model.copyForSearch(), player1, player2),
+            strategy.getLastReport().getScore());
+    Assert.assertTrue(table.getHits() > 0);
+    // remembering positions saves searching them again
+    Assert.assertTrue(strategy.getLastReport().getNodes()
+            < withoutTable.getLastReport().getNodes());
+  }
+
+  @Test
+  public void testParallelAlphaBetaInvalidThreads() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> new ParallelAlphaBetaStrategy(
+            SearchBudget.ofNodes(1000), new TranspositionTable(1), 0));
+    Assert.assertEquals(3, new ParallelAlphaBetaStrategy(SearchBudget.ofNodes(1000),
+            new TranspositionTable(1), 3).getThreads());
+  }
+
+  @Test
+  public void testParallelAlphaBetaSolvesSmallSquareBoard() {
+    ReversiModelReadWrite model = new SquareReversi(4, player1, player2);
+    SearchStrategy strategy = new ParallelAlphaBetaStrategy(SearchBudget.ofNodes(Long.MAX_VALUE),
+            new TranspositionTable(1), 4);
+    Optional<Coordinates> move = strategy.chooseMove(model, player1);
+    Assert.assertTrue(move.isPresent());
+    Assert.assertTrue(model.scoreEarnedByPlaceIn(player1, move.get()) > 0);
+    Assert.assertEquals(12, strategy.getLastReport().getDepth());
+    Assert.assertEquals(10_000 * this.perfectPlayResult(model.copyForSearch(), player1, player2),
+            strategy.getLastReport().getScore());
+  }
+
+  @Test
+  public void testParallelAlphaBetaStopsWithinBudget() {
+    ReversiModelReadWrite model = new HexReversi(6, player1, player2);
+    SearchStrategy strategy = new ParallelAlphaBetaStrategy(SearchBudget.ofMillis(100),
+            new TranspositionTable(1), 2);
+    Optional<Coordinates> move = strategy.chooseMove(model, player1);
+    Assert.assertTrue(move.isPresent());
+    Assert.assertTrue(model.scoreEarnedByPlaceIn(player1, move.get()) > 0);
+    Assert.assertTrue(strategy.getLastReport().getDepth() > 1);
+    Assert.assertTrue(strategy.getLastReport().getElapsedMillis() < 1000);
+  }
+
+  @Test
+  public void testDepthBudget() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> SearchBudget.ofDepth(0));
+    Assert.assertEquals(Integer.MAX_VALUE, SearchBudget.ofNodes(5).getMaxDepth());
+    ReversiModelReadWrite model = new HexReversi(6, player1, player2);
+    SearchStrategy strategy = new AlphaBetaStrategy(SearchBudget.ofDepth(3));
+    Assert.assertTrue(strategy.chooseMove(model, player1).isPresent());
+    Assert.assertEquals(3, strategy.getLastReport().getDepth());
+  }
+
+  @Test
+  public void testLazySmpInvalidThreads() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> new LazySmpStrategy(
+            SearchBudget.ofNodes(1000), new TranspositionTable(1), -1));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new LazySmpStrategy(
+            SearchBudget.ofNodes(1000), null, 2));
+  }
+
+  @Test
+  public void testLazySmpSolvesSmallSquareBoard() {
+    ReversiModelReadWrite model = new SquareReversi(4, player1, player2);
+    SearchStrategy strategy = new LazySmpStrategy(SearchBudget.ofNodes(Long.MAX_VALUE),
+            new TranspositionTable(1), 3);
+    Optional<Coordinates> move = strategy.chooseMove(model, player1);
+    Assert.assertTrue(move.isPresent());
+    Assert.assertTrue(model.scoreEarnedByPlaceIn(player1, move.get()) > 0);
+    Assert.assertEquals(12, strategy.getLastReport().getDepth());
+    Assert.assertEquals(10_000 * this.perfectPlayResult(model.copyForSearch(), player1, player2),
+            strategy.getLastReport().getScore());
+  }
+
+  @Test
+  public void testLazySmpReachesDepthOfBudget() {
+    ReversiModelReadWrite model = new SquareReversi(6, player1, player2);
+    LazySmpStrategy strategy = new LazySmpStrategy(SearchBudget.ofDepth(5),
+            new TranspositionTable(1), 4);
+    Optional<Coordinates> move = strategy.chooseMove(model, player1);
+    Assert.assertTrue(move.isPresent());
+    Assert.assertTrue(model.scoreEarnedByPlaceIn(player1, move.get()) > 0);
+    Assert.assertEquals(5, strategy.getLastReport().getDepth());
+    Assert.assertEquals(4, strategy.getThreads());
+  }
+
+  @Test
+  public void testMctsInvalidArguments() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> new MctsStrategy(null));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new MctsStrategy(SearchBudget.ofNodes(10), 0));
+    // a playout always goes to the end of the game, so a depth would never stop the search
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new MctsStrategy(SearchBudget.ofDepth(2), 1));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new MctsPlayer(SearchBudget.ofDepth(2)));
+  }
+
+  @Test
+  public void testMctsRunsBudgetOfPlayouts() {
+    ReversiModelReadWrite model = new HexReversi(4, player1, player2);
+    SearchStrategy strategy = new MctsStrategy(SearchBudget.ofNodes(200), 2);
+    Optional<Coordinates> move = strategy.chooseMove(model, player1);
+    Assert.assertTrue(move.isPresent());
+    Assert.assertTrue(model.scoreEarnedByPlaceIn(player1, move.get()) > 0);
+    SearchReport report = strategy.getLastReport();
+    // each thread may finish the playout it is running when the budget gets used up
+    Assert.assertTrue(report.getNodes() >= 200 && report.getNodes() < 210);
+    Assert.assertTrue(report.getDepth() > 1);
+    Assert.assertTrue(report.getScore() >= 0 && report.getScore() <= 1000);
+    // the model the strategy searched on is not changed
+    Assert.assertEquals(player1, model.getTurn());
+    Assert.assertEquals(3, model.getScore(player1));
+  }
+
+  @Test
+  public void testMctsHasNoMoveOutOfTurn() {
+    ReversiModelReadWrite model = new SquareReversi(6, player1, player2);
+    SearchStrategy strategy = new MctsStrategy(SearchBudget.ofNodes(100), 1);
+    Assert.assertEquals(Optional.empty(), strategy.chooseMove(model, player2));
+  }
+
+  @Test
+  public void testMctsBeatsFirstLegalMove() {
+    ReversiModelReadWrite model = new SquareReversi(6, player1, player2);
+    SearchStrategy strategy = new MctsStrategy(SearchBudget.ofNodes(300), 2);
+    while (!model.isGameOver()) {
+      Player player = model.getTurn();
+      Optional<Coordinates> move = player == player1 ? strategy.chooseMove(model, player)
+              : model.getLegalMoves(player).keySet().stream().findFirst();
+      if (move.isPresent()) {
+        model.placeIn(player, move.get());
+      } else {
+        model.pass(player);
+      }
+    }
+    Assert.assertTrue(model.getScore(player1) > model.getScore(player2));
+  }
+
+  @Test
+  public void testMctsSearchesAtOnceAllPlay() throws InterruptedException {
+    // more searches than the shared pool has threads, each wanting every thread of the pool
+    int processors = Runtime.getRuntime().availableProcessors();
+    List<SearchStrategy> strategies = new ArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    for (int search = 0; search < processors + 2; search++) {
+      SearchStrategy strategy = new MctsStrategy(SearchBudget.ofMillis(200), processors);
+      strategies.add(strategy);
+      threads.add(new Thread(() -> strategy.chooseMove(
+              new SquareReversi(6, player1, player2), player1)));
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    // every search plays on its calling thread, however busy the pool is
+    for (SearchStrategy strategy : strategies) {
+      Assert.assertTrue(strategy.getLastReport().getNodes() > 0);
+    }
+  }
+
+  @Test
+  public void testCreateMctsPlayer() {
+    Assert.assertTrue(PlayerCreator.create(PlayerCreator.PlayerType.MCTS)
+            instanceof MctsPlayer);
+  }
+
+  @Test
+  public void testEndgameSolverThreshold() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> new EndgameSolver(0));
+    ReversiModelReadWrite model = new SquareReversi(4, player1, player2);
+    Assert.assertTrue(new EndgameSolver(12).canSolve(model));
+    Assert.assertFalse(new EndgameSolver(11).canSolve(model));
+    Assert.assertEquals(EndgameSolver.DEFAULT_THRESHOLD, new EndgameSolver().getThreshold());
+  }
+
+  @Test
+  public void testEndgameSolverProvesFinalScore() {
+    ReversiModelReadWrite model = new SquareReversi(4, player1, player2);
+    EndgameSolver solver = new EndgameSolver(12);
+    Optional<Coordinates> move = solver.chooseMove(model, player1);
+    Assert.assertTrue(move.isPresent());
+    int perfect = this.perfectPlayResult(model.copyForSearch(), player1, player2);
+    Assert.assertEquals(perfect, solver.getLastReport().getScore());
+    Assert.assertEquals(12, solver.getLastReport().getDepth());
+    // the chosen move keeps the perfect result
+    ReversiSearchModel copy = model.copyForSearch();
+    copy.applyMove(player1, move.get());
+    Assert.assertEquals(perfect, -this.perfectPlayResult(copy, player2, player1));
+  }
+
+  @Test
+  public void testEndgameSolverOnHexBoard() {
+    ReversiModelReadWrite model = new HexReversi(3, player1, player2);
+    Random random = new Random(3);
+    // play randomly until few enough cells are left
+    while (!model.isGameOver() && !new EndgameSolver(9).canSolve(model)) {
+      List<Coordinates> moves = new ArrayList<>(model.getLegalMoves(model.getTurn()).keySet());
+      if (moves.isEmpty()) {
+        model.pass(model.getTurn());
+      } else {
+        model.placeIn(model.getTurn(), moves.get(random.nextInt(moves.size())));
+      }
+    }
+    Player player = model.getTurn();
+    Player opponent = player == player1 ? player2 : player1;
+    EndgameSolver solver = new EndgameSolver(9);
+    if (solver.chooseMove(model, player).isPresent()) {
+      Assert.assertEquals(this.perfectPlayResult(model.copyForSearch(), player, opponent),
+              solver.getLastReport().getScore());
+    }
+  }
+
+  @Test
+  public void testMachinePlayerSolvesEndgame() {
+    Player machine = new SimplisticPlayer();
+    ReversiModelReadWrite model = new SquareReversi(4, machine, player2);
+    model.placeIn(machine, model.getLegalMoves(machine).keySet().iterator().next());
+    model.placeIn(player2, model.getLegalMoves(player2).keySet().iterator().next());
+    List<Coordinates> played = new ArrayList<>();
+    machine.addFeatures(new PlayerActionFeatures() {
+      @Override
+      public void pass() {
+        // the machine player has legal moves here
+      }
+
+      @Override
+      public void placeIn(Coordinates coordinates) {
+        played.add(coordinates);
+      }
+
+      @Override
+      public int select(Coordinates coordinates) {
+        return 0;
+      }
+    });
+    machine.turnToMove(model);
+    Assert.assertEquals(1, played.size());
+    int perfect = this.perfectPlayResult(model.copyForSearch(), machine, player2);
+    ReversiSearchModel copy = model.copyForSearch();
+    copy.applyMove(machine, played.get(0));
+    Assert.assertEquals(perfect, -this.perfectPlayResult(copy, player2, machine));
+  }
+
+  @Test
+  public void testMoveOrdering() {
+    ReversiModelReadWrite model = new SquareReversi(6, player1, player2);
+    MoveOrdering ordering = new MoveOrdering(model);
+    Coordinates corner = model.getBoard().get(0).get(0).getCoordinates();
+    Coordinates nextToCorner = model.getBoard().get(1).get(1).getCoordinates();
+    Coordinates plain = model.getBoard().get(0).get(2).getCoordinates();
+    Coordinates killer = model.getBoard().get(3).get(2).getCoordinates();
+    Coordinates tableMove = model.getBoard().get(5).get(3).getCoordinates();
+    ordering.recordCutoff(killer, 2, 3);
+    Coordinates[] moves = {nextToCorner, plain, corner, killer, tableMove};
+    ordering.order(moves, 4, 2);
+    Assert.assertArrayEquals(new Coordinates[] {tableMove, killer, corner, plain, nextToCorner},
+            moves);
+    // at another ply the killer move only ranks by its history, above other plain cells
+    Coordinates[] otherPly = {plain, killer, nextToCorner};
+    ordering.order(otherPly, -1, 5);
+    Assert.assertArrayEquals(new Coordinates[] {killer, plain, nextToCorner}, otherPly);
+    ordering.recordSearched(8, 2);
+    ordering.recordSearched(4, 2);
+    Assert.assertEquals(6, ordering.getBranchingFactor(), 1e-9);
+    Assert.assertEquals(2, ordering.getEffectiveBranchingFactor(), 1e-9);
+  }
+
+  @Test
+  public void testAlphaBetaReportsBranchingFactor() {
+    ReversiModelReadWrite model = new SquareReversi(6, player1, player2);
+    SearchStrategy strategy = new AlphaBetaStrategy(SearchBudget.ofDepth(6),
+            new TranspositionTable(1));
+    strategy.chooseMove(model, player1);
+    SearchReport report = strategy.getLastReport();
+    Assert.assertTrue(report.getEffectiveBranchingFactor() > 0);
+    Assert.assertTrue(report.getEffectiveBranchingFactor() < report.getBranchingFactor());
+    Assert.assertEquals(0, new SearchReport(1, 1, 1, 0).getBranchingFactor(), 0);
+  }
+
+  @Test
+  public void testPatternEvaluatorTables() {
+    PatternEvaluator square = new PatternEvaluator(new SquareReversi(8, player1, player2));
+    // two edges, a diagonal and a region at each of the four corners
+    Assert.assertEquals(16, square.getPatternCount());
+    Assert.assertEquals(6561, square.getTableSize(PatternEvaluator.PatternKind.EDGE));
+    Assert.assertEquals(6561, square.getTableSize(PatternEvaluator.PatternKind.LINE));
+    Assert.assertEquals(19683, square.getTableSize(PatternEvaluator.PatternKind.CORNER));
+    PatternEvaluator hex = new PatternEvaluator(new HexReversi(4, player1, player2));
+    // two edges, a line through the center and a region at each of the six corners
+    Assert.assertEquals(24, hex.getPatternCount());
+    Assert.assertEquals(81, hex.getTableSize(PatternEvaluator.PatternKind.EDGE));
+    Assert.assertEquals(2187, hex.getTableSize(PatternEvaluator.PatternKind.LINE));
+    Assert.assertTrue(square.fitsBoard(new SquareReversi(8, player1, player2)));
+    Assert.assertFalse(square.fitsBoard(new SquareReversi(6, player1, player2)));
+    Assert.assertFalse(hex.fitsBoard(new SquareReversi(8, player1, player2)));
+  }
+
+  @Test
+  public void testPatternEvaluatorFavorsCorners() {
+    ReversiModelReadWrite model = new SquareReversi(6, player1, player2);
+    PatternEvaluator evaluator = new PatternEvaluator(model);
+    // the discs in the middle of the board lie on no pattern
+    Assert.assertEquals(0, evaluator.evaluate(model, Disc.BLACK));
+    Random random = new Random(3500);
+    int cornersTaken = 0;
+    while (!model.isGameOver()) {
+      Player turn = model.getTurn();
+      Disc own = model.getDiscOf(turn);
+      int before = evaluator.evaluate(model, own);
+      Assert.assertEquals(-before, evaluator.evaluate(model, own == Disc.BLACK
+              ? Disc.WHITE : Disc.BLACK));
+      List<Coordinates> moves = new ArrayList<>(model.getLegalMoves(turn).keySet());
+      if (moves.isEmpty()) {
+        model.pass(turn);
+        continue;
+      }
+      Coordinates move = moves.get(random.nextInt(moves.size()));
+      for (Coordinates corner : model.getCorners()) {
+        if (moves.contains(corner)) {
+          move = corner;
+        }
+      }
+      model.placeIn(turn, move);
+      if (model.getCorners().contains(move)) {
+        Assert.assertTrue(evaluator.evaluate(model, own) > before);
+        cornersTaken += 1;
+      }
+    }
+    Assert.assertTrue(cornersTaken > 0);
+  }
+
+  @Test
+  public void testPatternEvaluatorSameOnBitModels() {
+    this.assertSameEvaluations(new SquareReversi(8, player1, player2),
+            ModelCreator.create(ModelCreator.GameType.SQUARE_BITBOARD, 8, player1, player2));
+    this.assertSameEvaluations(new HexReversi(5, player1, player2),
+            ModelCreator.create(ModelCreator.GameType.HEX_BITSET, 5, player1, player2));
+  }
+
+  @Test
+  public void testPatternEvaluatorSameOnTransposedPosition() {
+    ReversiModelReadWrite model = new SquareReversi(8, player1, player2);
+    ReversiModelReadWrite transposed = new SquareReversi(8, player1, player2);
+    PatternEvaluator evaluator = new PatternEvaluator(model);
+    // weights that differ for a region and its transpose, as tuned weights do
+    int[] cornerWeights = new int[evaluator.getTableSize(PatternEvaluator.PatternKind.CORNER)];
+    for (int number = 0; number < cornerWeights.length; number++) {
+      cornerWeights[number] = number % 97;
+    }
+    PatternEvaluator tuned = evaluator.withWeights(PatternEvaluator.PatternKind.CORNER,
+            cornerWeights);
+    Random random = new Random(3500);
+    boolean readsAsymmetricRegion = false;
+    while (!model.isGameOver()) {
+      Player turn = model.getTurn();
+      List<Coordinates> moves = new ArrayList<>(model.getLegalMoves(turn).keySet());
+      if (moves.isEmpty()) {
+        model.pass(turn);
+        transposed.pass(turn);
+      } else {
+        RowColumnCoordinates move = (RowColumnCoordinates) moves.get(
+                random.nextInt(moves.size()));
+        model.placeIn(turn, move);
+        // the starting discs lie on the diagonal, so the transposed moves are legal
+        transposed.placeIn(turn, new RowColumnCoordinates(move.getLocationInRow(8),
+                move.getRow(8)));
+      }
+      Assert.assertEquals(tuned.evaluate(model, Disc.BLACK),
+              tuned.evaluate(transposed, Disc.BLACK));
+      for (int pattern = 0; pattern < tuned.getPatternCount(); pattern++) {
+        int[] cells = tuned.getPatternCells(pattern);
+        if (tuned.getKind(pattern) == PatternEvaluator.PatternKind.CORNER
+                && model.discAt(cells[1]) != model.discAt(cells[3])) {
+          readsAsymmetricRegion = true;
+        }
+      }
+    }
+    Assert.assertTrue(readsAsymmetricRegion);
+  }
+
+  // plays a random game on both of the given models and checks that a pattern evaluator
+  // evaluates them the same after every move
+  private void assertSameEvaluations(ReversiModelReadWrite expected,
+                                     ReversiModelReadWrite actual) {
+    PatternEvaluator evaluator = new PatternEvaluator(expected);
+    Assert.assertTrue(evaluator.fitsBoard(actual));
+    Random random = new Random(3500);
+    while (!expected.isGameOver()) {
+      Player turn = expected.getTurn();
+      List<Coordinates> moves = new ArrayList<>(expected.getLegalMoves(turn).keySet());
+      if (moves.isEmpty()) {
+        expected.pass(turn);
+        actual.pass(turn);
+      } else {
+        Coordinates move = moves.get(random.nextInt(moves.size()));
+        expected.placeIn(turn, move);
+        actual.placeIn(turn, move);
+      }
+      Assert.assertEquals(evaluator.evaluate(expected, Disc.BLACK),
+              evaluator.evaluate(actual, Disc.BLACK));
+    }
+  }
+
+  // returns the final disc difference of the given player when both players play perfectly
+  // from the current position, searching every move without any pruning
+  private int perfectPlayResult(ReversiSearchModel model, Player player, Player opponent) {
+    if (model.isGameOver()) {
+      return model.getScore(player) - model.getScore(opponent);
+    }
+    if (!model.movable(player)) {
+      UndoRecord pass = model.applyPass(player);
+      int result = -this.perfectPlayResult(model, opponent, player);
+      model.undoMove(pass);
+      return result;
+    }
+    int best = Integer.MIN_VALUE;
+    for (Coordinates move : model.getLegalMoves(player).keySet()) {
+      UndoRecord record = model.applyMove(player, move);
+      best = Math.max(best, -this.perfectPlayResult(model, opponent, player));
+      model.undoMove(record);
+    }
+    return best;
+  }
+}
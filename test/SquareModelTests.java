@@ -29,7 +29,7 @@ public class SquareModelTests {
   private RowColumnCoordinates coords6;
   private RowColumnCoordinates coords7;
   private RowColumnCoordinates coords8;
-  private SquareReversi squareReversi1;
+  private ReversiModelReadWrite squareReversi1;
 
   @Before
   public void setup() {
@@ -44,7 +44,13 @@ public class SquareModelTests {
     coords6 =  new RowColumnCoordinates(0, 2);
     coords7 =  new RowColumnCoordinates(2, 0);
     coords8 =  new RowColumnCoordinates(2, 2);
-    SquareReversi squareReversi = new SquareReversi(6, player1, player2);
+    squareReversi1 = this.createModel(6, player1, player2);
+  }
+
+  // creates the square model under test, which subclasses override to run these tests
+  // against another square model
+  protected ReversiModelReadWrite createModel(int boardSize, Player player1, Player player2) {
+    return new SquareReversi(boardSize, player1, player2);
   }
 
   @Test
@@ -112,42 +118,22 @@ public class SquareModelTests {
     Assert.assertNotEquals(coords.hashCode(), coords2.hashCode());
   }
 
-  // Subclass to expose the protected method
-  private static class TestableSquareReversi extends SquareReversi {
-    public TestableSquareReversi(int boardSize) {
-      super(boardSize, null, null);
-    }
-
-    public void testValidateBoardSize(int boardSize) {
-      super.validateBoardSize(boardSize);
-    }
-
-    public List<List<Cell>> testInitializeBoard() {
-      return super.initializeBoard();
-    }
-
-    public void testPlaceInitialDiscs() {
-      super.placeInitialDiscs();
-    }
-
-    public ReversiModelReadWrite testCopyModel() {
-      return super.copyModel();
-    }
-  }
-
-
   @Test
   public void testValidateBoardSizeWithInvalidSizes() {
-    TestableSquareReversi game = new TestableSquareReversi(8);
-    Assert.assertThrows(IllegalArgumentException.class, () -> game.testValidateBoardSize(0));
-    Assert.assertThrows(IllegalArgumentException.class, () -> game.testValidateBoardSize(-4));
-    Assert.assertThrows(IllegalArgumentException.class, () -> game.testValidateBoardSize(5));
+    Player player1 = new HumanPlayer();
+    Player player2 = new HumanPlayer();
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> this.createModel(0, player1, player2));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> this.createModel(-4, player1, player2));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> this.createModel(5, player1, player2));
   }
 
   @Test
   public void testInitializeBoard() {
-    TestableSquareReversi game = new TestableSquareReversi(8);
-    List<List<Cell>> board = game.testInitializeBoard();
+    ReversiModelReadWrite game = this.createModel(8, new HumanPlayer(), new HumanPlayer());
+    List<List<Cell>> board = game.getBoard();
     Assert.assertEquals(8, board.size());
     for (List<Cell> row : board) {
       Assert.assertEquals(8, row.size());
@@ -159,7 +145,7 @@ public class SquareModelTests {
 
   @Test
   public void testPlaceInitialDiscs() {
-    TestableSquareReversi game = new TestableSquareReversi(8);
+    ReversiModelReadWrite game = this.createModel(8, new HumanPlayer(), new HumanPlayer());
     Assert.assertEquals(Disc.WHITE, game.getCellInBoard(new RowColumnCoordinates(3,4)).getDisc());
     Assert.assertEquals(Disc.WHITE, game.getCellInBoard(new RowColumnCoordinates(4,3)).getDisc());
     Assert.assertEquals(Disc.BLACK, game.getCellInBoard(new RowColumnCoordinates(3, 3)).getDisc());
@@ -0,0 +1,91 @@
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+import cs3500.reversi.model.ModelCreator;
+import cs3500.reversi.player.PlayerCreator;
+import cs3500.reversi.tournament.Standings;
+import cs3500.reversi.tournament.Tournament;
+
+/**
+ * Test class for tournaments between machine players played without any view,
+ * and their standings.
+ */
+public class TournamentTests {
+  private static final List<PlayerCreator.PlayerType> ENTRANTS = List.of(
+          PlayerCreator.PlayerType.SIMPLISTIC, PlayerCreator.PlayerType.SMARTER,
+          PlayerCreator.PlayerType.MINIMAX);
+  private static final List<Tournament.Board> BOARDS = List.of(
+          Tournament.Board.parse("square_bitboard:4"), Tournament.Board.parse("hex_bitset:3"));
+
+  @Test
+  public void testRoundRobin() {
+    Tournament tournament = new Tournament(ENTRANTS, Tournament.Format.ROUND_ROBIN, BOARDS, 3);
+    Assert.assertEquals(3 * 2 * 3, tournament.getGameCount());
+    Standings standings = tournament.play(2);
+    Assert.assertEquals(18, standings.getGameCount());
+    for (int entrant = 0; entrant < ENTRANTS.size(); entrant++) {
+      // every entrant meets the two others three times on each of the two boards
+      Assert.assertEquals(12, standings.getGames(entrant));
+      Assert.assertEquals(0, standings.getWins(entrant, entrant));
+      for (int opponent = 0; opponent < ENTRANTS.size(); opponent++) {
+        Assert.assertEquals(standings.getWins(entrant, opponent),
+                standings.getLosses(opponent, entrant));
+        Assert.assertEquals(standings.getDraws(entrant, opponent),
+                standings.getDraws(opponent, entrant));
+      }
+      Assert.assertTrue(standings.getEloLow(entrant) <= standings.getElo(entrant));
+      Assert.assertTrue(standings.getElo(entrant) <= standings.getEloHigh(entrant));
+    }
+    double totalScore = 0;
+    for (int entrant = 0; entrant < ENTRANTS.size(); entrant++) {
+      totalScore += standings.getScore(entrant) * standings.getGames(entrant);
+    }
+    Assert.assertEquals(standings.getGameCount(), totalScore, 1e-9);
+    Assert.assertTrue(standings.getGamesPerSecond() > 0);
+    Assert.assertTrue(standings.toString().contains("18 games"));
+  }
+
+  @Test
+  public void testGauntlet() {
+    Tournament tournament = new Tournament(ENTRANTS, Tournament.Format.GAUNTLET,
+            BOARDS.subList(0, 1), 2);
+    Assert.assertEquals(4, tournament.getGameCount());
+    Standings standings = tournament.play(1);
+    Assert.assertEquals(4, standings.getGames(0));
+    Assert.assertEquals(2, standings.getGames(1));
+    Assert.assertEquals(2, standings.getGames(2));
+    // the entrants other than the challenger don't meet each other
+    Assert.assertEquals(0, standings.getWins(1, 2) + standings.getDraws(1, 2)
+            + standings.getLosses(1, 2));
+  }
+
+  @Test
+  public void testEloOfScore() {
+    Assert.assertEquals(0, Standings.eloOf(0.5), 1e-9);
+    Assert.assertEquals(190.85, Standings.eloOf(0.75), 0.01);
+    Assert.assertEquals(-190.85, Standings.eloOf(0.25), 0.01);
+    Assert.assertEquals(Double.POSITIVE_INFINITY, Standings.eloOf(1), 0);
+    Assert.assertEquals(Double.NEGATIVE_INFINITY, Standings.eloOf(-0.1), 0);
+  }
+
+  @Test
+  public void testInvalidTournaments() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> new Tournament(
+            List.of(PlayerCreator.PlayerType.SMARTER), Tournament.Format.ROUND_ROBIN, BOARDS, 1));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new Tournament(
+            List.of(PlayerCreator.PlayerType.SMARTER, PlayerCreator.PlayerType.HUMAN),
+            Tournament.Format.ROUND_ROBIN, BOARDS, 1));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new Tournament(ENTRANTS,
+            Tournament.Format.ROUND_ROBIN, List.of(), 1));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new Tournament(ENTRANTS,
+            Tournament.Format.ROUND_ROBIN, BOARDS, 0));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new Tournament(ENTRANTS,
+            Tournament.Format.ROUND_ROBIN, BOARDS, 1).play(0));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> Tournament.Board.parse("square_bitboard"));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new Tournament.Board(ModelCreator.GameType.SQUARE_BITBOARD, 10));
+  }
+}
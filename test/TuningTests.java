@@ -0,0 +1,396 @@
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import cs3500.reversi.model.BoardTopology;
+import cs3500.reversi.model.Coordinates;
+import cs3500.reversi.model.ModelCreator;
+import cs3500.reversi.model.ReversiModelReadWrite;
+import cs3500.reversi.model.SquareReversi;
+import cs3500.reversi.player.HumanPlayer;
+import cs3500.reversi.player.Player;
+import cs3500.reversi.player.PlayerActionFeatures;
+import cs3500.reversi.player.SimplisticPlayer;
+import cs3500.reversi.strategy.OpeningBook;
+import cs3500.reversi.strategy.PatternEvaluator;
+import cs3500.reversi.strategy.SearchBudget;
+import cs3500.reversi.tuning.GameRecordReader;
+import cs3500.reversi.tuning.GameRecordWriter;
+import cs3500.reversi.tuning.OpeningBookBuilder;
+import cs3500.reversi.tuning.PositionReader;
+import cs3500.reversi.tuning.PositionWriter;
+import cs3500.reversi.tuning.SelfPlayGenerator;
+import cs3500.reversi.tuning.WeightTuner;
+
+/**
+ * Test class for what is built offline from self-play and game records: the files of
+ * positions and of weights, the self-play games, the fitting of the weights and opening books.
+ */
+public class TuningTests {
+  private Player player1;
+  private Player player2;
+  private BoardTopology square4;
+
+  @Before
+  public void init() {
+    player1 = new HumanPlayer();
+    player2 = new HumanPlayer();
+    square4 = BoardTopology.of(BoardTopology.Shape.SQUARE, 4);
+  }
+
+  @Test
+  public void testPositionsWrittenAndReadBack() throws IOException {
+    Path file = Files.createTempFile("reversi", ".positions");
+    try {
+      byte[] first = new byte[16];
+      byte[] second = new byte[16];
+      for (int index = 0; index < 16; index++) {
+        second[index] = (byte) (index % 3);
+      }
+      try (PositionWriter writer = new PositionWriter(file, square4)) {
+        writer.write(first, -16);
+        writer.writeAll(new byte[][] {second}, new int[] {7});
+        Assert.assertEquals(2, writer.getPositionCount());
+        Assert.assertThrows(IllegalArgumentException.class,
+            () -> writer.write(new byte[15], 0));
+        Assert.assertThrows(IllegalArgumentException.class,
+            () -> writer.write(new byte[] {3, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0}, 0));
+      }
+      // a header of 9 bytes, then 4 bytes of cells and a short for each position
+      Assert.assertEquals(9 + 2 * 6, Files.size(file));
+      try (PositionReader reader = new PositionReader(file)) {
+        Assert.assertSame(square4, reader.getTopology());
+        Assert.assertTrue(reader.next());
+        Assert.assertArrayEquals(first, reader.getCells());
+        Assert.assertEquals(-16, reader.getLabel());
+        Assert.assertTrue(reader.next());
+        Assert.assertArrayEquals(second, reader.getCells());
+        Assert.assertEquals(7, reader.getLabel());
+        Assert.assertFalse(reader.next());
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testWeightsSavedAndLoaded() throws IOException {
+    PatternEvaluator evaluator = new PatternEvaluator(square4);
+    int[] edgeWeights = new int[evaluator.getTableSize(PatternEvaluator.PatternKind.EDGE)];
+    edgeWeights[1] = 5;
+    PatternEvaluator changed = evaluator.withWeights(PatternEvaluator.PatternKind.EDGE,
+            edgeWeights);
+    Assert.assertArrayEquals(edgeWeights, changed.getWeights(PatternEvaluator.PatternKind.EDGE));
+    Assert.assertArrayEquals(evaluator.getWeights(PatternEvaluator.PatternKind.LINE),
+            changed.getWeights(PatternEvaluator.PatternKind.LINE));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> evaluator.withWeights(PatternEvaluator.PatternKind.EDGE, new int[3]));
+    Assert.assertEquals("square-4.weights", changed.getWeightsFileName());
+
+    Path directory = Files.createTempDirectory("reversi");
+    Path file = directory.resolve(changed.getWeightsFileName());
+    try {
+      changed.save(file);
+      PatternEvaluator loaded = PatternEvaluator.load(file);
+      Assert.assertSame(square4, loaded.getTopology());
+      for (PatternEvaluator.PatternKind kind : PatternEvaluator.PatternKind.values()) {
+        Assert.assertArrayEquals(changed.getWeights(kind), loaded.getWeights(kind));
+      }
+      // machine players find the weights of their board in the directory of the property
+      SquareReversi model = new SquareReversi(4, player1, player2);
+      Assert.assertArrayEquals(evaluator.getWeights(PatternEvaluator.PatternKind.EDGE),
+              PatternEvaluator.forBoard(model).getWeights(PatternEvaluator.PatternKind.EDGE));
+      System.setProperty(PatternEvaluator.WEIGHTS_DIRECTORY_PROPERTY, directory.toString());
+      try {
+        Assert.assertArrayEquals(edgeWeights, PatternEvaluator.forBoard(model)
+                .getWeights(PatternEvaluator.PatternKind.EDGE));
+        Assert.assertArrayEquals(
+                new PatternEvaluator(new SquareReversi(6, player1, player2))
+                        .getWeights(PatternEvaluator.PatternKind.EDGE),
+                PatternEvaluator.forBoard(new SquareReversi(6, player1, player2))
+                        .getWeights(PatternEvaluator.PatternKind.EDGE));
+      } finally {
+        System.clearProperty(PatternEvaluator.WEIGHTS_DIRECTORY_PROPERTY);
+      }
+      new PositionWriter(file, square4).close();
+      Assert.assertThrows(IllegalArgumentException.class, () -> PatternEvaluator.load(file));
+    } finally {
+      Files.deleteIfExists(file);
+      Files.delete(directory);
+    }
+  }
+
+  @Test
+  public void testSelfPlayAndTuning() throws IOException {
+    Path file = Files.createTempFile("reversi", ".positions");
+    try {
+      SelfPlayGenerator generator = new SelfPlayGenerator(ModelCreator.GameType.SQUARE, 4,
+              SearchBudget.ofDepth(2), 2, 3500);
+      long written;
+      try (PositionWriter writer = new PositionWriter(file, square4)) {
+        written = generator.generate(20, 2, writer);
+        Assert.assertEquals(written, writer.getPositionCount());
+      }
+      Assert.assertTrue(written > 0);
+      long read = 0;
+      try (PositionReader reader = new PositionReader(file)) {
+        while (reader.next()) {
+          Assert.assertTrue(Math.abs(reader.getLabel()) <= 16);
+          read += 1;
+        }
+      }
+      Assert.assertEquals(written, read);
+
+      PatternEvaluator start = new PatternEvaluator(square4);
+      PatternEvaluator tuned = new WeightTuner(16, 0.5).tune(start, file, 5);
+      Assert.assertTrue(WeightTuner.meanSquaredError(tuned, file)
+              < WeightTuner.meanSquaredError(start, file));
+      // only the weights the evaluator reads are tuned, so a corner region and its transpose
+      // train one weight
+      int corner = 0;
+      while (start.getKind(corner) != PatternEvaluator.PatternKind.CORNER) {
+        corner += 1;
+      }
+      int[] startWeights = start.getWeights(PatternEvaluator.PatternKind.CORNER);
+      int[] tunedWeights = tuned.getWeights(PatternEvaluator.PatternKind.CORNER);
+      boolean tunedCorner = false;
+      for (int number = 0; number < tunedWeights.length; number++) {
+        if (tuned.canonicalNumber(corner, number) != number) {
+          Assert.assertEquals(startWeights[number], tunedWeights[number]);
+        } else if (startWeights[number] != tunedWeights[number]) {
+          tunedCorner = true;
+        }
+      }
+      Assert.assertTrue(tunedCorner);
+      Assert.assertThrows(IllegalArgumentException.class,
+          () -> new WeightTuner(16, 0.5).tune(new PatternEvaluator(
+                  BoardTopology.of(BoardTopology.Shape.SQUARE, 6)), file, 1));
+
+      // the same games, kept as game records for an opening book
+      List<int[]> records = generator.playGames(20, 2);
+      Assert.assertEquals(20, records.size());
+      OpeningBookBuilder builder = new OpeningBookBuilder(ModelCreator.GameType.SQUARE, 4,
+              4, 1);
+      for (int[] record : records) {
+        builder.addGame(record);
+      }
+      Assert.assertTrue(builder.getPositionCount() > 1);
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void testStreamedGameRecords() throws IOException {
+    Path file = Files.createTempFile("reversi", ".games");
+    Files.delete(file);
+    try {
+      SelfPlayGenerator generator = new SelfPlayGenerator(ModelCreator.GameType.SQUARE, 4,
+              SearchBudget.ofDepth(2), 2, 3500);
+      // a queue of one game makes the threads wait for the writing all the time
+      try (GameRecordWriter writer = new GameRecordWriter(file, square4)) {
+        Assert.assertEquals(30, generator.stream(30, 3, writer, 1));
+        Assert.assertEquals(30, writer.getGameCount());
+      }
+      // appending to the file keeps the games already in it
+      try (GameRecordWriter writer = new GameRecordWriter(file, square4)) {
+        Assert.assertEquals(10, generator.stream(10, 2, writer, 4));
+      }
+      Assert.assertThrows(IllegalArgumentException.class, () -> new GameRecordWriter(file,
+              BoardTopology.of(BoardTopology.Shape.SQUARE, 6)));
+
+      // the streamed games are the games played with the same seed, in any order
+      List<String> expected = new ArrayList<>();
+      for (int[] record : generator.playGames(30, 1)) {
+        expected.add(Arrays.toString(record));
+      }
+      expected.addAll(expected.subList(0, 10));
+      List<String> actual = new ArrayList<>();
+      try (GameRecordReader reader = new GameRecordReader(file)) {
+        Assert.assertSame(square4, reader.getTopology());
+        while (reader.next()) {
+          int[] moves = Arrays.copyOf(reader.getMoves(), reader.getMoveCount());
+          actual.add(Arrays.toString(moves));
+          OpeningBookBuilder builder = new OpeningBookBuilder(ModelCreator.GameType.SQUARE, 4,
+                  0, 1);
+          builder.addGame(moves);
+          Assert.assertTrue(Math.abs(reader.getResult()) <= 16);
+        }
+      }
+      expected.sort(null);
+      actual.sort(null);
+      Assert.assertEquals(expected, actual);
+      try (GameRecordWriter writer = new GameRecordWriter(file, square4)) {
+        Assert.assertThrows(IllegalArgumentException.class,
+            () -> generator.stream(1, 0, writer, 1));
+        Assert.assertThrows(IllegalArgumentException.class,
+            () -> generator.stream(1, 1, writer, 0));
+        Assert.assertThrows(IllegalArgumentException.class,
+            () -> writer.write(new int[] {16}, 0, 1, 0));
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testInvalidTuningArguments() {
+    Assert.assertThrows(IllegalArgumentException.class, () -> new WeightTuner(0, 0.5));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new WeightTuner(16, 0));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new WeightTuner(16, 1.5));
+    Assert.assertThrows(IllegalArgumentException.class, () -> new SelfPlayGenerator(
+            ModelCreator.GameType.SQUARE, 4, SearchBudget.ofDepth(1), -1, 0));
+  }
+
+  @Test
+  public void testOpeningBook() throws IOException {
+    int[] game = this.randomGameRecord(new Random(3500));
+    OpeningBookBuilder builder = new OpeningBookBuilder(ModelCreator.GameType.SQUARE, 4, 2, 2);
+    builder.addGame(game);
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> builder.addGame(Arrays.copyOf(game, game.length - 1)));
+    Assert.assertThrows(IllegalArgumentException.class, () -> builder.addGame(new int[] {0}));
+    Path directory = Files.createTempDirectory("reversi");
+    Path records = directory.resolve("games.txt");
+    Path file = directory.resolve(builder.getFileName());
+    try {
+      Files.write(records, List.of("# one more of the same game",
+              Arrays.stream(game).mapToObj(String::valueOf).collect(Collectors.joining(" "))));
+      Assert.assertEquals(1, builder.importGames(records));
+      Assert.assertEquals("square-4.book", builder.getFileName());
+      Assert.assertEquals(2, builder.write(file));
+      // a header of 16 bytes and 16 bytes for each position
+      Assert.assertEquals(16 + 2 * 16, Files.size(file));
+
+      OpeningBook book = OpeningBook.open(file);
+      Assert.assertEquals(2, book.size());
+      SquareReversi model = new SquareReversi(4, player1, player2);
+      long start = model.getCanonicalHash();
+      Assert.assertEquals(square4.getSymmetry(model.getCanonicalSymmetry())[game[0]],
+              book.lookup(start));
+      Assert.assertEquals(2, book.getGames(start));
+      Assert.assertEquals(square4.getCoordinates(game[0]),
+              book.chooseMove(model, player1).orElseThrow());
+      model.placeIn(player1, square4.getCoordinates(game[0]));
+      Assert.assertEquals(square4.getSymmetry(model.getCanonicalSymmetry())[game[1]],
+              book.lookup(model.getCanonicalHash()));
+      Assert.assertEquals(square4.getCoordinates(game[1]),
+              book.chooseMove(model, player2).orElseThrow());
+      model.placeIn(player2, square4.getCoordinates(game[1]));
+      // only the first two moves of the games are in the book
+      Assert.assertEquals(-1, book.lookup(model.getCanonicalHash()));
+      Assert.assertTrue(book.chooseMove(model, model.getTurn()).isEmpty());
+      Assert.assertThrows(IllegalArgumentException.class,
+          () -> book.getGames(model.getCanonicalHash()));
+      // the book plays the same opening turned by half a turn, which keeps the start the same
+      int[] halfTurn = square4.getSymmetry(2);
+      SquareReversi rotated = new SquareReversi(4, player1, player2);
+      rotated.placeIn(player1, square4.getCoordinates(halfTurn[game[0]]));
+      Assert.assertEquals(square4.getCoordinates(halfTurn[game[1]]),
+              book.chooseMove(rotated, player2).orElseThrow());
+      Assert.assertThrows(IllegalArgumentException.class, () -> OpeningBook.open(records));
+    } finally {
+      Files.deleteIfExists(file);
+      Files.delete(records);
+      Files.delete(directory);
+    }
+  }
+
+  @Test
+  public void testMissingBookLookedForOnce() throws IOException {
+    Path directory = Files.createTempDirectory("reversi");
+    OpeningBookBuilder builder = new OpeningBookBuilder(ModelCreator.GameType.SQUARE, 4, 1, 1);
+    builder.addGame(this.randomGameRecord(new Random(3500)));
+    Path file = directory.resolve(builder.getFileName());
+    SquareReversi model = new SquareReversi(4, player1, player2);
+    System.setProperty(OpeningBook.BOOK_DIRECTORY_PROPERTY, directory.toString());
+    try {
+      Assert.assertEquals(0, OpeningBook.forBoard(model).size());
+      // the board is remembered to have no book, so the file is not looked for again
+      builder.write(file);
+      Assert.assertEquals(0, OpeningBook.forBoard(model).size());
+    } finally {
+      System.clearProperty(OpeningBook.BOOK_DIRECTORY_PROPERTY);
+      Files.deleteIfExists(file);
+      Files.delete(directory);
+    }
+  }
+
+  @Test
+  public void testMachinePlayerPlaysBookMove() throws IOException {
+    SquareReversi model = new SquareReversi(4, player1, player2);
+    List<Coordinates> firstMoves = new ArrayList<>(model.getLegalMoves(player1).keySet());
+    // the simplistic player would play the first legal move without the book
+    Coordinates bookMove = firstMoves.get(firstMoves.size() - 1);
+    int[] game;
+    Random random = new Random(3500);
+    do {
+      game = this.randomGameRecord(random);
+    } while (!square4.getCoordinates(game[0]).equals(bookMove));
+    OpeningBookBuilder builder = new OpeningBookBuilder(ModelCreator.GameType.SQUARE, 4, 1, 1);
+    builder.addGame(game);
+    Path directory = Files.createTempDirectory("reversi");
+    Path file = directory.resolve(builder.getFileName());
+    Player machine = new SimplisticPlayer();
+    ReversiModelReadWrite machineGame = new SquareReversi(4, machine, player2);
+    List<Coordinates> played = new ArrayList<>();
+    machine.addFeatures(new PlayerActionFeatures() {
+      @Override
+      public void pass() {
+        // the machine player has legal moves here
+      }
+
+      @Override
+      public void placeIn(Coordinates coordinates) {
+        played.add(coordinates);
+      }
+
+      @Override
+      public int select(Coordinates coordinates) {
+        return 0;
+      }
+    });
+    try {
+      builder.write(file);
+      Assert.assertEquals(0, OpeningBook.forBoard(machineGame).size());
+      System.setProperty(OpeningBook.BOOK_DIRECTORY_PROPERTY, directory.toString());
+      try {
+        Assert.assertEquals(1, OpeningBook.forBoard(machineGame).size());
+        machine.turnToMove(machineGame);
+      } finally {
+        System.clearProperty(OpeningBook.BOOK_DIRECTORY_PROPERTY);
+      }
+      Assert.assertEquals(List.of(bookMove), played);
+    } finally {
+      Files.deleteIfExists(file);
+      Files.delete(directory);
+    }
+  }
+
+  // plays a random game on a square board of side length 4 and returns its game record
+  private int[] randomGameRecord(Random random) {
+    ReversiModelReadWrite model = new SquareReversi(4, player1, player2);
+    List<Integer> moves = new ArrayList<>();
+    while (!model.isGameOver()) {
+      Player turn = model.getTurn();
+      List<Coordinates> legalMoves = new ArrayList<>(model.getLegalMoves(turn).keySet());
+      if (legalMoves.isEmpty()) {
+        model.pass(turn);
+      } else {
+        Coordinates move = legalMoves.get(random.nextInt(legalMoves.size()));
+        moves.add(square4.indexOf(move));
+        model.placeIn(turn, move);
+      }
+    }
+    return moves.stream().mapToInt(Integer::intValue).toArray();
+  }
+}
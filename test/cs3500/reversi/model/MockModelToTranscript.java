@@ -2,7 +2,9 @@ package cs3500.reversi.model;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import cs3500.reversi.player.Player;
 
@@ -47,11 +49,36 @@ public class MockModelToTranscript implements ReversiModelReadWrite {
     return false;
   }
 
+  @Override
+  public Map<Coordinates, Integer> getLegalMoves(Player player) {
+    return new LinkedHashMap<>();
+  }
+
+  @Override
+  public long getPositionHash() {
+    return 0;
+  }
+
+  @Override
+  public long getCanonicalHash() {
+    return 0;
+  }
+
+  @Override
+  public int getCanonicalSymmetry() {
+    return 0;
+  }
+
   @Override
   public int getScore(Player player) {
     return 0;
   }
 
+  @Override
+  public Scores getScores() {
+    return null;
+  }
+
   @Override
   public boolean isGameOver() {
     return false;
@@ -67,12 +94,32 @@ public class MockModelToTranscript implements ReversiModelReadWrite {
     return null;
   }
 
+  @Override
+  public boolean isLegal(Player player, int index) {
+    return false;
+  }
+
+  @Override
+  public Disc discAt(int index) {
+    return null;
+  }
+
+  @Override
+  public BoardTopology getTopology() {
+    return null;
+  }
+
   @Override
   public ReversiModelReadOnly tryMove(Player player, Coordinates coordinates)
           throws IllegalArgumentException, IllegalStateException {
     return null;
   }
 
+  @Override
+  public ReversiSearchModel copyForSearch() {
+    return null;
+  }
+
   @Override
   public Disc getDiscOf(Player player) throws IllegalArgumentException {
     return null;
@@ -93,6 +140,11 @@ public class MockModelToTranscript implements ReversiModelReadWrite {
     // intentionally left blank because this is a mock model
   }
 
+  @Override
+  public void placeIn(Player player, int index) {
+    // intentionally left blank because this is a mock model
+  }
+
   @Override
   public void startGame() {
     // intentionally left blank because this is a mock model
@@ -2,6 +2,7 @@ package cs3500.reversi.model;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 import cs3500.reversi.player.Player;
 
@@ -52,11 +53,36 @@ public class MockModelToTranscriptGameLogic implements ReversiModelReadWrite {
     return actualModel.movable(player);
   }
 
+  @Override
+  public Map<Coordinates, Integer> getLegalMoves(Player player) {
+    return actualModel.getLegalMoves(player);
+  }
+
+  @Override
+  public long getPositionHash() {
+    return actualModel.getPositionHash();
+  }
+
+  @Override
+  public long getCanonicalHash() {
+    return actualModel.getCanonicalHash();
+  }
+
+  @Override
+  public int getCanonicalSymmetry() {
+    return actualModel.getCanonicalSymmetry();
+  }
+
   @Override
   public int getScore(Player player) {
     return actualModel.getScore(player);
   }
 
+  @Override
+  public Scores getScores() {
+    return actualModel.getScores();
+  }
+
   @Override
   public boolean isGameOver() {
     return actualModel.isGameOver();
@@ -72,12 +98,32 @@ public class MockModelToTranscriptGameLogic implements ReversiModelReadWrite {
     return actualModel.getCellInBoard(coordinates);
   }
 
+  @Override
+  public boolean isLegal(Player player, int index) {
+    return actualModel.isLegal(player, index);
+  }
+
+  @Override
+  public Disc discAt(int index) {
+    return actualModel.discAt(index);
+  }
+
+  @Override
+  public BoardTopology getTopology() {
+    return actualModel.getTopology();
+  }
+
   @Override
   public ReversiModelReadOnly tryMove(Player player, Coordinates coordinates)
           throws IllegalArgumentException, IllegalStateException {
     return actualModel.tryMove(player, coordinates);
   }
 
+  @Override
+  public ReversiSearchModel copyForSearch() {
+    return actualModel.copyForSearch();
+  }
+
   @Override
   public Disc getDiscOf(Player player) throws IllegalArgumentException {
     return null;
@@ -98,6 +144,11 @@ public class MockModelToTranscriptGameLogic implements ReversiModelReadWrite {
     actualModel.placeIn(player, coordinates);
   }
 
+  @Override
+  public void placeIn(Player player, int index) {
+    actualModel.placeIn(player, index);
+  }
+
   @Override
   public void startGame() {
     // intentionally left blank because this is a mock model
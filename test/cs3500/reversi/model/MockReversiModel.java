@@ -1,7 +1,9 @@
 package cs3500.reversi.model;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import cs3500.reversi.player.Player;
 
@@ -58,11 +60,45 @@ public class MockReversiModel implements ReversiModelReadOnly {
     return false;
   }
 
+  @Override
+  public Map<Coordinates, Integer> getLegalMoves(Player player) {
+    Map<Coordinates, Integer> legalMoves = new LinkedHashMap<>();
+    for (List<Cell> row : this.mockBoard) {
+      for (Cell cell : row) {
+        int score = this.scoreEarnedByPlaceIn(player, cell.getCoordinates());
+        if (score > 0) {
+          legalMoves.put(cell.getCoordinates(), score);
+        }
+      }
+    }
+    return legalMoves;
+  }
+
+  @Override
+  public long getPositionHash() {
+    return 0;
+  }
+
+  @Override
+  public long getCanonicalHash() {
+    return 0;
+  }
+
+  @Override
+  public int getCanonicalSymmetry() {
+    return 0;
+  }
+
   @Override
   public int getScore(Player player) {
     return 0;
   }
 
+  @Override
+  public Scores getScores() {
+    return null;
+  }
+
   @Override
   public boolean isGameOver() {
     return false;
@@ -78,12 +114,32 @@ public class MockReversiModel implements ReversiModelReadOnly {
     return null;
   }
 
+  @Override
+  public boolean isLegal(Player player, int index) {
+    return false;
+  }
+
+  @Override
+  public Disc discAt(int index) {
+    return null;
+  }
+
+  @Override
+  public BoardTopology getTopology() {
+    return null;
+  }
+
   @Override
   public ReversiModelReadOnly tryMove(Player player, Coordinates coordinates)
           throws IllegalArgumentException, IllegalStateException {
     return null;
   }
 
+  @Override
+  public ReversiSearchModel copyForSearch() {
+    return null;
+  }
+
   @Override
   public Disc getDiscOf(Player player) throws IllegalArgumentException {
     return null;